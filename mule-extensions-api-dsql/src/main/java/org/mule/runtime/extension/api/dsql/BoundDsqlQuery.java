@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+/**
+ * The translation of a {@link PreparedDsqlQuery} along with the values bound to its placeholders, as obtained through
+ * {@link PreparedDsqlQuery#bind(QueryTranslator, java.util.Map)}.
+ * <p>
+ * The translation is the one cached by the {@link PreparedDsqlQuery}, which keeps the placeholders, so binding values doesn't
+ * translate the query again. The values are listed once per placeholder, in the order in which the {@link QueryTranslator}
+ * translated them, which is the order in which they appear in the query. This is the order expected by positional bind
+ * variables, such as the {@code ?} of JDBC.
+ *
+ * @since 1.3
+ */
+public final class BoundDsqlQuery {
+
+  private final String translation;
+  private final List<String> parameterNames;
+  private final List<Value<?>> parameterValues;
+
+  BoundDsqlQuery(String translation, List<String> parameterNames, List<Value<?>> parameterValues) {
+    this.translation = translation;
+    this.parameterNames = unmodifiableList(parameterNames);
+    this.parameterValues = unmodifiableList(parameterValues);
+  }
+
+  /**
+   * @return the translated query, which still contains the placeholders
+   */
+  public String getTranslation() {
+    return translation;
+  }
+
+  /**
+   * @return the name of the parameter of each placeholder, in the order in which they appear in the query. A name appears as
+   *         many times as its placeholder does.
+   */
+  public List<String> getParameterNames() {
+    return parameterNames;
+  }
+
+  /**
+   * @return the value bound to each placeholder, in the same order as {@link #getParameterNames()}
+   */
+  public List<Value<?>> getParameterValues() {
+    return parameterValues;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of items fetched by a {@link DsqlPageFetcher}.
+ *
+ * @param <T> the generic type of the items
+ * @since 1.3
+ */
+public final class DsqlPage<T> {
+
+  private final List<T> items;
+  private final String nextCursor;
+  private final boolean last;
+
+  private DsqlPage(List<T> items, String nextCursor, boolean last) {
+    this.items = items != null ? items : emptyList();
+    this.nextCursor = nextCursor;
+    this.last = last;
+  }
+
+  /**
+   * Creates a page of a backend which pages by position. More items are assumed to be available as long as the page is full.
+   *
+   * @param items       the items of the page
+   * @param requestSize the size requested in the {@link DsqlPageRequest}
+   * @param <T>         the generic type of the items
+   * @return a new {@link DsqlPage}
+   */
+  public static <T> DsqlPage<T> of(List<T> items, int requestSize) {
+    return new DsqlPage<>(items, null, items == null || items.size() < requestSize);
+  }
+
+  /**
+   * Creates a page of a backend which pages through opaque tokens.
+   *
+   * @param items      the items of the page
+   * @param nextCursor the cursor to fetch the following page, or {@code null} if this is the last page
+   * @param <T>        the generic type of the items
+   * @return a new {@link DsqlPage}
+   */
+  public static <T> DsqlPage<T> of(List<T> items, String nextCursor) {
+    return new DsqlPage<>(items, nextCursor, nextCursor == null);
+  }
+
+  /**
+   * @param items the items of the last page
+   * @param <T>   the generic type of the items
+   * @return a new {@link DsqlPage} after which there are no more items
+   */
+  public static <T> DsqlPage<T> last(List<T> items) {
+    return new DsqlPage<>(items, null, true);
+  }
+
+  /**
+   * @return the items of the page
+   */
+  public List<T> getItems() {
+    return items;
+  }
+
+  /**
+   * @return the cursor to fetch the following page, if any
+   */
+  public Optional<String> getNextCursor() {
+    return ofNullable(nextCursor);
+  }
+
+  /**
+   * @return whether there are no more items after this page
+   */
+  public boolean isLast() {
+    return last || items.isEmpty();
+  }
+}
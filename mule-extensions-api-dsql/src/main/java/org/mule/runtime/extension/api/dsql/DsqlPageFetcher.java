@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.Optional;
+
+/**
+ * Executes a {@link DsqlQuery} on a backend, one page at a time, on behalf of a {@link DsqlQueryPagingProvider}.
+ *
+ * @param <C> the generic type of the connections
+ * @param <T> the generic type of the items
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface DsqlPageFetcher<C, T> {
+
+  /**
+   * Fetches the page described by the given {@code request}
+   *
+   * @param connection the connection to use
+   * @param request    the {@link DsqlPageRequest}
+   * @return the fetched {@link DsqlPage}
+   */
+  DsqlPage<T> fetch(C connection, DsqlPageRequest request);
+
+  /**
+   * @param connection the connection to use
+   * @return the total amount of items in the result set, if it is known
+   */
+  default Optional<Integer> getTotalResults(C connection) {
+    return Optional.empty();
+  }
+
+  /**
+   * Whether the backend is able to start fetching at the {@link DsqlPageRequest#getOffset() offset} of the request. Backends
+   * which page through cursors usually can't, in which case the items before the query offset are fetched and skipped.
+   * <p>
+   * This method is optional and defaults to {@code true}
+   *
+   * @return whether the backend honors the offset of the requests
+   */
+  default boolean supportsOffset() {
+    return true;
+  }
+
+  /**
+   * @return whether all the pages must be fetched using the same connection
+   */
+  default boolean useStickyConnections() {
+    return false;
+  }
+
+  /**
+   * Releases the resources allocated to execute the query
+   *
+   * @param connection the connection to use
+   * @throws MuleException if there was an error releasing the resources
+   */
+  default void close(C connection) throws MuleException {}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Optional.ofNullable;
+
+import java.util.Optional;
+
+/**
+ * Describes the page that a {@link DsqlPageFetcher} is asked to fetch by a {@link DsqlQueryPagingProvider}.
+ * <p>
+ * Backends which page by position should use the {@link #getOffset() offset}, while the ones which page through opaque
+ * tokens should use the {@link #getCursor() cursor} returned along with the previous page.
+ *
+ * @since 1.3
+ */
+public final class DsqlPageRequest {
+
+  private final DsqlQuery query;
+  private final int offset;
+  private final int size;
+  private final String cursor;
+
+  DsqlPageRequest(DsqlQuery query, int offset, int size, String cursor) {
+    this.query = query;
+    this.offset = offset;
+    this.size = size;
+    this.cursor = cursor;
+  }
+
+  /**
+   * @return the executed query
+   */
+  public DsqlQuery getQuery() {
+    return query;
+  }
+
+  /**
+   * @return the position in the result set of the first item of the requested page
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * @return the maximum amount of items to fetch
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * @return the cursor returned along with the previous page, if any
+   */
+  public Optional<String> getCursor() {
+    return ofNullable(cursor);
+  }
+
+  @Override
+  public String toString() {
+    return "DsqlPageRequest{offset=" + offset + ", size=" + size + ", cursor=" + cursor + "}";
+  }
+}
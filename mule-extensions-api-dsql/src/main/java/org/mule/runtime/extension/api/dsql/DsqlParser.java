@@ -13,6 +13,9 @@ import org.mule.runtime.extension.internal.grammar.DefaultDsqlGrammarVisitor;
 import org.mule.runtime.extension.internal.grammar.BaseDsqlNode;
 import org.mule.runtime.extension.internal.grammar.DsqlTreeAdaptor;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import org.antlr.runtime.ANTLRStringStream;
 import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
@@ -22,6 +25,12 @@ import org.antlr.runtime.RecognitionException;
  * <p>
  * Basically receives a Dsql Query as a {@link String} instance and process it to return a {@link DsqlQuery} object
  * to work with.
+ * <p>
+ * Since the same queries tend to be parsed over and over, each instance keeps a bounded cache of the most recently parsed
+ * ones, so that parsing the same text again returns the already parsed {@link DsqlQuery}. Queries which fail to be parsed are
+ * not cached. The lexer and parser used to process the queries are reused by each thread.
+ * <p>
+ * Instances are thread-safe.
  *
  * @since 1.0
  */
@@ -32,13 +41,43 @@ public final class DsqlParser {
    */
   private static final String DSQL_QUERY_PREFIX = "dsql:";
 
-  private DsqlParser() {}
+  /**
+   * The default maximum amount of parsed queries kept by each {@link DsqlParser}
+   *
+   * @since 1.3
+   */
+  public static final long DEFAULT_CACHE_SIZE = 1_000;
+
+  private static final DsqlParser INSTANCE = new DsqlParser(DEFAULT_CACHE_SIZE);
+
+  private final Cache<String, DsqlQuery> parsedQueries;
+  private final Cache<String, PreparedDsqlQuery> preparedQueries;
+  private final ThreadLocal<Recognizers> recognizers = ThreadLocal.withInitial(Recognizers::new);
+
+  private DsqlParser(long cacheSize) {
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException("cacheSize cannot be negative");
+    }
+    parsedQueries = CacheBuilder.newBuilder().maximumSize(cacheSize).recordStats().build();
+    preparedQueries = CacheBuilder.newBuilder().maximumSize(cacheSize).build();
+  }
 
   /**
-   * @return a new {@link DsqlParser} instance.
+   * @return a shared {@link DsqlParser} instance, which caches up to {@link #DEFAULT_CACHE_SIZE} parsed queries.
    */
   public static DsqlParser getInstance() {
-    return new DsqlParser();
+    return INSTANCE;
+  }
+
+  /**
+   * Creates a new {@link DsqlParser} with its own cache of parsed queries.
+   *
+   * @param cacheSize the maximum amount of parsed queries to keep. {@code 0} disables the cache.
+   * @return a new {@link DsqlParser} instance.
+   * @since 1.3
+   */
+  public static DsqlParser getInstance(long cacheSize) {
+    return new DsqlParser(cacheSize);
   }
 
   /**
@@ -64,31 +103,106 @@ public final class DsqlParser {
       throw new IllegalArgumentException("Invalid Query: DSQL queries must start with the [dsql:] prefix");
     }
 
-    MuleDsqlLexer dsqlLexer = new MuleDsqlLexer(new ANTLRStringStream(dsqlQuery.substring(5)));
+    DsqlQuery query = parsedQueries.getIfPresent(dsqlQuery);
+    if (query == null) {
+      query = recognizers.get().parse(dsqlQuery.substring(5));
+      parsedQueries.put(dsqlQuery, query);
+    }
+
+    return query;
+  }
+
+  /**
+   * Parses a {@link String} representing a dsql query which filter values may be named placeholders, such as
+   * {@code dsql:SELECT * FROM users WHERE name = :name}, into a {@link PreparedDsqlQuery} which values are bound on each
+   * execution.
+   * <p>
+   * Prepared queries are cached like the parsed ones, so preparing the same text again returns the same
+   * {@link PreparedDsqlQuery}, together with the translations it already holds.
+   *
+   * @param dsqlQuery a {@link String} that represents a {@link DsqlQuery}.
+   * @return a {@link PreparedDsqlQuery} instance.
+   * @since 1.3
+   */
+  public PreparedDsqlQuery prepare(final String dsqlQuery) {
+    PreparedDsqlQuery query = preparedQueries.getIfPresent(dsqlQuery);
+    if (query == null) {
+      query = new PreparedDsqlQuery(parse(dsqlQuery));
+      preparedQueries.put(dsqlQuery, query);
+    }
+
+    return query;
+  }
 
-    CommonTokenStream dsqlTokens = new CommonTokenStream();
-    dsqlTokens.setTokenSource(dsqlLexer);
+  /**
+   * @return the amount of queries which were found in the cache of parsed queries
+   * @since 1.3
+   */
+  public long getCacheHitCount() {
+    return parsedQueries.stats().hitCount();
+  }
 
-    MuleDsqlParser dsqlParser = new MuleDsqlParser(dsqlTokens);
-    dsqlParser.setTreeAdaptor(new DsqlTreeAdaptor());
+  /**
+   * @return the amount of queries which were not found in the cache of parsed queries
+   * @since 1.3
+   */
+  public long getCacheMissCount() {
+    return parsedQueries.stats().missCount();
+  }
 
-    return parse(dsqlParser);
+  /**
+   * @return the amount of parsed queries which were discarded from the cache to make room for new ones
+   * @since 1.3
+   */
+  public long getCacheEvictionCount() {
+    return parsedQueries.stats().evictionCount();
   }
 
-  private DsqlQuery parse(MuleDsqlParser dsqlParser) {
-    try {
-      MuleDsqlParser.select_return select = dsqlParser.select();
-      BaseDsqlNode tree = (BaseDsqlNode) select.getTree();
-      return buildQuery(tree).build();
-    } catch (RecognitionException | IllegalArgumentException e) {
-      throw new DsqlParsingException(e);
-    }
+  /**
+   * Discards all the cached parsed and prepared queries
+   *
+   * @since 1.3
+   */
+  public void invalidateCache() {
+    parsedQueries.invalidateAll();
+    preparedQueries.invalidateAll();
   }
 
-  private QueryBuilder buildQuery(BaseDsqlNode dsqlRootNode) {
+  private static QueryBuilder buildQuery(BaseDsqlNode dsqlRootNode) {
     DefaultDsqlGrammarVisitor visitor = new DefaultDsqlGrammarVisitor();
     dsqlRootNode.accept(visitor);
     return visitor.getQueryBuilder();
   }
 
+  /**
+   * The lexer and parser used by a thread, which are reset before processing each query.
+   */
+  private static final class Recognizers {
+
+    private final MuleDsqlLexer dsqlLexer = new MuleDsqlLexer();
+    private final CommonTokenStream dsqlTokens = new CommonTokenStream();
+    private final MuleDsqlParser dsqlParser = new MuleDsqlParser(dsqlTokens);
+
+    private Recognizers() {
+      dsqlParser.setTreeAdaptor(new DsqlTreeAdaptor());
+    }
+
+    private DsqlQuery parse(String query) {
+      dsqlLexer.setCharStream(new ANTLRStringStream(query));
+      dsqlTokens.setTokenSource(dsqlLexer);
+      dsqlParser.setTokenStream(dsqlTokens);
+      try {
+        MuleDsqlParser.select_return select = dsqlParser.select();
+        BaseDsqlNode tree = (BaseDsqlNode) select.getTree();
+        return buildQuery(tree).build();
+      } catch (RecognitionException | IllegalArgumentException e) {
+        throw new DsqlParsingException(e);
+      } finally {
+        // don't keep the query text or its tokens referenced until the next query is parsed
+        dsqlLexer.setCharStream(null);
+        dsqlTokens.setTokenSource(dsqlLexer);
+      }
+    }
+  }
+
 }
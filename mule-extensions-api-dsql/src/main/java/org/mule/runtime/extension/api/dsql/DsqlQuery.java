@@ -23,37 +23,37 @@ public final class DsqlQuery {
   /**
    * Type or types to be queried
    */
-  private EntityType type;
+  private final EntityType type;
 
   /**
    * Fields to be retrieved
    */
-  private List<Field> fields;
+  private final List<Field> fields;
 
   /**
    * Fields for sorting the query
    */
-  private List<Field> orderByFields;
+  private final List<Field> orderByFields;
 
   /**
    * Direction to determine the ascending or descending sorting
    */
-  private Direction direction;
+  private final Direction direction;
 
   /**
    * Expression which contains the filter conditions
    */
-  private Expression filterExpression;
+  private final Expression filterExpression;
 
   /**
    * The maximum number of items to return in the result set.
    */
-  private Integer limit;
+  private final Integer limit;
 
   /**
    * The number of items to skip from the beginning of the result set.
    */
-  private Integer offset;
+  private final Integer offset;
 
   /**
    * Creates a new instance.
@@ -131,6 +131,28 @@ public final class DsqlQuery {
     return offset;
   }
 
+  /**
+   * @return the maximum number of items to return, or {@code null} if the result set is not limited.
+   */
+  Integer getLimitIfPresent() {
+    return limit;
+  }
+
+  /**
+   * @return the number of items to skip, or {@code null} if none is skipped.
+   */
+  Integer getOffsetIfPresent() {
+    return offset;
+  }
+
+  /**
+   * @param filterExpression the {@link Expression} to filter the result set items.
+   * @return a copy of {@code this} {@link DsqlQuery} which uses the given {@code filterExpression}
+   */
+  DsqlQuery withFilterExpression(Expression filterExpression) {
+    return new DsqlQuery(type, fields, orderByFields, direction, filterExpression, limit, offset);
+  }
+
   /**
    * Translates {@code this} {@link DsqlQuery} to a query in another query language using the specified
    * {@code queryTranslator}.
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.stream.StreamSupport.stream;
+
+import org.mule.runtime.extension.internal.evaluation.ExpressionPredicateCompiler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Executes a {@link DsqlQuery} in memory, over records obtained from a backend which can't filter, sort or limit them by
+ * itself.
+ * <p>
+ * The query is compiled only once: its filter becomes a {@link Predicate} and its sorting criteria a {@link Comparator},
+ * which access the fields of the records through the accessors created by a {@link FieldAccessorFactory}. The compiled
+ * evaluator can then be applied to any number of record sets.
+ * <p>
+ * Records are processed in a streaming fashion. When the query is not sorted, no record is retained and no more records
+ * than needed are consumed once the {@code LIMIT} is reached. When it is sorted and limited, only the best
+ * {@code OFFSET + LIMIT} records are retained, using a bounded heap. Sorting a query without {@code LIMIT} requires holding
+ * all the matching records.
+ * <p>
+ * Instances are immutable and thread-safe, as long as the accessors created by the {@link FieldAccessorFactory} are.
+ *
+ * @param <T> the generic type of the records
+ * @since 1.3
+ */
+public final class DsqlQueryEvaluator<T> {
+
+  private final Predicate<T> filter;
+  private final Comparator<T> comparator;
+  private final Integer limit;
+  private final int offset;
+
+  /**
+   * Compiles the given {@code query}
+   *
+   * @param query           the {@link DsqlQuery} to evaluate. It must have no unbound {@link ParameterValue}s.
+   * @param accessorFactory the {@link FieldAccessorFactory} used to obtain the value of the fields of the records
+   * @param <T>             the generic type of the records
+   * @return a new {@link DsqlQueryEvaluator}
+   * @throws IllegalArgumentException if the query can't be evaluated in memory
+   */
+  public static <T> DsqlQueryEvaluator<T> compile(DsqlQuery query, FieldAccessorFactory<T> accessorFactory) {
+    return new DsqlQueryEvaluator<>(query, accessorFactory);
+  }
+
+  private DsqlQueryEvaluator(DsqlQuery query, FieldAccessorFactory<T> accessorFactory) {
+    ExpressionPredicateCompiler<T> compiler = new ExpressionPredicateCompiler<>(accessorFactory);
+    filter = compiler.compile(query.getFilterExpression());
+    comparator = query.getOrderByFields().isEmpty()
+        ? null
+        : compiler.compileComparator(query.getOrderByFields(), query.getDirection());
+    limit = query.getLimitIfPresent();
+    offset = query.getOffsetIfPresent() != null ? query.getOffsetIfPresent() : 0;
+  }
+
+  /**
+   * @return the {@link Predicate} which is satisfied by the records that match the filter of the query
+   */
+  public Predicate<T> getFilter() {
+    return filter;
+  }
+
+  /**
+   * Evaluates the query over the given {@code records}
+   *
+   * @param records the records to evaluate
+   * @return a {@link Stream} with the records which match the query, sorted and limited as requested.
+   */
+  public Stream<T> evaluate(Stream<T> records) {
+    Stream<T> matching = records.filter(filter);
+    if (comparator == null) {
+      return limit(matching.skip(offset));
+    }
+
+    if (limit == null) {
+      return matching.sorted(comparator).skip(offset);
+    }
+
+    return topK(matching).stream().skip(offset);
+  }
+
+  /**
+   * Evaluates the query over the given {@code records}
+   *
+   * @param records the records to evaluate
+   * @return an {@link Iterator} with the records which match the query, sorted and limited as requested.
+   */
+  public Iterator<T> evaluate(Iterator<T> records) {
+    return evaluate(stream(spliteratorUnknownSize(records, ORDERED), false)).iterator();
+  }
+
+  private Stream<T> limit(Stream<T> records) {
+    return limit != null ? records.limit(limit) : records;
+  }
+
+  /**
+   * Keeps the first {@code offset + limit} records, according to the {@link #comparator}, in a heap which head is the worst
+   * of them. Records which are equal according to the {@link #comparator} keep their original order, so the outcome is the
+   * same as sorting all the records.
+   *
+   * @return the retained records, sorted
+   */
+  private List<T> topK(Stream<T> records) {
+    final long bound = (long) offset + limit;
+    if (bound <= 0) {
+      return new ArrayList<>();
+    }
+
+    final int capacity = (int) Math.min(bound, Integer.MAX_VALUE - 8);
+    final Comparator<Candidate<T>> candidateComparator = Comparator.<Candidate<T>, T>comparing(c -> c.record, comparator)
+        .thenComparingLong(c -> c.sequence);
+    final PriorityQueue<Candidate<T>> heap = new PriorityQueue<>(Math.min(capacity, 1024), candidateComparator.reversed());
+    final long[] sequence = {0};
+    records.forEachOrdered(record -> {
+      if (heap.size() < capacity) {
+        heap.add(new Candidate<>(record, sequence[0]++));
+      } else if (comparator.compare(record, heap.peek().record) < 0) {
+        heap.poll();
+        heap.add(new Candidate<>(record, sequence[0]++));
+      } else {
+        sequence[0]++;
+      }
+    });
+
+    List<Candidate<T>> candidates = new ArrayList<>(heap);
+    candidates.sort(candidateComparator);
+    List<T> sorted = new ArrayList<>(candidates.size());
+    candidates.forEach(candidate -> sorted.add(candidate.record));
+    return sorted;
+  }
+
+  private static final class Candidate<T> {
+
+    private final T record;
+    private final long sequence;
+
+    private Candidate(T record, long sequence) {
+      this.record = record;
+      this.sequence = sequence;
+    }
+  }
+}
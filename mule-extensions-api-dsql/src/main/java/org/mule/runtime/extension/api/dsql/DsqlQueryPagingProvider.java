@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.extension.api.runtime.streaming.PagingProvider;
+import org.mule.runtime.extension.api.runtime.streaming.PagingStatistics;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link PagingProvider} which executes a {@link DsqlQuery} through a {@link DsqlPageFetcher}, taking the query
+ * {@code limit} and {@code offset} into account.
+ * <p>
+ * The size of the requested pages never exceeds the amount of items still needed to satisfy the limit, and no more pages are
+ * fetched once it is reached. If the fetcher {@link DsqlPageFetcher#supportsOffset() supports offsets}, the first page is
+ * requested at the query offset. Otherwise, the items before it are fetched and skipped.
+ * <p>
+ * Optionally, the following page can be prefetched on an {@link Executor} while the current one is being consumed. Since the
+ * prefetch uses the same connection, connections are {@link #useStickyConnections() sticky} when doing so. The
+ * {@link DsqlPageFetcher} is still never used by two threads at once: {@link #getTotalResults(Object)} waits for an in-flight
+ * prefetch to finish, or cancels it if it didn't start yet.
+ * <p>
+ * Page level metrics are available through {@link #getStatistics()}.
+ * <p>
+ * As any other {@link PagingProvider}, instances should not be reused.
+ *
+ * @param <C> the generic type of the connections
+ * @param <T> the generic type of the items
+ * @since 1.3
+ */
+public final class DsqlQueryPagingProvider<C, T> implements PagingProvider<C, T> {
+
+  private final DsqlQuery query;
+  private final int pageSize;
+  private final DsqlPageFetcher<C, T> fetcher;
+  private final Executor prefetchExecutor;
+  private final PagingStatistics statistics = new PagingStatistics();
+
+  private final Integer limit;
+  private final int offset;
+  private int toSkip;
+  private int position;
+  private int delivered;
+  private String cursor;
+  private boolean exhausted;
+  private volatile Prefetch prefetch;
+
+  /**
+   * Creates a new instance which fetches the pages only when requested
+   *
+   * @param query    the {@link DsqlQuery} to execute
+   * @param pageSize the maximum size of the fetched pages
+   * @param fetcher  the {@link DsqlPageFetcher} which fetches the pages from the backend
+   */
+  public DsqlQueryPagingProvider(DsqlQuery query, int pageSize, DsqlPageFetcher<C, T> fetcher) {
+    this(query, pageSize, fetcher, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param query            the {@link DsqlQuery} to execute
+   * @param pageSize         the maximum size of the fetched pages
+   * @param fetcher          the {@link DsqlPageFetcher} which fetches the pages from the backend
+   * @param prefetchExecutor the {@link Executor} on which the following page is prefetched, or {@code null} to not prefetch
+   */
+  public DsqlQueryPagingProvider(DsqlQuery query, int pageSize, DsqlPageFetcher<C, T> fetcher, Executor prefetchExecutor) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("pageSize must be positive");
+    }
+    this.query = query;
+    this.pageSize = pageSize;
+    this.fetcher = fetcher;
+    this.prefetchExecutor = prefetchExecutor;
+
+    limit = query.getLimitIfPresent();
+    offset = query.getOffsetIfPresent() != null ? max(query.getOffsetIfPresent(), 0) : 0;
+    if (fetcher.supportsOffset()) {
+      position = offset;
+    } else {
+      toSkip = offset;
+    }
+    exhausted = limit != null && limit <= 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<T> getPage(C connection) {
+    while (!isDone()) {
+      DsqlPage<T> page = nextPage(connection, nextRequest());
+      List<T> items = consume(page);
+
+      if (prefetchExecutor != null && !isDone()) {
+        startPrefetch(connection);
+      }
+      if (!items.isEmpty()) {
+        return items;
+      }
+    }
+
+    return emptyList();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The total is bounded by the query {@code limit} and {@code offset}.
+   */
+  @Override
+  public Optional<Integer> getTotalResults(C connection) {
+    Prefetch pending = prefetch;
+    if (pending != null && pending.cancel()) {
+      // the page will be fetched when requested instead
+      prefetch = null;
+    } else if (pending != null) {
+      // the prefetched page is kept, the connection is only used once the fetch is over
+      pending.await();
+    }
+
+    return fetcher.getTotalResults(connection).map(total -> {
+      int available = max(total - offset, 0);
+      return limit != null ? min(available, max(limit, 0)) : available;
+    });
+  }
+
+  /**
+   * @return {@code true} if the next page is prefetched or the {@link DsqlPageFetcher} requires it
+   */
+  @Override
+  public boolean useStickyConnections() {
+    return prefetchExecutor != null || fetcher.useStickyConnections();
+  }
+
+  /**
+   * Discards the prefetched page, waiting for it to be fetched if the fetch is already in progress, and then closes the
+   * {@link DsqlPageFetcher}.
+   */
+  @Override
+  public void close(C connection) throws MuleException {
+    Prefetch pending = prefetch;
+    prefetch = null;
+    if (pending != null && !pending.cancel()) {
+      pending.await();
+    }
+    fetcher.close(connection);
+  }
+
+  /**
+   * @return the {@link PagingStatistics} of the pages fetched by {@code this} provider
+   */
+  public PagingStatistics getStatistics() {
+    return statistics;
+  }
+
+  private boolean isDone() {
+    return exhausted || (limit != null && delivered >= limit);
+  }
+
+  private DsqlPageRequest nextRequest() {
+    int size = limit != null ? min(pageSize, limit - delivered + toSkip) : pageSize;
+    return new DsqlPageRequest(query, position, size, cursor);
+  }
+
+  private DsqlPage<T> nextPage(C connection, DsqlPageRequest request) {
+    Prefetch pending = prefetch;
+    prefetch = null;
+    if (pending == null || pending.cancel()) {
+      // nothing was prefetched, or the prefetch didn't start yet and it's faster to fetch the page right away
+      return fetch(connection, request);
+    }
+    return pending.get();
+  }
+
+  private List<T> consume(DsqlPage<T> page) {
+    List<T> items = page.getItems();
+    position += items.size();
+    cursor = page.getNextCursor().orElse(null);
+    exhausted = page.isLast();
+
+    int from = min(toSkip, items.size());
+    toSkip -= from;
+    int to = limit != null ? min(items.size(), from + limit - delivered) : items.size();
+    delivered += to - from;
+
+    return from == 0 && to == items.size() ? items : items.subList(from, to);
+  }
+
+  private void startPrefetch(C connection) {
+    Prefetch next = new Prefetch(connection, nextRequest());
+    try {
+      prefetchExecutor.execute(next);
+      prefetch = next;
+    } catch (RejectedExecutionException e) {
+      // the executor is saturated, the page will be fetched when requested
+    }
+  }
+
+  private DsqlPage<T> fetch(C connection, DsqlPageRequest request) {
+    long start = nanoTime();
+    DsqlPage<T> page;
+    try {
+      page = fetcher.fetch(connection, request);
+    } catch (RuntimeException | Error e) {
+      statistics.recordFailure(nanoTime() - start);
+      throw e;
+    }
+    statistics.recordPage(page.getItems().size(), nanoTime() - start);
+    return page;
+  }
+
+  private final class Prefetch implements Runnable {
+
+    private final C connection;
+    private final DsqlPageRequest request;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+    private final CompletableFuture<DsqlPage<T>> result = new CompletableFuture<>();
+
+    private Prefetch(C connection, DsqlPageRequest request) {
+      this.connection = connection;
+      this.request = request;
+    }
+
+    @Override
+    public void run() {
+      if (!claimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        result.complete(fetch(connection, request));
+      } catch (Throwable t) {
+        result.completeExceptionally(t);
+      }
+    }
+
+    /**
+     * @return whether the prefetch was cancelled before it started
+     */
+    private boolean cancel() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private DsqlPage<T> get() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw e;
+      }
+    }
+
+    private void await() {
+      try {
+        result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // the page is discarded anyway
+      }
+    }
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Optional.ofNullable;
+
+import java.util.Optional;
+
+/**
+ * The outcome of splitting a {@link DsqlQuery} by {@link DsqlQueryPlanner} into the part that is pushed down to the backend
+ * and the residual part that is evaluated in memory.
+ * <p>
+ * Executing the {@link #getNativeQuery() native query} and then applying the {@link #getResidualQuery() residual query} to
+ * its results, for example through a {@link DsqlQueryEvaluator}, is equivalent to executing the original query.
+ *
+ * @since 1.3
+ */
+public final class DsqlQueryPlan {
+
+  private final DsqlQuery nativeQuery;
+  private final DsqlQuery residualQuery;
+
+  DsqlQueryPlan(DsqlQuery nativeQuery, DsqlQuery residualQuery) {
+    this.nativeQuery = nativeQuery;
+    this.residualQuery = residualQuery;
+  }
+
+  /**
+   * @return the {@link DsqlQuery} to translate and execute on the backend
+   */
+  public DsqlQuery getNativeQuery() {
+    return nativeQuery;
+  }
+
+  /**
+   * @return the {@link DsqlQuery} to evaluate in memory over the results of the {@link #getNativeQuery() native query}, if
+   *         the backend can't execute the whole query
+   */
+  public Optional<DsqlQuery> getResidualQuery() {
+    return ofNullable(residualQuery);
+  }
+
+  /**
+   * @return whether the whole query is executed on the backend
+   */
+  public boolean isFullyPushedDown() {
+    return residualQuery == null;
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Collections.emptyList;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.EQUALS;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.FILTER;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.GREATER;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.GREATER_OR_EQUALS;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LESS;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LESS_OR_EQUALS;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LIKE;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LIMIT;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.NOT_EQUALS;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.OFFSET;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.OR;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.ORDER_BY;
+
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.EmptyExpression;
+import org.mule.runtime.extension.internal.expression.Expression;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+import org.mule.runtime.extension.internal.expression.Not;
+import org.mule.runtime.extension.internal.expression.Or;
+import org.mule.runtime.extension.internal.operator.BinaryOperator;
+import org.mule.runtime.extension.internal.operator.EqualsOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOrEqualsOperator;
+import org.mule.runtime.extension.internal.operator.LessOperator;
+import org.mule.runtime.extension.internal.operator.LessOrEqualsOperator;
+import org.mule.runtime.extension.internal.operator.LikeOperator;
+import org.mule.runtime.extension.internal.operator.NotEqualsOperator;
+import org.mule.runtime.extension.internal.value.IdentifierValue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits a {@link DsqlQuery} into a {@link DsqlQueryPlan} according to the {@link QueryCapability capabilities} of the
+ * backend, so that the most selective query possible is sent to the backend and only the unsupported parts are evaluated in
+ * memory.
+ * <p>
+ * The conditions of the filter which are combined with {@code AND} are pushed down independently, so that each supported
+ * condition reduces the amount of transferred items. Sorting is pushed down whenever it's supported, since filtering in
+ * memory preserves the order. The {@code LIMIT} and {@code OFFSET} are only pushed down when the whole filter and sorting
+ * are, since otherwise the backend would discard items which are still needed. When the {@code LIMIT} is supported but the
+ * {@code OFFSET} isn't, the backend is asked for {@code OFFSET + LIMIT} items and the {@code OFFSET} is applied in memory.
+ * <p>
+ * When the query doesn't select all the fields, the ones needed by the residual part are added to the native query.
+ *
+ * @since 1.3
+ */
+public final class DsqlQueryPlanner {
+
+  private static final String ALL_FIELDS = "*";
+
+  private DsqlQueryPlanner() {}
+
+  /**
+   * Plans the given {@code query} for the backend of the given {@code queryTranslator}
+   *
+   * @param query           the {@link DsqlQuery} to plan
+   * @param queryTranslator the {@link QueryTranslator} used to translate the native query
+   * @return a {@link DsqlQueryPlan}
+   */
+  public static DsqlQueryPlan plan(DsqlQuery query, QueryTranslator queryTranslator) {
+    return plan(query, queryTranslator.getCapabilities());
+  }
+
+  /**
+   * Plans the given {@code query} for a backend with the given {@code capabilities}
+   *
+   * @param query        the {@link DsqlQuery} to plan
+   * @param capabilities the {@link QueryCapability capabilities} of the backend
+   * @return a {@link DsqlQueryPlan}
+   */
+  public static DsqlQueryPlan plan(DsqlQuery query, Set<QueryCapability> capabilities) {
+    List<Expression> pushedConditions = new ArrayList<>();
+    List<Expression> residualConditions = new ArrayList<>();
+    for (Expression condition : conjunctionOf(query.getFilterExpression())) {
+      if (capabilities.contains(FILTER) && isSupported(condition, capabilities)) {
+        pushedConditions.add(condition);
+      } else {
+        residualConditions.add(condition);
+      }
+    }
+
+    final boolean sorted = !query.getOrderByFields().isEmpty();
+    final boolean pushSorting = sorted && capabilities.contains(ORDER_BY);
+    final Integer limit = query.getLimitIfPresent();
+    final Integer offset = query.getOffsetIfPresent();
+
+    Integer nativeLimit = null;
+    Integer nativeOffset = null;
+    Integer residualLimit = limit;
+    Integer residualOffset = offset;
+    if (residualConditions.isEmpty() && (!sorted || pushSorting)) {
+      if (offset == null || capabilities.contains(OFFSET)) {
+        nativeOffset = offset;
+        residualOffset = null;
+        if (limit != null && capabilities.contains(LIMIT)) {
+          nativeLimit = limit;
+          residualLimit = null;
+        }
+      } else if (limit != null && capabilities.contains(LIMIT)) {
+        nativeLimit = (int) Math.min((long) limit + offset, Integer.MAX_VALUE);
+      }
+    }
+
+    boolean residual = !residualConditions.isEmpty() || (sorted && !pushSorting) || residualLimit != null
+        || residualOffset != null;
+    if (!residual) {
+      return new DsqlQueryPlan(query, null);
+    }
+
+    Expression residualFilter = and(residualConditions);
+    List<Field> residualOrderByFields = pushSorting ? emptyList() : query.getOrderByFields();
+
+    DsqlQuery nativeQuery = new DsqlQuery(query.getType(),
+                                          nativeFields(query.getFields(), residualFilter, residualOrderByFields),
+                                          pushSorting ? query.getOrderByFields() : emptyList(),
+                                          query.getDirection(),
+                                          and(pushedConditions),
+                                          nativeLimit,
+                                          nativeOffset);
+
+    DsqlQuery residualQuery = new DsqlQuery(query.getType(),
+                                            query.getFields(),
+                                            residualOrderByFields,
+                                            query.getDirection(),
+                                            residualFilter,
+                                            residualLimit,
+                                            residualOffset);
+
+    return new DsqlQueryPlan(nativeQuery, residualQuery);
+  }
+
+  private static List<Expression> conjunctionOf(Expression expression) {
+    List<Expression> conditions = new ArrayList<>();
+    collectConjunction(expression, conditions);
+    return conditions;
+  }
+
+  private static void collectConjunction(Expression expression, List<Expression> conditions) {
+    if (expression == null || expression.isEmpty()) {
+      return;
+    }
+
+    if (expression instanceof And) {
+      collectConjunction(((And) expression).getLeft(), conditions);
+      collectConjunction(((And) expression).getRight(), conditions);
+    } else {
+      conditions.add(expression);
+    }
+  }
+
+  private static Expression and(List<Expression> conditions) {
+    if (conditions.isEmpty()) {
+      return new EmptyExpression();
+    }
+
+    Expression expression = conditions.get(0);
+    for (int i = 1; i < conditions.size(); i++) {
+      expression = new And(expression, conditions.get(i));
+    }
+    return expression;
+  }
+
+  private static boolean isSupported(Expression expression, Set<QueryCapability> capabilities) {
+    if (expression instanceof And) {
+      return isSupported(((And) expression).getLeft(), capabilities)
+          && isSupported(((And) expression).getRight(), capabilities);
+    } else if (expression instanceof Or) {
+      return capabilities.contains(OR)
+          && isSupported(((Or) expression).getLeft(), capabilities)
+          && isSupported(((Or) expression).getRight(), capabilities);
+    } else if (expression instanceof Not) {
+      return capabilities.contains(QueryCapability.NOT) && isSupported(((Not) expression).getRight(), capabilities);
+    } else if (expression instanceof FieldComparison) {
+      QueryCapability operatorCapability = capabilityOf(((FieldComparison) expression).getOperator());
+      return operatorCapability != null && capabilities.contains(operatorCapability);
+    }
+
+    return false;
+  }
+
+  private static QueryCapability capabilityOf(BinaryOperator operator) {
+    if (operator instanceof EqualsOperator) {
+      return EQUALS;
+    } else if (operator instanceof NotEqualsOperator) {
+      return NOT_EQUALS;
+    } else if (operator instanceof LessOperator) {
+      return LESS;
+    } else if (operator instanceof LessOrEqualsOperator) {
+      return LESS_OR_EQUALS;
+    } else if (operator instanceof GreaterOperator) {
+      return GREATER;
+    } else if (operator instanceof GreaterOrEqualsOperator) {
+      return GREATER_OR_EQUALS;
+    } else if (operator instanceof LikeOperator) {
+      return LIKE;
+    }
+    return null;
+  }
+
+  private static List<Field> nativeFields(List<Field> fields, Expression residualFilter, List<Field> residualOrderByFields) {
+    Set<String> fieldNames = new LinkedHashSet<>();
+    for (Field field : fields) {
+      if (ALL_FIELDS.equals(field.getName())) {
+        return fields;
+      }
+      fieldNames.add(field.getName());
+    }
+
+    List<Field> nativeFields = new ArrayList<>(fields);
+    Set<String> requiredFieldNames = new LinkedHashSet<>();
+    collectFieldNames(residualFilter, requiredFieldNames);
+    residualOrderByFields.forEach(field -> requiredFieldNames.add(field.getName()));
+    for (String fieldName : requiredFieldNames) {
+      if (fieldNames.add(fieldName)) {
+        nativeFields.add(new Field(fieldName));
+      }
+    }
+    return nativeFields;
+  }
+
+  private static void collectFieldNames(Expression expression, Set<String> fieldNames) {
+    if (expression instanceof And) {
+      collectFieldNames(((And) expression).getLeft(), fieldNames);
+      collectFieldNames(((And) expression).getRight(), fieldNames);
+    } else if (expression instanceof Or) {
+      collectFieldNames(((Or) expression).getLeft(), fieldNames);
+      collectFieldNames(((Or) expression).getRight(), fieldNames);
+    } else if (expression instanceof Not) {
+      collectFieldNames(((Not) expression).getRight(), fieldNames);
+    } else if (expression instanceof FieldComparison) {
+      FieldComparison comparison = (FieldComparison) expression;
+      fieldNames.add(comparison.getField().getName());
+      if (comparison.getValue() instanceof IdentifierValue) {
+        fieldNames.add(((IdentifierValue) comparison.getValue()).getValue());
+      }
+    }
+  }
+}
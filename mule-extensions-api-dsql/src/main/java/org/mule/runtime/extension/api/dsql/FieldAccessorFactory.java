@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import org.mule.runtime.extension.internal.evaluation.BeanFieldAccessorFactory;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates the functions used by a {@link DsqlQueryEvaluator} to obtain the value of a {@link Field} from a record.
+ * <p>
+ * Each accessor is created only once, when the query is compiled, and then applied to every evaluated record.
+ *
+ * @param <T> the generic type of the records
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface FieldAccessorFactory<T> {
+
+  /**
+   * Creates the accessor of the field with the given {@code fieldName}
+   *
+   * @param fieldName the name of a {@link Field}
+   * @return a {@link Function} which returns the value of the field for a given record
+   * @throws IllegalArgumentException if the records have no such field
+   */
+  Function<T, Object> getAccessor(String fieldName);
+
+  /**
+   * @return a {@link FieldAccessorFactory} for records represented as {@link Map}s, in which each field is an entry
+   */
+  static FieldAccessorFactory<Map<String, ?>> forMaps() {
+    return fieldName -> record -> record.get(fieldName);
+  }
+
+  /**
+   * Returns a {@link FieldAccessorFactory} for records which are Java beans of the given {@code type}. Each field is read
+   * through its public getter or, in its absence, the public field with the same name. The getters and fields are looked up
+   * once per {@link Field}, not per record.
+   *
+   * @param type the type of the records
+   * @param <T>  the generic type of the records
+   * @return a {@link FieldAccessorFactory}
+   */
+  static <T> FieldAccessorFactory<T> forBeans(Class<T> type) {
+    return new BeanFieldAccessorFactory<>(type);
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+/**
+ * A {@link Value} which represents a named placeholder (such as {@code :name}) which is bound to an actual value each time that
+ * a {@link PreparedDsqlQuery} is executed.
+ * <p>
+ * {@link QueryTranslator}s are expected to translate these values to the bind variable syntax of the Native Query Language. By
+ * default, they are represented as {@code :name}.
+ *
+ * @since 1.3
+ */
+public final class ParameterValue extends Value<String> {
+
+  /**
+   * Creates a new instance
+   *
+   * @param name the name of the parameter, without the leading {@code :}
+   */
+  public ParameterValue(String name) {
+    super(name);
+  }
+
+  /**
+   * @return the name of the parameter, without the leading {@code :}
+   */
+  public String getName() {
+    return getValue();
+  }
+
+  @Override
+  public String toString() {
+    return ":" + getName();
+  }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Collections.unmodifiableSet;
+
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.BinaryLogicalExpression;
+import org.mule.runtime.extension.internal.expression.Expression;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+import org.mule.runtime.extension.internal.expression.Not;
+import org.mule.runtime.extension.internal.expression.Or;
+import org.mule.runtime.extension.internal.value.BooleanValue;
+import org.mule.runtime.extension.internal.value.DecimalValue;
+import org.mule.runtime.extension.internal.value.IntegerValue;
+import org.mule.runtime.extension.internal.value.NullValue;
+import org.mule.runtime.extension.internal.value.NumberValue;
+import org.mule.runtime.extension.internal.value.StringValue;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@link DsqlQuery} which filter values may be named placeholders (such as {@code :name}) represented by
+ * {@link ParameterValue}s, which are bound to actual values each time the query is executed.
+ * <p>
+ * Since the query is parsed only once, and its translation to a Native Query Language only depends on the
+ * {@link QueryTranslator}, the translation is cached per {@link QueryTranslator} class. The translated query keeps the
+ * placeholders, so that the parameter values are the only thing that changes on each execution. Those are bound to it through
+ * {@link #bind(QueryTranslator, Map)}.
+ * <p>
+ * Instances are obtained through {@link DsqlParser#prepare(String)} and are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class PreparedDsqlQuery {
+
+  private final DsqlQuery query;
+  private final Set<String> parameterNames;
+  private final List<String> placeholders;
+  private final Cache<Class<?>, String> translations = CacheBuilder.newBuilder().weakKeys().build();
+
+  PreparedDsqlQuery(DsqlQuery query) {
+    this.query = query;
+    Set<String> parameterNames = new LinkedHashSet<>();
+    collectParameterNames(query.getFilterExpression(), parameterNames);
+    this.parameterNames = unmodifiableSet(parameterNames);
+    List<String> placeholders = new ArrayList<>();
+    collectPlaceholders(query.getFilterExpression(), placeholders);
+    this.placeholders = placeholders;
+  }
+
+  /**
+   * @return the parsed {@link DsqlQuery}, which contains the placeholders as {@link ParameterValue}s
+   */
+  public DsqlQuery getQuery() {
+    return query;
+  }
+
+  /**
+   * @return the names of the parameters of this query, in the order in which they first appear
+   */
+  public Set<String> getParameterNames() {
+    return parameterNames;
+  }
+
+  /**
+   * Translates {@code this} query using the given {@code queryTranslator}. The placeholders are translated by the
+   * {@code queryTranslator} as any other {@link Value}, usually into the bind variables of the Native Query Language.
+   * <p>
+   * The translation is performed only the first time that a {@link QueryTranslator} of a given class is used. Subsequent
+   * invocations with instances of the same class return the same translation without using the {@code queryTranslator} at
+   * all, so the translation must depend only on the {@link QueryTranslator} class.
+   *
+   * @param queryTranslator a {@link QueryTranslator} instance used to translate from DSQL to another query language.
+   * @return a {@link String} that represents a translated query using the {@code queryTranslator}.
+   */
+  public String translate(QueryTranslator queryTranslator) {
+    String translation = translations.getIfPresent(queryTranslator.getClass());
+    if (translation == null) {
+      translation = query.translate(queryTranslator);
+      translations.put(queryTranslator.getClass(), translation);
+    }
+
+    return translation;
+  }
+
+  /**
+   * Creates a {@link DsqlQuery} in which the placeholders are replaced with the given {@code values}.
+   * <p>
+   * Values may be instances of {@link Value}, which are used as they are, or {@link String}s, {@link Boolean}s,
+   * {@link Number}s or {@code null}, which are converted to the corresponding {@link Value}. Numbers keep their exact value:
+   * {@link Long}s, {@link BigInteger}s and {@link BigDecimal}s are not converted to {@code double}.
+   *
+   * @param values the value of each parameter, by name
+   * @return a {@link DsqlQuery} without placeholders
+   * @throws IllegalArgumentException if a parameter has no value or a value is not supported
+   */
+  public DsqlQuery bind(Map<String, ?> values) {
+    if (parameterNames.isEmpty()) {
+      return query;
+    }
+
+    checkValues(values);
+    return query.withFilterExpression(bind(query.getFilterExpression(), values));
+  }
+
+  /**
+   * Binds the given {@code values} to the placeholders of the {@link #translate(QueryTranslator) translation} of {@code this}
+   * query, without translating it again.
+   * <p>
+   * Unlike {@link #bind(Map)}, the resulting {@link BoundDsqlQuery} keeps the placeholders in its translation, and lists the
+   * value of each of them in order, so it is meant for {@link QueryTranslator}s which translate the placeholders into bind
+   * variables. Values are converted as in {@link #bind(Map)}.
+   *
+   * @param queryTranslator a {@link QueryTranslator} instance used to translate from DSQL to another query language.
+   * @param values          the value of each parameter, by name
+   * @return the translation and the value of each of its placeholders
+   * @throws IllegalArgumentException if a parameter has no value or a value is not supported
+   */
+  public BoundDsqlQuery bind(QueryTranslator queryTranslator, Map<String, ?> values) {
+    checkValues(values);
+    List<Value<?>> placeholderValues = new ArrayList<>(placeholders.size());
+    for (String placeholder : placeholders) {
+      placeholderValues.add(toValue(values.get(placeholder)));
+    }
+
+    return new BoundDsqlQuery(translate(queryTranslator), placeholders, placeholderValues);
+  }
+
+  private void checkValues(Map<String, ?> values) {
+    for (String parameterName : parameterNames) {
+      if (!values.containsKey(parameterName)) {
+        throw new IllegalArgumentException("No value was provided for parameter '" + parameterName + "'");
+      }
+    }
+  }
+
+  private Expression bind(Expression expression, Map<String, ?> values) {
+    if (expression instanceof FieldComparison) {
+      FieldComparison comparison = (FieldComparison) expression;
+      if (comparison.getValue() instanceof ParameterValue) {
+        String parameterName = ((ParameterValue) comparison.getValue()).getName();
+        return new FieldComparison(comparison.getOperator(), comparison.getField(), toValue(values.get(parameterName)));
+      }
+    } else if (expression instanceof And) {
+      And and = (And) expression;
+      return new And(bind(and.getLeft(), values), bind(and.getRight(), values));
+    } else if (expression instanceof Or) {
+      Or or = (Or) expression;
+      return new Or(bind(or.getLeft(), values), bind(or.getRight(), values));
+    } else if (expression instanceof Not) {
+      return new Not(bind(((Not) expression).getRight(), values));
+    }
+
+    return expression;
+  }
+
+  private Value<?> toValue(Object value) {
+    if (value == null) {
+      return new NullValue();
+    } else if (value instanceof Value) {
+      return (Value<?>) value;
+    } else if (value instanceof String) {
+      return new StringValue((String) value);
+    } else if (value instanceof Boolean) {
+      return new BooleanValue((Boolean) value);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return new IntegerValue(((Number) value).intValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      return new NumberValue(((Number) value).doubleValue());
+    } else if (value instanceof Long) {
+      return new DecimalValue(BigDecimal.valueOf((Long) value));
+    } else if (value instanceof BigInteger) {
+      return new DecimalValue(new BigDecimal((BigInteger) value));
+    } else if (value instanceof BigDecimal) {
+      return new DecimalValue((BigDecimal) value);
+    } else if (value instanceof Number) {
+      return new DecimalValue(toBigDecimal((Number) value));
+    }
+
+    throw new IllegalArgumentException("Unsupported parameter value of type " + value.getClass().getName());
+  }
+
+  /**
+   * Other {@link Number}s are only supported if their {@link Object#toString()} is the exact decimal representation of their
+   * value, as it is the case of {@link java.util.concurrent.atomic.AtomicLong}
+   */
+  private BigDecimal toBigDecimal(Number value) {
+    try {
+      return new BigDecimal(value.toString());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Unsupported parameter value of type " + value.getClass().getName()
+          + ", since it can't be exactly represented", e);
+    }
+  }
+
+  /**
+   * Collects the name of the parameter of each placeholder in the order in which the expressions translate them. {@link Not}
+   * expressions are skipped, since they are not translated.
+   */
+  private static void collectPlaceholders(Expression expression, List<String> placeholders) {
+    if (expression instanceof FieldComparison) {
+      Value<?> value = ((FieldComparison) expression).getValue();
+      if (value instanceof ParameterValue) {
+        placeholders.add(((ParameterValue) value).getName());
+      }
+    } else if (expression instanceof BinaryLogicalExpression) {
+      collectPlaceholders(((BinaryLogicalExpression) expression).getLeft(), placeholders);
+      collectPlaceholders(((BinaryLogicalExpression) expression).getRight(), placeholders);
+    }
+  }
+
+  private static void collectParameterNames(Expression expression, Set<String> parameterNames) {
+    if (expression instanceof FieldComparison) {
+      Value<?> value = ((FieldComparison) expression).getValue();
+      if (value instanceof ParameterValue) {
+        parameterNames.add(((ParameterValue) value).getName());
+      }
+    } else if (expression instanceof BinaryLogicalExpression) {
+      collectParameterNames(((BinaryLogicalExpression) expression).getLeft(), parameterNames);
+      collectParameterNames(((BinaryLogicalExpression) expression).getRight(), parameterNames);
+    } else if (expression instanceof Not) {
+      collectParameterNames(((Not) expression).getRight(), parameterNames);
+    }
+  }
+}
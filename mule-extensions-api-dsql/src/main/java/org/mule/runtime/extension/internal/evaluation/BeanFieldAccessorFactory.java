@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.evaluation;
+
+import static java.lang.Character.toUpperCase;
+import static java.lang.invoke.MethodHandles.publicLookup;
+import static java.lang.invoke.MethodType.methodType;
+import static java.lang.reflect.Modifier.isStatic;
+
+import org.mule.runtime.extension.api.dsql.FieldAccessorFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * {@link FieldAccessorFactory} which reads the fields of Java beans through {@link MethodHandle}s to their public getters or
+ * fields, which are looked up only once per field.
+ *
+ * @param <T> the generic type of the beans
+ * @since 1.3
+ */
+public final class BeanFieldAccessorFactory<T> implements FieldAccessorFactory<T> {
+
+  private final Class<T> type;
+
+  public BeanFieldAccessorFactory(Class<T> type) {
+    this.type = type;
+  }
+
+  @Override
+  public Function<T, Object> getAccessor(String fieldName) {
+    final MethodHandle handle = findHandle(fieldName)
+        .asType(methodType(Object.class, Object.class));
+
+    return record -> {
+      try {
+        return handle.invokeExact((Object) record);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new IllegalStateException("Could not read field '" + fieldName + "' of " + type.getName(), t);
+      }
+    };
+  }
+
+  private MethodHandle findHandle(String fieldName) {
+    if (fieldName.isEmpty()) {
+      throw new IllegalArgumentException("Field name cannot be empty");
+    }
+
+    final Lookup lookup = publicLookup();
+    final String capitalized = toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    for (String prefix : new String[] {"get", "is"}) {
+      try {
+        Method getter = type.getMethod(prefix + capitalized);
+        if (!isStatic(getter.getModifiers()) && getter.getReturnType() != void.class) {
+          return lookup.unreflect(getter);
+        }
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        // try the next alternative
+      }
+    }
+
+    try {
+      java.lang.reflect.Field field = type.getField(fieldName);
+      if (!isStatic(field.getModifiers())) {
+        return lookup.unreflectGetter(field);
+      }
+    } catch (NoSuchFieldException | IllegalAccessException e) {
+      // no readable field
+    }
+
+    throw new IllegalArgumentException("Type " + type.getName() + " has no readable field '" + fieldName + "'");
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.evaluation;
+
+import static java.util.regex.Pattern.DOTALL;
+import static java.util.regex.Pattern.quote;
+import static org.mule.runtime.extension.internal.evaluation.ValueComparison.areEqual;
+import static org.mule.runtime.extension.internal.evaluation.ValueComparison.compare;
+
+import org.mule.runtime.extension.api.dsql.Direction;
+import org.mule.runtime.extension.api.dsql.Field;
+import org.mule.runtime.extension.api.dsql.FieldAccessorFactory;
+import org.mule.runtime.extension.api.dsql.ParameterValue;
+import org.mule.runtime.extension.api.dsql.Value;
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.Expression;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+import org.mule.runtime.extension.internal.expression.Not;
+import org.mule.runtime.extension.internal.expression.Or;
+import org.mule.runtime.extension.internal.operator.BinaryOperator;
+import org.mule.runtime.extension.internal.operator.EqualsOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOrEqualsOperator;
+import org.mule.runtime.extension.internal.operator.LessOperator;
+import org.mule.runtime.extension.internal.operator.LessOrEqualsOperator;
+import org.mule.runtime.extension.internal.operator.LikeOperator;
+import org.mule.runtime.extension.internal.operator.NotEqualsOperator;
+import org.mule.runtime.extension.internal.value.IdentifierValue;
+import org.mule.runtime.extension.internal.value.MuleExpressionValue;
+import org.mule.runtime.extension.internal.value.NullValue;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the {@link Expression}s and sorting criteria of a query into {@link Predicate}s and {@link Comparator}s which can
+ * be applied to the records in memory.
+ * <p>
+ * Conditions follow the SQL three-valued logic: any comparison involving a {@code null} value is unknown, except for the
+ * {@code = null} and {@code <> null} ones, which test whether the field is {@code null}. So are ordered comparisons of values
+ * which can't be compared. Unknown conditions remain unknown when negated, and only the records for which the whole expression
+ * is true are matched, so neither {@code city = 'x'} nor {@code NOT city = 'x'} match the records without a {@code city}.
+ * {@code LIKE} patterns support the {@code %} and {@code _} wildcards.
+ *
+ * @param <T> the generic type of the records
+ * @since 1.3
+ */
+public final class ExpressionPredicateCompiler<T> {
+
+  private final FieldAccessorFactory<T> accessorFactory;
+  private final Map<String, Function<T, Object>> accessors = new HashMap<>();
+
+  public ExpressionPredicateCompiler(FieldAccessorFactory<T> accessorFactory) {
+    this.accessorFactory = accessorFactory;
+  }
+
+  /**
+   * @param expression the {@link Expression} to compile
+   * @return a {@link Predicate} which is satisfied by the records which match the {@code expression}
+   * @throws IllegalArgumentException if the {@code expression} can't be evaluated in memory
+   */
+  public Predicate<T> compile(Expression expression) {
+    if (expression == null || expression.isEmpty()) {
+      return record -> true;
+    }
+
+    final Condition<T> condition = compileCondition(expression);
+    return record -> condition.evaluate(record) == Truth.TRUE;
+  }
+
+  private Condition<T> compileCondition(Expression expression) {
+    if (expression == null || expression.isEmpty()) {
+      return record -> Truth.TRUE;
+    } else if (expression instanceof And) {
+      final Condition<T> left = compileCondition(((And) expression).getLeft());
+      final Condition<T> right = compileCondition(((And) expression).getRight());
+      return record -> {
+        Truth outcome = left.evaluate(record);
+        return outcome == Truth.FALSE ? outcome : outcome.and(right.evaluate(record));
+      };
+    } else if (expression instanceof Or) {
+      final Condition<T> left = compileCondition(((Or) expression).getLeft());
+      final Condition<T> right = compileCondition(((Or) expression).getRight());
+      return record -> {
+        Truth outcome = left.evaluate(record);
+        return outcome == Truth.TRUE ? outcome : outcome.or(right.evaluate(record));
+      };
+    } else if (expression instanceof Not) {
+      final Condition<T> negated = compileCondition(((Not) expression).getRight());
+      return record -> negated.evaluate(record).not();
+    } else if (expression instanceof FieldComparison) {
+      return compileComparison((FieldComparison) expression);
+    }
+
+    throw new IllegalArgumentException("Expressions of type " + expression.getClass().getSimpleName()
+        + " can't be evaluated in memory");
+  }
+
+  /**
+   * @param fields    the fields to sort by
+   * @param direction the sorting direction
+   * @return a {@link Comparator} which sorts the records by the given {@code fields}, with {@code null} values first regardless
+   *         of the {@code direction}
+   */
+  public Comparator<T> compileComparator(List<Field> fields, Direction direction) {
+    final boolean descending = direction == Direction.DESC;
+    Comparator<T> comparator = null;
+    for (Field field : fields) {
+      Function<T, Object> accessor = getAccessor(field.getName());
+      Comparator<T> fieldComparator = (a, b) -> compareForSorting(accessor.apply(a), accessor.apply(b), descending);
+      comparator = comparator == null ? fieldComparator : comparator.thenComparing(fieldComparator);
+    }
+
+    if (comparator == null) {
+      throw new IllegalArgumentException("At least one field is required for sorting");
+    }
+
+    return comparator;
+  }
+
+  private Condition<T> compileComparison(FieldComparison comparison) {
+    final Function<T, Object> field = getAccessor(comparison.getField().getName());
+    final BinaryOperator operator = comparison.getOperator();
+    final Value<?> value = comparison.getValue();
+
+    if (value instanceof ParameterValue) {
+      throw new IllegalArgumentException("Parameter '" + value + "' must be bound before the query is evaluated");
+    } else if (value instanceof MuleExpressionValue) {
+      throw new IllegalArgumentException("Expression " + value + " must be resolved before the query is evaluated");
+    }
+
+    if (value == null || value instanceof NullValue || value.getValue() == null) {
+      if (operator instanceof EqualsOperator) {
+        return record -> Truth.of(field.apply(record) == null);
+      } else if (operator instanceof NotEqualsOperator) {
+        return record -> Truth.of(field.apply(record) != null);
+      }
+      return record -> Truth.UNKNOWN;
+    }
+
+    if (operator instanceof LikeOperator) {
+      final Pattern pattern = compileLikePattern(value.getValue().toString());
+      return record -> {
+        Object fieldValue = field.apply(record);
+        return fieldValue == null ? Truth.UNKNOWN : Truth.of(pattern.matcher(fieldValue.toString()).matches());
+      };
+    }
+
+    final Operand<T> operand;
+    if (value instanceof IdentifierValue) {
+      Function<T, Object> otherField = getAccessor(((IdentifierValue) value).getValue());
+      operand = (record, fieldValue) -> otherField.apply(record);
+    } else {
+      operand = new LiteralOperand<>(value.getValue());
+    }
+
+    if (operator instanceof EqualsOperator || operator instanceof NotEqualsOperator) {
+      final boolean expected = operator instanceof EqualsOperator;
+      return record -> {
+        Object fieldValue = field.apply(record);
+        if (fieldValue == null) {
+          return Truth.UNKNOWN;
+        }
+        Object operandValue = operand.get(record, fieldValue);
+        return operandValue == null ? Truth.UNKNOWN : Truth.of(areEqual(fieldValue, operandValue) == expected);
+      };
+    }
+
+    final IntPredicate outcome = getOutcome(operator);
+    return record -> {
+      Object fieldValue = field.apply(record);
+      if (fieldValue == null) {
+        return Truth.UNKNOWN;
+      }
+      Object operandValue = operand.get(record, fieldValue);
+      if (operandValue == null) {
+        return Truth.UNKNOWN;
+      }
+      Integer comparisonResult = compare(fieldValue, operandValue);
+      return comparisonResult == null ? Truth.UNKNOWN : Truth.of(outcome.test(comparisonResult));
+    };
+  }
+
+  private IntPredicate getOutcome(BinaryOperator operator) {
+    if (operator instanceof LessOperator) {
+      return result -> result < 0;
+    } else if (operator instanceof LessOrEqualsOperator) {
+      return result -> result <= 0;
+    } else if (operator instanceof GreaterOperator) {
+      return result -> result > 0;
+    } else if (operator instanceof GreaterOrEqualsOperator) {
+      return result -> result >= 0;
+    }
+
+    throw new IllegalArgumentException("Operator " + operator + " can't be evaluated in memory");
+  }
+
+  private Function<T, Object> getAccessor(String fieldName) {
+    return accessors.computeIfAbsent(fieldName, accessorFactory::getAccessor);
+  }
+
+  /**
+   * Only the order of non null values depends on the direction, so that {@code null} values always go first
+   */
+  private static int compareForSorting(Object a, Object b, boolean descending) {
+    if (a == null || b == null) {
+      return a == null ? (b == null ? 0 : -1) : 1;
+    }
+
+    int result = ValueComparison.compareForSorting(a, b);
+    return descending ? -result : result;
+  }
+
+  /**
+   * Translates a {@code LIKE} pattern to a regular expression
+   */
+  static Pattern compileLikePattern(String likePattern) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (char c : likePattern.toCharArray()) {
+      if (c == '%' || c == '_') {
+        if (literal.length() > 0) {
+          regex.append(quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '%' ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+
+    if (literal.length() > 0) {
+      regex.append(quote(literal.toString()));
+    }
+
+    return Pattern.compile(regex.toString(), DOTALL);
+  }
+
+  /**
+   * The outcome of a condition. Ordered so that the outcome of a conjunction is the lowest of its operands, and the one of a
+   * disjunction the highest.
+   */
+  private enum Truth {
+
+    FALSE, UNKNOWN, TRUE;
+
+    private static Truth of(boolean value) {
+      return value ? TRUE : FALSE;
+    }
+
+    private Truth and(Truth other) {
+      return compareTo(other) <= 0 ? this : other;
+    }
+
+    private Truth or(Truth other) {
+      return compareTo(other) >= 0 ? this : other;
+    }
+
+    private Truth not() {
+      return this == UNKNOWN ? this : of(this == FALSE);
+    }
+  }
+
+  /**
+   * A compiled {@link Expression}
+   */
+  @FunctionalInterface
+  private interface Condition<T> {
+
+    /**
+     * @param record the evaluated record
+     * @return whether the {@code record} matches the condition, under the three-valued logic
+     */
+    Truth evaluate(T record);
+  }
+
+  /**
+   * The right hand side of a comparison
+   */
+  @FunctionalInterface
+  private interface Operand<T> {
+
+    /**
+     * @param record     the evaluated record
+     * @param fieldValue the value of the compared field on the {@code record}
+     * @return the value to compare the {@code fieldValue} to
+     */
+    Object get(T record, Object fieldValue);
+  }
+
+  /**
+   * A literal operand, which {@link String} value is converted to the type of the values it is compared to. The last
+   * conversion is kept so that it's not repeated for each record.
+   */
+  private static final class LiteralOperand<T> implements Operand<T> {
+
+    private final Object literal;
+    private volatile Conversion conversion;
+
+    private LiteralOperand(Object literal) {
+      this.literal = literal;
+    }
+
+    @Override
+    public Object get(T record, Object fieldValue) {
+      if (!(literal instanceof String) || fieldValue instanceof String) {
+        return literal;
+      }
+
+      Conversion current = conversion;
+      if (current == null || current.type != fieldValue.getClass()) {
+        current = new Conversion(fieldValue.getClass(), ValueComparison.convert((String) literal, fieldValue));
+        conversion = current;
+      }
+      return current.value;
+    }
+  }
+
+  private static final class Conversion {
+
+    private final Class<?> type;
+    private final Object value;
+
+    private Conversion(Class<?> type, Object value) {
+      this.type = type;
+      this.value = value;
+    }
+  }
+}
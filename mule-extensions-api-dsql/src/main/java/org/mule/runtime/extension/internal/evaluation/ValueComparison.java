@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.evaluation;
+
+import static java.lang.Integer.signum;
+import static java.time.ZoneOffset.UTC;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+
+/**
+ * Utilities to compare the values of the records evaluated in memory against other values or the literals of a query.
+ * <p>
+ * Numbers are compared by their numeric value regardless of their type, and the {@link String} literals of a query are
+ * converted to the type of the value they are compared to (numbers, dates, booleans and enums). Values of other types are not
+ * comparable to each other.
+ * <p>
+ * Sorting uses {@link #compareForSorting(Object, Object)} instead, which orders values of different types by their type rather
+ * than converting them, so that it is a total order.
+ *
+ * @since 1.3
+ */
+final class ValueComparison {
+
+  private ValueComparison() {}
+
+  /**
+   * Compares two non null values
+   *
+   * @return a negative, zero or positive value as {@code a} is less than, equal to or greater than {@code b}, or {@code null}
+   *         if they can't be compared
+   */
+  static Integer compare(Object a, Object b) {
+    if (b instanceof String && !(a instanceof String)) {
+      b = convert((String) b, a);
+    } else if (a instanceof String && !(b instanceof String)) {
+      a = convert((String) a, b);
+    }
+
+    if (a instanceof Number && b instanceof Number) {
+      return signum(compareNumbers((Number) a, (Number) b));
+    }
+
+    Instant first = toInstant(a);
+    Instant second = toInstant(b);
+    if (first != null && second != null) {
+      return signum(first.compareTo(second));
+    }
+
+    if (a instanceof Comparable && a.getClass().isInstance(b)) {
+      return signum(((Comparable<Object>) a).compareTo(b));
+    }
+
+    if (a instanceof Enum || b instanceof Enum) {
+      return signum(name(a).compareTo(name(b)));
+    }
+
+    return null;
+  }
+
+  /**
+   * Compares two non null values for sorting. Values are first ordered by their kind: booleans, numbers, instants, texts
+   * ({@link String}s and {@link Enum}s, by name) and then the rest, by class name. Values of the same kind are compared as in
+   * {@link #compare(Object, Object)}, save for {@code NaN}, which goes after every other number. Values of any other class are
+   * compared only if they are {@link Comparable}, and are considered equal otherwise.
+   *
+   * @return a negative, zero or positive value as {@code a} sorts before, together with or after {@code b}
+   */
+  static int compareForSorting(Object a, Object b) {
+    int kind = Integer.compare(kind(a), kind(b));
+    if (kind != 0) {
+      return kind;
+    }
+
+    if (a instanceof Boolean) {
+      return Boolean.compare((Boolean) a, (Boolean) b);
+    } else if (a instanceof Number) {
+      return compareNumbersForSorting((Number) a, (Number) b);
+    } else if (a instanceof String || a instanceof Enum) {
+      return signum(name(a).compareTo(name(b)));
+    }
+
+    Instant first = toInstant(a);
+    if (first != null) {
+      return signum(first.compareTo(toInstant(b)));
+    }
+
+    if (a.getClass() != b.getClass()) {
+      return signum(a.getClass().getName().compareTo(b.getClass().getName()));
+    }
+    return a instanceof Comparable ? signum(((Comparable<Object>) a).compareTo(b)) : 0;
+  }
+
+  private static int kind(Object value) {
+    if (value instanceof Boolean) {
+      return 0;
+    } else if (value instanceof Number) {
+      return 1;
+    } else if (toInstant(value) != null) {
+      return 2;
+    } else if (value instanceof String || value instanceof Enum) {
+      return 3;
+    }
+    return 4;
+  }
+
+  /**
+   * Unlike {@link #compareNumbers(Number, Number)}, compares every pair of finite numbers by their exact value, so that the
+   * order is transitive across types.
+   */
+  private static int compareNumbersForSorting(Number a, Number b) {
+    if (isIntegral(a) && isIntegral(b)) {
+      return Long.compare(a.longValue(), b.longValue());
+    }
+
+    int special = Integer.compare(special(a), special(b));
+    if (special != 0 || !isExact(a)) {
+      return special;
+    }
+
+    if ((a instanceof Double || a instanceof Float) && (b instanceof Double || b instanceof Float)) {
+      double first = a.doubleValue();
+      double second = b.doubleValue();
+      // 0.0 and -0.0 are equal, as their BigDecimal values are
+      return first == second ? 0 : Double.compare(first, second);
+    }
+    return toBigDecimal(a).compareTo(toBigDecimal(b));
+  }
+
+  /**
+   * @return {@code 0} for finite numbers, and the position of the rest relative to them
+   */
+  private static int special(Number number) {
+    if (isExact(number)) {
+      return 0;
+    }
+    double value = number.doubleValue();
+    return Double.isNaN(value) ? 2 : (value < 0 ? -1 : 1);
+  }
+
+  /**
+   * @return whether the non null values {@code a} and {@code b} are equal
+   */
+  static boolean areEqual(Object a, Object b) {
+    Integer comparison = compare(a, b);
+    return comparison != null ? comparison == 0 : a.equals(b);
+  }
+
+  /**
+   * Converts the given {@code literal} to the type of the {@code sample} value. If such conversion is not possible, then
+   * the {@code literal} is returned.
+   *
+   * @param literal a literal of a query
+   * @param sample  a value of the type the {@code literal} is converted to
+   * @return the converted value
+   */
+  static Object convert(String literal, Object sample) {
+    try {
+      if (sample instanceof Number) {
+        return new BigDecimal(literal.trim());
+      } else if (sample instanceof Boolean) {
+        return Boolean.valueOf(literal);
+      } else if (sample instanceof LocalDate) {
+        return isDate(literal) ? LocalDate.parse(literal) : OffsetDateTime.parse(literal).toLocalDate();
+      } else if (sample instanceof LocalDateTime) {
+        return isDate(literal) ? LocalDate.parse(literal).atStartOfDay() : OffsetDateTime.parse(literal).toLocalDateTime();
+      } else if (sample instanceof OffsetDateTime || sample instanceof ZonedDateTime || sample instanceof Instant
+          || sample instanceof Date) {
+        return isDate(literal) ? LocalDate.parse(literal).atStartOfDay(UTC).toInstant() : OffsetDateTime.parse(literal).toInstant();
+      }
+    } catch (NumberFormatException | DateTimeParseException e) {
+      // not convertible, compare as a String
+    }
+
+    return literal;
+  }
+
+  private static boolean isDate(String literal) {
+    return literal.length() == 10;
+  }
+
+  private static int compareNumbers(Number a, Number b) {
+    if (isIntegral(a) && isIntegral(b)) {
+      return Long.compare(a.longValue(), b.longValue());
+    }
+
+    if (isExact(a) && isExact(b) && (a instanceof BigDecimal || b instanceof BigDecimal || a instanceof BigInteger
+        || b instanceof BigInteger)) {
+      return toBigDecimal(a).compareTo(toBigDecimal(b));
+    }
+
+    return Double.compare(a.doubleValue(), b.doubleValue());
+  }
+
+  private static boolean isIntegral(Number number) {
+    return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+  }
+
+  private static boolean isExact(Number number) {
+    if (number instanceof Double || number instanceof Float) {
+      double value = number.doubleValue();
+      return !Double.isNaN(value) && !Double.isInfinite(value);
+    }
+    return true;
+  }
+
+  private static BigDecimal toBigDecimal(Number number) {
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    } else if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    } else if (isIntegral(number)) {
+      return BigDecimal.valueOf(number.longValue());
+    }
+    return BigDecimal.valueOf(number.doubleValue());
+  }
+
+  private static Instant toInstant(Object value) {
+    if (value instanceof Instant) {
+      return (Instant) value;
+    } else if (value instanceof Date) {
+      return ((Date) value).toInstant();
+    } else if (value instanceof OffsetDateTime) {
+      return ((OffsetDateTime) value).toInstant();
+    } else if (value instanceof ZonedDateTime) {
+      return ((ZonedDateTime) value).toInstant();
+    }
+    return null;
+  }
+
+  private static String name(Object value) {
+    return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+  }
+}
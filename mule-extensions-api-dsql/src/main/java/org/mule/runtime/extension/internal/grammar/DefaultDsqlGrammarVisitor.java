@@ -11,6 +11,7 @@ import org.mule.runtime.extension.api.dsql.DefaultQueryBuilder;
 import org.mule.runtime.extension.api.dsql.QueryBuilder;
 import org.mule.runtime.extension.api.dsql.EntityType;
 import org.mule.runtime.extension.api.dsql.Field;
+import org.mule.runtime.extension.api.dsql.ParameterValue;
 import org.mule.runtime.extension.api.dsql.Value;
 import org.mule.runtime.extension.internal.MuleDsqlParser;
 import org.mule.runtime.extension.internal.operator.BinaryOperator;
@@ -145,6 +146,9 @@ public class DefaultDsqlGrammarVisitor implements DsqlGrammarVisitor {
       case MuleDsqlParser.STRING_LITERAL:
         value = StringValue.fromLiteral(node.getText());
         break;
+      case MuleDsqlParser.NAMED_PARAMETER:
+        value = new ParameterValue(node.getText().substring(1));
+        break;
       default:
         value = UnknownValue.fromLiteral(node.getText());
         break;
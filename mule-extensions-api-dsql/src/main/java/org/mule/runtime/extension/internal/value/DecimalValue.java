@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.value;
+
+import org.mule.runtime.extension.api.dsql.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * {@link Value} implementation, that represents an exact number, such as a {@code long} or an arbitrary precision one, which
+ * can't be represented by an {@link IntegerValue} or a {@link NumberValue} without losing precision.
+ *
+ * @since 1.3
+ */
+public class DecimalValue extends Value<BigDecimal> {
+
+  public DecimalValue(BigDecimal value) {
+    super(value);
+  }
+
+  @Override
+  public String toString() {
+    return getValue().toPlainString();
+  }
+}
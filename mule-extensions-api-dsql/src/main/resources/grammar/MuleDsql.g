@@ -116,6 +116,9 @@ null_type:
 
 identifier:
   IDENT;
+
+parameter:
+  NAMED_PARAMETER;
     
 term:
     identifier
@@ -125,7 +128,8 @@ term:
     | bool
     | date_time
     | date
-    | null_type;
+    | null_type
+    | parameter;
     
 negation:
       NOT^* term;
@@ -203,6 +207,8 @@ INTEGER_LITERAL:
 DOUBLE_LITERAL:
 	('0'..'9'|'.')*; 
 
+NAMED_PARAMETER : ':' ('a'..'z' | 'A'..'Z' | '_') ('a'..'z' | 'A'..'Z' | '0'..'9' | '_')*;
+
 IDENT : ('a'..'z' | 'A'..'Z' | '0'..'9'| '-' | '_' | '.')+
     | '[' ~(']')+ ']';
 ASTERIX : '*';
@@ -7,8 +7,11 @@
 package org.mule.runtime.extension.api.dsql;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import org.mule.runtime.extension.internal.exception.DsqlParsingException;
 import org.mule.runtime.extension.internal.operator.EqualsOperator;
 import org.mule.runtime.extension.internal.expression.FieldComparison;
 import org.mule.runtime.extension.internal.operator.LessOperator;
@@ -87,4 +90,40 @@ public class DsqlParserTestCase {
     assertEquals("'#[flowVars[\"id\"]]'", ((FieldComparison) dsqlQuery.getFilterExpression()).getValue().toString());
     assertEquals("name", dsqlQuery.getOrderByFields().get(0).getName());
   }
+
+  @Test
+  public void testCachedParse() {
+    DsqlParser parser = DsqlParser.getInstance(10);
+    DsqlQuery dsqlQuery = parser.parse("dsql:select id,name from addresses where name='John'");
+    assertSame(dsqlQuery, parser.parse("dsql:select id,name from addresses where name='John'"));
+    assertEquals(1, parser.getCacheHitCount());
+    assertEquals(1, parser.getCacheMissCount());
+
+    parser.invalidateCache();
+    assertNotSame(dsqlQuery, parser.parse("dsql:select id,name from addresses where name='John'"));
+  }
+
+  @Test
+  public void testCacheEviction() {
+    DsqlParser parser = DsqlParser.getInstance(1);
+    parser.parse("dsql:select * from users");
+    parser.parse("dsql:select * from addresses");
+    assertEquals(1, parser.getCacheEvictionCount());
+  }
+
+  @Test
+  public void testParseAfterFailure() {
+    DsqlParser parser = DsqlParser.getInstance(0);
+    try {
+      parser.parse("dsql:select from");
+      fail();
+    } catch (DsqlParsingException e) {
+      // expected
+    }
+
+    DsqlQuery dsqlQuery = parser.parse("dsql:select id from users order by id desc");
+    assertEquals("id", dsqlQuery.getFields().get(0).getName());
+    assertEquals("users", dsqlQuery.getType().getName());
+    assertEquals(Direction.DESC, dsqlQuery.getDirection());
+  }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.Expression;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+import org.mule.runtime.extension.internal.expression.Not;
+import org.mule.runtime.extension.internal.expression.Or;
+import org.mule.runtime.extension.internal.operator.EqualsOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOrEqualsOperator;
+import org.mule.runtime.extension.internal.operator.LessOperator;
+import org.mule.runtime.extension.internal.operator.LikeOperator;
+import org.mule.runtime.extension.internal.operator.NotEqualsOperator;
+import org.mule.runtime.extension.internal.value.DateValue;
+import org.mule.runtime.extension.internal.value.IntegerValue;
+import org.mule.runtime.extension.internal.value.NullValue;
+import org.mule.runtime.extension.internal.value.NumberValue;
+import org.mule.runtime.extension.internal.value.StringValue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class DsqlQueryEvaluatorTestCase {
+
+  private static final List<Map<String, ?>> PEOPLE = asList(person("alejo", 30, "Buenos Aires"),
+                                                            person("mariano", 25, "Cordoba"),
+                                                            person("esteban", 40, "Buenos Aires"),
+                                                            person("alejandro", 18, null),
+                                                            person("pablo", 35, "Rosario"));
+
+  @Test
+  public void filter() {
+    Expression expression = new And(comparison(new GreaterOrEqualsOperator(), "age", new IntegerValue(25)),
+                                    new Or(comparison(new EqualsOperator(), "city", new StringValue("Cordoba")),
+                                           comparison(new LikeOperator(), "name", new StringValue("%b_n"))));
+
+    assertEquals(asList("mariano", "esteban"), names(evaluate(query(expression))));
+  }
+
+  @Test
+  public void not() {
+    Expression expression = new Not(comparison(new LikeOperator(), "name", new StringValue("ale%o")));
+    assertEquals(asList("mariano", "esteban", "pablo"), names(evaluate(query(expression))));
+  }
+
+  @Test
+  public void notOfUnknownIsUnknown() {
+    Expression expression = new Not(comparison(new EqualsOperator(), "city", new StringValue("Cordoba")));
+    assertEquals(asList("alejo", "esteban", "pablo"), names(evaluate(query(expression))));
+
+    expression = new Not(new Or(comparison(new EqualsOperator(), "city", new StringValue("Cordoba")),
+                                comparison(new LessOperator(), "age", new IntegerValue(20))));
+    assertEquals(asList("alejo", "esteban", "pablo"), names(evaluate(query(expression))));
+  }
+
+  @Test
+  public void numbersAreComparedByValue() {
+    Expression expression = comparison(new LessOperator(), "age", new NumberValue(25.5));
+    assertEquals(asList("mariano", "alejandro"), names(evaluate(query(expression))));
+  }
+
+  @Test
+  public void nullComparisons() {
+    assertEquals(asList("alejandro"),
+                 names(evaluate(query(comparison(new EqualsOperator(), "city", new NullValue())))));
+    assertEquals(asList("alejo", "mariano", "esteban", "pablo"),
+                 names(evaluate(query(comparison(new NotEqualsOperator(), "city", new NullValue())))));
+    assertEquals(asList("alejo", "esteban", "pablo"),
+                 names(evaluate(query(comparison(new NotEqualsOperator(), "city", new StringValue("Cordoba"))))));
+  }
+
+  @Test
+  public void orderByWithLimitAndOffset() {
+    QueryBuilder builder = builder()
+        .addOrderByField(new Field("age"))
+        .setDirection(Direction.DESC)
+        .setLimit(2)
+        .setOffset(1);
+
+    assertEquals(asList("pablo", "alejo"), names(evaluate(builder.build())));
+  }
+
+  @Test
+  public void orderByWithoutLimit() {
+    QueryBuilder builder = builder()
+        .addOrderByField(new Field("city"))
+        .addOrderByField(new Field("name"))
+        .setOffset(2);
+
+    assertEquals(asList("esteban", "mariano", "pablo"), names(evaluate(builder.build())));
+  }
+
+  @Test
+  public void descendingOrderKeepsNullsFirst() {
+    QueryBuilder builder = builder()
+        .addOrderByField(new Field("city"))
+        .addOrderByField(new Field("name"))
+        .setDirection(Direction.DESC);
+
+    assertEquals(asList("alejandro", "pablo", "mariano", "esteban", "alejo"), names(evaluate(builder.build())));
+  }
+
+  @Test
+  public void valuesOfDifferentTypesAreSortedByType() {
+    List<Map<String, ?>> records = new ArrayList<>();
+    Object[] codes = {"abc", 10, null, "9", 9.5, true, new BigDecimal("9.75")};
+    for (int i = 0; i < codes.length; i++) {
+      Map<String, Object> record = new HashMap<>();
+      record.put("name", "record" + i);
+      record.put("code", codes[i]);
+      records.add(record);
+    }
+
+    DsqlQuery query = builder().addOrderByField(new Field("code")).build();
+    List<Object> sorted = DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps()).evaluate(records.stream())
+        .map(record -> record.get("code")).collect(toList());
+    assertEquals(asList(null, true, 9.5, new BigDecimal("9.75"), 10, "9", "abc"), sorted);
+  }
+
+  @Test
+  public void limitStopsConsumingRecords() {
+    DsqlQuery query = builder()
+        .setFilterExpression(comparison(new GreaterOrEqualsOperator(), "age", new IntegerValue(10)))
+        .setLimit(3)
+        .build();
+
+    List<Integer> consumed = new ArrayList<>();
+    Iterator<Map<String, ?>> records = IntStream.range(0, 1000)
+        .peek(consumed::add)
+        .<Map<String, ?>>mapToObj(i -> person("person" + i, i, null))
+        .iterator();
+
+    Iterator<Map<String, ?>> result = DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps()).evaluate(records);
+    List<Object> names = new ArrayList<>();
+    result.forEachRemaining(record -> names.add(record.get("name")));
+
+    assertEquals(asList("person10", "person11", "person12"), names);
+    assertTrue(consumed.size() < 1000);
+  }
+
+  @Test
+  public void topK() {
+    DsqlQuery query = builder()
+        .addOrderByField(new Field("age"))
+        .setLimit(5)
+        .build();
+
+    List<Map<String, ?>> records = IntStream.range(0, 1000)
+        .map(i -> (i * 7919) % 1000)
+        .<Map<String, ?>>mapToObj(i -> person("person" + i, i, null))
+        .collect(toList());
+
+    assertEquals(asList("person0", "person1", "person2", "person3", "person4"),
+                 names(DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps()).evaluate(records.stream())
+                     .collect(toList())));
+  }
+
+  @Test
+  public void topKKeepsTiesInOriginalOrder() {
+    List<Map<String, ?>> records = IntStream.range(0, 200)
+        .<Map<String, ?>>mapToObj(i -> person("person" + i, (i * 7) % 4, null))
+        .collect(toList());
+
+    for (int limit : new int[] {1, 7, 50, 51, 120}) {
+      for (int offset : new int[] {0, 3, 49}) {
+        DsqlQuery query = builder()
+            .addOrderByField(new Field("age"))
+            .setLimit(limit)
+            .setOffset(offset)
+            .build();
+
+        List<Object> expected = names(records.stream()
+            .sorted(Comparator.comparing(record -> (Integer) record.get("age")))
+            .skip(offset)
+            .limit(limit)
+            .collect(toList()));
+
+        assertEquals(expected, names(DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps())
+            .evaluate(records.stream()).collect(toList())));
+      }
+    }
+  }
+
+  @Test
+  public void beans() {
+    DsqlQuery query = builder()
+        .setFilterExpression(comparison(new GreaterOrEqualsOperator(), "birthDate", new DateValue("1990-01-01")))
+        .addOrderByField(new Field("name"))
+        .build();
+
+    List<Person> people = asList(new Person("mariano", LocalDate.of(1989, 12, 31)),
+                                 new Person("esteban", LocalDate.of(1990, 1, 1)),
+                                 new Person("alejo", LocalDate.of(1995, 6, 15)));
+
+    List<String> names = DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forBeans(Person.class))
+        .evaluate(people.stream())
+        .map(Person::getName)
+        .collect(toList());
+
+    assertEquals(asList("alejo", "esteban"), names);
+  }
+
+  @Test
+  public void compiledFilterIsReusable() {
+    DsqlQueryEvaluator<Map<String, ?>> evaluator =
+        DsqlQueryEvaluator.compile(query(comparison(new EqualsOperator(), "name", new StringValue("pablo"))),
+                                   FieldAccessorFactory.forMaps());
+
+    assertTrue(evaluator.getFilter().test(person("pablo", 35, null)));
+    assertFalse(evaluator.getFilter().test(person("alejo", 35, null)));
+    assertEquals(1, evaluator.evaluate(PEOPLE.stream()).count());
+    assertEquals(1, evaluator.evaluate(PEOPLE.stream()).count());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unboundParameter() {
+    DsqlQueryEvaluator.compile(query(comparison(new EqualsOperator(), "name", new ParameterValue("name"))),
+                               FieldAccessorFactory.forMaps());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownBeanField() {
+    DsqlQueryEvaluator.compile(query(comparison(new EqualsOperator(), "age", new IntegerValue(1))),
+                               FieldAccessorFactory.forBeans(Person.class));
+  }
+
+  private List<Map<String, ?>> evaluate(DsqlQuery query) {
+    return DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps()).evaluate(PEOPLE.stream()).collect(toList());
+  }
+
+  private static List<Object> names(List<Map<String, ?>> records) {
+    return records.stream().map(record -> record.get("name")).collect(toList());
+  }
+
+  private static QueryBuilder builder() {
+    return DefaultQueryBuilder.getInstance().setType(new EntityType("people"));
+  }
+
+  private static DsqlQuery query(Expression expression) {
+    return builder().setFilterExpression(expression).build();
+  }
+
+  private static FieldComparison comparison(org.mule.runtime.extension.internal.operator.BinaryOperator operator,
+                                            String field, Value<?> value) {
+    return new FieldComparison(operator, new Field(field), value);
+  }
+
+  private static Map<String, ?> person(String name, int age, String city) {
+    Map<String, Object> person = new HashMap<>();
+    person.put("name", name);
+    person.put("age", age);
+    person.put("city", city);
+    return person;
+  }
+
+  public static class Person {
+
+    private final String name;
+    private final LocalDate birthDate;
+
+    public Person(String name, LocalDate birthDate) {
+      this.name = name;
+      this.birthDate = birthDate;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public LocalDate getBirthDate() {
+      return birthDate;
+    }
+  }
+}
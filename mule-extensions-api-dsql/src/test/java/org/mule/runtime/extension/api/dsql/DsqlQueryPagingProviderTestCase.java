@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class DsqlQueryPagingProviderTestCase {
+
+  private static final List<Integer> RECORDS = IntStream.range(0, 100).boxed().collect(toList());
+  private static final Object CONNECTION = new Object();
+
+  private final ExecutorService executor = newSingleThreadExecutor();
+  private final ExecutorService totalResultsExecutor = newSingleThreadExecutor();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+    totalResultsExecutor.shutdownNow();
+  }
+
+  @Test
+  public void limitBoundsPageSizes() {
+    PositionFetcher fetcher = new PositionFetcher();
+    DsqlQueryPagingProvider<Object, Integer> provider = new DsqlQueryPagingProvider<>(query(25, null), 10, fetcher);
+
+    assertEquals(RECORDS.subList(0, 25), readAll(provider));
+    assertEquals(3, fetcher.requests.size());
+    assertEquals(5, fetcher.requests.get(2).getSize());
+    assertEquals(3, provider.getStatistics().getFetchedPages());
+    assertEquals(25, provider.getStatistics().getFetchedItems());
+  }
+
+  @Test
+  public void offsetIsRequestedNatively() {
+    PositionFetcher fetcher = new PositionFetcher();
+    DsqlQueryPagingProvider<Object, Integer> provider = new DsqlQueryPagingProvider<>(query(15, 42), 10, fetcher);
+
+    assertEquals(RECORDS.subList(42, 57), readAll(provider));
+    assertEquals(42, fetcher.requests.get(0).getOffset());
+    assertEquals(52, fetcher.requests.get(1).getOffset());
+    assertEquals(2, fetcher.requests.size());
+  }
+
+  @Test
+  public void offsetIsSkippedWhenUnsupported() {
+    CursorFetcher fetcher = new CursorFetcher();
+    DsqlQueryPagingProvider<Object, Integer> provider = new DsqlQueryPagingProvider<>(query(15, 42), 10, fetcher);
+
+    assertEquals(RECORDS.subList(42, 57), readAll(provider));
+    assertFalse(fetcher.requests.get(0).getCursor().isPresent());
+    assertEquals("10", fetcher.requests.get(1).getCursor().get());
+    assertEquals(6, fetcher.requests.size());
+  }
+
+  @Test
+  public void unboundedQueryIsReadUntilExhausted() {
+    PositionFetcher fetcher = new PositionFetcher();
+    DsqlQueryPagingProvider<Object, Integer> provider = new DsqlQueryPagingProvider<>(query(null, null), 30, fetcher);
+
+    assertEquals(RECORDS, readAll(provider));
+    assertEquals(4, fetcher.requests.size());
+  }
+
+  @Test
+  public void totalResultsAreBounded() {
+    assertEquals(Optional.of(25), new DsqlQueryPagingProvider<>(query(25, 10), 10, new PositionFetcher())
+        .getTotalResults(CONNECTION));
+    assertEquals(Optional.of(10), new DsqlQueryPagingProvider<>(query(25, 90), 10, new PositionFetcher())
+        .getTotalResults(CONNECTION));
+    assertEquals(Optional.of(0), new DsqlQueryPagingProvider<>(query(null, 200), 10, new PositionFetcher())
+        .getTotalResults(CONNECTION));
+  }
+
+  @Test
+  public void prefetchesFollowingPage() throws Exception {
+    PositionFetcher fetcher = new PositionFetcher();
+    DsqlQueryPagingProvider<Object, Integer> provider =
+        new DsqlQueryPagingProvider<>(query(35, 5), 10, fetcher, executor);
+    assertTrue(provider.useStickyConnections());
+
+    assertEquals(RECORDS.subList(5, 15), provider.getPage(CONNECTION));
+    assertEquals(RECORDS.subList(15, 40), readAll(provider));
+    assertEquals(4, fetcher.requests.size());
+    provider.close(CONNECTION);
+    assertTrue(fetcher.closed);
+  }
+
+  @Test
+  public void prefetchFailureIsRethrown() throws Exception {
+    PositionFetcher fetcher = new PositionFetcher();
+    fetcher.failAt = 10;
+    DsqlQueryPagingProvider<Object, Integer> provider =
+        new DsqlQueryPagingProvider<>(query(null, null), 10, fetcher, executor);
+
+    assertEquals(RECORDS.subList(0, 10), provider.getPage(CONNECTION));
+    try {
+      provider.getPage(CONNECTION);
+      fail("Expected the prefetch failure");
+    } catch (IllegalStateException e) {
+      assertEquals(1, provider.getStatistics().getFailedFetches());
+    }
+    provider.close(CONNECTION);
+    assertTrue(fetcher.closed);
+  }
+
+  @Test
+  public void totalResultsWaitForInFlightPrefetch() throws Exception {
+    CountDownLatch prefetchStarted = new CountDownLatch(1);
+    CountDownLatch releasePrefetch = new CountDownLatch(1);
+    AtomicInteger inUse = new AtomicInteger();
+    AtomicBoolean overlapped = new AtomicBoolean(false);
+    PositionFetcher fetcher = new PositionFetcher() {
+
+      @Override
+      public DsqlPage<Integer> fetch(Object connection, DsqlPageRequest request) {
+        overlapped.compareAndSet(false, inUse.incrementAndGet() > 1);
+        try {
+          if (request.getOffset() == 10) {
+            prefetchStarted.countDown();
+            releasePrefetch.await();
+          }
+          return super.fetch(connection, request);
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        } finally {
+          inUse.decrementAndGet();
+        }
+      }
+
+      @Override
+      public Optional<Integer> getTotalResults(Object connection) {
+        overlapped.compareAndSet(false, inUse.incrementAndGet() > 1);
+        inUse.decrementAndGet();
+        return super.getTotalResults(connection);
+      }
+    };
+    DsqlQueryPagingProvider<Object, Integer> provider =
+        new DsqlQueryPagingProvider<>(query(20, null), 10, fetcher, executor);
+
+    assertEquals(RECORDS.subList(0, 10), provider.getPage(CONNECTION));
+    prefetchStarted.await();
+    Future<Optional<Integer>> total = totalResultsExecutor.submit(() -> provider.getTotalResults(CONNECTION));
+    Thread.sleep(100);
+    assertFalse(total.isDone());
+
+    releasePrefetch.countDown();
+    assertEquals(Optional.of(20), total.get());
+    assertEquals(RECORDS.subList(10, 20), readAll(provider));
+    assertEquals(2, fetcher.requests.size());
+    assertFalse(overlapped.get());
+  }
+
+  private static List<Integer> readAll(DsqlQueryPagingProvider<Object, Integer> provider) {
+    List<Integer> items = new ArrayList<>();
+    List<Integer> page;
+    while (!(page = provider.getPage(CONNECTION)).isEmpty()) {
+      items.addAll(page);
+    }
+    return items;
+  }
+
+  private static DsqlQuery query(Integer limit, Integer offset) {
+    QueryBuilder builder = DefaultQueryBuilder.getInstance().setType(new EntityType("records"));
+    if (limit != null) {
+      builder.setLimit(limit);
+    }
+    if (offset != null) {
+      builder.setOffset(offset);
+    }
+    return builder.build();
+  }
+
+  private static class PositionFetcher implements DsqlPageFetcher<Object, Integer> {
+
+    protected final List<DsqlPageRequest> requests = new CopyOnWriteArrayList<>();
+    private volatile int failAt = -1;
+    private volatile boolean closed;
+
+    @Override
+    public DsqlPage<Integer> fetch(Object connection, DsqlPageRequest request) {
+      requests.add(request);
+      int from = Math.min(request.getOffset(), RECORDS.size());
+      if (from == failAt) {
+        throw new IllegalStateException("Expected failure");
+      }
+      return DsqlPage.of(RECORDS.subList(from, Math.min(from + request.getSize(), RECORDS.size())), request.getSize());
+    }
+
+    @Override
+    public Optional<Integer> getTotalResults(Object connection) {
+      return Optional.of(RECORDS.size());
+    }
+
+    @Override
+    public void close(Object connection) {
+      closed = true;
+    }
+  }
+
+  private static class CursorFetcher extends PositionFetcher {
+
+    @Override
+    public DsqlPage<Integer> fetch(Object connection, DsqlPageRequest request) {
+      requests.add(request);
+      int from = request.getCursor().map(Integer::valueOf).orElse(0);
+      int to = Math.min(from + request.getSize(), RECORDS.size());
+      return DsqlPage.of(RECORDS.subList(from, to), to < RECORDS.size() ? String.valueOf(to) : null);
+    }
+
+    @Override
+    public boolean supportsOffset() {
+      return false;
+    }
+  }
+}
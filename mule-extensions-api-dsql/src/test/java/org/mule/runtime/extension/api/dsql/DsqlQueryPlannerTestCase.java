@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Arrays.asList;
+import static java.util.EnumSet.allOf;
+import static java.util.EnumSet.complementOf;
+import static java.util.EnumSet.of;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.FILTER;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LIKE;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.LIMIT;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.OFFSET;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.OR;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.ORDER_BY;
+
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+import org.mule.runtime.extension.internal.expression.Or;
+import org.mule.runtime.extension.internal.operator.EqualsOperator;
+import org.mule.runtime.extension.internal.operator.GreaterOperator;
+import org.mule.runtime.extension.internal.operator.LikeOperator;
+import org.mule.runtime.extension.internal.value.IntegerValue;
+import org.mule.runtime.extension.internal.value.StringValue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+public class DsqlQueryPlannerTestCase {
+
+  private static final List<Map<String, ?>> RECORDS = IntStream.range(0, 100)
+      .<Map<String, ?>>mapToObj(i -> record("name" + (i * 37 % 100), i % 10, i % 3 == 0 ? "x" : "y"))
+      .collect(toList());
+
+  @Test
+  public void fullyPushedDown() {
+    DsqlQuery query = query();
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query, allOf(QueryCapability.class));
+    assertTrue(plan.isFullyPushedDown());
+    assertSame(query, plan.getNativeQuery());
+    assertFalse(plan.getResidualQuery().isPresent());
+  }
+
+  @Test
+  public void unsupportedOperatorIsEvaluatedInMemory() {
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query(), complementOf(of(LIKE)));
+
+    DsqlQuery nativeQuery = plan.getNativeQuery();
+    assertTrue(nativeQuery.getFilterExpression() instanceof FieldComparison);
+    assertTrue(((FieldComparison) nativeQuery.getFilterExpression()).getOperator() instanceof GreaterOperator);
+    assertEquals(asList("name", "code"), fieldNames(nativeQuery.getFields()));
+    assertEquals("group", nativeQuery.getOrderByFields().get(0).getName());
+    assertEquals(null, nativeQuery.getLimitIfPresent());
+    assertEquals(null, nativeQuery.getOffsetIfPresent());
+
+    DsqlQuery residualQuery = plan.getResidualQuery().get();
+    assertTrue(residualQuery.getOrderByFields().isEmpty());
+    assertEquals(Integer.valueOf(5), residualQuery.getLimitIfPresent());
+    assertEquals(Integer.valueOf(2), residualQuery.getOffsetIfPresent());
+    assertEquivalent(plan);
+  }
+
+  @Test
+  public void offsetIsAddedToNativeLimit() {
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query(), complementOf(of(OFFSET)));
+
+    assertEquals(Integer.valueOf(7), plan.getNativeQuery().getLimitIfPresent());
+    assertEquals(null, plan.getNativeQuery().getOffsetIfPresent());
+    assertEquals(Integer.valueOf(2), plan.getResidualQuery().get().getOffsetIfPresent());
+    assertEquivalent(plan);
+  }
+
+  @Test
+  public void unsupportedSorting() {
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query(), complementOf(of(ORDER_BY)));
+
+    assertTrue(plan.getNativeQuery().getOrderByFields().isEmpty());
+    assertEquals(null, plan.getNativeQuery().getLimitIfPresent());
+    assertEquals("group", plan.getResidualQuery().get().getOrderByFields().get(0).getName());
+    assertEquivalent(plan);
+  }
+
+  @Test
+  public void disjunctionIsPushedDownAsAWhole() {
+    DsqlQuery query = DefaultQueryBuilder.getInstance()
+        .setType(new EntityType("records"))
+        .setFilterExpression(new And(new Or(comparison(new EqualsOperator(), "code", new StringValue("x")),
+                                            comparison(new LikeOperator(), "name", new StringValue("%1"))),
+                                     comparison(new GreaterOperator(), "group", new IntegerValue(2))))
+        .build();
+
+    Set<QueryCapability> capabilities = complementOf(of(OR));
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query, capabilities);
+    assertTrue(plan.getNativeQuery().getFilterExpression() instanceof FieldComparison);
+    assertTrue(plan.getResidualQuery().get().getFilterExpression() instanceof Or);
+    assertEquivalent(plan, query);
+
+    plan = DsqlQueryPlanner.plan(query, allOf(QueryCapability.class));
+    assertTrue(plan.isFullyPushedDown());
+  }
+
+  @Test
+  public void noCapabilities() {
+    DsqlQueryPlan plan = DsqlQueryPlanner.plan(query(), complementOf(of(FILTER, ORDER_BY, LIMIT, OFFSET)));
+
+    assertTrue(plan.getNativeQuery().getFilterExpression().isEmpty());
+    assertTrue(plan.getNativeQuery().getOrderByFields().isEmpty());
+    assertEquivalent(plan);
+  }
+
+  private void assertEquivalent(DsqlQueryPlan plan) {
+    assertEquivalent(plan, query());
+  }
+
+  /**
+   * Simulates the backend by evaluating the native query in memory
+   */
+  private void assertEquivalent(DsqlQueryPlan plan, DsqlQuery query) {
+    List<Map<String, ?>> expected = evaluate(query, RECORDS);
+    List<Map<String, ?>> fetched = evaluate(plan.getNativeQuery(), RECORDS);
+    List<Map<String, ?>> actual = plan.getResidualQuery().map(residual -> evaluate(residual, fetched)).orElse(fetched);
+    assertEquals(expected, actual);
+  }
+
+  private List<Map<String, ?>> evaluate(DsqlQuery query, List<Map<String, ?>> records) {
+    return DsqlQueryEvaluator.compile(query, FieldAccessorFactory.forMaps()).evaluate(records.stream()).collect(toList());
+  }
+
+  private static DsqlQuery query() {
+    return DefaultQueryBuilder.getInstance()
+        .setType(new EntityType("records"))
+        .addField(new Field("name"))
+        .setFilterExpression(new And(comparison(new GreaterOperator(), "group", new IntegerValue(3)),
+                                     comparison(new LikeOperator(), "code", new StringValue("x%"))))
+        .addOrderByField(new Field("group"))
+        .setLimit(5)
+        .setOffset(2)
+        .build();
+  }
+
+  private static FieldComparison comparison(org.mule.runtime.extension.internal.operator.BinaryOperator operator,
+                                            String field, Value<?> value) {
+    return new FieldComparison(operator, new Field(field), value);
+  }
+
+  private static List<String> fieldNames(List<Field> fields) {
+    return fields.stream().map(Field::getName).collect(toList());
+  }
+
+  private static Map<String, ?> record(String name, int group, String code) {
+    Map<String, Object> record = new HashMap<>();
+    record.put("name", name);
+    record.put("group", group);
+    record.put("code", code);
+    return record;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.mule.runtime.extension.internal.expression.And;
+import org.mule.runtime.extension.internal.expression.FieldComparison;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class PreparedDsqlQueryTestCase {
+
+  private static final String QUERY = "dsql:SELECT name FROM Account WHERE age < :age AND (name = :name OR alias = :name)";
+
+  private final DsqlParser parser = DsqlParser.getInstance(10);
+
+  @Test
+  public void parameterNames() {
+    PreparedDsqlQuery query = parser.prepare(QUERY);
+    assertEquals(new LinkedHashSet<>(asList("age", "name")), query.getParameterNames());
+    assertSame(query, parser.prepare(QUERY));
+  }
+
+  @Test
+  public void translationKeepsPlaceholders() {
+    PreparedDsqlQuery query = parser.prepare(QUERY);
+    String translation = query.translate(new DsqlQueryTranslator());
+    assertEquals("SELECT name FROM Account WHERE (age < :age AND (name = :name OR alias = :name))", translation);
+    assertSame(translation, query.translate(new DsqlQueryTranslator()));
+  }
+
+  @Test
+  public void bind() {
+    Map<String, Object> values = new HashMap<>();
+    values.put("age", 18);
+    values.put("name", "John");
+
+    assertEquals("SELECT name FROM Account WHERE (age < 18 AND (name = 'John' OR alias = 'John'))",
+                 translate(parser.prepare(QUERY).bind(values)));
+
+    values.put("age", 21.5);
+    values.put("name", null);
+    assertEquals("SELECT name FROM Account WHERE (age < 21.5 AND (name = null OR alias = null))",
+                 translate(parser.prepare(QUERY).bind(values)));
+  }
+
+  @Test
+  public void bindTranslation() {
+    Map<String, Object> values = new HashMap<>();
+    values.put("age", 18);
+    values.put("name", "John");
+
+    PreparedDsqlQuery query = parser.prepare(QUERY);
+    BoundDsqlQuery bound = query.bind(new DsqlQueryTranslator(), values);
+    assertSame(query.translate(new DsqlQueryTranslator()), bound.getTranslation());
+    assertEquals(asList("age", "name", "name"), bound.getParameterNames());
+    assertEquals(18, bound.getParameterValues().get(0).getValue());
+    assertEquals("John", bound.getParameterValues().get(1).getValue());
+    assertEquals("John", bound.getParameterValues().get(2).getValue());
+  }
+
+  @Test
+  public void bindKeepsExactNumbers() {
+    Map<String, Object> values = new HashMap<>();
+    values.put("age", Long.MAX_VALUE);
+    values.put("name", "John");
+    assertEquals("SELECT name FROM Account WHERE (age < 9223372036854775807 AND (name = 'John' OR alias = 'John'))",
+                 translate(parser.prepare(QUERY).bind(values)));
+
+    values.put("age", new BigDecimal("12345678901234567890.000000000000000001"));
+    assertEquals("SELECT name FROM Account WHERE (age < 12345678901234567890.000000000000000001"
+        + " AND (name = 'John' OR alias = 'John'))",
+                 translate(parser.prepare(QUERY).bind(values)));
+
+    values.put("age", BigInteger.TEN.pow(30));
+    FieldComparison comparison = (FieldComparison) ((And) parser.prepare(QUERY).bind(values).getFilterExpression()).getLeft();
+    assertEquals(new BigDecimal(BigInteger.TEN.pow(30)), comparison.getValue().getValue());
+  }
+
+  @Test
+  public void queryWithoutParameters() {
+    PreparedDsqlQuery query = parser.prepare("dsql:SELECT name FROM Account WHERE age < 18");
+    assertTrue(query.getParameterNames().isEmpty());
+    assertSame(query.getQuery(), query.bind(new HashMap<>()));
+  }
+
+  @Test
+  public void parsedPlaceholder() {
+    DsqlQuery query = parser.parse("dsql:SELECT * FROM Account WHERE name = :name");
+    Value<?> value = ((FieldComparison) query.getFilterExpression()).getValue();
+    assertTrue(value instanceof ParameterValue);
+    assertEquals("name", ((ParameterValue) value).getName());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void missingValue() {
+    Map<String, Object> values = new HashMap<>();
+    values.put("age", 18);
+    parser.prepare(QUERY).bind(values);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unsupportedValue() {
+    Map<String, Object> values = new HashMap<>();
+    values.put("age", new Object());
+    values.put("name", "John");
+    parser.prepare(QUERY).bind(values);
+  }
+
+  private String translate(DsqlQuery query) {
+    return query.translate(new DsqlQueryTranslator());
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.persistence;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.extension.internal.persistence.BinaryJsonCodec;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Serializer that can convert a {@link ExtensionModel} into a compact binary representation and back.
+ * <p>
+ * The binary representation holds the same content as the JSON one produced by {@link ExtensionModelJsonSerializer}, so the
+ * same considerations apply, and deserializing it results in the same model. It is smaller, since repeated strings such as
+ * keys and identifiers, and repeated small objects such as type references, are written only once, and numbers and sizes are
+ * written as variable length integers. Unlike the JSON one, it is not meant to be human readable nor processed by other tools.
+ * <p>
+ * The binary representation is written and read as the {@link ExtensionModel} is serialized and deserialized, without going
+ * through an intermediate tree nor through its JSON text.
+ *
+ * @since 1.3
+ */
+public class ExtensionModelBinarySerializer {
+
+  private final BinaryJsonCodec codec = new BinaryJsonCodec();
+  private final ExtensionModelJsonSerializer jsonSerializer = new ExtensionModelJsonSerializer();
+
+  /**
+   * Serializes an {@link ExtensionModel} into its binary representation
+   *
+   * @param extensionModel {@link ExtensionModel} to be serialized
+   * @return the binary representation of the {@link ExtensionModel}
+   */
+  public byte[] serialize(ExtensionModel extensionModel) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    jsonSerializer.serialize(extensionModel, newEncoder(bytes));
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @param extensionModelList List of {@link ExtensionModel} to be serialized
+   * @return the binary representation of the {@link List} of {@link ExtensionModel}
+   */
+  public byte[] serializeList(List<ExtensionModel> extensionModelList) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    jsonSerializer.serializeList(extensionModelList, newEncoder(bytes));
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Deserializes a binary representation of an {@link ExtensionModel}, to an actual instance of it.
+   *
+   * @param extensionModel serialized {@link ExtensionModel}
+   * @return an instance of {@link ExtensionModel} based in the binary representation
+   */
+  public ExtensionModel deserialize(byte[] extensionModel) {
+    return jsonSerializer.deserialize(newDecoder(extensionModel));
+  }
+
+  /**
+   * Deserializes a binary representation of an {@link ExtensionModel} without building its components until they are
+   * accessed. See {@link ExtensionModelJsonSerializer#deserializeLazily(String)}.
+   *
+   * @param extensionModel serialized {@link ExtensionModel}
+   * @return an instance of {@link ExtensionModel} based in the binary representation
+   * @since 1.3
+   */
+  public ExtensionModel deserializeLazily(byte[] extensionModel) {
+    return jsonSerializer.deserializeLazily(newDecoder(extensionModel));
+  }
+
+  /**
+   * Deserializes a binary representation of a {@link List} of {@link ExtensionModel}, to an actual instance of it.
+   *
+   * @param extensionModelList serialized {@link List} {@link ExtensionModel}
+   * @return the {@link List} of {@link ExtensionModel} based in the binary representation
+   */
+  public List<ExtensionModel> deserializeList(byte[] extensionModelList) {
+    return jsonSerializer.deserializeList(newDecoder(extensionModelList));
+  }
+
+  private JsonWriter newEncoder(ByteArrayOutputStream bytes) {
+    try {
+      return codec.newEncoder(bytes);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private JsonReader newDecoder(byte[] bytes) {
+    try {
+      return codec.newDecoder(new ByteArrayInputStream(bytes));
+    } catch (IOException e) {
+      throw new JsonIOException("Not a binary serialized extension model", e);
+    }
+  }
+}
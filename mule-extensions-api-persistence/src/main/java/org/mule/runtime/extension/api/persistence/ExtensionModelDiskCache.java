@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.persistence;
+
+import static java.io.File.pathSeparator;
+import static java.lang.ClassLoader.getSystemClassLoader;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.getProperty;
+import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.isDirectory;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.dsl.DslResolvingContext;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.ModelProperty;
+import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+/**
+ * Persistent cache of {@link ExtensionModel}s which avoids going through an {@link ExtensionModelLoader} when the same extension
+ * artifact is loaded again, for example on each start of a runtime with the same plugins.
+ * <p>
+ * Each entry is keyed by a fingerprint of:
+ * <ul>
+ * <li>The {@link ExtensionModelLoader} and the attributes it receives</li>
+ * <li>The contents (size and last modification time) of the artifacts exposed by the plugin {@link URLClassLoader} and by each
+ * of its parents, up to the system {@link ClassLoader}</li>
+ * <li>The class path of the system {@link ClassLoader} and the contents of the archives in it</li>
+ * <li>The name and version of the {@link ExtensionModel}s available in the {@link DslResolvingContext}</li>
+ * <li>The version of this serialization format</li>
+ * </ul>
+ * Because any change on those produces a new key, stale entries are never returned. Loads which can't be reliably
+ * fingerprinted always go through the {@link ExtensionModelLoader}. That is the case of those from a {@link ClassLoader}
+ * hierarchy with a {@link ClassLoader} which is not an {@link URLClassLoader}, with artifacts which are directories (since
+ * detecting a change on them requires going through all of their files on each load), or with attributes that are not plain
+ * values.
+ * <p>
+ * Entries are stored using the {@link ExtensionModelJsonSerializer}, so the same considerations apply: only the public
+ * {@link ModelProperty}s are kept, and the ones which are only meaningful in the loading JVM, such as the ones holding a
+ * {@link ClassLoader} or a {@link Class}, are lost. The {@link ExtensionModel} returned by
+ * {@link #load(ExtensionModelLoader, ClassLoader, DslResolvingContext, Map)} is always that externalized view, even when it
+ * has just been loaded, so callers get the same model regardless of the state of the cache. Consumers which need the whole
+ * {@link ExtensionModel} have to use the {@link ExtensionModelLoader} directly.
+ * <p>
+ * Entries are written atomically, so this cache can be shared among processes. Entries that can't be read back are discarded
+ * and replaced by a freshly loaded {@link ExtensionModel}.
+ * <p>
+ * Since a change on any of the fingerprinted inputs, such as a plugin upgrade, leaves the previous entry behind, entries which
+ * were not used for {@link #DEFAULT_MAX_IDLE_TIME a given time} are removed whenever a new entry is written.
+ *
+ * @since 1.3
+ */
+public class ExtensionModelDiskCache {
+
+  /**
+   * The default time after which an entry which was not used is removed
+   */
+  public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofDays(30);
+
+  private static final Logger LOGGER = getLogger(ExtensionModelDiskCache.class);
+
+  /**
+   * Version of the persisted entries. Must be increased on any incompatible change on the serialized format.
+   */
+  private static final String FORMAT_VERSION = "1";
+  private static final String ENTRY_EXTENSION = ".json";
+
+  private final Path directory;
+  private final Duration maxIdleTime;
+  private final ExtensionModelJsonSerializer serializer = new ExtensionModelJsonSerializer();
+
+  /**
+   * Creates a new instance which removes the entries not used for {@link #DEFAULT_MAX_IDLE_TIME}
+   *
+   * @param directory the directory in which the entries are stored. It is created if it doesn't exist.
+   */
+  public ExtensionModelDiskCache(Path directory) {
+    this(directory, DEFAULT_MAX_IDLE_TIME);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param directory   the directory in which the entries are stored. It is created if it doesn't exist.
+   * @param maxIdleTime the time after which an entry which was not used is removed
+   */
+  public ExtensionModelDiskCache(Path directory, Duration maxIdleTime) {
+    if (maxIdleTime == null || maxIdleTime.isNegative()) {
+      throw new IllegalArgumentException("maxIdleTime cannot be null nor negative");
+    }
+    this.directory = directory;
+    this.maxIdleTime = maxIdleTime;
+  }
+
+  /**
+   * Returns the cached {@link ExtensionModel} for the given arguments or, if there is none, loads it through
+   * {@link ExtensionModelLoader#loadExtensionModel(ClassLoader, DslResolvingContext, Map)} and caches it. In both cases, the
+   * returned {@link ExtensionModel} only contains what the {@link ExtensionModelJsonSerializer} externalizes.
+   *
+   * @param loader              the {@link ExtensionModelLoader} used when there is no cached entry
+   * @param pluginClassLoader   the plugin {@link ClassLoader}
+   * @param dslResolvingContext the {@link DslResolvingContext} with the already loaded {@link ExtensionModel}s
+   * @param attributes          the loader attributes
+   * @return the cached or loaded {@link ExtensionModel}, or the one loaded by the {@code loader} if the load can't be cached
+   */
+  public ExtensionModel load(ExtensionModelLoader loader, ClassLoader pluginClassLoader, DslResolvingContext dslResolvingContext,
+                             Map<String, Object> attributes) {
+    Optional<String> fingerprint = fingerprint(loader, pluginClassLoader, dslResolvingContext, attributes);
+    if (!fingerprint.isPresent()) {
+      return loader.loadExtensionModel(pluginClassLoader, dslResolvingContext, attributes);
+    }
+
+    Path entry = directory.resolve(fingerprint.get() + ENTRY_EXTENSION);
+    Optional<ExtensionModel> cached = read(entry);
+    if (cached.isPresent()) {
+      touch(entry);
+      return cached.get();
+    }
+
+    ExtensionModel extensionModel = loader.loadExtensionModel(pluginClassLoader, dslResolvingContext, attributes);
+    String serialized = serializer.serialize(extensionModel);
+    write(entry, extensionModel.getName(), serialized);
+    prune(entry);
+    return serializer.deserialize(serialized);
+  }
+
+  /**
+   * Removes all the entries of this cache.
+   */
+  public void clear() {
+    if (!isDirectory(directory)) {
+      return;
+    }
+
+    try (Stream<Path> entries = Files.list(directory)) {
+      for (Path entry : entries.filter(this::isEntry).collect(toList())) {
+        deleteIfExists(entry);
+      }
+    } catch (IOException e) {
+      LOGGER.warn(format("Could not clear the extension models cache at '%s'", directory), e);
+    }
+  }
+
+  private Optional<ExtensionModel> read(Path entry) {
+    if (!isRegularFile(entry)) {
+      return empty();
+    }
+
+    try {
+      return of(serializer.deserialize(new String(Files.readAllBytes(entry), UTF_8)));
+    } catch (Exception e) {
+      LOGGER.warn(format("Discarding unreadable extension model cache entry '%s'", entry), e);
+      try {
+        deleteIfExists(entry);
+      } catch (IOException deleteException) {
+        LOGGER.debug(format("Could not delete extension model cache entry '%s'", entry), deleteException);
+      }
+      return empty();
+    }
+  }
+
+  private void write(Path entry, String extensionName, String serialized) {
+    Path temp = null;
+    try {
+      createDirectories(directory);
+      temp = createTempFile(directory, entry.getFileName().toString(), ".tmp");
+      Files.write(temp, serialized.getBytes(UTF_8));
+      try {
+        move(temp, entry, ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        move(temp, entry, REPLACE_EXISTING);
+      }
+    } catch (Exception e) {
+      LOGGER.warn(format("Could not cache the extension model of '%s'", extensionName), e);
+      if (temp != null) {
+        try {
+          deleteIfExists(temp);
+        } catch (IOException deleteException) {
+          LOGGER.debug(format("Could not delete temporary file '%s'", temp), deleteException);
+        }
+      }
+    }
+  }
+
+  /**
+   * Marks the {@code entry} as used, so that it's not pruned
+   */
+  private void touch(Path entry) {
+    try {
+      setLastModifiedTime(entry, FileTime.fromMillis(currentTimeMillis()));
+    } catch (IOException e) {
+      LOGGER.debug(format("Could not update the last modified time of extension model cache entry '%s'", entry), e);
+    }
+  }
+
+  /**
+   * Removes the entries, other than the given {@code written} one, which were not used for {@link #maxIdleTime}
+   */
+  private void prune(Path written) {
+    long oldest = currentTimeMillis() - maxIdleTime.toMillis();
+    try (Stream<Path> entries = Files.list(directory)) {
+      for (Path entry : entries.filter(this::isEntry).filter(entry -> !entry.equals(written)).collect(toList())) {
+        try {
+          if (getLastModifiedTime(entry).toMillis() < oldest) {
+            deleteIfExists(entry);
+          }
+        } catch (IOException e) {
+          LOGGER.debug(format("Could not prune extension model cache entry '%s'", entry), e);
+        }
+      }
+    } catch (IOException e) {
+      LOGGER.debug(format("Could not prune the extension models cache at '%s'", directory), e);
+    }
+  }
+
+  private boolean isEntry(Path path) {
+    String fileName = path.getFileName().toString();
+    return fileName.endsWith(ENTRY_EXTENSION) || fileName.endsWith(".tmp");
+  }
+
+  private Optional<String> fingerprint(ExtensionModelLoader loader, ClassLoader pluginClassLoader,
+                                       DslResolvingContext dslResolvingContext, Map<String, Object> attributes) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putString(FORMAT_VERSION, UTF_8)
+        .putString(String.valueOf(ExtensionModelJsonSerializer.class.getPackage().getImplementationVersion()), UTF_8)
+        .putString(loader.getClass().getName(), UTF_8)
+        .putString(loader.getId(), UTF_8);
+
+    for (Map.Entry<String, Object> attribute : new TreeMap<>(attributes).entrySet()) {
+      Optional<String> value = describe(attribute.getValue());
+      if (!value.isPresent()) {
+        return empty();
+      }
+      hasher.putString(attribute.getKey(), UTF_8).putString(value.get(), UTF_8);
+    }
+
+    dslResolvingContext.getExtensions().stream()
+        .map(extension -> extension.getName() + ":" + extension.getVersion())
+        .sorted()
+        .forEach(extension -> hasher.putString(extension, UTF_8));
+
+    ClassLoader classLoader = pluginClassLoader;
+    while (!isSystemClassLoader(classLoader)) {
+      if (!(classLoader instanceof URLClassLoader)) {
+        return empty();
+      }
+
+      hasher.putString(classLoader.getClass().getName(), UTF_8);
+      for (URL url : ((URLClassLoader) classLoader).getURLs()) {
+        Optional<String> artifact = describe(url);
+        if (!artifact.isPresent()) {
+          return empty();
+        }
+        hasher.putString(artifact.get(), UTF_8);
+      }
+      classLoader = classLoader.getParent();
+    }
+
+    try {
+      for (String entry : String.valueOf(getProperty("java.class.path")).split(pathSeparator)) {
+        Path path = Paths.get(entry);
+        hasher.putString(isDirectory(path) ? path.toString() : describeFile(path), UTF_8);
+      }
+    } catch (InvalidPathException | UncheckedIOException e) {
+      return empty();
+    }
+
+    return of(hasher.hash().toString());
+  }
+
+  /**
+   * The system {@link ClassLoader} is fingerprinted through its class path, in which directories are only considered by their
+   * path, so that loads from a class path with classes directories can still be cached.
+   */
+  private boolean isSystemClassLoader(ClassLoader classLoader) {
+    for (ClassLoader system = getSystemClassLoader(); system != null; system = system.getParent()) {
+      if (system == classLoader) {
+        return true;
+      }
+    }
+    return classLoader == null;
+  }
+
+  /**
+   * Only values which {@link Object#toString()} represents their content are considered
+   */
+  private Optional<String> describe(Object value) {
+    if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+        || value instanceof Character || value instanceof Enum) {
+      return of(String.valueOf(value));
+    }
+
+    if (value instanceof Collection) {
+      List<Optional<String>> items = ((Collection<?>) value).stream().map(this::describe).collect(toList());
+      if (items.stream().anyMatch(item -> !item.isPresent())) {
+        return empty();
+      }
+      return of(items.stream().map(Optional::get).collect(joining(",", "[", "]")));
+    }
+
+    return empty();
+  }
+
+  private Optional<String> describe(URL url) {
+    if (!"file".equals(url.getProtocol())) {
+      return empty();
+    }
+
+    try {
+      Path path = Paths.get(url.toURI());
+      return isDirectory(path) ? empty() : of(describeFile(path));
+    } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException | UncheckedIOException e) {
+      // for example, UNC paths, which have an authority
+      return empty();
+    }
+  }
+
+  private String describeFile(Path path) {
+    if (!isRegularFile(path)) {
+      return path + "@missing";
+    }
+
+    try {
+      BasicFileAttributes fileAttributes = Files.readAttributes(path, BasicFileAttributes.class);
+      return path + "@" + fileAttributes.size() + ":" + fileAttributes.lastModifiedTime().toMillis();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -6,14 +6,12 @@
  */
 package org.mule.runtime.extension.api.persistence;
 
-import static java.util.Collections.emptySet;
-import static org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils.getId;
+import static com.google.gson.stream.JsonToken.END_DOCUMENT;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import org.mule.metadata.api.model.MetadataType;
-import org.mule.metadata.api.model.ObjectType;
 import org.mule.metadata.persistence.MetadataTypeGsonTypeAdapter;
 import org.mule.metadata.persistence.ObjectTypeReferenceHandler;
-import org.mule.metadata.persistence.SerializationContext;
 import org.mule.metadata.persistence.type.adapter.OptionalTypeAdapterFactory;
 import org.mule.runtime.api.meta.MuleVersion;
 import org.mule.runtime.api.meta.model.EnrichableModel;
@@ -38,6 +36,7 @@ import org.mule.runtime.api.meta.model.stereotype.ImmutableStereotypeModel;
 import org.mule.runtime.api.meta.model.stereotype.StereotypeModel;
 import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
 import org.mule.runtime.extension.api.model.ImmutableOutputModel;
+import org.mule.runtime.extension.api.model.LazyComponentList;
 import org.mule.runtime.extension.api.model.config.ImmutableConfigurationModel;
 import org.mule.runtime.extension.api.model.connection.ImmutableConnectionProviderModel;
 import org.mule.runtime.extension.api.model.deprecated.ImmutableDeprecationModel;
@@ -45,7 +44,6 @@ import org.mule.runtime.extension.api.model.parameter.ImmutableExclusiveParamete
 import org.mule.runtime.extension.api.model.parameter.ImmutableParameterGroupModel;
 import org.mule.runtime.extension.api.model.parameter.ImmutableParameterModel;
 import org.mule.runtime.extension.api.model.source.ImmutableSourceCallbackModel;
-import org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils;
 import org.mule.runtime.extension.internal.persistence.ConstructModelTypeAdapterFactory;
 import org.mule.runtime.extension.internal.persistence.DefaultImplementationTypeAdapterFactory;
 import org.mule.runtime.extension.internal.persistence.ElementDslModelTypeAdapter;
@@ -59,23 +57,35 @@ import org.mule.runtime.extension.internal.persistence.NestableElementModelTypeA
 import org.mule.runtime.extension.internal.persistence.NotificationModelToIdentifierTypeAdapter;
 import org.mule.runtime.extension.internal.persistence.OAuthGrantTypeTypeAdapterFactory;
 import org.mule.runtime.extension.internal.persistence.OperationModelTypeAdapterFactory;
-import org.mule.runtime.extension.internal.persistence.RestrictedTypesObjectTypeReferenceHandler;
+import org.mule.runtime.extension.internal.persistence.ScopedObjectTypeReferenceHandler;
+import org.mule.runtime.extension.internal.persistence.SerializationScope;
+import org.mule.runtime.extension.internal.persistence.SerializationScopeHolder;
 import org.mule.runtime.extension.internal.persistence.SourceModelTypeAdapterFactory;
 import org.mule.runtime.extension.internal.persistence.SubTypesModelTypeAdapter;
 import org.mule.runtime.extension.internal.persistence.XmlDslModelTypeAdapter;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
 /**
  * Serializer that can convert a {@link ExtensionModel} into a readable and processable JSON representation and from a JSON
@@ -97,9 +107,10 @@ import com.google.gson.reflect.TypeToken;
  */
 public class ExtensionModelJsonSerializer {
 
-  private final boolean prettyPrint;
-  private Set<ObjectType> registeredTypes = emptySet();
-  private Set<ObjectType> importedTypes = emptySet();
+  private static final Type EXTENSION_MODEL_LIST_TYPE = new TypeToken<List<ImmutableExtensionModel>>() {}.getType();
+
+  private final SerializationScopeHolder scope = new SerializationScopeHolder();
+  private final Gson gson;
 
   /**
    * Creates a new instance of the {@link ExtensionModelJsonSerializer}. This serializer is capable of serializing and
@@ -111,30 +122,30 @@ public class ExtensionModelJsonSerializer {
 
   /**
    * Creates a new instance of the {@link ExtensionModelJsonSerializer}.
+   * <p>
+   * Instances are thread-safe, so a single one can be shared to serve concurrent operations.
    *
    * @param prettyPrint boolean indicating if the serialization of the {@link ExtensionModel} should be printed in a human
    *        readable or into compact and more performable format
    */
   public ExtensionModelJsonSerializer(boolean prettyPrint) {
-    this.prettyPrint = prettyPrint;
+    this.gson = buildGson(prettyPrint);
   }
 
-  private Gson buildGson() {
-    final SerializationContext serializationContext = new SerializationContext();
-
-    Map<String, ErrorModel> errorModelRepository = new HashMap<>();
-    Map<String, NotificationModel> notificationModelRepository = new HashMap<>();
-    Gson gsonDelegate =
-        gsonBuilder(serializationContext, prettyPrint, errorModelRepository, notificationModelRepository).create();
+  /**
+   * The {@link Gson} instance and its adapters are built once. The state of each operation lives in a {@link SerializationScope}
+   * that the adapters obtain through the {@link SerializationScopeHolder}.
+   */
+  private Gson buildGson(boolean prettyPrint) {
+    final Gson gsonDelegate = gsonBuilder(scope, prettyPrint).create();
 
-    return gsonBuilder(serializationContext, prettyPrint, errorModelRepository, notificationModelRepository)
+    return gsonBuilder(scope, prettyPrint)
         .registerTypeAdapterFactory(new TypeAdapterFactory() {
 
           @Override
           public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
             if (ExtensionModel.class.isAssignableFrom(type.getRawType())) {
-              return (TypeAdapter<T>) new ExtensionModelTypeAdapter(gsonDelegate, serializationContext, errorModelRepository,
-                                                                    notificationModelRepository);
+              return (TypeAdapter<T>) new ExtensionModelTypeAdapter(gsonDelegate, scope);
             }
 
             return null;
@@ -143,21 +154,30 @@ public class ExtensionModelJsonSerializer {
         .create();
   }
 
-  private GsonBuilder gsonBuilder(SerializationContext serializationContext, boolean prettyPrint,
-                                  Map<String, ErrorModel> errorModelRepository,
-                                  Map<String, NotificationModel> notificationModelRepository) {
-    Set<String> registeredTypeIds = registeredTypes.stream()
-        .map(ExtensionMetadataTypeUtils::getId)
-        .filter(Optional::isPresent)
-        .map(Optional::get).collect(Collectors.toSet());
-
-    importedTypes.forEach(type -> {
-      getId(type).ifPresent(registeredTypeIds::add);
-      serializationContext.registerObjectType(type);
-    });
+  /**
+   * Executes the given {@code operation} within a new {@link SerializationScope}. Operations can be nested, for example when
+   * deserializing from within a {@link #deserializeList(Reader, Consumer)} consumer.
+   */
+  private <T> T withScope(ScopedOperation<T> operation) {
+    return withScope(false, operation);
+  }
 
-    final ObjectTypeReferenceHandler referenceHandler =
-        new RestrictedTypesObjectTypeReferenceHandler(serializationContext, registeredTypeIds);
+  private <T> T withScope(boolean lazy, ScopedOperation<T> operation) {
+    try {
+      return scope.within(new SerializationScope(lazy), () -> operation.apply(gson));
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ScopedOperation<T> {
+
+    T apply(Gson gson) throws IOException;
+  }
+
+  private GsonBuilder gsonBuilder(Supplier<SerializationScope> scope, boolean prettyPrint) {
+    final ObjectTypeReferenceHandler referenceHandler = new ScopedObjectTypeReferenceHandler(scope);
 
     final DefaultImplementationTypeAdapterFactory configurationModelTypeAdapterFactory =
         new DefaultImplementationTypeAdapterFactory<>(ConfigurationModel.class, ImmutableConfigurationModel.class);
@@ -185,8 +205,8 @@ public class ExtensionModelJsonSerializer {
         .registerTypeAdapter(SubTypesModel.class, new SubTypesModelTypeAdapter(referenceHandler))
         .registerTypeAdapter(XmlDslModel.class, new XmlDslModelTypeAdapter())
         .registerTypeAdapter(ParameterDslConfiguration.class, new ElementDslModelTypeAdapter())
-        .registerTypeAdapter(ErrorModel.class, new ErrorModelToIdentifierTypeAdapter(errorModelRepository))
-        .registerTypeAdapter(NotificationModel.class, new NotificationModelToIdentifierTypeAdapter(notificationModelRepository))
+        .registerTypeAdapter(ErrorModel.class, new ErrorModelToIdentifierTypeAdapter(scope))
+        .registerTypeAdapter(NotificationModel.class, new NotificationModelToIdentifierTypeAdapter(scope))
         .registerTypeAdapterFactory(new OptionalTypeAdapterFactory())
         .registerTypeAdapterFactory(new ModelPropertyMapTypeAdapterFactory())
         .registerTypeAdapterFactory(new SourceModelTypeAdapterFactory())
@@ -218,12 +238,43 @@ public class ExtensionModelJsonSerializer {
    * @return {@link String} JSON representation of the {@link ExtensionModel}
    */
   public String serialize(ExtensionModel extensionModel) {
-    registeredTypes = extensionModel.getTypes();
-    importedTypes =
-        extensionModel.getImportedTypes().stream()
-            .map(ImportedTypeModel::getImportedType)
-            .collect(Collectors.toSet());
-    return buildGson().toJson(extensionModel);
+    return withScope(gson -> gson.toJson(extensionModel, ExtensionModel.class));
+  }
+
+  /**
+   * Serializes an {@link ExtensionModel} into JSON, writing it into the given {@code writer}
+   *
+   * @param extensionModel {@link ExtensionModel} to be serialized
+   * @param writer         the {@link Writer} to write the JSON into. It is flushed but not closed.
+   * @since 1.3
+   */
+  public void serialize(ExtensionModel extensionModel, Writer writer) {
+    serialize(extensionModel, newJsonWriter(writer));
+  }
+
+  /**
+   * Serializes an {@link ExtensionModel} into UTF-8 encoded JSON, writing it into the given {@code outputStream}
+   *
+   * @param extensionModel {@link ExtensionModel} to be serialized
+   * @param outputStream   the {@link OutputStream} to write the JSON into. It is flushed but not closed.
+   * @since 1.3
+   */
+  public void serialize(ExtensionModel extensionModel, OutputStream outputStream) {
+    serialize(extensionModel, new OutputStreamWriter(outputStream, UTF_8));
+  }
+
+  /**
+   * Serializes an {@link ExtensionModel} into the given {@code jsonWriter}
+   *
+   * @param extensionModel {@link ExtensionModel} to be serialized
+   * @param jsonWriter     the {@link JsonWriter} to write the {@link ExtensionModel} into. It is flushed but not closed.
+   */
+  void serialize(ExtensionModel extensionModel, JsonWriter jsonWriter) {
+    withScope(gson -> {
+      gson.toJson(extensionModel, ExtensionModel.class, jsonWriter);
+      jsonWriter.flush();
+      return null;
+    });
   }
 
   /**
@@ -231,7 +282,58 @@ public class ExtensionModelJsonSerializer {
    * @return {@link String} JSON representation of the {@link List} of {@link ExtensionModel}
    */
   public String serializeList(List<ExtensionModel> extensionModelList) {
-    return buildGson().toJson(extensionModelList);
+    return withScope(gson -> gson.toJson(extensionModelList));
+  }
+
+  /**
+   * Serializes a {@link List} of {@link ExtensionModel} into JSON, writing each element into the given {@code writer} as soon
+   * as it is serialized
+   *
+   * @param extensionModelList List of {@link ExtensionModel} to be serialized
+   * @param writer             the {@link Writer} to write the JSON into. It is flushed but not closed.
+   * @since 1.3
+   */
+  public void serializeList(List<ExtensionModel> extensionModelList, Writer writer) {
+    serializeList(extensionModelList, newJsonWriter(writer));
+  }
+
+  /**
+   * Serializes a {@link List} of {@link ExtensionModel} into the given {@code jsonWriter}, writing each element as soon as it is
+   * serialized
+   *
+   * @param extensionModelList List of {@link ExtensionModel} to be serialized
+   * @param jsonWriter         the {@link JsonWriter} to write the {@link List} into. It is flushed but not closed.
+   */
+  void serializeList(List<ExtensionModel> extensionModelList, JsonWriter jsonWriter) {
+    withScope(gson -> {
+      jsonWriter.beginArray();
+      for (ExtensionModel extensionModel : extensionModelList) {
+        gson.toJson(extensionModel, ExtensionModel.class, jsonWriter);
+      }
+      jsonWriter.endArray();
+      jsonWriter.flush();
+      return null;
+    });
+  }
+
+  /**
+   * Serializes a {@link List} of {@link ExtensionModel} into UTF-8 encoded JSON, writing each element into the given
+   * {@code outputStream} as soon as it is serialized
+   *
+   * @param extensionModelList List of {@link ExtensionModel} to be serialized
+   * @param outputStream       the {@link OutputStream} to write the JSON into. It is flushed but not closed.
+   * @since 1.3
+   */
+  public void serializeList(List<ExtensionModel> extensionModelList, OutputStream outputStream) {
+    serializeList(extensionModelList, new OutputStreamWriter(outputStream, UTF_8));
+  }
+
+  private JsonWriter newJsonWriter(Writer writer) {
+    try {
+      return gson.newJsonWriter(writer);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
   }
 
   /**
@@ -241,7 +343,88 @@ public class ExtensionModelJsonSerializer {
    * @return an instance of {@link ExtensionModel} based in the JSON
    */
   public ExtensionModel deserialize(String extensionModel) {
-    return buildGson().fromJson(extensionModel, ImmutableExtensionModel.class);
+    return withScope(gson -> gson.fromJson(extensionModel, ImmutableExtensionModel.class));
+  }
+
+  /**
+   * Deserializes a JSON representation of an {@link ExtensionModel} read from the given {@code reader}, to an actual instance
+   * of it.
+   *
+   * @param reader the {@link Reader} to read the serialized {@link ExtensionModel} from. It is not closed.
+   * @return an instance of {@link ExtensionModel} based in the JSON
+   * @since 1.3
+   */
+  public ExtensionModel deserialize(Reader reader) {
+    return deserialize(gson.newJsonReader(reader));
+  }
+
+  /**
+   * Deserializes an {@link ExtensionModel} read from the given {@code jsonReader}, which must hold nothing else.
+   *
+   * @param jsonReader the {@link JsonReader} to read the serialized {@link ExtensionModel} from. It is not closed.
+   * @return an instance of {@link ExtensionModel} based in the JSON
+   */
+  ExtensionModel deserialize(JsonReader jsonReader) {
+    return withScope(gson -> readDocument(gson, jsonReader));
+  }
+
+  /**
+   * Deserializes a UTF-8 encoded JSON representation of an {@link ExtensionModel} read from the given {@code inputStream}, to
+   * an actual instance of it.
+   *
+   * @param inputStream the {@link InputStream} to read the serialized {@link ExtensionModel} from. It is not closed.
+   * @return an instance of {@link ExtensionModel} based in the JSON
+   * @since 1.3
+   */
+  public ExtensionModel deserialize(InputStream inputStream) {
+    return deserialize(new InputStreamReader(inputStream, UTF_8));
+  }
+
+  /**
+   * Deserializes a JSON representation of an {@link ExtensionModel} without building its configurations, operations,
+   * connection providers, sources, functions and constructs, which are built out of their JSON the first time they are
+   * accessed, for example through {@link ExtensionModel#getOperationModel(String)}.
+   * <p>
+   * This is convenient for consumers which only look at a few components of each {@link ExtensionModel}, since the cost of
+   * building the rest is never paid. In exchange, the JSON of the components not accessed yet is retained, and any problem
+   * deserializing a component is only reported when it is accessed.
+   *
+   * @param extensionModel serialized {@link ExtensionModel}
+   * @return an instance of {@link ExtensionModel} based in the JSON, which components are held in {@link LazyComponentList}s
+   * @since 1.3
+   */
+  public ExtensionModel deserializeLazily(String extensionModel) {
+    return withScope(true, gson -> gson.fromJson(extensionModel, ImmutableExtensionModel.class));
+  }
+
+  /**
+   * Same as {@link #deserializeLazily(String)}, but reading the serialized {@link ExtensionModel} from the given {@code reader}
+   *
+   * @param reader the {@link Reader} to read the serialized {@link ExtensionModel} from. It is not closed.
+   * @return an instance of {@link ExtensionModel} based in the JSON, which components are held in {@link LazyComponentList}s
+   * @since 1.3
+   */
+  public ExtensionModel deserializeLazily(Reader reader) {
+    return deserializeLazily(gson.newJsonReader(reader));
+  }
+
+  /**
+   * Same as {@link #deserializeLazily(String)}, but reading the serialized {@link ExtensionModel} from the given
+   * {@code jsonReader}, which must hold nothing else
+   *
+   * @param jsonReader the {@link JsonReader} to read the serialized {@link ExtensionModel} from. It is not closed.
+   * @return an instance of {@link ExtensionModel} based in the JSON, which components are held in {@link LazyComponentList}s
+   */
+  ExtensionModel deserializeLazily(JsonReader jsonReader) {
+    return withScope(true, gson -> readDocument(gson, jsonReader));
+  }
+
+  private ExtensionModel readDocument(Gson gson, JsonReader jsonReader) throws IOException {
+    ExtensionModel extensionModel = gson.fromJson(jsonReader, ImmutableExtensionModel.class);
+    if (jsonReader.peek() != END_DOCUMENT) {
+      throw new JsonSyntaxException("JSON document was not fully consumed.");
+    }
+    return extensionModel;
   }
 
   /**
@@ -251,6 +434,66 @@ public class ExtensionModelJsonSerializer {
    * @return an instance of {@link ExtensionModel} based in the JSON
    */
   public List<ExtensionModel> deserializeList(String extensionModelList) {
-    return buildGson().fromJson(extensionModelList, new TypeToken<List<ImmutableExtensionModel>>() {}.getType());
+    return withScope(gson -> gson.fromJson(extensionModelList, EXTENSION_MODEL_LIST_TYPE));
+  }
+
+  /**
+   * Deserializes a JSON representation of a {@link List} of {@link ExtensionModel} read from the given {@code reader}, to an
+   * actual instance of it.
+   *
+   * @param reader the {@link Reader} to read the serialized {@link List} from. It is not closed.
+   * @return the deserialized {@link List} of {@link ExtensionModel}
+   * @since 1.3
+   */
+  public List<ExtensionModel> deserializeList(Reader reader) {
+    return deserializeList(gson.newJsonReader(reader));
+  }
+
+  /**
+   * Deserializes a {@link List} of {@link ExtensionModel} read from the given {@code jsonReader}, which must hold nothing else.
+   *
+   * @param jsonReader the {@link JsonReader} to read the serialized {@link List} from. It is not closed.
+   * @return the deserialized {@link List} of {@link ExtensionModel}
+   */
+  List<ExtensionModel> deserializeList(JsonReader jsonReader) {
+    List<ExtensionModel> extensionModels = new ArrayList<>();
+    deserializeList(jsonReader, extensionModels::add);
+    return extensionModels;
+  }
+
+  /**
+   * Deserializes a UTF-8 encoded JSON representation of a {@link List} of {@link ExtensionModel} read from the given
+   * {@code inputStream}, to an actual instance of it.
+   *
+   * @param inputStream the {@link InputStream} to read the serialized {@link List} from. It is not closed.
+   * @return the deserialized {@link List} of {@link ExtensionModel}
+   * @since 1.3
+   */
+  public List<ExtensionModel> deserializeList(InputStream inputStream) {
+    return deserializeList(new InputStreamReader(inputStream, UTF_8));
+  }
+
+  /**
+   * Deserializes a JSON representation of a {@link List} of {@link ExtensionModel} read from the given {@code reader}, handing
+   * each {@link ExtensionModel} to the given {@code consumer} as soon as it is read, so the whole {@link List} is never held
+   * in memory.
+   *
+   * @param reader   the {@link Reader} to read the serialized {@link List} from. It is not closed.
+   * @param consumer the {@link Consumer} of each deserialized {@link ExtensionModel}, in the {@link List} order
+   * @since 1.3
+   */
+  public void deserializeList(Reader reader, Consumer<ExtensionModel> consumer) {
+    deserializeList(gson.newJsonReader(reader), consumer);
+  }
+
+  private void deserializeList(JsonReader jsonReader, Consumer<ExtensionModel> consumer) {
+    withScope(gson -> {
+      jsonReader.beginArray();
+      while (jsonReader.hasNext()) {
+        consumer.accept(gson.fromJson(jsonReader, ImmutableExtensionModel.class));
+      }
+      jsonReader.endArray();
+      return null;
+    });
   }
 }
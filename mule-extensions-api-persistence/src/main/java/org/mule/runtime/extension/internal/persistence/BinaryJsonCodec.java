@@ -0,0 +1,984 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.persistence;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of JSON documents.
+ * <p>
+ * Documents are encoded by writing them into the {@link JsonWriter} returned by {@link #newEncoder(OutputStream)}, and decoded
+ * by reading them out of the {@link JsonReader} returned by {@link #newDecoder(InputStream)}. Neither of them builds a tree of
+ * the document nor goes through its JSON text: each value is encoded or decoded as soon as it is written or read.
+ * <p>
+ * All strings, both object keys and values, are interned: the first occurrence is written inline and the following ones as a
+ * reference to it. Small objects are interned as well, so the type references and descriptions which a serialized model
+ * repeats for many of its parameters are written once and referenced afterwards. Sizes, references and integral numbers are
+ * written as variable length integers.
+ * <p>
+ * Instances are stateless and thread-safe. The returned encoders and decoders are not.
+ *
+ * @since 1.3
+ */
+public final class BinaryJsonCodec {
+
+  private static final int MAGIC = 0x4D455842;
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * Objects which encoded form, references to strings and objects included, is longer than this are not interned. This bounds
+   * the amount of the document which is held in memory while it is encoded or decoded.
+   */
+  private static final int MAX_INTERNED_LENGTH = 512;
+
+  private static final int END = 0;
+  private static final int NULL = 1;
+  private static final int TRUE = 2;
+  private static final int FALSE = 3;
+  private static final int STRING = 4;
+  private static final int INTEGER = 5;
+  private static final int NUMBER = 6;
+  private static final int ARRAY = 7;
+  private static final int OBJECT = 8;
+  private static final int OBJECT_REFERENCE = 9;
+
+  /**
+   * Each member of an object starts with its name, as a string offset by {@link #NAME_OFFSET}. The lower values end the object,
+   * indicating whether it has to be interned.
+   */
+  private static final int END_OBJECT = 0;
+  private static final int END_INTERNED_OBJECT = 1;
+  private static final int NAME_OFFSET = 2;
+
+  /**
+   * Returns a {@link JsonWriter} which encodes the document written into it into the given {@code output}. The document is
+   * complete once its root value has been written and the {@link JsonWriter} has been flushed or closed.
+   *
+   * @param output the stream to write to. It is not closed.
+   * @return the encoding {@link JsonWriter}
+   * @throws IOException if the stream could not be written
+   */
+  public JsonWriter newEncoder(OutputStream output) throws IOException {
+    DataOutputStream out = new DataOutputStream(output);
+    out.writeInt(MAGIC);
+    out.writeByte(FORMAT_VERSION);
+    return new Encoder(out);
+  }
+
+  /**
+   * Returns a {@link JsonReader} of the document encoded in the given {@code input}, which is decoded as the
+   * {@link JsonReader} is read.
+   *
+   * @param input the stream to read from. It is not closed.
+   * @return the decoding {@link JsonReader}
+   * @throws IOException if the stream could not be read or has an unexpected format
+   */
+  public JsonReader newDecoder(InputStream input) throws IOException {
+    DataInputStream in = new DataInputStream(input);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a binary encoded document");
+    }
+    int version = in.readUnsignedByte();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported binary format version " + version);
+    }
+    return new Decoder(in);
+  }
+
+  private static final class Encoder extends JsonWriter {
+
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+
+      @Override
+      public void write(char[] buffer, int offset, int length) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void flush() {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public void close() {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<String, Integer> objects = new HashMap<>();
+    private final List<Container> containers = new ArrayList<>();
+    private String deferredName;
+    private boolean written = false;
+
+    private Encoder(DataOutputStream out) {
+      super(UNWRITABLE_WRITER);
+      this.out = out;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+      beforeValue();
+      writeTag(ARRAY);
+      containers.add(new Container(false));
+      return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+      pop(false);
+      writeTag(END);
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+      beforeValue();
+      Container object = new Container(true);
+      containers.add(object);
+      writeTag(OBJECT);
+      return this;
+    }
+
+    /**
+     * Objects are buffered until they are either too long to be interned, in which case they are written as they come, or
+     * finished, in which case they are written only if an equal one wasn't written before.
+     */
+    @Override
+    public JsonWriter endObject() throws IOException {
+      Container object = pop(true);
+      if (object.bytes != null && object.bytes.size() < MAX_INTERNED_LENGTH) {
+        writeVarLong(object.bytes, END_INTERNED_OBJECT);
+        writeVarLong(object.key, END_INTERNED_OBJECT);
+        String key = new String(object.key.toByteArray(), ISO_8859_1);
+
+        Integer reference = objects.get(key);
+        if (reference == null) {
+          // The first occurrence is written as is, but the containing object is keyed by the reference to it
+          reference = objects.size();
+          objects.put(key, reference);
+          object.bytes.writeTo(sink());
+          Container parent = currentObject();
+          if (parent != null && parent.key != null) {
+            parent.key.write(OBJECT_REFERENCE);
+            writeVarLong(parent.key, reference);
+          }
+        } else {
+          writeTag(OBJECT_REFERENCE);
+          writeVarLong(reference);
+        }
+      } else {
+        // Objects are written outermost first, so the ones containing this one are already written as well
+        spill(object);
+        writeVarLong(out, END_OBJECT);
+      }
+
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+      if (name == null) {
+        throw new NullPointerException("name == null");
+      }
+      if (deferredName != null || containers.isEmpty() || !top().object) {
+        throw new IllegalStateException("Unexpected name " + name);
+      }
+      deferredName = name;
+      return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+      if (value == null) {
+        return nullValue();
+      }
+      beforeValue();
+      writeTag(STRING);
+      writeString(value, 0);
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+      if (deferredName != null && !getSerializeNulls()) {
+        deferredName = null;
+        return this;
+      }
+      beforeValue();
+      writeTag(NULL);
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+      beforeValue();
+      writeTag(value ? TRUE : FALSE);
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter value(Boolean value) throws IOException {
+      return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    // Not annotated with @Override since it was only added in later versions of Gson
+    public JsonWriter value(float value) throws IOException {
+      return writeNumber(Float.toString(value));
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+      return writeNumber(Double.toString(value));
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+      beforeValue();
+      writeTag(INTEGER);
+      writeVarLong((value << 1) ^ (value >> 63));
+      afterValue();
+      return this;
+    }
+
+    @Override
+    public JsonWriter value(Number value) throws IOException {
+      return value == null ? nullValue() : writeNumber(value.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!containers.isEmpty() || !written) {
+        throw new IOException("Incomplete document");
+      }
+      out.flush();
+    }
+
+    private JsonWriter writeNumber(String literal) throws IOException {
+      Long value = asLong(literal);
+      if (value != null) {
+        return value(value.longValue());
+      }
+
+      beforeValue();
+      writeTag(NUMBER);
+      writeString(literal, 0);
+      afterValue();
+      return this;
+    }
+
+    private Long asLong(String literal) {
+      try {
+        long value = Long.parseLong(literal);
+        return Long.toString(value).equals(literal) ? value : null;
+      } catch (NumberFormatException e) {
+        return null;
+      }
+    }
+
+    private void beforeValue() throws IOException {
+      if (containers.isEmpty()) {
+        if (written) {
+          throw new IllegalStateException("The document has already been written");
+        }
+        return;
+      }
+
+      if (top().object) {
+        if (deferredName == null) {
+          throw new IllegalStateException("Missing the name of an object member");
+        }
+        String name = deferredName;
+        deferredName = null;
+        writeString(name, NAME_OFFSET);
+      }
+    }
+
+    private void afterValue() {
+      if (containers.isEmpty()) {
+        written = true;
+      }
+      spillIfTooLong();
+    }
+
+    private Container pop(boolean object) {
+      if (containers.isEmpty() || top().object != object || deferredName != null) {
+        throw new IllegalStateException("Nesting problem");
+      }
+      return containers.remove(containers.size() - 1);
+    }
+
+    private Container top() {
+      return containers.get(containers.size() - 1);
+    }
+
+    /**
+     * @return the innermost object being written, which holds the encoded form of the arrays it contains
+     */
+    private Container currentObject() {
+      for (int i = containers.size() - 1; i >= 0; i--) {
+        if (containers.get(i).object) {
+          return containers.get(i);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Writes the buffered objects which became too long to be interned, outermost first, since they precede the ones they
+     * contain.
+     */
+    private void spillIfTooLong() {
+      int length = 0;
+      List<Container> buffered = new ArrayList<>();
+      for (Container container : containers) {
+        if (container.object && container.bytes != null) {
+          buffered.add(container);
+          length += container.bytes.size();
+        }
+      }
+
+      for (Container container : buffered) {
+        if (length < MAX_INTERNED_LENGTH) {
+          return;
+        }
+        length -= container.bytes.size();
+        spill(container);
+      }
+    }
+
+    private void spill(Container object) {
+      if (object.bytes == null) {
+        return;
+      }
+      try {
+        object.bytes.writeTo(out);
+      } catch (IOException e) {
+        throw new ExtensionModelSerializationException("Could not encode document", e);
+      }
+      object.bytes = null;
+      object.key = null;
+    }
+
+    /**
+     * Writes {@code 0} followed by the string for its first occurrence, or the position in which it first occurred plus one,
+     * offset by the given {@code offset}.
+     */
+    private void writeString(String value, int offset) throws IOException {
+      Integer index = strings.get(value);
+      if (index == null) {
+        index = strings.size();
+        strings.put(value, index);
+        byte[] bytes = value.getBytes(UTF_8);
+        OutputStream sink = sink();
+        writeVarLong(sink, offset);
+        writeVarLong(sink, bytes.length);
+        sink.write(bytes);
+      } else {
+        writeVarLong(sink(), index + 1 + offset);
+      }
+
+      // The key of the object identifies strings by their position, so that it is the same for all of their occurrences
+      Container object = currentObject();
+      if (object != null && object.key != null) {
+        writeVarLong(object.key, index + offset);
+      }
+    }
+
+    private void writeTag(int tag) throws IOException {
+      sink().write(tag);
+      Container object = currentObject();
+      if (object != null && object.key != null) {
+        object.key.write(tag);
+      }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+      writeVarLong(sink(), value);
+      Container object = currentObject();
+      if (object != null && object.key != null) {
+        writeVarLong(object.key, value);
+      }
+    }
+
+    private OutputStream sink() {
+      Container object = currentObject();
+      return object != null && object.bytes != null ? object.bytes : out;
+    }
+
+    private static void writeVarLong(OutputStream output, long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        output.write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      output.write((int) value);
+    }
+  }
+
+  /**
+   * An array or object being encoded. Objects hold their encoded form and the key under which they are interned until they
+   * are either finished or too long to be interned. Arrays are encoded within the object which contains them.
+   */
+  private static final class Container {
+
+    private final boolean object;
+    private ByteArrayOutputStream bytes;
+    private ByteArrayOutputStream key;
+
+    private Container(boolean object) {
+      this.object = object;
+      if (object) {
+        bytes = new ByteArrayOutputStream();
+        key = new ByteArrayOutputStream();
+      }
+    }
+  }
+
+  /**
+   * Decodes the document straight into the tokens returned by the {@link JsonReader} methods, without going through its JSON
+   * text.
+   * <p>
+   * Gson interacts with a {@link JsonReader} through its public methods, all of which are overridden, save for the final ones
+   * which only hold its configuration. The exception is promoting the name of an object member to a value, as done for the
+   * keys of maps, which works on the state of the base {@link JsonReader}. The base one is therefore kept reading an endless
+   * object out of {@link Feed}, positioned before the name of one of its members, so that the promotion of the name being
+   * decoded can be detected through it.
+   */
+  private static final class Decoder extends JsonReader {
+
+    private static final int NO_TOKEN = -1;
+    private static final int BEGIN_ARRAY_TOKEN = 0;
+    private static final int END_ARRAY_TOKEN = 1;
+    private static final int BEGIN_OBJECT_TOKEN = 2;
+    private static final int END_OBJECT_TOKEN = 3;
+    private static final int NAME_TOKEN = 4;
+    private static final int STRING_TOKEN = 5;
+    private static final int INTEGER_TOKEN = 6;
+    private static final int NUMBER_TOKEN = 7;
+    private static final int TRUE_TOKEN = 8;
+    private static final int FALSE_TOKEN = 9;
+    private static final int NULL_TOKEN = 10;
+    private static final int END_DOCUMENT_TOKEN = 11;
+
+    /**
+     * Only found in recorded objects, stands for the interned object which index is its payload
+     */
+    private static final int REFERENCE_TOKEN = 12;
+
+    private static final JsonToken[] JSON_TOKENS = {JsonToken.BEGIN_ARRAY, JsonToken.END_ARRAY, JsonToken.BEGIN_OBJECT,
+        JsonToken.END_OBJECT, JsonToken.NAME, JsonToken.STRING, JsonToken.NUMBER, JsonToken.NUMBER, JsonToken.BOOLEAN,
+        JsonToken.BOOLEAN, JsonToken.NULL, JsonToken.END_DOCUMENT};
+
+    private final DataInputStream in;
+    private final List<String> strings = new ArrayList<>();
+    private final List<Tokens> objects = new ArrayList<>();
+    private final List<Scope> scopes = new ArrayList<>();
+    private final List<Replay> replays = new ArrayList<>();
+    private long position = 0;
+    private boolean done = false;
+
+    /**
+     * The next token, and its payload: the index of the string of names, strings and numbers, or the value of integers
+     */
+    private int kind = NO_TOKEN;
+    private long payload;
+
+    private Decoder(DataInputStream in) throws IOException {
+      super(new Feed());
+      this.in = in;
+      super.beginObject();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      consume(BEGIN_ARRAY_TOKEN, "BEGIN_ARRAY");
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      consume(END_ARRAY_TOKEN, "END_ARRAY");
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      consume(BEGIN_OBJECT_TOKEN, "BEGIN_OBJECT");
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      consume(END_OBJECT_TOKEN, "END_OBJECT");
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      int token = token();
+      return token != END_OBJECT_TOKEN && token != END_ARRAY_TOKEN && token != END_DOCUMENT_TOKEN;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+      int token = token();
+      return token == NAME_TOKEN && isPromoted() ? JsonToken.STRING : JSON_TOKENS[token];
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      if (token() != NAME_TOKEN || isPromoted()) {
+        throw unexpected("a name");
+      }
+      kind = NO_TOKEN;
+      return strings.get((int) payload);
+    }
+
+    @Override
+    public String nextString() throws IOException {
+      String value = text("a string");
+      consumeValue();
+      return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+      int token = token();
+      if (token != TRUE_TOKEN && token != FALSE_TOKEN) {
+        throw unexpected("a boolean");
+      }
+      kind = NO_TOKEN;
+      return token == TRUE_TOKEN;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+      consume(NULL_TOKEN, "null");
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+      double value = token() == INTEGER_TOKEN ? payload : Double.parseDouble(text("a double"));
+      consumeValue();
+      return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+      long value = token() == INTEGER_TOKEN ? payload : parseLong(text("a long"));
+      consumeValue();
+      return value;
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+      long value = token() == INTEGER_TOKEN ? payload : parseLong(text("an int"));
+      if ((int) value != value) {
+        throw new NumberFormatException("Expected an int but was " + value);
+      }
+      consumeValue();
+      return (int) value;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (token() == NAME_TOKEN && !isPromoted()) {
+        kind = NO_TOKEN;
+        return;
+      }
+
+      int depth = 0;
+      do {
+        int token = token();
+        if (token == END_DOCUMENT_TOKEN) {
+          return;
+        } else if (token == BEGIN_ARRAY_TOKEN || token == BEGIN_OBJECT_TOKEN) {
+          depth++;
+        } else if (token == END_ARRAY_TOKEN || token == END_OBJECT_TOKEN) {
+          depth--;
+        }
+        consumeValue();
+      } while (depth > 0);
+    }
+
+    @Override
+    public void close() {
+      // The input is not closed
+    }
+
+    // Paths are not tracked, since they are only used to describe where the document is malformed
+    @Override
+    public String getPath() {
+      return "$";
+    }
+
+    // Not annotated with @Override since it was only added in later versions of Gson
+    public String getPreviousPath() {
+      return "$";
+    }
+
+    @Override
+    public String toString() {
+      return "BinaryJsonCodec.Decoder at byte " + position;
+    }
+
+    /**
+     * @return the kind of the next token, decoding it if it hasn't been yet
+     */
+    private int token() throws IOException {
+      while (kind == NO_TOKEN) {
+        if (!replays.isEmpty()) {
+          Replay replay = replays.get(replays.size() - 1);
+          if (replay.next == replay.tokens.size) {
+            replays.remove(replays.size() - 1);
+            continue;
+          }
+          kind = replay.tokens.kinds[replay.next];
+          payload = replay.tokens.payloads[replay.next++];
+        } else if (done) {
+          kind = END_DOCUMENT_TOKEN;
+        } else {
+          advance();
+        }
+
+        if (kind == REFERENCE_TOKEN) {
+          replays.add(new Replay(objects.get((int) payload)));
+          kind = NO_TOKEN;
+        }
+      }
+      return kind;
+    }
+
+    /**
+     * A name promoted to a value is consumed out of the base {@link JsonReader} as well, along with the value which follows it
+     * there, so that it is positioned before the next name again.
+     */
+    private void consumeValue() throws IOException {
+      if (kind == NAME_TOKEN && isPromoted()) {
+        super.nextString();
+        super.nextInt();
+      }
+      kind = NO_TOKEN;
+    }
+
+    private void consume(int expected, String description) throws IOException {
+      if (token() != expected) {
+        throw unexpected(description);
+      }
+      kind = NO_TOKEN;
+    }
+
+    private boolean isPromoted() throws IOException {
+      return super.peek() == JsonToken.STRING;
+    }
+
+    private String text(String expected) throws IOException {
+      int token = token();
+      if (token == STRING_TOKEN || token == NUMBER_TOKEN || (token == NAME_TOKEN && isPromoted())) {
+        return strings.get((int) payload);
+      } else if (token == INTEGER_TOKEN) {
+        return Long.toString(payload);
+      }
+      throw unexpected(expected);
+    }
+
+    private IllegalStateException unexpected(String expected) throws IOException {
+      return new IllegalStateException("Expected " + expected + " but was " + peek() + " at byte " + position);
+    }
+
+    private static long parseLong(String text) {
+      try {
+        return Long.parseLong(text);
+      } catch (NumberFormatException e) {
+        double value = Double.parseDouble(text);
+        if ((long) value != value) {
+          throw new NumberFormatException("Expected a long but was " + text);
+        }
+        return (long) value;
+      }
+    }
+
+    /**
+     * Decodes the next token of the document into {@link #kind} and {@link #payload}
+     */
+    private void advance() throws IOException {
+      if (scopes.isEmpty()) {
+        readValue(readByte());
+      } else {
+        Scope scope = scopes.get(scopes.size() - 1);
+        if (scope.object && scope.awaitingValue) {
+          scope.awaitingValue = false;
+          readValue(readByte());
+        } else if (scope.object) {
+          int name = readVarInt();
+          if (name == END_OBJECT || name == END_INTERNED_OBJECT) {
+            emit(END_OBJECT_TOKEN, 0);
+            end(name == END_INTERNED_OBJECT);
+          } else {
+            emit(NAME_TOKEN, readString(name - NAME_OFFSET));
+            scope.awaitingValue = true;
+          }
+        } else {
+          int tag = readByte();
+          if (tag == END) {
+            emit(END_ARRAY_TOKEN, 0);
+            end(false);
+          } else {
+            readValue(tag);
+          }
+        }
+      }
+
+      // The tokens of objects are only recorded while they are short enough to have been interned. Since the innermost
+      // scopes started last, the ones being recorded are always the innermost ones.
+      for (Scope scope : scopes) {
+        if (scope.tokens != null) {
+          if (position - scope.start <= MAX_INTERNED_LENGTH) {
+            break;
+          }
+          scope.tokens = null;
+        }
+      }
+
+      done = scopes.isEmpty();
+    }
+
+    private void readValue(int tag) throws IOException {
+      switch (tag) {
+        case NULL:
+          emit(NULL_TOKEN, 0);
+          break;
+        case TRUE:
+          emit(TRUE_TOKEN, 0);
+          break;
+        case FALSE:
+          emit(FALSE_TOKEN, 0);
+          break;
+        case STRING:
+          emit(STRING_TOKEN, readString(readVarInt()));
+          break;
+        case INTEGER:
+          long encoded = readVarLong();
+          emit(INTEGER_TOKEN, (encoded >>> 1) ^ -(encoded & 1));
+          break;
+        case NUMBER:
+          emit(NUMBER_TOKEN, readString(readVarInt()));
+          break;
+        case ARRAY:
+          scopes.add(new Scope(false, position - 1));
+          emit(BEGIN_ARRAY_TOKEN, 0);
+          break;
+        case OBJECT:
+          scopes.add(new Scope(true, position - 1));
+          emit(BEGIN_OBJECT_TOKEN, 0);
+          break;
+        case OBJECT_REFERENCE:
+          int reference = readVarInt();
+          if (reference >= objects.size()) {
+            throw new IOException("Invalid object reference " + reference);
+          }
+          emit(REFERENCE_TOKEN, reference);
+          break;
+        default:
+          throw new IOException("Unknown element tag " + tag);
+      }
+    }
+
+    /**
+     * Interned objects are recorded in the containing one as a reference, the rest as their tokens
+     */
+    private void end(boolean interned) throws IOException {
+      Scope scope = scopes.remove(scopes.size() - 1);
+      if (interned) {
+        if (scope.tokens == null) {
+          throw new IOException("Invalid interned object");
+        }
+        objects.add(scope.tokens);
+      }
+
+      if (!scopes.isEmpty()) {
+        Scope parent = scopes.get(scopes.size() - 1);
+        if (parent.tokens == null || scope.tokens == null) {
+          parent.tokens = null;
+        } else if (interned) {
+          parent.tokens.add(REFERENCE_TOKEN, objects.size() - 1);
+        } else {
+          parent.tokens.addAll(scope.tokens);
+        }
+      }
+    }
+
+    private void emit(int kind, long payload) {
+      this.kind = kind;
+      this.payload = payload;
+      if (!scopes.isEmpty()) {
+        Scope scope = scopes.get(scopes.size() - 1);
+        if (scope.tokens != null) {
+          scope.tokens.add(kind, payload);
+        }
+      }
+    }
+
+    /**
+     * @return the index of the string in {@link #strings}
+     */
+    private int readString(int code) throws IOException {
+      if (code > 0) {
+        if (code > strings.size()) {
+          throw new IOException("Invalid string reference " + code);
+        }
+        return code - 1;
+      }
+
+      byte[] bytes = new byte[readVarInt()];
+      in.readFully(bytes);
+      position += bytes.length;
+      strings.add(new String(bytes, UTF_8));
+      return strings.size() - 1;
+    }
+
+    private int readByte() throws IOException {
+      int b = in.read();
+      if (b < 0) {
+        throw new EOFException();
+      }
+      position++;
+      return b;
+    }
+
+    private int readVarInt() throws IOException {
+      long value = readVarLong();
+      if (value < 0 || value > Integer.MAX_VALUE) {
+        throw new IOException("Invalid size " + value);
+      }
+      return (int) value;
+    }
+
+    private long readVarLong() throws IOException {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IOException("Malformed variable length integer");
+    }
+  }
+
+  /**
+   * The JSON text read by the base {@link JsonReader} of a {@link Decoder}: an object with endless {@code "k":0} members.
+   */
+  private static final class Feed extends Reader {
+
+    private static final String MEMBER = "\"k\":0,";
+
+    private int position = -1;
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+      for (int i = 0; i < length; i++) {
+        buffer[offset + i] = position < 0 ? '{' : MEMBER.charAt(position);
+        position = (position + 1) % MEMBER.length();
+      }
+      return length;
+    }
+
+    @Override
+    public void close() {
+      // Nothing to release
+    }
+  }
+
+  /**
+   * An array or object being decoded, with its tokens while it may have to be interned
+   */
+  private static final class Scope {
+
+    private final boolean object;
+    private final long start;
+    private Tokens tokens = new Tokens();
+    private boolean awaitingValue = false;
+
+    private Scope(boolean object, long start) {
+      this.object = object;
+      this.start = start;
+    }
+  }
+
+  /**
+   * The tokens of an interned object being read again
+   */
+  private static final class Replay {
+
+    private final Tokens tokens;
+    private int next = 0;
+
+    private Replay(Tokens tokens) {
+      this.tokens = tokens;
+    }
+  }
+
+  /**
+   * A sequence of decoded tokens, kept as parallel arrays of their kinds and payloads
+   */
+  private static final class Tokens {
+
+    private int[] kinds = new int[8];
+    private long[] payloads = new long[8];
+    private int size = 0;
+
+    private void add(int kind, long payload) {
+      ensureCapacity(size + 1);
+      kinds[size] = kind;
+      payloads[size++] = payload;
+    }
+
+    private void addAll(Tokens tokens) {
+      ensureCapacity(size + tokens.size);
+      System.arraycopy(tokens.kinds, 0, kinds, size, tokens.size);
+      System.arraycopy(tokens.payloads, 0, payloads, size, tokens.size);
+      size += tokens.size;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > kinds.length) {
+        int length = Math.max(capacity, kinds.length * 2);
+        kinds = Arrays.copyOf(kinds, length);
+        payloads = Arrays.copyOf(payloads, length);
+      }
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Helper class for {@link ExtensionModelTypeAdapter} which encapsulates the logic of serializing and
@@ -40,10 +41,10 @@ class ErrorModelSerializerDelegate {
   private static final String PARENT = "parent";
   private static final String HANDLEABLE = "handleable";
   private static final String EMPTY = "";
-  private Map<String, ErrorModel> errorModelRespository;
+  private final Supplier<SerializationScope> scope;
 
-  ErrorModelSerializerDelegate(Map<String, ErrorModel> errorModelRespository) {
-    this.errorModelRespository = errorModelRespository;
+  ErrorModelSerializerDelegate(Supplier<SerializationScope> scope) {
+    this.scope = scope;
   }
 
   /**
@@ -90,7 +91,7 @@ class ErrorModelSerializerDelegate {
 
   /**
    * Given a {@link JsonArray} representing a {@link Set} of {@link ErrorModel}, it will deserialize them.
-   * Also contribute with the given {@link this#errorModelRespository}.
+   * Also contribute with the error model repository of the current {@link SerializationScope}.
    *
    * @param errors The json array
    * @return The a {@link Map} with the Error Identifier as key and the represented {@link ErrorModel}
@@ -112,9 +113,10 @@ class ErrorModelSerializerDelegate {
       buildingErrors.put(anError, new Pair<>(parentError, errorModelBuilder));
     });
 
-    buildingErrors.keySet().forEach(key -> buildError(key, buildingErrors, errorModelRespository));
+    Map<String, ErrorModel> errorModelRepository = scope.get().getErrorModelRepository();
+    buildingErrors.keySet().forEach(key -> buildError(key, buildingErrors, errorModelRepository));
 
-    return errorModelRespository;
+    return errorModelRepository;
   }
 
   private ErrorModel buildError(String errorIdentifier, Map<String, Pair<String, ErrorModelBuilder>> buildingErrors,
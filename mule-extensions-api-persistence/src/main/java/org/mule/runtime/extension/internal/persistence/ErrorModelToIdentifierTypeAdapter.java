@@ -13,8 +13,7 @@ import org.mule.runtime.api.component.ComponentIdentifier;
 import org.mule.runtime.api.meta.model.error.ErrorModel;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Supplier;
 
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
@@ -28,10 +27,10 @@ import com.google.gson.stream.JsonWriter;
  */
 public class ErrorModelToIdentifierTypeAdapter extends TypeAdapter<ErrorModel> {
 
-  private Map<String, ErrorModel> errorModelRepository = new HashMap<>();
+  private final Supplier<SerializationScope> scope;
 
-  public ErrorModelToIdentifierTypeAdapter(Map<String, ErrorModel> errorModelMap) {
-    errorModelRepository = errorModelMap;
+  public ErrorModelToIdentifierTypeAdapter(Supplier<SerializationScope> scope) {
+    this.scope = scope;
   }
 
   @Override
@@ -41,6 +40,6 @@ public class ErrorModelToIdentifierTypeAdapter extends TypeAdapter<ErrorModel> {
 
   @Override
   public ErrorModel read(JsonReader in) throws IOException {
-    return deserialize(in.nextString(), errorModelRepository);
+    return deserialize(in.nextString(), scope.get().getErrorModelRepository());
   }
 }
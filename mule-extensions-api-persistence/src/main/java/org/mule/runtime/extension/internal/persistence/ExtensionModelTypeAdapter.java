@@ -10,10 +10,8 @@ import static java.lang.String.format;
 import static java.util.Collections.emptySet;
 import static org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils.getId;
 import org.mule.metadata.api.model.ObjectType;
-import org.mule.metadata.persistence.JsonMetadataTypeLoader;
-import org.mule.metadata.persistence.JsonMetadataTypeWriter;
-import org.mule.metadata.persistence.SerializationContext;
 import org.mule.runtime.api.meta.Category;
+import org.mule.runtime.api.meta.NamedObject;
 import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.ExternalLibraryModel;
 import org.mule.runtime.api.meta.model.ImportedTypeModel;
@@ -30,6 +28,7 @@ import org.mule.runtime.api.meta.model.notification.NotificationModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
+import org.mule.runtime.extension.api.model.LazyComponentList;
 import org.mule.runtime.extension.api.util.HierarchyClassMap;
 
 import com.google.gson.Gson;
@@ -43,6 +42,7 @@ import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -52,6 +52,10 @@ import java.util.stream.Collectors;
 
 /**
  * A {@link TypeAdapter} to handle {@link ExtensionModel} instances
+ * <p>
+ * When the current {@link SerializationScope} {@link SerializationScope#isLazy() is lazy}, the configurations, operations,
+ * connection providers, sources, functions and constructs are read into {@link LazyComponentList}s which deserialize each of
+ * them out of its JSON element on first access, within the same {@link SerializationScope}.
  *
  * @since 1.0
  */
@@ -83,22 +87,20 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
   static final String NOTIFICATIONS = "notifications";
 
   private final Gson gsonDelegate;
-  private final JsonMetadataTypeLoader typeLoader = new JsonMetadataTypeLoader();
-  private final JsonMetadataTypeWriter typeWriter = new JsonMetadataTypeWriter();
-  private final SerializationContext serializationContext;
+  private final SerializationScopeHolder scope;
   private final ErrorModelSerializerDelegate errorModelDelegate;
   private final NotificationModelSerializerDelegate notificationModelDelegate;
 
-  public ExtensionModelTypeAdapter(Gson gsonDelegate, SerializationContext serializationContext,
-                                   Map<String, ErrorModel> errorModelMap, Map<String, NotificationModel> notificationModelMap) {
+  public ExtensionModelTypeAdapter(Gson gsonDelegate, SerializationScopeHolder scope) {
     this.gsonDelegate = gsonDelegate;
-    this.serializationContext = serializationContext;
-    this.errorModelDelegate = new ErrorModelSerializerDelegate(errorModelMap);
-    this.notificationModelDelegate = new NotificationModelSerializerDelegate(notificationModelMap, gsonDelegate);
+    this.scope = scope;
+    this.errorModelDelegate = new ErrorModelSerializerDelegate(scope);
+    this.notificationModelDelegate = new NotificationModelSerializerDelegate(scope, gsonDelegate);
   }
 
   @Override
   public void write(JsonWriter out, ExtensionModel model) throws IOException {
+    scope.get().registerTypes(model);
     out.beginObject();
 
     out.name(NAME).value(model.getName());
@@ -157,13 +159,17 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
     Set<String> privilegedArtifacts = parseWithDelegate(json, PRIVILEGED_ARTIFACTS, new TypeToken<Set<String>>() {});
     Set<ExternalLibraryModel> externalLibraries =
         parseWithDelegate(json, EXTERNAL_LIBRARIES, new TypeToken<Set<ExternalLibraryModel>>() {});
-    List<ConfigurationModel> configs = parseWithDelegate(json, CONFIGURATIONS, new TypeToken<List<ConfigurationModel>>() {});
-    List<OperationModel> operations = parseWithDelegate(json, OPERATIONS, new TypeToken<List<OperationModel>>() {});
-    List<ConnectionProviderModel> providers =
-        parseWithDelegate(json, CONNECTION_PROVIDERS, new TypeToken<List<ConnectionProviderModel>>() {});
-    List<SourceModel> sources = parseWithDelegate(json, MESSAGE_SOURCES, new TypeToken<List<SourceModel>>() {});
-    List<FunctionModel> functions = parseWithDelegate(json, FUNCTIONS, new TypeToken<List<FunctionModel>>() {});
-    List<ConstructModel> constructs = parseWithDelegate(json, CONSTRUCTS, new TypeToken<List<ConstructModel>>() {});
+    List<ConfigurationModel> configs =
+        parseComponents(json, CONFIGURATIONS, ConfigurationModel.class, new TypeToken<List<ConfigurationModel>>() {});
+    List<OperationModel> operations =
+        parseComponents(json, OPERATIONS, OperationModel.class, new TypeToken<List<OperationModel>>() {});
+    List<ConnectionProviderModel> providers = parseComponents(json, CONNECTION_PROVIDERS, ConnectionProviderModel.class,
+                                                              new TypeToken<List<ConnectionProviderModel>>() {});
+    List<SourceModel> sources = parseComponents(json, MESSAGE_SOURCES, SourceModel.class, new TypeToken<List<SourceModel>>() {});
+    List<FunctionModel> functions =
+        parseComponents(json, FUNCTIONS, FunctionModel.class, new TypeToken<List<FunctionModel>>() {});
+    List<ConstructModel> constructs =
+        parseComponents(json, CONSTRUCTS, ConstructModel.class, new TypeToken<List<ConstructModel>>() {});
 
     return new ImmutableExtensionModel(json.get(NAME).getAsString(),
                                        json.get(DESCRIPTION).getAsString(),
@@ -197,6 +203,36 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
     return null;
   }
 
+  private <T extends NamedObject> List<T> parseComponents(JsonObject json, String elementName, Class<T> type,
+                                                          TypeToken<List<T>> listType) {
+    final SerializationScope currentScope = scope.get();
+    if (!currentScope.isLazy()) {
+      return parseWithDelegate(json, elementName, listType);
+    }
+
+    JsonElement element = json.get(elementName);
+    if (element == null) {
+      return null;
+    }
+
+    JsonArray array = element.getAsJsonArray();
+    List<String> names = new ArrayList<>(array.size());
+    JsonElement[] elements = new JsonElement[array.size()];
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = array.get(i);
+      names.add(elements[i].getAsJsonObject().get(NAME).getAsString());
+    }
+
+    return new LazyComponentList<>(names, i -> {
+      // The scope state is not thread-safe, so components sharing it are built one at a time
+      synchronized (currentScope) {
+        T component = scope.within(currentScope, () -> gsonDelegate.fromJson(elements[i], type));
+        elements[i] = null;
+        return component;
+      }
+    });
+  }
+
   private <T> void writeWithDelegate(T value, String elementName, JsonWriter out, TypeToken<T> typeToken) throws IOException {
     out.name(elementName);
     gsonDelegate.toJson(value, typeToken.getType(), out);
@@ -210,7 +246,8 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
       return emptySet();
     }
 
-    typesArray.forEach(typeElement -> typeLoader.load(typeElement).ifPresent(type -> {
+    final SerializationScope currentScope = scope.get();
+    typesArray.forEach(typeElement -> currentScope.getTypeLoader().load(typeElement).ifPresent(type -> {
       if (!(type instanceof ObjectType)) {
         throw new IllegalArgumentException(format("Was expecting an object type but %s was found instead",
                                                   type.getClass().getSimpleName()));
@@ -220,7 +257,7 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
               + "with a 'typeId' can be part of the 'types' catalog"));
 
       final ObjectType objectType = (ObjectType) type;
-      serializationContext.registerObjectType(objectType);
+      currentScope.getSerializationContext().registerObjectType(objectType);
       types.add(objectType);
     }));
 
@@ -239,7 +276,7 @@ public final class ExtensionModelTypeAdapter extends TypeAdapter<ExtensionModel>
     final Set<ObjectType> objectTypes = new LinkedHashSet<>();
     objectTypes.addAll(additionalTypes);
     for (ObjectType type : objectTypes) {
-      typeWriter.write(type, out);
+      scope.get().getTypeWriter().write(type, out);
     }
     out.endArray();
   }
@@ -23,6 +23,7 @@ import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Helper class for {@link ExtensionModelTypeAdapter} which encapsulates the logic of serializing and deserializing
@@ -34,11 +35,11 @@ class NotificationModelSerializerDelegate {
 
   private static final String NOTIFICATION = "notification";
   private static final String METADATA_TYPE = "metadataType";
-  private Map<String, NotificationModel> notificationModelRespository;
-  private Gson gson;
+  private final Supplier<SerializationScope> scope;
+  private final Gson gson;
 
-  NotificationModelSerializerDelegate(Map<String, NotificationModel> notificationModelRespository, Gson gson) {
-    this.notificationModelRespository = notificationModelRespository;
+  NotificationModelSerializerDelegate(Supplier<SerializationScope> scope, Gson gson) {
+    this.scope = scope;
     this.gson = gson;
   }
 
@@ -73,21 +74,22 @@ class NotificationModelSerializerDelegate {
 
   /**
    * Given a {@link JsonArray} representing a {@link Set} of {@link NotificationModel}, it will deserialize them. Also contribute
-   * with the given {@link this#notificationModelRespository}.
+   * with the notification model repository of the current {@link SerializationScope}.
    *
    * @param notifications The json array
    * @return The {@link Map} with the Notification Identifier as key and the represented {@link NotificationModel}
    */
   Map<String, NotificationModel> parseNotifications(JsonArray notifications) {
+    Map<String, NotificationModel> notificationModelRepository = scope.get().getNotificationModelRepository();
     notifications.iterator().forEachRemaining(element -> {
       JsonObject notification = element.getAsJsonObject();
       String aNotification = notification.get(NOTIFICATION).getAsString();
       MetadataType metadataType = gson.fromJson(notification.get(METADATA_TYPE), MetadataType.class);
-      notificationModelRespository.put(aNotification,
-                                       newNotification(buildFromStringRepresentation(aNotification)).withType(metadataType)
-                                           .build());
+      notificationModelRepository.put(aNotification,
+                                      newNotification(buildFromStringRepresentation(aNotification)).withType(metadataType)
+                                          .build());
     });
-    return notificationModelRespository;
+    return notificationModelRepository;
   }
 
 }
@@ -13,8 +13,7 @@ import org.mule.runtime.api.component.ComponentIdentifier;
 import org.mule.runtime.api.meta.model.notification.NotificationModel;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.function.Supplier;
 
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
@@ -29,10 +28,10 @@ import com.google.gson.stream.JsonWriter;
  */
 public class NotificationModelToIdentifierTypeAdapter extends TypeAdapter<NotificationModel> {
 
-  private Map<String, NotificationModel> notificationModelRepository = new HashMap<>();
+  private final Supplier<SerializationScope> scope;
 
-  public NotificationModelToIdentifierTypeAdapter(Map<String, NotificationModel> notificationModelMap) {
-    notificationModelRepository = notificationModelMap;
+  public NotificationModelToIdentifierTypeAdapter(Supplier<SerializationScope> scope) {
+    this.scope = scope;
   }
 
   @Override
@@ -42,6 +41,6 @@ public class NotificationModelToIdentifierTypeAdapter extends TypeAdapter<Notifi
 
   @Override
   public NotificationModel read(JsonReader in) throws IOException {
-    return deserialize(in.nextString(), notificationModelRepository);
+    return deserialize(in.nextString(), scope.get().getNotificationModelRepository());
   }
 }
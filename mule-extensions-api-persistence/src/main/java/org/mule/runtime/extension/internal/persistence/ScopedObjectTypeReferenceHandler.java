@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.persistence;
+
+import org.mule.metadata.api.builder.TypeBuilder;
+import org.mule.metadata.api.model.ObjectType;
+import org.mule.metadata.persistence.ObjectTypeReferenceHandler;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * {@link ObjectTypeReferenceHandler} which delegates into the one of the current {@link SerializationScope}, so that it can be
+ * registered once on a shared Gson instance.
+ *
+ * @since 1.3
+ */
+public final class ScopedObjectTypeReferenceHandler implements ObjectTypeReferenceHandler {
+
+  private final Supplier<SerializationScope> scope;
+
+  /**
+   * Creates a new instance
+   *
+   * @param scope supplier of the {@link SerializationScope} of the current operation
+   */
+  public ScopedObjectTypeReferenceHandler(Supplier<SerializationScope> scope) {
+    this.scope = scope;
+  }
+
+  @Override
+  public Optional<TypeBuilder> readReference(String typeReference) {
+    return scope.get().getReferenceHandler().readReference(typeReference);
+  }
+
+  @Override
+  public boolean shouldWriteReference(ObjectType type) {
+    return scope.get().getReferenceHandler().shouldWriteReference(type);
+  }
+
+  @Override
+  public Optional<String> writeReference(ObjectType type, JsonWriter writer) {
+    return scope.get().getReferenceHandler().writeReference(type, writer);
+  }
+}
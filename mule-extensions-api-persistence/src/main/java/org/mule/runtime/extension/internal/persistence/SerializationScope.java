@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.persistence;
+
+import static org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils.getId;
+
+import org.mule.metadata.persistence.JsonMetadataTypeLoader;
+import org.mule.metadata.persistence.JsonMetadataTypeWriter;
+import org.mule.metadata.persistence.ObjectTypeReferenceHandler;
+import org.mule.metadata.persistence.SerializationContext;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.ImportedTypeModel;
+import org.mule.runtime.api.meta.model.error.ErrorModel;
+import org.mule.runtime.api.meta.model.notification.NotificationModel;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Holds the state of a single serialization or deserialization operation of {@link ExtensionModel}s, so that the type adapters
+ * which use it can be shared among operations, and threads.
+ *
+ * @since 1.3
+ */
+public final class SerializationScope {
+
+  private final SerializationContext serializationContext = new SerializationContext();
+  private final Map<String, ErrorModel> errorModelRepository = new HashMap<>();
+  private final Map<String, NotificationModel> notificationModelRepository = new HashMap<>();
+  private final JsonMetadataTypeLoader typeLoader = new JsonMetadataTypeLoader();
+  private final JsonMetadataTypeWriter typeWriter = new JsonMetadataTypeWriter();
+  private final Set<String> referenceableTypeIds = new HashSet<>();
+  private final ObjectTypeReferenceHandler referenceHandler =
+      new RestrictedTypesObjectTypeReferenceHandler(serializationContext, referenceableTypeIds);
+  private final boolean lazy;
+
+  /**
+   * Creates a new instance for an operation which eagerly deserializes the components of the {@link ExtensionModel}s
+   */
+  public SerializationScope() {
+    this(false);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param lazy whether the components of the deserialized {@link ExtensionModel}s should only be built once accessed
+   */
+  public SerializationScope(boolean lazy) {
+    this.lazy = lazy;
+  }
+
+  /**
+   * Registers the types and imported types of the given {@code extensionModel}, so that they are written as references from
+   * then on.
+   *
+   * @param extensionModel the {@link ExtensionModel} about to be serialized
+   */
+  public void registerTypes(ExtensionModel extensionModel) {
+    extensionModel.getTypes().forEach(type -> getId(type).ifPresent(referenceableTypeIds::add));
+    extensionModel.getImportedTypes().stream()
+        .map(ImportedTypeModel::getImportedType)
+        .forEach(type -> {
+          getId(type).ifPresent(referenceableTypeIds::add);
+          serializationContext.registerObjectType(type);
+        });
+  }
+
+  /**
+   * @return whether the components of the deserialized {@link ExtensionModel}s should only be built once accessed
+   */
+  public boolean isLazy() {
+    return lazy;
+  }
+
+  public SerializationContext getSerializationContext() {
+    return serializationContext;
+  }
+
+  public Map<String, ErrorModel> getErrorModelRepository() {
+    return errorModelRepository;
+  }
+
+  public Map<String, NotificationModel> getNotificationModelRepository() {
+    return notificationModelRepository;
+  }
+
+  public JsonMetadataTypeLoader getTypeLoader() {
+    return typeLoader;
+  }
+
+  public JsonMetadataTypeWriter getTypeWriter() {
+    return typeWriter;
+  }
+
+  public ObjectTypeReferenceHandler getReferenceHandler() {
+    return referenceHandler;
+  }
+}
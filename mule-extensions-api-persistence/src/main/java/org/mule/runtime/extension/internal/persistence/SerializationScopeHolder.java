@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.persistence;
+
+import java.util.function.Supplier;
+
+/**
+ * Keeps track of the {@link SerializationScope} of the operation that the current thread is executing.
+ *
+ * @since 1.3
+ */
+public final class SerializationScopeHolder implements Supplier<SerializationScope> {
+
+  private final ThreadLocal<SerializationScope> currentScope = new ThreadLocal<>();
+
+  /**
+   * @return the {@link SerializationScope} of the current operation
+   * @throws IllegalStateException if there is no operation in progress
+   */
+  @Override
+  public SerializationScope get() {
+    SerializationScope scope = currentScope.get();
+    if (scope == null) {
+      throw new IllegalStateException("No serialization operation in progress");
+    }
+    return scope;
+  }
+
+  /**
+   * Executes the given {@code operation} within the given {@code scope}. Operations can be nested, in which case the enclosing
+   * scope is restored once the nested one finishes.
+   *
+   * @param scope     the {@link SerializationScope} of the operation
+   * @param operation the operation to execute
+   * @param <T>       the generic type of the operation result
+   * @param <E>       the generic type of the exception the operation may throw
+   * @return the operation result
+   * @throws E if the operation fails
+   */
+  public <T, E extends Exception> T within(SerializationScope scope, ScopedOperation<T, E> operation) throws E {
+    final SerializationScope previousScope = currentScope.get();
+    currentScope.set(scope);
+    try {
+      return operation.execute();
+    } finally {
+      if (previousScope == null) {
+        currentScope.remove();
+      } else {
+        currentScope.set(previousScope);
+      }
+    }
+  }
+
+  /**
+   * An operation executed within a {@link SerializationScope}
+   *
+   * @param <T> the generic type of the operation result
+   * @param <E> the generic type of the exception the operation may throw
+   */
+  @FunctionalInterface
+  public interface ScopedOperation<T, E extends Exception> {
+
+    T execute() throws E;
+  }
+}
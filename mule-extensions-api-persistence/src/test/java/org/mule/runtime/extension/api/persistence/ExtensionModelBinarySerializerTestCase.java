@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.persistence;
+
+import static com.google.gson.stream.JsonToken.END_DOCUMENT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
+import org.mule.runtime.extension.internal.persistence.BinaryJsonCodec;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+public class ExtensionModelBinarySerializerTestCase extends BasePersistenceTestCase {
+
+  private static final Type MAP_TYPE = new TypeToken<Map<Integer, String>>() {}.getType();
+
+  private final ExtensionModelBinarySerializer binarySerializer = new ExtensionModelBinarySerializer();
+
+  @Test
+  public void roundTrip() throws Exception {
+    ExtensionModel deserialized = binarySerializer.deserialize(binarySerializer.serialize(originalExtensionModel));
+
+    assertThat(deserialized, is(instanceOf(ImmutableExtensionModel.class)));
+    JSONAssert.assertEquals(extensionModelJsonSerializer.serialize(deserializedExtensionModel),
+                            extensionModelJsonSerializer.serialize(deserialized), true);
+  }
+
+  @Test
+  public void roundTripList() throws Exception {
+    List<ExtensionModel> deserialized = binarySerializer.deserializeList(binarySerializer.serializeList(extensionModelList));
+
+    assertThat(deserialized.size(), is(extensionModelList.size()));
+    JSONAssert.assertEquals(extensionModelJsonSerializer.serializeList(extensionModelList),
+                            extensionModelJsonSerializer.serializeList(deserialized), true);
+  }
+
+  @Test
+  public void repeatedObjectsAreWrittenOnce() throws IOException {
+    BinaryJsonCodec codec = new BinaryJsonCodec();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    JsonWriter encoder = codec.newEncoder(bytes);
+    encoder.beginArray();
+    for (int i = 0; i < 100; i++) {
+      encoder.beginObject().name("format").value("java").name("type").value("String").endObject();
+    }
+    encoder.endArray().close();
+
+    JsonElement json = new JsonParser().parse(codec.newDecoder(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(bytes.size(), is(lessThan(300)));
+    assertThat(json.toString(), is(range(0, 100).mapToObj(i -> "{\"format\":\"java\",\"type\":\"String\"}")
+        .collect(joining(",", "[", "]"))));
+  }
+
+  @Test
+  public void mapKeysAreDecoded() throws IOException {
+    BinaryJsonCodec codec = new BinaryJsonCodec();
+    Map<Integer, String> map = new LinkedHashMap<>();
+    map.put(1, "one");
+    map.put(-20, "minus twenty");
+    Gson gson = new Gson();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    JsonWriter encoder = codec.newEncoder(bytes);
+    gson.toJson(map, MAP_TYPE, encoder);
+    encoder.close();
+
+    JsonReader decoder = codec.newDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+    assertThat(gson.fromJson(decoder, MAP_TYPE), is(map));
+    assertThat(decoder.peek(), is(END_DOCUMENT));
+  }
+
+  @Test
+  public void smallerThanJson() throws IOException {
+    byte[] json = new ExtensionModelJsonSerializer().serialize(originalExtensionModel).getBytes(UTF_8);
+    assertThat(binarySerializer.serialize(originalExtensionModel).length, is(lessThan(json.length)));
+  }
+}
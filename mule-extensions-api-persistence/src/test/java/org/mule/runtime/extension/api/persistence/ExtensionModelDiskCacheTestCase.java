@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.persistence;
+
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.mule.runtime.api.dsl.DslResolvingContext.getDefault;
+import static org.mule.runtime.api.meta.model.tck.TestWebServiceConsumerDeclarer.WS_CONSUMER;
+
+import org.mule.runtime.api.dsl.DslResolvingContext;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.ModelProperty;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.meta.model.connection.HasConnectionProviderModels;
+import org.mule.runtime.api.meta.model.operation.HasOperationModels;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
+import org.mule.runtime.api.meta.model.source.HasSourceModels;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+import org.mule.runtime.api.meta.model.tck.TestWebServiceConsumerDeclarer;
+import org.mule.runtime.api.meta.model.util.ExtensionWalker;
+import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
+import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
+import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ExtensionModelDiskCacheTestCase {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final DslResolvingContext dslResolvingContext = getDefault(emptySet());
+  private final Map<String, Object> attributes = new HashMap<>(singletonMap("version", "1.0"));
+
+  private int declarations = 0;
+  private final ExtensionModelLoader loader = new ExtensionModelLoader() {
+
+    @Override
+    public String getId() {
+      return "test";
+    }
+
+    @Override
+    protected void declareExtension(ExtensionLoadingContext context) {
+      declarations++;
+      new TestWebServiceConsumerDeclarer().declareOn(context.getExtensionDeclarer());
+    }
+  };
+
+  private File cacheDirectory;
+  private File artifact;
+  private URLClassLoader pluginClassLoader;
+  private ExtensionModelDiskCache cache;
+  private final ExtensionModelJsonSerializer serializer = new ExtensionModelJsonSerializer();
+
+  @Before
+  public void before() throws IOException {
+    cacheDirectory = temporaryFolder.newFolder("cache");
+    artifact = temporaryFolder.newFile("plugin.jar");
+    Files.write(artifact.toPath(), "v1".getBytes(UTF_8));
+    pluginClassLoader = new URLClassLoader(new URL[] {artifact.toURI().toURL()}, getClass().getClassLoader());
+    cache = new ExtensionModelDiskCache(cacheDirectory.toPath());
+  }
+
+  @After
+  public void after() throws IOException {
+    pluginClassLoader.close();
+  }
+
+  @Test
+  public void warmLoadReturnsSameModelAsColdLoad() {
+    ExtensionModel cold = load();
+    ExtensionModel warm = load();
+
+    assertThat(declarations, is(1));
+    assertThat(warm, is(instanceOf(ImmutableExtensionModel.class)));
+    assertThat(warm.getName(), is(WS_CONSUMER));
+    assertThat(serializer.serialize(warm), is(serializer.serialize(cold)));
+    assertThat(modelProperties(warm), is(modelProperties(cold)));
+  }
+
+  @Test
+  public void parentClassLoaderChangeInvalidatesEntry() throws IOException {
+    File parentArtifact = temporaryFolder.newFile("parent.jar");
+    Files.write(parentArtifact.toPath(), "v1".getBytes(UTF_8));
+    try (URLClassLoader parentClassLoader =
+        new URLClassLoader(new URL[] {parentArtifact.toURI().toURL()}, getClass().getClassLoader())) {
+      pluginClassLoader.close();
+      pluginClassLoader = new URLClassLoader(new URL[] {artifact.toURI().toURL()}, parentClassLoader);
+
+      load();
+      load();
+      assertThat(declarations, is(1));
+
+      Files.write(parentArtifact.toPath(), "version 2".getBytes(UTF_8));
+      load();
+      assertThat(declarations, is(2));
+    }
+  }
+
+  @Test
+  public void directoryArtifactsBypassCache() throws IOException {
+    pluginClassLoader.close();
+    pluginClassLoader = new URLClassLoader(new URL[] {temporaryFolder.newFolder("classes").toURI().toURL()},
+                                           getClass().getClassLoader());
+    load();
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(0));
+  }
+
+  @Test
+  public void artifactsWithAuthorityBypassCache() throws IOException {
+    pluginClassLoader.close();
+    pluginClassLoader = new URLClassLoader(new URL[] {new URL("file://server/share/plugin.jar")}, getClass().getClassLoader());
+    load();
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(0));
+  }
+
+  @Test
+  public void idleEntriesArePruned() throws IOException {
+    cache = new ExtensionModelDiskCache(cacheDirectory.toPath(), Duration.ofHours(1));
+    load();
+    File entry = cacheDirectory.listFiles()[0];
+    setLastModifiedTime(entry.toPath(), fromMillis(currentTimeMillis() - HOURS.toMillis(2)));
+
+    Files.write(artifact.toPath(), "version 2".getBytes(UTF_8));
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(1));
+    assertThat(entry.exists(), is(false));
+  }
+
+  @Test
+  public void usedEntriesAreNotPruned() throws IOException {
+    cache = new ExtensionModelDiskCache(cacheDirectory.toPath(), Duration.ofHours(1));
+    load();
+    File entry = cacheDirectory.listFiles()[0];
+    setLastModifiedTime(entry.toPath(), fromMillis(currentTimeMillis() - HOURS.toMillis(2)));
+    load();
+
+    Files.write(artifact.toPath(), "version 2".getBytes(UTF_8));
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(2));
+  }
+
+  @Test
+  public void artifactChangeInvalidatesEntry() throws IOException {
+    load();
+    Files.write(artifact.toPath(), "version 2".getBytes(UTF_8));
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(2));
+  }
+
+  @Test
+  public void attributesChangeInvalidatesEntry() {
+    load();
+    attributes.put("version", "2.0");
+    load();
+
+    assertThat(declarations, is(2));
+  }
+
+  @Test
+  public void corruptedEntryIsReplaced() throws IOException {
+    load();
+    File entry = cacheDirectory.listFiles()[0];
+    Files.write(entry.toPath(), "{not json".getBytes(UTF_8));
+
+    assertThat(load().getName(), is(WS_CONSUMER));
+    assertThat(declarations, is(2));
+
+    load();
+    assertThat(declarations, is(2));
+  }
+
+  @Test
+  public void notFingerprintableAttributesBypassCache() {
+    attributes.put("object", new Object());
+    load();
+    load();
+
+    assertThat(declarations, is(2));
+    assertThat(cacheDirectory.listFiles(), arrayWithSize(0));
+  }
+
+  @Test
+  public void clear() {
+    load();
+    cache.clear();
+    load();
+
+    assertThat(declarations, is(2));
+  }
+
+  private ExtensionModel load() {
+    return cache.load(loader, pluginClassLoader, dslResolvingContext, attributes);
+  }
+
+  private static Map<String, List<String>> modelProperties(ExtensionModel extensionModel) {
+    Map<String, List<String>> modelProperties = new TreeMap<>();
+    modelProperties.put(extensionModel.getName(), modelProperties(extensionModel.getModelProperties()));
+    new ExtensionWalker() {
+
+      @Override
+      protected void onConfiguration(ConfigurationModel model) {
+        modelProperties.put("config:" + model.getName(), modelProperties(model.getModelProperties()));
+      }
+
+      @Override
+      protected void onConnectionProvider(HasConnectionProviderModels owner, ConnectionProviderModel model) {
+        modelProperties.put("connection:" + model.getName(), modelProperties(model.getModelProperties()));
+      }
+
+      @Override
+      protected void onOperation(HasOperationModels owner, OperationModel model) {
+        modelProperties.put("operation:" + model.getName(), modelProperties(model.getModelProperties()));
+      }
+
+      @Override
+      protected void onSource(HasSourceModels owner, SourceModel model) {
+        modelProperties.put("source:" + model.getName(), modelProperties(model.getModelProperties()));
+      }
+
+      @Override
+      protected void onParameter(ParameterizedModel owner, ParameterGroupModel groupModel, ParameterModel model) {
+        modelProperties.put("parameter:" + owner.getName() + "/" + groupModel.getName() + "/" + model.getName(),
+                            modelProperties(model.getModelProperties()));
+      }
+    }.walk(extensionModel);
+
+    return modelProperties;
+  }
+
+  private static List<String> modelProperties(Set<ModelProperty> modelProperties) {
+    return modelProperties.stream().map(modelProperty -> modelProperty.getClass().getName()).sorted().collect(toList());
+  }
+}
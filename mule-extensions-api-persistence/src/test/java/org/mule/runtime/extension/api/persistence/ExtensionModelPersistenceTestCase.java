@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.extension.api.persistence;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -13,6 +16,7 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.core.Is.is;
 import static org.hamcrest.core.IsCollectionContaining.hasItem;
 import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mule.metadata.java.api.utils.JavaTypeUtils.getType;
@@ -20,6 +24,7 @@ import org.mule.metadata.api.annotation.TypeAliasAnnotation;
 import org.mule.metadata.api.model.ArrayType;
 import org.mule.metadata.api.model.MetadataType;
 import org.mule.metadata.api.model.ObjectType;
+import org.mule.runtime.api.meta.model.ExtensionModel;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
 import org.mule.runtime.api.meta.model.source.SourceModel;
@@ -28,15 +33,24 @@ import org.mule.runtime.extension.api.declaration.type.annotation.ParameterDslAn
 import org.mule.runtime.extension.api.dsl.model.ComplexFieldsType;
 import org.mule.runtime.extension.api.dsl.model.ExtensibleType;
 import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
+import org.mule.runtime.extension.api.model.LazyComponentList;
 import org.mule.runtime.extension.api.model.connection.ImmutableConnectionProviderModel;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 
@@ -110,6 +124,77 @@ public class ExtensionModelPersistenceTestCase extends BasePersistenceTestCase {
     assertSerializedJson(serializedList, LIST_OF_SERIALIZED_EXTENSION_MODEL_JSON);
   }
 
+  @Test
+  public void validateStreamedJsonStructure() throws IOException {
+    StringWriter writer = new StringWriter();
+    extensionModelJsonSerializer.serialize(originalExtensionModel, writer);
+    assertSerializedJson(writer.toString(), SERIALIZED_EXTENSION_MODEL_JSON);
+  }
+
+  @Test
+  public void validateStreamedJsonListStructure() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    extensionModelJsonSerializer.serializeList(extensionModelList, outputStream);
+    assertSerializedJson(new String(outputStream.toByteArray(), UTF_8), LIST_OF_SERIALIZED_EXTENSION_MODEL_JSON);
+  }
+
+  @Test
+  public void streamedDeserialization() {
+    String serializedModel = extensionModelJsonSerializer.serialize(originalExtensionModel);
+    ExtensionModel extensionModel =
+        extensionModelJsonSerializer.deserialize(new ByteArrayInputStream(serializedModel.getBytes(UTF_8)));
+    assertThat(extensionModelJsonSerializer.serialize(extensionModel), equalTo(serializedModel));
+  }
+
+  @Test
+  public void concurrentSerialization() throws Exception {
+    String serializedModel = extensionModelJsonSerializer.serialize(originalExtensionModel);
+    String serializedList = extensionModelJsonSerializer.serializeList(extensionModelList);
+    ExecutorService executor = newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        results.add(executor.submit(() -> serializedModel
+            .equals(extensionModelJsonSerializer.serialize(extensionModelJsonSerializer.deserialize(serializedModel)))
+            && serializedList.equals(extensionModelJsonSerializer.serializeList(extensionModelList))));
+      }
+      for (Future<Boolean> result : results) {
+        assertThat(result.get(), is(true));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void lazyDeserialization() {
+    String serializedModel = extensionModelJsonSerializer.serialize(originalExtensionModel);
+    ExtensionModel extensionModel = extensionModelJsonSerializer.deserializeLazily(serializedModel);
+
+    assertThat(extensionModel.getOperationModels(), is(instanceOf(LazyComponentList.class)));
+    LazyComponentList<OperationModel> operations = (LazyComponentList<OperationModel>) extensionModel.getOperationModels();
+    assertThat(operations.getName(0), is(GET_CAR_OPERATION_NAME));
+    assertFalse(operations.isLoaded(0));
+
+    OperationModel operation = extensionModel.getOperationModel(GET_CAR_OPERATION_NAME).get();
+    assertTrue(operations.isLoaded(0));
+    assertThat(operation, is(sameInstance(operations.get(0))));
+    assertThat(operation.getAllParameterModels().size(),
+               is(deserializedExtensionModel.getOperationModel(GET_CAR_OPERATION_NAME).get().getAllParameterModels().size()));
+    assertThat(extensionModelJsonSerializer.serialize(extensionModel), equalTo(serializedModel));
+  }
+
+  @Test
+  public void streamedListDeserialization() {
+    String serializedList = extensionModelJsonSerializer.serializeList(extensionModelList);
+    List<String> names = new ArrayList<>();
+    extensionModelJsonSerializer.deserializeList(new StringReader(serializedList), model -> names.add(model.getName()));
+
+    assertThat(names, equalTo(extensionModelList.stream().map(ExtensionModel::getName).collect(toList())));
+    assertThat(extensionModelJsonSerializer.deserializeList(new StringReader(serializedList)).size(),
+               is(extensionModelList.size()));
+  }
+
   @Test
   public void validateCustomTypeAnnotations() throws IOException {
     MetadataType complexType = deserializedExtensionModel.getOperationModels().get(0).getAllParameterModels().get(1).getType();
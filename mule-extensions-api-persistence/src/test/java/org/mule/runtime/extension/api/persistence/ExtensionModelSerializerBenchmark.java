@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.persistence;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link ExtensionModelBinarySerializer} with the {@link ExtensionModelJsonSerializer} it builds on, serializing
+ * and deserializing the list of {@link ExtensionModel}s used by the persistence tests.
+ * <p>
+ * It is not run as part of the build. Run it through its {@link #main(String[])} method with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ExtensionModelSerializerBenchmark {
+
+  @Param({"extension/serialized-extension-model.json", "extension/list-of-serialized-extension-model.json"})
+  public String resource;
+
+  private final ExtensionModelJsonSerializer jsonSerializer = new ExtensionModelJsonSerializer();
+  private final ExtensionModelBinarySerializer binarySerializer = new ExtensionModelBinarySerializer();
+
+  private List<ExtensionModel> extensionModels;
+  private String json;
+  private byte[] binary;
+
+  @Setup
+  public void setUp() throws IOException {
+    try (InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
+      String content = IOUtils.toString(input, UTF_8);
+      extensionModels = content.trim().startsWith("[")
+          ? jsonSerializer.deserializeList(content)
+          : jsonSerializer.deserializeList("[" + content + "]");
+    }
+    json = jsonSerializer.serializeList(extensionModels);
+    binary = binarySerializer.serializeList(extensionModels);
+  }
+
+  @Benchmark
+  public String serializeJson() {
+    return jsonSerializer.serializeList(extensionModels);
+  }
+
+  @Benchmark
+  public byte[] serializeBinary() {
+    return binarySerializer.serializeList(extensionModels);
+  }
+
+  @Benchmark
+  public List<ExtensionModel> deserializeJson() {
+    return jsonSerializer.deserializeList(json);
+  }
+
+  @Benchmark
+  public List<ExtensionModel> deserializeBinary() {
+    return binarySerializer.deserializeList(binary);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ExtensionModelSerializerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
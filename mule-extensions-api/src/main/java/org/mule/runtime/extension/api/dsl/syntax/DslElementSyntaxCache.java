@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsl.syntax;
+
+import static java.util.Optional.ofNullable;
+
+import org.mule.metadata.api.model.MetadataType;
+import org.mule.runtime.api.dsl.DslResolvingContext;
+import org.mule.runtime.api.meta.NamedObject;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.extension.api.dsl.syntax.resolver.ImportTypesStrategy;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of the {@link DslElementSyntax} resolved by {@link XmlDslSyntaxResolver}s, which allows to share the already resolved
+ * syntax among resolvers of the same {@link ExtensionModel}, for example the ones used by the validators, the schema generator
+ * and the config parser.
+ * <p>
+ * Entries are kept per {@link ExtensionModel}, and the components and parameters are keyed by identity. Both the
+ * {@link ExtensionModel}s and the components are weakly referenced, so the cache doesn't prevent them from being collected. The
+ * number of entries of each kind held for an {@link ExtensionModel} is bounded.
+ * <p>
+ * Since the resolved syntax depends on the imported types, a cache must only be shared among resolvers built with the same
+ * {@link ImportTypesStrategy} or {@link DslResolvingContext}.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class DslElementSyntaxCache {
+
+  /**
+   * The default maximum amount of entries of each kind kept for an {@link ExtensionModel}
+   */
+  public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+  private final long maximumSize;
+  private final Cache<ExtensionModel, ExtensionEntries> extensions = CacheBuilder.newBuilder().weakKeys().build();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Creates a new instance which holds up to {@link #DEFAULT_MAXIMUM_SIZE} entries of each kind per {@link ExtensionModel}
+   */
+  public DslElementSyntaxCache() {
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maximumSize the maximum amount of entries of each kind kept for an {@link ExtensionModel}
+   */
+  public DslElementSyntaxCache(long maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * @return the amount of lookups which found an already resolved {@link DslElementSyntax}
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the amount of lookups which required the {@link DslElementSyntax} to be resolved
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Discards all the entries of the given {@code extensionModel}
+   *
+   * @param extensionModel an {@link ExtensionModel}
+   */
+  public void invalidate(ExtensionModel extensionModel) {
+    extensions.invalidate(extensionModel);
+  }
+
+  /**
+   * Discards all the entries of this cache
+   */
+  public void invalidateAll() {
+    extensions.invalidateAll();
+  }
+
+  Optional<DslElementSyntax> getComponent(ExtensionModel extensionModel, NamedObject component) {
+    return lookup(entriesOf(extensionModel).components, component);
+  }
+
+  void putComponent(ExtensionModel extensionModel, NamedObject component, DslElementSyntax dsl) {
+    entriesOf(extensionModel).components.put(component, dsl);
+  }
+
+  Optional<DslElementSyntax> getParameter(ExtensionModel extensionModel, ParameterModel parameter) {
+    return lookup(entriesOf(extensionModel).parameters, parameter);
+  }
+
+  void putParameter(ExtensionModel extensionModel, ParameterModel parameter, DslElementSyntax dsl) {
+    entriesOf(extensionModel).parameters.put(parameter, dsl);
+  }
+
+  /**
+   * @param typeKey the key of a {@link MetadataType} as returned by {@link DslSyntaxUtils#getTypeKey}
+   */
+  Optional<DslElementSyntax> getType(ExtensionModel extensionModel, String typeKey) {
+    return lookup(entriesOf(extensionModel).types, typeKey);
+  }
+
+  void putType(ExtensionModel extensionModel, String typeKey, DslElementSyntax dsl) {
+    entriesOf(extensionModel).types.put(typeKey, dsl);
+  }
+
+  private <K> Optional<DslElementSyntax> lookup(Cache<K, DslElementSyntax> cache, K key) {
+    DslElementSyntax dsl = cache.getIfPresent(key);
+    if (dsl != null) {
+      hits.increment();
+    } else {
+      misses.increment();
+    }
+    return ofNullable(dsl);
+  }
+
+  private ExtensionEntries entriesOf(ExtensionModel extensionModel) {
+    try {
+      return extensions.get(extensionModel, () -> new ExtensionEntries(maximumSize));
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  private static final class ExtensionEntries {
+
+    private final Cache<NamedObject, DslElementSyntax> components;
+    private final Cache<ParameterModel, DslElementSyntax> parameters;
+    private final Cache<String, DslElementSyntax> types;
+
+    private ExtensionEntries(long maximumSize) {
+      components = CacheBuilder.newBuilder().weakKeys().maximumSize(maximumSize).build();
+      parameters = CacheBuilder.newBuilder().weakKeys().maximumSize(maximumSize).build();
+      types = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+    }
+  }
+}
@@ -13,7 +13,6 @@ import static java.util.Optional.of;
 import static java.util.stream.Collectors.toList;
 import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
 import static org.mule.runtime.api.meta.ExpressionSupport.SUPPORTED;
-import static org.mule.runtime.api.util.FunctionalUtils.computeIfAbsent;
 import static org.mule.runtime.extension.api.dsl.syntax.DslSyntaxUtils.getSanitizedElementName;
 import static org.mule.runtime.extension.api.dsl.syntax.DslSyntaxUtils.getTypeId;
 import static org.mule.runtime.extension.api.dsl.syntax.DslSyntaxUtils.getTypeKey;
@@ -37,7 +36,6 @@ import static org.mule.runtime.extension.api.util.NameUtils.pluralize;
 import static org.mule.runtime.extension.api.util.NameUtils.singularize;
 import static org.mule.runtime.internal.dsl.DslConstants.KEY_ATTRIBUTE_NAME;
 import static org.mule.runtime.internal.dsl.DslConstants.VALUE_ATTRIBUTE_NAME;
-import org.mule.metadata.api.ClassTypeLoader;
 import org.mule.metadata.api.model.ArrayType;
 import org.mule.metadata.api.model.MetadataType;
 import org.mule.metadata.api.model.ObjectFieldType;
@@ -79,7 +77,6 @@ import com.google.common.collect.ImmutableSet;
 import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -91,6 +88,9 @@ import javax.xml.namespace.QName;
  * <p>
  * Provides the {@link DslElementSyntax} of any {@link NamedObject Component}, {@link ParameterModel Parameter} or
  * {@link MetadataType Type} within the context of the {@link ExtensionModel Extension model} where the Component was declared.
+ * <p>
+ * Instances are thread-safe, so a single one can be shared to resolve the syntax of an {@link ExtensionModel} from several
+ * threads. The resolved syntax is kept in a {@link DslElementSyntaxCache}.
  *
  * @since 1.0
  */
@@ -99,10 +99,11 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
   private final ExtensionModel extensionModel;
   private final TypeCatalog typeCatalog;
   private final XmlDslModel languageModel;
-  private final Map<String, DslElementSyntax> resolvedTypes = new HashMap<>();
+  private final DslElementSyntaxCache cache;
   private final Map<MetadataType, XmlDslModel> importedTypes;
-  private final Deque<String> typeResolvingStack = new ArrayDeque<>();
-  private final ClassTypeLoader typeLoader = ExtensionsTypeLoaderFactory.getDefault().createTypeLoader();
+  // The types being resolved by each thread, to cut the recursion on recursive types
+  private final ThreadLocal<Deque<String>> typeResolvingStack = new ThreadLocal<>();
+  private final MetadataType stringType = ExtensionsTypeLoaderFactory.getDefault().createTypeLoader().load(String.class);
 
   /**
    * Creates an instance using the default implementation
@@ -114,7 +115,23 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
    *                                  {@link ImportedTypeModel}
    */
   public XmlDslSyntaxResolver(ExtensionModel model, DslResolvingContext context) {
+    this(model, context, new DslElementSyntaxCache());
+  }
+
+  /**
+   * Creates an instance which shares the already resolved {@link DslElementSyntax} through the given {@code cache}
+   *
+   * @param model   the {@link ExtensionModel} that provides context for resolving the component's {@link DslElementSyntax}
+   * @param context the {@link DslResolvingContext} in which the Dsl resolution takes place
+   * @param cache   the {@link DslElementSyntaxCache} shared among the resolvers which use the same {@code context}
+   * @throws IllegalArgumentException if the {@link ExtensionModel} declares an imported type from an {@link ExtensionModel} not
+   *                                  present in the provided {@link DslResolvingContext} or if the imported
+   *                                  {@link ExtensionModel} doesn't have any {@link ImportedTypeModel}
+   * @since 1.3
+   */
+  public XmlDslSyntaxResolver(ExtensionModel model, DslResolvingContext context, DslElementSyntaxCache cache) {
     this.extensionModel = model;
+    this.cache = cache;
     this.languageModel = model.getXmlDslModel();
     this.typeCatalog = getTypeCatalog(model, context);
     this.importedTypes = new DefaultImportTypesStrategy(model, context).getImportedTypes();
@@ -131,7 +148,25 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
    *                                  {@link ImportedTypeModel}
    */
   public XmlDslSyntaxResolver(ExtensionModel model, ImportTypesStrategy importTypesStrategy) {
+    this(model, importTypesStrategy, new DslElementSyntaxCache());
+  }
+
+  /**
+   * Creates an instance which shares the already resolved {@link DslElementSyntax} through the given {@code cache}
+   *
+   * @param model               the {@link ExtensionModel} that provides context for resolving the component's
+   *                            {@link DslElementSyntax}
+   * @param importTypesStrategy the {@link ImportTypesStrategy} used for external types resolution
+   * @param cache               the {@link DslElementSyntaxCache} shared among the resolvers which use the same
+   *                            {@code importTypesStrategy}
+   * @throws IllegalArgumentException if the {@link ExtensionModel} declares an imported type from an {@link ExtensionModel} not
+   *                                  present in the provided {@link DslResolvingContext} or if the imported
+   *                                  {@link ExtensionModel} doesn't have any {@link ImportedTypeModel}
+   * @since 1.3
+   */
+  public XmlDslSyntaxResolver(ExtensionModel model, ImportTypesStrategy importTypesStrategy, DslElementSyntaxCache cache) {
     this.extensionModel = model;
+    this.cache = cache;
     this.languageModel = model.getXmlDslModel();
     this.typeCatalog = TypeCatalog.getDefault(singleton(model));
     this.importedTypes = importTypesStrategy.getImportedTypes();
@@ -144,29 +179,35 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
    * @return the {@link DslElementSyntax} for the {@link NamedObject model}
    */
   public DslElementSyntax resolve(final NamedObject component) {
+    Optional<DslElementSyntax> cached = cache.getComponent(extensionModel, component);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
     final String elementName = getSanitizedElementName(component);
-    return computeIfAbsent(resolvedTypes, elementName, key -> {
-      DslElementSyntaxBuilder dsl = DslElementSyntaxBuilder.create()
-          .withElementName(elementName)
-          .withNamespace(languageModel.getPrefix(), languageModel.getNamespace())
-          .supportsTopLevelDeclaration(true)
-          .supportsChildDeclaration(true)
-          .supportsAttributeDeclaration(false)
-          .requiresConfig(requiresConfig(extensionModel, component));
-
-      if (component instanceof ComponentModel) {
-        resolveComponentDsl((ComponentModel) component, dsl);
-      } else {
-        if (component instanceof ParameterizedModel) {
-          resolveParameterizedDsl((ParameterizedModel) component, dsl);
-        }
-        if (component instanceof HasConnectionProviderModels) {
-          ((HasConnectionProviderModels) component).getConnectionProviders()
-              .forEach(c -> dsl.containing(c.getName(), resolve(c)));
-        }
+    DslElementSyntaxBuilder dsl = DslElementSyntaxBuilder.create()
+        .withElementName(elementName)
+        .withNamespace(languageModel.getPrefix(), languageModel.getNamespace())
+        .supportsTopLevelDeclaration(true)
+        .supportsChildDeclaration(true)
+        .supportsAttributeDeclaration(false)
+        .requiresConfig(requiresConfig(extensionModel, component));
+
+    if (component instanceof ComponentModel) {
+      resolveComponentDsl((ComponentModel) component, dsl);
+    } else {
+      if (component instanceof ParameterizedModel) {
+        resolveParameterizedDsl((ParameterizedModel) component, dsl);
       }
-      return dsl.build();
-    });
+      if (component instanceof HasConnectionProviderModels) {
+        ((HasConnectionProviderModels) component).getConnectionProviders()
+            .forEach(c -> dsl.containing(c.getName(), resolve(c)));
+      }
+    }
+
+    DslElementSyntax result = dsl.build();
+    cache.putComponent(extensionModel, component, result);
+    return result;
   }
 
   /**
@@ -177,6 +218,22 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
    * @return the {@link DslElementSyntax} for the {@link ParameterModel parameter}
    */
   public DslElementSyntax resolve(final ParameterModel parameter) {
+    // The syntax of a parameter resolved while a type is being resolved may be partial, so it is not cached
+    if (isResolvingType()) {
+      return resolveParameter(parameter);
+    }
+
+    Optional<DslElementSyntax> cached = cache.getParameter(extensionModel, parameter);
+    if (cached.isPresent()) {
+      return cached.get();
+    }
+
+    DslElementSyntax result = resolveParameter(parameter);
+    cache.putParameter(extensionModel, parameter, result);
+    return result;
+  }
+
+  private DslElementSyntax resolveParameter(final ParameterModel parameter) {
     final ExpressionSupport expressionSupport = parameter.getExpressionSupport();
     final DslElementSyntaxBuilder builder = DslElementSyntaxBuilder.create();
     final ParameterDslConfiguration dslConfig = parameter.getDslConfiguration();
@@ -332,8 +389,9 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
       return empty();
     }
 
-    if (resolvedTypes.containsKey(key.get())) {
-      return of(resolvedTypes.get(key.get()));
+    Optional<DslElementSyntax> cached = cache.getType(extensionModel, key.get());
+    if (cached.isPresent()) {
+      return cached;
     }
 
     final DslElementSyntaxBuilder builder = DslElementSyntaxBuilder.create()
@@ -345,13 +403,13 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
         .asWrappedElement(requiresWrapper);
 
     Optional<String> typeId = getTypeId(type);
-    if (typeId.isPresent() && !typeResolvingStack.contains(typeId.get())) {
+    if (typeId.isPresent() && !isBeingResolved(typeId.get())) {
       if (supportTopLevelElement || supportsInlineDeclaration) {
         withStackControl(typeId.get(), () -> declareFieldsAsChilds(builder, type.getFields(), prefix.get(), namespace.get()));
       }
 
       DslElementSyntax dsl = builder.build();
-      resolvedTypes.put(key.get(), dsl);
+      cache.putType(extensionModel, key.get(), dsl);
 
       return of(dsl);
     }
@@ -721,11 +779,11 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
                              getNamespace(objectType, ownerNamespaceUri));
 
           String typeId = getId(objectType).orElse(null);
-          if (typeId != null && !typeResolvingStack.contains(typeId)) {
+          if (typeId != null && !isBeingResolved(typeId)) {
             withStackControl(typeId, () -> {
               List<ObjectFieldType> fields = objectType.getFields().stream()
                   .filter(f -> getId(f.getValue())
-                      .map(id -> !typeResolvingStack.contains(id))
+                      .map(id -> !isBeingResolved(id))
                       .orElse(true))
                   .collect(toList());
               addBeanDeclarationSupport(objectType, fields, objectFieldBuilder, ownerNamespace, ownerNamespaceUri, true);
@@ -742,7 +800,7 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
 
         objectFieldBuilder.supportsChildDeclaration(true);
 
-        objectFieldBuilder.withGeneric(typeLoader.load(String.class),
+        objectFieldBuilder.withGeneric(stringType,
                                        DslElementSyntaxBuilder.create().withAttributeName(KEY_ATTRIBUTE_NAME).build());
         objectType.getOpenRestriction()
             .ifPresent(type -> type.accept(getMapValueTypeVisitor(objectFieldBuilder, fieldName,
@@ -853,11 +911,32 @@ public class XmlDslSyntaxResolver implements DslSyntaxResolver {
   }
 
   private void withStackControl(String stackId, Runnable action) {
-    if (!typeResolvingStack.contains(stackId)) {
-      typeResolvingStack.push(stackId);
-      action.run();
-      typeResolvingStack.pop();
+    Deque<String> stack = typeResolvingStack.get();
+    if (stack == null) {
+      stack = new ArrayDeque<>();
+      typeResolvingStack.set(stack);
     }
+
+    if (!stack.contains(stackId)) {
+      stack.push(stackId);
+      try {
+        action.run();
+      } finally {
+        stack.pop();
+        if (stack.isEmpty()) {
+          typeResolvingStack.remove();
+        }
+      }
+    }
+  }
+
+  private boolean isResolvingType() {
+    return typeResolvingStack.get() != null;
+  }
+
+  private boolean isBeingResolved(String typeId) {
+    Deque<String> stack = typeResolvingStack.get();
+    return stack != null && stack.contains(typeId);
   }
 
   private Optional<QName> getCustomQName(ParameterModel parameter) {
@@ -14,6 +14,7 @@ import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
 import org.mule.runtime.api.dsl.DslResolvingContext;
 import org.mule.runtime.extension.api.dsl.syntax.DslElementSyntax;
+import org.mule.runtime.extension.api.dsl.syntax.DslElementSyntaxCache;
 import org.mule.runtime.extension.api.dsl.syntax.XmlDslSyntaxResolver;
 
 import java.util.Optional;
@@ -89,4 +90,39 @@ public interface DslSyntaxResolver {
     return new XmlDslSyntaxResolver(model, importTypesStrategy);
   }
 
+  /**
+   * Creates an instance using the default implementation, which shares the already resolved {@link DslElementSyntax} through
+   * the given {@code cache}
+   *
+   * @param model the {@link ExtensionModel} that provides context for resolving the component's {@link DslElementSyntax}
+   * @param context the {@link DslResolvingContext} in which the Dsl resolution takes place
+   * @param cache the {@link DslElementSyntaxCache} shared among the resolvers which use the same {@code context}
+   * @throws IllegalArgumentException if the {@link ExtensionModel} declares an imported type from an {@link ExtensionModel} not
+   *         present in the provided {@link DslResolvingContext} or if the imported {@link ExtensionModel} doesn't have any
+   *         {@link ImportedTypeModel}
+   * @return the default implementation of a {@link DslSyntaxResolver}
+   * @since 1.3
+   */
+  static DslSyntaxResolver getDefault(ExtensionModel model, DslResolvingContext context, DslElementSyntaxCache cache) {
+    return new XmlDslSyntaxResolver(model, context, cache);
+  }
+
+  /**
+   * Creates an instance using the default implementation, which shares the already resolved {@link DslElementSyntax} through
+   * the given {@code cache}
+   *
+   * @param model the {@link ExtensionModel} that provides context for resolving the component's {@link DslElementSyntax}
+   * @param importTypesStrategy the {@link ImportTypesStrategy} used for external types resolution
+   * @param cache the {@link DslElementSyntaxCache} shared among the resolvers which use the same {@code importTypesStrategy}
+   * @throws IllegalArgumentException if the {@link ExtensionModel} declares an imported type from an {@link ExtensionModel} not
+   *         present in the provided {@link DslResolvingContext} or if the imported {@link ExtensionModel} doesn't have any
+   *         {@link ImportedTypeModel}
+   * @return the default implementation of a {@link DslSyntaxResolver}
+   * @since 1.3
+   */
+  static DslSyntaxResolver getDefault(ExtensionModel model, ImportTypesStrategy importTypesStrategy,
+                                      DslElementSyntaxCache cache) {
+    return new XmlDslSyntaxResolver(model, importTypesStrategy, cache);
+  }
+
 }
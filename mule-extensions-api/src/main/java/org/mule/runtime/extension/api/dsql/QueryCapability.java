@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsql;
+
+/**
+ * The parts of a DSQL query that a {@link QueryTranslator} is able to translate to its Native Query Language, so that they
+ * are executed by the backend instead of in memory.
+ *
+ * @since 1.3
+ */
+public enum QueryCapability {
+
+  /**
+   * Filtering the items of the result set.
+   */
+  FILTER,
+
+  /**
+   * Combining filter conditions with the {@code OR} operator. The {@code AND} operator is always supported along with
+   * {@link #FILTER}.
+   */
+  OR,
+
+  /**
+   * Negating filter conditions with the {@code NOT} operator.
+   */
+  NOT,
+
+  /**
+   * The {@code =} operator.
+   */
+  EQUALS,
+
+  /**
+   * The {@code <>} operator.
+   */
+  NOT_EQUALS,
+
+  /**
+   * The {@code <} operator.
+   */
+  LESS,
+
+  /**
+   * The {@code <=} operator.
+   */
+  LESS_OR_EQUALS,
+
+  /**
+   * The {@code >} operator.
+   */
+  GREATER,
+
+  /**
+   * The {@code >=} operator.
+   */
+  GREATER_OR_EQUALS,
+
+  /**
+   * The {@code LIKE} operator.
+   */
+  LIKE,
+
+  /**
+   * Sorting the items of the result set.
+   */
+  ORDER_BY,
+
+  /**
+   * Limiting the amount of items in the result set.
+   */
+  LIMIT,
+
+  /**
+   * Skipping items from the beginning of the result set.
+   */
+  OFFSET
+}
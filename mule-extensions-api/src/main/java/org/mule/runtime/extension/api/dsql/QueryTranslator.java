@@ -6,9 +6,14 @@
  */
 package org.mule.runtime.extension.api.dsql;
 
+import static java.util.EnumSet.complementOf;
+import static java.util.EnumSet.of;
+import static org.mule.runtime.extension.api.dsql.QueryCapability.NOT;
+
 import org.mule.runtime.extension.api.annotation.param.Query;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * This is a translator interface for go over a DSQL {@link Query} structure
@@ -48,6 +53,19 @@ public interface QueryTranslator {
     return new DefaultOperatorTranslator();
   }
 
+  /**
+   * Returns the parts of a query that this translator is able to translate, so that the rest of the query can be evaluated
+   * in memory once the results are retrieved.
+   * <p>
+   * By default, all the parts but the {@code NOT} operator are supported.
+   *
+   * @return the supported {@link QueryCapability capabilities}
+   * @since 1.3
+   */
+  default Set<QueryCapability> getCapabilities() {
+    return complementOf(of(NOT));
+  }
+
   /**
    * Returns the final translated query.
    *
@@ -6,11 +6,13 @@
  */
 package org.mule.runtime.extension.api.loader;
 
+import static java.util.Optional.empty;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.POST_STRUCTURE;
 
 import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclarer;
 
 import java.util.Collection;
+import java.util.Optional;
 
 
 /**
@@ -35,6 +37,19 @@ public interface DeclarationEnricher {
     return POST_STRUCTURE;
   }
 
+  /**
+   * Describes which parts of the declaration this enricher reads and writes, so that enrichers in the same
+   * {@link DeclarationEnricherPhase phase} with disjoint footprints can be executed concurrently.
+   * <p>
+   * Enrichers which don't declare a footprint are always executed on their own.
+   *
+   * @return an {@link Optional} {@link DeclarationEnricherFootprint}. Empty by default
+   * @since 1.3
+   */
+  default Optional<DeclarationEnricherFootprint> getFootprint() {
+    return empty();
+  }
+
   /**
    * Enriches the descriptor provided in the given {@code extensionLoadingContext}.
    *
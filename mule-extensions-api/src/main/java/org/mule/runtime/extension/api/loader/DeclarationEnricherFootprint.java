@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.loader;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Describes which {@link DeclarationSection sections} of the declaration a {@link DeclarationEnricher} reads and which ones
+ * it writes.
+ * <p>
+ * Two {@link DeclarationEnricher enrichers} in the same {@link DeclarationEnricherPhase} which have
+ * {@link #isDisjointWith(DeclarationEnricherFootprint) disjoint} footprints produce the same result no matter in which order
+ * they're applied, so the runtime is free to execute them concurrently.
+ * <p>
+ * Writing a section implies reading it.
+ *
+ * @since 1.3
+ */
+public final class DeclarationEnricherFootprint {
+
+  private final Set<DeclarationSection> reads;
+  private final Set<DeclarationSection> writes;
+
+  /**
+   * Creates a new footprint
+   *
+   * @param reads  the sections read by the enricher
+   * @param writes the sections written by the enricher
+   * @return a new {@link DeclarationEnricherFootprint}
+   */
+  public static DeclarationEnricherFootprint footprint(Set<DeclarationSection> reads, Set<DeclarationSection> writes) {
+    return new DeclarationEnricherFootprint(reads, writes);
+  }
+
+  private DeclarationEnricherFootprint(Set<DeclarationSection> reads, Set<DeclarationSection> writes) {
+    this.writes = unmodifiableSet(copy(writes));
+
+    Set<DeclarationSection> accessed = copy(reads);
+    accessed.addAll(this.writes);
+    this.reads = unmodifiableSet(accessed);
+  }
+
+  /**
+   * @return the sections read by the enricher. Always includes the {@link #getWrites() written} ones
+   */
+  public Set<DeclarationSection> getReads() {
+    return reads;
+  }
+
+  /**
+   * @return the sections written by the enricher
+   */
+  public Set<DeclarationSection> getWrites() {
+    return writes;
+  }
+
+  /**
+   * @param other another footprint
+   * @return whether neither of the footprints writes a section which the other one reads or writes
+   */
+  public boolean isDisjointWith(DeclarationEnricherFootprint other) {
+    return writes.stream().noneMatch(other.reads::contains) && other.writes.stream().noneMatch(reads::contains);
+  }
+
+  private static Set<DeclarationSection> copy(Set<DeclarationSection> sections) {
+    return sections == null || sections.isEmpty() ? EnumSet.noneOf(DeclarationSection.class) : EnumSet.copyOf(sections);
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.loader;
+
+import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclaration;
+
+/**
+ * The different sections of an {@link ExtensionDeclaration} that a {@link DeclarationEnricher} can read or write, as
+ * described by a {@link DeclarationEnricherFootprint}.
+ *
+ * @since 1.3
+ */
+public enum DeclarationSection {
+
+  /**
+   * Extension level attributes, such as its name, version, vendor, XML DSL, errors and model properties.
+   */
+  EXTENSION,
+
+  /**
+   * The set of component declarations (configurations, connection providers, operations, sources, constructs and functions)
+   * and how they're nested into each other.
+   */
+  COMPONENTS,
+
+  /**
+   * The attributes and model properties of each component declaration, other than its parameters. For example, an operation's
+   * execution type or output.
+   */
+  COMPONENT_ATTRIBUTES,
+
+  /**
+   * The parameter groups of any parameterized declaration, and the parameter declarations in them.
+   */
+  PARAMETERS,
+
+  /**
+   * The types, sub types and imported types of the extension.
+   */
+  TYPES
+}
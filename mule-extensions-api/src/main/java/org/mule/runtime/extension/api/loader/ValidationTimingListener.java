@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.loader;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+
+/**
+ * Listener notified each time an {@link ExtensionModelValidator} is executed over an {@link ExtensionModel}, so that the time
+ * spent on each validator can be measured.
+ * <p>
+ * Implementations must be thread-safe, since validators can be executed concurrently.
+ *
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface ValidationTimingListener {
+
+  /**
+   * Invoked after the given {@code validator} was executed, even if it failed.
+   *
+   * @param extensionModel the validated {@link ExtensionModel}
+   * @param validator      the executed {@link ExtensionModelValidator}
+   * @param elapsedNanos   the wall time spent on the validator, in nanoseconds
+   */
+  void onValidatorExecuted(ExtensionModel extensionModel, ExtensionModelValidator validator, long elapsedNanos);
+
+}
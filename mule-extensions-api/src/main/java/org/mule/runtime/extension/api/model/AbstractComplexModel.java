@@ -10,6 +10,7 @@ import static com.google.common.collect.ImmutableList.copyOf;
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.empty;
 import static java.util.Optional.ofNullable;
 
 import org.mule.runtime.api.meta.DescribedObject;
@@ -27,11 +28,14 @@ import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
 
 import com.google.common.collect.HashMultiset;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multiset;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -50,6 +54,11 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
   private final List<SourceModel> messageSources;
   private final DeprecationModel deprecationModel;
 
+  // Name indexes are transient and lazily rebuilt if missing, since reflective deserializers skip the constructors
+  private transient volatile Map<String, Optional<OperationModel>> operationsByName;
+  private transient volatile Map<String, Optional<ConnectionProviderModel>> connectionProvidersByName;
+  private transient volatile Map<String, Optional<SourceModel>> messageSourcesByName;
+
   public AbstractComplexModel(String name,
                               String description,
                               List<OperationModel> operationModels,
@@ -62,6 +71,7 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
     this.connectionProviders = copy(connectionProviders);
     this.messageSources = copy(sourceModels);
     this.deprecationModel = null;
+    indexComponents();
   }
 
   public AbstractComplexModel(String name,
@@ -77,6 +87,13 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
     this.connectionProviders = copy(connectionProviders);
     this.messageSources = copy(sourceModels);
     this.deprecationModel = deprecationModel;
+    indexComponents();
+  }
+
+  private void indexComponents() {
+    operationsByName = index(operations);
+    connectionProvidersByName = index(connectionProviders);
+    messageSourcesByName = index(messageSources);
   }
 
   /**
@@ -102,7 +119,10 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
    */
   @Override
   public Optional<SourceModel> getSourceModel(String name) {
-    return findModel(messageSources, name);
+    if (messageSourcesByName == null) {
+      messageSourcesByName = index(messageSources);
+    }
+    return findModel(messageSourcesByName, name);
   }
 
   /**
@@ -110,7 +130,10 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
    */
   @Override
   public Optional<ConnectionProviderModel> getConnectionProviderModel(String name) {
-    return findModel(connectionProviders, name);
+    if (connectionProvidersByName == null) {
+      connectionProvidersByName = index(connectionProviders);
+    }
+    return findModel(connectionProvidersByName, name);
   }
 
   /**
@@ -118,7 +141,10 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
    */
   @Override
   public Optional<OperationModel> getOperationModel(String name) {
-    return findModel(operations, name);
+    if (operationsByName == null) {
+      operationsByName = index(operations);
+    }
+    return findModel(operationsByName, name);
   }
 
   /**
@@ -141,6 +167,55 @@ public abstract class AbstractComplexModel extends AbstractNamedImmutableModel
     return values.stream().filter(v -> v.getName().equals(name)).findFirst();
   }
 
+  /**
+   * Returns the item registered under the given {@code name} in an {@code index} previously built through
+   * {@link #index(Collection)}.
+   * <p>
+   * Unlike {@link #findModel(Collection, String)}, this lookup runs in constant time and doesn't allocate.
+   *
+   * @param index an index built through {@link #index(Collection)}
+   * @param name  the matching criteria
+   * @param <T>   the generic type of the indexed items
+   * @return an {@link Optional} matching item
+   * @since 1.3
+   */
+  protected <T extends NamedObject> Optional<T> findModel(Map<String, Optional<T>> index, String name) {
+    if (name == null) {
+      return empty();
+    }
+
+    Optional<T> model = index.get(name);
+    return model != null ? model : empty();
+  }
+
+  /**
+   * Builds an immutable index of the given {@code values} keyed by their name, suitable to be used with
+   * {@link #findModel(Map, String)}.
+   * <p>
+   * If more than one item share the same name, the first one wins, which is consistent with the behavior of
+   * {@link #findModel(Collection, String)}. The {@link Optional} wrappers are created only once so that lookups don't allocate.
+   * <p>
+   * The index of a {@link LazyComponentList} is a view of it which only builds the looked up items.
+   *
+   * @param values a {@link Collection} of {@link NamedObject} items
+   * @param <T>    the generic type of the {@code values} items
+   * @return an immutable {@link Map}
+   * @since 1.3
+   */
+  protected <T extends NamedObject> Map<String, Optional<T>> index(Collection<T> values) {
+    if (values == null || values.isEmpty()) {
+      return ImmutableMap.of();
+    }
+
+    if (values instanceof LazyComponentList) {
+      return ((LazyComponentList<T>) values).asIndex();
+    }
+
+    Map<String, Optional<T>> index = new LinkedHashMap<>();
+    values.forEach(value -> index.putIfAbsent(value.getName(), Optional.of(value)));
+    return ImmutableMap.copyOf(index);
+  }
+
   protected <T extends DescribedObject> List<T> toList(Collection<T> collection) {
     if (collection == null || collection.isEmpty()) {
       return emptyList();
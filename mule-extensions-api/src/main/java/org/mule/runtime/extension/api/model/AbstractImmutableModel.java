@@ -87,7 +87,14 @@ public abstract class AbstractImmutableModel implements DescribedObject, Enricha
     return values != null ? copyOf(values) : of();
   }
 
+  /**
+   * Returns an immutable copy of the given {@code values}. A {@link LazyComponentList} is already immutable, so it is returned
+   * as is in order not to build its components.
+   */
   protected <T> List<T> copy(List<T> values) {
+    if (values instanceof LazyComponentList) {
+      return values;
+    }
     return values != null ? ImmutableList.copyOf(values) : ImmutableList.of();
   }
 
@@ -31,6 +31,7 @@ import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -58,6 +59,10 @@ public class ImmutableExtensionModel extends AbstractComplexModel implements Ext
   private final Set<ExternalLibraryModel> externalLibraries;
   private final Set<NotificationModel> notifications;
 
+  private transient volatile Map<String, Optional<ConfigurationModel>> configurationsByName;
+  private transient volatile Map<String, Optional<ConstructModel>> constructsByName;
+  private transient volatile Map<String, Optional<FunctionModel>> functionsByName;
+
   /**
    * Creates a new instance with the given state
    *
@@ -249,6 +254,10 @@ public class ImmutableExtensionModel extends AbstractComplexModel implements Ext
     this.constructModels = copy(constructModels);
     this.functions = copy(functions);
     this.notifications = copy(notifications);
+
+    configurationsByName = index(configurations);
+    constructsByName = index(this.constructModels);
+    functionsByName = index(this.functions);
   }
 
   /**
@@ -264,7 +273,10 @@ public class ImmutableExtensionModel extends AbstractComplexModel implements Ext
    */
   @Override
   public Optional<ConfigurationModel> getConfigurationModel(String name) {
-    return findModel(configurations, name);
+    if (configurationsByName == null) {
+      configurationsByName = index(configurations);
+    }
+    return findModel(configurationsByName, name);
   }
 
   @Override
@@ -274,7 +286,10 @@ public class ImmutableExtensionModel extends AbstractComplexModel implements Ext
 
   @Override
   public Optional<ConstructModel> getConstructModel(String name) {
-    return constructModels.stream().filter(c -> c.getName().equals(name)).findFirst();
+    if (constructsByName == null) {
+      constructsByName = index(constructModels);
+    }
+    return findModel(constructsByName, name);
   }
 
   /**
@@ -291,7 +306,10 @@ public class ImmutableExtensionModel extends AbstractComplexModel implements Ext
    */
   @Override
   public Optional<FunctionModel> getFunctionModel(String name) {
-    return findModel(functions, name);
+    if (functionsByName == null) {
+      functionsByName = index(functions);
+    }
+    return findModel(functionsByName, name);
   }
 
 
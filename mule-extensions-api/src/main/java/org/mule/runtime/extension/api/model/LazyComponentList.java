@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.model;
+
+import org.mule.runtime.api.meta.NamedObject;
+
+import com.google.common.collect.ImmutableList;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Immutable {@link List} of component models which are only built the first time they are accessed.
+ * <p>
+ * The names of the components are known upfront, so that a component can be looked up by name through {@link #asIndex()}
+ * without building any of the others. Each component is built at most once, even under concurrent access.
+ * <p>
+ * The immutable models keep instances of this class as they are instead of copying them, so that creating a model out of
+ * them doesn't build its components.
+ *
+ * @param <T> the generic type of the components
+ * @since 1.3
+ */
+public final class LazyComponentList<T extends NamedObject> extends AbstractList<T> implements RandomAccess {
+
+  private final List<String> names;
+  private final Map<String, Integer> positions;
+  private final IntFunction<T> factory;
+  private final AtomicReferenceArray<T> components;
+  private final AtomicReferenceArray<Optional<T>> optionals;
+
+  /**
+   * Creates a new instance
+   *
+   * @param names   the names of the components, in order
+   * @param factory builds the component at the given position. It is invoked at most once per position.
+   */
+  public LazyComponentList(List<String> names, IntFunction<T> factory) {
+    this.names = ImmutableList.copyOf(names);
+    this.factory = factory;
+    this.components = new AtomicReferenceArray<>(names.size());
+    this.optionals = new AtomicReferenceArray<>(names.size());
+
+    Map<String, Integer> positions = new LinkedHashMap<>();
+    for (int i = 0; i < names.size(); i++) {
+      positions.putIfAbsent(names.get(i), i);
+    }
+    this.positions = positions;
+  }
+
+  @Override
+  public T get(int index) {
+    T component = components.get(index);
+    if (component == null) {
+      synchronized (this) {
+        component = components.get(index);
+        if (component == null) {
+          component = factory.apply(index);
+          if (component == null) {
+            throw new IllegalStateException("Component '" + names.get(index) + "' could not be built");
+          }
+          components.set(index, component);
+        }
+      }
+    }
+    return component;
+  }
+
+  @Override
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * @param index the position of a component
+   * @return the name of the component at the given position, without building it
+   */
+  public String getName(int index) {
+    return names.get(index);
+  }
+
+  /**
+   * @param index the position of a component
+   * @return whether the component at the given position has already been built
+   */
+  public boolean isLoaded(int index) {
+    return components.get(index) != null;
+  }
+
+  /**
+   * Returns a read-only index of the components keyed by their name, which builds a component only when its entry is
+   * retrieved. As with {@link AbstractComplexModel#index(java.util.Collection)}, if more than one component share the same name,
+   * the first one wins.
+   *
+   * @return a {@link Map} view of this list
+   */
+  public Map<String, Optional<T>> asIndex() {
+    return new LazyIndex();
+  }
+
+  private Optional<T> optionalAt(int index) {
+    Optional<T> optional = optionals.get(index);
+    if (optional == null) {
+      optional = Optional.of(get(index));
+      optionals.compareAndSet(index, null, optional);
+      optional = optionals.get(index);
+    }
+    return optional;
+  }
+
+  private final class LazyIndex extends AbstractMap<String, Optional<T>> {
+
+    @Override
+    public Optional<T> get(Object key) {
+      Integer position = positions.get(key);
+      return position != null ? optionalAt(position) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return positions.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return positions.size();
+    }
+
+    @Override
+    public Set<Entry<String, Optional<T>>> entrySet() {
+      return new AbstractSet<Entry<String, Optional<T>>>() {
+
+        @Override
+        public Iterator<Entry<String, Optional<T>>> iterator() {
+          Iterator<Entry<String, Integer>> delegate = positions.entrySet().iterator();
+          return new Iterator<Entry<String, Optional<T>>>() {
+
+            @Override
+            public boolean hasNext() {
+              return delegate.hasNext();
+            }
+
+            @Override
+            public Entry<String, Optional<T>> next() {
+              Entry<String, Integer> entry = delegate.next();
+              return new SimpleImmutableEntry<>(entry.getKey(), optionalAt(entry.getValue()));
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return positions.size();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ALREADY_IN_PROCESS;
+
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the interval between the polls of a {@link PollingSource} to the outcome of the previous poll, in terms of how many
+ * items ended up in each {@link PollItemStatus}:
+ * <ul>
+ * <li>If the poll came back full, that is, at least the {@link Builder#fullPollSize(int) full poll size} of items were
+ * {@link PollItemStatus#ACCEPTED accepted}, more items are probably waiting, so the interval is shortened.</li>
+ * <li>If no item was accepted, either because the poll was empty or all the items were
+ * {@link PollItemStatus#FILTERED_BY_WATERMARK filtered by watermark}, the interval is increased exponentially.</li>
+ * <li>If more items were {@link PollItemStatus#ALREADY_IN_PROCESS already in process} than accepted, polls are outpacing the
+ * processing of the items, so the interval is increased as well.</li>
+ * <li>Otherwise, the interval goes back to the base one.</li>
+ * </ul>
+ * The interval is always kept within the configured bounds.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @see PollingSource#getAdaptivePollingFrequency()
+ * @since 1.3
+ */
+public final class AdaptivePollingFrequency {
+
+  /**
+   * The default factor by which the interval is increased when polls don't yield new items
+   */
+  public static final double DEFAULT_BACKOFF_MULTIPLIER = 2;
+
+  /**
+   * The default factor by which the interval is shortened when polls come back full
+   */
+  public static final double DEFAULT_SPEEDUP_DIVISOR = 2;
+
+  /**
+   * Creates a new {@link Builder}
+   *
+   * @param baseInterval the interval used when the polls yield some new items without coming back full
+   * @param unit         the {@link TimeUnit} of the {@code baseInterval}
+   * @return a new {@link Builder}
+   */
+  public static Builder builder(long baseInterval, TimeUnit unit) {
+    return new Builder(baseInterval, unit);
+  }
+
+  private final long baseInterval;
+  private final long minInterval;
+  private final long maxInterval;
+  private final int fullPollSize;
+  private final double backoffMultiplier;
+  private final double speedupDivisor;
+  private long currentInterval;
+
+  private AdaptivePollingFrequency(Builder builder) {
+    baseInterval = builder.baseInterval;
+    minInterval = builder.minInterval;
+    maxInterval = builder.maxInterval;
+    fullPollSize = builder.fullPollSize;
+    backoffMultiplier = builder.backoffMultiplier;
+    speedupDivisor = builder.speedupDivisor;
+    currentInterval = baseInterval;
+  }
+
+  /**
+   * Adapts the interval to the outcome of a poll
+   *
+   * @param statusCounts the amount of items of the poll which ended up in each {@link PollItemStatus}. Missing statuses are
+   *                     considered to have no items.
+   * @param unit         the {@link TimeUnit} of the returned value
+   * @return the interval until the next poll
+   */
+  public synchronized long onPollCompleted(Map<PollItemStatus, ? extends Number> statusCounts, TimeUnit unit) {
+    long accepted = count(statusCounts, ACCEPTED);
+    long alreadyInProcess = count(statusCounts, ALREADY_IN_PROCESS);
+
+    if (accepted == 0 || alreadyInProcess > accepted) {
+      currentInterval = (long) min(maxInterval, max(currentInterval * backoffMultiplier, currentInterval + 1.0));
+    } else if (fullPollSize > 0 && accepted >= fullPollSize) {
+      currentInterval = (long) max(minInterval, currentInterval / speedupDivisor);
+    } else {
+      currentInterval = baseInterval;
+    }
+    return unit.convert(currentInterval, MILLISECONDS);
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the interval until the next poll
+   */
+  public synchronized long getCurrentInterval(TimeUnit unit) {
+    return unit.convert(currentInterval, MILLISECONDS);
+  }
+
+  /**
+   * Goes back to the base interval, for example after the source is restarted
+   */
+  public synchronized void reset() {
+    currentInterval = baseInterval;
+  }
+
+  private static long count(Map<PollItemStatus, ? extends Number> statusCounts, PollItemStatus status) {
+    Number count = statusCounts.get(status);
+    return count != null ? count.longValue() : 0;
+  }
+
+  /**
+   * Builds instances of {@link AdaptivePollingFrequency}
+   *
+   * @since 1.3
+   */
+  public static final class Builder {
+
+    private final long baseInterval;
+    private long minInterval;
+    private long maxInterval;
+    private int fullPollSize;
+    private double backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
+    private double speedupDivisor = DEFAULT_SPEEDUP_DIVISOR;
+
+    private Builder(long baseInterval, TimeUnit unit) {
+      this.baseInterval = unit.toMillis(baseInterval);
+      if (this.baseInterval <= 0) {
+        throw new IllegalArgumentException("baseInterval must be at least one millisecond");
+      }
+      minInterval = this.baseInterval;
+      maxInterval = this.baseInterval;
+    }
+
+    /**
+     * @param minInterval the shortest interval between polls, which must not be longer than the base one
+     * @param unit        the {@link TimeUnit} of the {@code minInterval}
+     * @return {@code this} builder
+     */
+    public Builder minInterval(long minInterval, TimeUnit unit) {
+      long millis = unit.toMillis(minInterval);
+      if (millis <= 0 || millis > baseInterval) {
+        throw new IllegalArgumentException("minInterval must be between one millisecond and the base interval");
+      }
+      this.minInterval = millis;
+      return this;
+    }
+
+    /**
+     * @param maxInterval the longest interval between polls, which must not be shorter than the base one
+     * @param unit        the {@link TimeUnit} of the {@code maxInterval}
+     * @return {@code this} builder
+     */
+    public Builder maxInterval(long maxInterval, TimeUnit unit) {
+      long millis = unit.toMillis(maxInterval);
+      if (millis < baseInterval) {
+        throw new IllegalArgumentException("maxInterval cannot be shorter than the base interval");
+      }
+      this.maxInterval = millis;
+      return this;
+    }
+
+    /**
+     * @param fullPollSize the amount of accepted items from which a poll is considered to have come back full, usually the
+     *                     maximum amount of items the source fetches per poll. If not set, the interval is never shortened.
+     * @return {@code this} builder
+     */
+    public Builder fullPollSize(int fullPollSize) {
+      if (fullPollSize <= 0) {
+        throw new IllegalArgumentException("fullPollSize must be positive");
+      }
+      this.fullPollSize = fullPollSize;
+      return this;
+    }
+
+    /**
+     * @param backoffMultiplier the factor by which the interval is increased when polls don't yield new items
+     * @return {@code this} builder
+     */
+    public Builder backoffMultiplier(double backoffMultiplier) {
+      if (backoffMultiplier < 1) {
+        throw new IllegalArgumentException("backoffMultiplier cannot be lower than 1");
+      }
+      this.backoffMultiplier = backoffMultiplier;
+      return this;
+    }
+
+    /**
+     * @param speedupDivisor the factor by which the interval is shortened when polls come back full
+     * @return {@code this} builder
+     */
+    public Builder speedupDivisor(double speedupDivisor) {
+      if (speedupDivisor < 1) {
+        throw new IllegalArgumentException("speedupDivisor cannot be lower than 1");
+      }
+      this.speedupDivisor = speedupDivisor;
+      return this;
+    }
+
+    /**
+     * @return a new {@link AdaptivePollingFrequency}
+     */
+    public AdaptivePollingFrequency build() {
+      return new AdaptivePollingFrequency(this);
+    }
+  }
+}
@@ -9,6 +9,8 @@ package org.mule.runtime.extension.api.runtime.source;
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.event.Event;
 
+import java.util.Optional;
+
 /**
  * Provides information about how the runtime applied back pressure on a certain {@link #getEvent() event}
  *
@@ -31,4 +33,14 @@ public interface BackPressureContext {
    * @return the {@link SourceCallbackContext} used when pushing the message down the flow
    */
   SourceCallbackContext getSourceCallbackContext();
+
+  /**
+   * The default implementation returns {@link Optional#empty()}.
+   *
+   * @return the {@link BackPressureStatistics} of the source, if the runtime keeps them
+   * @since 1.3
+   */
+  default Optional<BackPressureStatistics> getBackPressureStatistics() {
+    return Optional.empty();
+  }
 }
@@ -28,5 +28,15 @@ public enum BackPressureMode {
   /**
    * Apply back pressure by dropping the filtered event
    */
-  DROP
+  DROP,
+
+  /**
+   * Apply back pressure ahead of time, by granting the source a limited amount of in-flight credits through
+   * {@link SourceCallback#getCredits()}. Each message pushed through the {@link SourceCallback} uses one credit, which is
+   * granted back once the message is processed. The source is expected to pause consuming messages while no credits are
+   * available, so that it doesn't need to reject them. Messages pushed without credits are handled as in {@link #WAIT}.
+   *
+   * @since 1.3
+   */
+  CREDIT
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Back pressure metrics of a {@link Source}, such as how many messages were rejected, how long the source was blocked in the
+ * {@link BackPressureMode#WAIT} mode and how long it takes to dispatch each message. Sources can use them to tune how many
+ * messages they fetch at once, and they can be exported for monitoring.
+ * <p>
+ * The dispatch latency is an exponentially weighted moving average, in which each new sample has the weight given by the
+ * smoothing factor.
+ * <p>
+ * Instances are thread-safe, so that the metrics can be read while messages are being dispatched, possibly by another thread.
+ *
+ * @see SourceCallback#getBackPressureStatistics()
+ * @see BackPressureContext#getBackPressureStatistics()
+ * @since 1.3
+ */
+public final class BackPressureStatistics {
+
+  /**
+   * The default weight of each new sample in the moving average of the dispatch latency
+   */
+  public static final double DEFAULT_SMOOTHING_FACTOR = 0.2;
+
+  private static final long NO_LATENCY = -1;
+
+  private final double smoothingFactor;
+  private final LongAdder[] rejected = new LongAdder[BackPressureAction.values().length];
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder totalWaitTime = new LongAdder();
+  private final AtomicLong averageDispatchLatency = new AtomicLong(NO_LATENCY);
+  private volatile double saturationRatio;
+
+  /**
+   * Creates a new instance which uses the {@link #DEFAULT_SMOOTHING_FACTOR}
+   */
+  public BackPressureStatistics() {
+    this(DEFAULT_SMOOTHING_FACTOR);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param smoothingFactor the weight of each new sample in the moving average of the dispatch latency, greater than zero and
+   *                        not greater than one
+   */
+  public BackPressureStatistics(double smoothingFactor) {
+    if (!(smoothingFactor > 0 && smoothingFactor <= 1)) {
+      throw new IllegalArgumentException("smoothingFactor must be greater than 0 and not greater than 1");
+    }
+    this.smoothingFactor = smoothingFactor;
+    for (int i = 0; i < rejected.length; i++) {
+      rejected[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records that a message was rejected
+   *
+   * @param action the {@link BackPressureAction} applied on the message
+   */
+  public void recordRejection(BackPressureAction action) {
+    rejected[action.ordinal()].increment();
+  }
+
+  /**
+   * Records that dispatching a message was blocked by back pressure
+   *
+   * @param waitTime the time the source was blocked, in nanoseconds
+   */
+  public void recordWait(long waitTime) {
+    waits.increment();
+    totalWaitTime.add(waitTime);
+  }
+
+  /**
+   * Records that a message was dispatched
+   *
+   * @param latency the time it took to dispatch the message, in nanoseconds
+   */
+  public void recordDispatch(long latency) {
+    dispatched.increment();
+    averageDispatchLatency.updateAndGet(average -> average == NO_LATENCY
+        ? latency
+        : average + (long) ((latency - average) * smoothingFactor));
+  }
+
+  /**
+   * Records the current load of the flow which processes the messages of the source
+   *
+   * @param inFlight the amount of messages being processed
+   * @param capacity the amount of messages which can be processed at once
+   */
+  public void recordSaturation(long inFlight, long capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    saturationRatio = (double) inFlight / capacity;
+  }
+
+  /**
+   * @param action a {@link BackPressureAction}
+   * @return the amount of messages rejected with the given {@code action}
+   */
+  public long getRejectedCount(BackPressureAction action) {
+    return rejected[action.ordinal()].sum();
+  }
+
+  /**
+   * @return the amount of messages rejected with any {@link BackPressureAction}
+   */
+  public long getRejectedCount() {
+    long count = 0;
+    for (LongAdder adder : rejected) {
+      count += adder.sum();
+    }
+    return count;
+  }
+
+  /**
+   * @return the amount of dispatched messages
+   */
+  public long getDispatchedCount() {
+    return dispatched.sum();
+  }
+
+  /**
+   * @return the amount of times dispatching a message was blocked by back pressure
+   */
+  public long getWaitCount() {
+    return waits.sum();
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the total time the source was blocked by back pressure
+   */
+  public long getTotalWaitTime(TimeUnit unit) {
+    return unit.convert(totalWaitTime.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @return the last recorded ratio between the messages being processed and the capacity of the flow. Values of one or
+   *         above mean that back pressure is being applied.
+   */
+  public double getSaturationRatio() {
+    return saturationRatio;
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the moving average of the time it takes to dispatch a message, or zero if none was dispatched
+   */
+  public long getAverageDispatchLatency(TimeUnit unit) {
+    long average = averageDispatchLatency.get();
+    return average == NO_LATENCY ? 0 : unit.convert(average, NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "BackPressureStatistics{dispatched=" + getDispatchedCount() + ", rejected=" + getRejectedCount()
+        + ", waits=" + getWaitCount() + ", totalWaitTimeMillis=" + getTotalWaitTime(MILLISECONDS)
+        + ", saturationRatio=" + getSaturationRatio() + ", averageDispatchLatencyMillis="
+        + getAverageDispatchLatency(MILLISECONDS) + "}";
+  }
+}
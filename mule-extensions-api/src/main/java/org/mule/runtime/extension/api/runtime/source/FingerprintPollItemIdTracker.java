@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.lang.Integer.highestOneBit;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link PollItemIdTracker} which keeps the ids in memory in a compact form: each id is reduced to a 64 bits fingerprint,
+ * kept along with a reference to its watermark in sharded open addressing hash tables. This takes roughly 16 to 32 bytes per
+ * id regardless of its length, and the probability of two of a million ids sharing the same fingerprint is in the order of
+ * 10<sup>-8</sup>.
+ * <p>
+ * Instead of the actual watermark of each id, only whether it had the highest watermark seen so far is kept. When the
+ * watermark is {@link #onWatermarkUpdated(Serializable) updated}, the ids of items with that same watermark are retained and
+ * the rest are evicted.
+ * <p>
+ * The amount of tracked ids is bounded. When a shard is full, the ids with a lower watermark than the highest one are evicted
+ * to make room for the ids with the highest watermark. If there are none, or the new id has a lower watermark itself, it's not
+ * tracked, so it's not considered duplicated, and it's counted as {@link #getUntrackedCount() untracked}. Ids without watermark
+ * are only evicted when {@link #remove(String) removed}, so for sources which don't use watermarking the maximum size bounds the
+ * amount of items in process, as described in {@link PollItemIdTracker}.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class FingerprintPollItemIdTracker implements PollItemIdTracker {
+
+  /**
+   * The default maximum amount of tracked ids
+   */
+  public static final long DEFAULT_MAX_SIZE = 5_000_000;
+
+  /**
+   * The default amount of shards
+   */
+  public static final int DEFAULT_SHARDS = 16;
+
+  private static final int BELOW_HIGHEST_WATERMARK = -1;
+  private static final int NONE = -2;
+  private static final int INITIAL_SHARD_CAPACITY = 64;
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Comparator<Serializable> watermarkComparator;
+  private final Shard[] shards;
+  private final int shardMask;
+  private final LongAdder untracked = new LongAdder();
+
+  private final Object watermarkLock = new Object();
+  private Serializable highestWatermark;
+  private volatile int highestVersion;
+
+  /**
+   * Creates a new instance which tracks up to {@link #DEFAULT_MAX_SIZE} ids of items with {@link Comparable} watermarks
+   */
+  public FingerprintPollItemIdTracker() {
+    this(DEFAULT_MAX_SIZE, DEFAULT_SHARDS, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param maxSize             the maximum amount of tracked ids
+   * @param shards              the amount of shards, which is rounded up to a power of two
+   * @param watermarkComparator the {@link Comparator} of the watermarks, or {@code null} if they are {@link Comparable}
+   */
+  public FingerprintPollItemIdTracker(long maxSize, int shards, Comparator<Serializable> watermarkComparator) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    if (shards <= 0 || shards > 1 << 16) {
+      throw new IllegalArgumentException("shards must be between 1 and 65536");
+    }
+
+    int shardCount = highestOneBit(shards) == shards ? shards : highestOneBit(shards) << 1;
+    int shardMaxSize = (int) min(Integer.MAX_VALUE / 2, max(1, (maxSize + shardCount - 1) / shardCount));
+    this.shards = new Shard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      this.shards[i] = new Shard(shardMaxSize);
+    }
+    shardMask = shardCount - 1;
+    this.watermarkComparator = watermarkComparator != null ? watermarkComparator : FingerprintPollItemIdTracker::compare;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean add(String id, Serializable watermark) {
+    long fingerprint = fingerprint(id);
+    Shard shard = shardOf(fingerprint);
+    while (true) {
+      // ids without watermark are only evicted when removed or when the watermark is updated
+      int currentVersion = highestVersion;
+      int version = currentVersion;
+      if (watermark != null) {
+        synchronized (watermarkLock) {
+          int comparison = highestWatermark == null ? 1 : watermarkComparator.compare(watermark, highestWatermark);
+          if (comparison > 0) {
+            highestWatermark = watermark;
+            highestVersion++;
+          }
+          currentVersion = highestVersion;
+          version = comparison >= 0 ? currentVersion : BELOW_HIGHEST_WATERMARK;
+        }
+      }
+
+      synchronized (shard) {
+        if (highestVersion != currentVersion) {
+          // the highest watermark changed meanwhile, so the version may be stale and the shard may have been compacted with
+          // the new one already
+          continue;
+        }
+        switch (shard.add(fingerprint, version, currentVersion)) {
+          case Shard.ADDED:
+            return true;
+          case Shard.PRESENT:
+            return false;
+          default:
+            untracked.increment();
+            return true;
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean contains(String id) {
+    long fingerprint = fingerprint(id);
+    Shard shard = shardOf(fingerprint);
+    synchronized (shard) {
+      return shard.indexOf(fingerprint) >= 0;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean remove(String id) {
+    long fingerprint = fingerprint(id);
+    Shard shard = shardOf(fingerprint);
+    synchronized (shard) {
+      return shard.remove(fingerprint);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void onWatermarkUpdated(Serializable watermark) {
+    int retainedVersion;
+    int newVersion;
+    synchronized (watermarkLock) {
+      retainedVersion = highestWatermark != null && watermark != null
+          && watermarkComparator.compare(watermark, highestWatermark) == 0 ? highestVersion : NONE;
+      highestWatermark = watermark;
+      newVersion = highestVersion + 1;
+      highestVersion = newVersion;
+    }
+
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        shard.retain(retainedVersion, newVersion);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long size() {
+    long size = 0;
+    for (Shard shard : shards) {
+      synchronized (shard) {
+        size += shard.size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the amount of ids which couldn't be tracked because the maximum size was reached
+   */
+  public long getUntrackedCount() {
+    return untracked.sum();
+  }
+
+  private Shard shardOf(long fingerprint) {
+    return shards[(int) (fingerprint >>> 40) & shardMask];
+  }
+
+  /**
+   * Computes the 64 bits FNV-1a hash of the chars of the {@code id}, followed by the murmur3 finalizer so that all the bits
+   * depend on every char.
+   */
+  private static long fingerprint(String id) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; i < id.length(); i++) {
+      hash = (hash ^ id.charAt(i)) * FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    // zero marks the empty slots
+    return hash != 0 ? hash : 1;
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static int compare(Serializable a, Serializable b) {
+    if (!(a instanceof Comparable)) {
+      throw new IllegalArgumentException("Watermark of type " + a.getClass().getName()
+          + " is not Comparable and no watermark comparator was provided");
+    }
+    return ((Comparable) a).compareTo(b);
+  }
+
+  /**
+   * An open addressing hash table of fingerprints with linear probing. Must be accessed while holding its monitor.
+   */
+  private static final class Shard {
+
+    private static final int ADDED = 0;
+    private static final int PRESENT = 1;
+    private static final int FULL = 2;
+
+    private final int maxSize;
+    private long[] fingerprints;
+    private int[] versions;
+    private int size;
+    private int currentVersion;
+    private int currentSize;
+
+    private Shard(int maxSize) {
+      this.maxSize = maxSize;
+      fingerprints = new long[INITIAL_SHARD_CAPACITY];
+      versions = new int[INITIAL_SHARD_CAPACITY];
+    }
+
+    /**
+     * @param highestVersion the version of the highest watermark, whose entries are kept if the shard is full
+     */
+    private int add(long fingerprint, int version, int highestVersion) {
+      if (highestVersion > currentVersion) {
+        // the highest watermark changed, so every entry is below it now
+        currentVersion = highestVersion;
+        currentSize = 0;
+      }
+
+      int index = indexOf(fingerprint);
+      if (index >= 0) {
+        if (version > versions[index]) {
+          versions[index] = version;
+          if (version == currentVersion) {
+            currentSize++;
+          }
+        }
+        return PRESENT;
+      }
+
+      if (size >= maxSize) {
+        // compacting is only worth it if it makes room for an id with the highest watermark
+        if (version != currentVersion || currentSize == size) {
+          return FULL;
+        }
+        retain(currentVersion, currentVersion);
+      }
+      if ((size + 1) * 4L > fingerprints.length * 3L) {
+        rehash(fingerprints.length * 2);
+      }
+      insert(fingerprint, version);
+      size++;
+      if (version == currentVersion) {
+        currentSize++;
+      }
+      return ADDED;
+    }
+
+    private int indexOf(long fingerprint) {
+      int mask = fingerprints.length - 1;
+      for (int i = slotOf(fingerprint, mask);; i = (i + 1) & mask) {
+        long current = fingerprints[i];
+        if (current == fingerprint) {
+          return i;
+        } else if (current == 0) {
+          return -1;
+        }
+      }
+    }
+
+    private boolean remove(long fingerprint) {
+      int hole = indexOf(fingerprint);
+      if (hole < 0) {
+        return false;
+      }
+
+      int removedVersion = versions[hole];
+      // shift back the following entries of the cluster, so that no tombstones are needed
+      int mask = fingerprints.length - 1;
+      for (int i = (hole + 1) & mask; fingerprints[i] != 0; i = (i + 1) & mask) {
+        int slot = slotOf(fingerprints[i], mask);
+        if (((i - slot) & mask) >= ((i - hole) & mask)) {
+          fingerprints[hole] = fingerprints[i];
+          versions[hole] = versions[i];
+          hole = i;
+        }
+      }
+      fingerprints[hole] = 0;
+      versions[hole] = 0;
+      size--;
+      if (removedVersion == currentVersion) {
+        currentSize--;
+      }
+      return true;
+    }
+
+    /**
+     * Keeps only the entries with the given {@code retainedVersion}, and sets them the {@code newVersion}, which becomes the
+     * version of the highest watermark unless a newer one was already seen. Entries added with the {@code newVersion} or a
+     * newer one, after it was assigned but before this shard was retained, are kept as they are.
+     */
+    private void retain(int retainedVersion, int newVersion) {
+      long[] oldFingerprints = fingerprints;
+      int[] oldVersions = versions;
+      int retained = 0;
+      for (int i = 0; i < oldFingerprints.length; i++) {
+        if (oldFingerprints[i] != 0 && isRetained(oldVersions[i], retainedVersion, newVersion)) {
+          retained++;
+        }
+      }
+
+      int capacity = INITIAL_SHARD_CAPACITY;
+      while (retained * 4L > capacity * 3L) {
+        capacity *= 2;
+      }
+      fingerprints = new long[capacity];
+      versions = new int[capacity];
+      size = retained;
+      currentVersion = max(currentVersion, newVersion);
+      currentSize = 0;
+      for (int i = 0; i < oldFingerprints.length; i++) {
+        if (oldFingerprints[i] != 0 && isRetained(oldVersions[i], retainedVersion, newVersion)) {
+          int version = oldVersions[i] == retainedVersion ? newVersion : oldVersions[i];
+          insert(oldFingerprints[i], version);
+          if (version == currentVersion) {
+            currentSize++;
+          }
+        }
+      }
+    }
+
+    private static boolean isRetained(int version, int retainedVersion, int newVersion) {
+      return version == retainedVersion || version >= newVersion;
+    }
+
+    private void rehash(int capacity) {
+      long[] oldFingerprints = fingerprints;
+      int[] oldVersions = versions;
+      fingerprints = new long[capacity];
+      versions = new int[capacity];
+      for (int i = 0; i < oldFingerprints.length; i++) {
+        if (oldFingerprints[i] != 0) {
+          insert(oldFingerprints[i], oldVersions[i]);
+        }
+      }
+    }
+
+    private void insert(long fingerprint, int version) {
+      int mask = fingerprints.length - 1;
+      int i = slotOf(fingerprint, mask);
+      while (fingerprints[i] != 0) {
+        i = (i + 1) & mask;
+      }
+      fingerprints[i] = fingerprint;
+      versions[i] = version;
+    }
+
+    private static int slotOf(long fingerprint, int mask) {
+      return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+    }
+  }
+}
@@ -57,6 +57,9 @@ public interface PollContext<T, A> {
   /**
    * Submits an item to be processed. The runtime will supply a {@link PollItem} in which the {@link Result} and other
    * options will be set
+   * <p>
+   * If the source {@link PollingSource#getMaxConcurrentItems() processes items concurrently}, this method returns as soon as
+   * the item is dispatched, and blocks while the maximum amount of items is in process.
    *
    * @param consumer a {@link Consumer} of a {@link PollItem}
    * @return a {@link PollItemStatus}
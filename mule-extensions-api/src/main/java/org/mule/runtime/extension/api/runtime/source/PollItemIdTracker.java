@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItem;
+
+import java.io.Serializable;
+
+/**
+ * Keeps track of the ids of the items dispatched by a {@link PollingSource}, as set through {@link PollItem#setId(String)}, so
+ * that duplicated items can be detected.
+ * <p>
+ * Sources can provide an implementation through {@link PollingSource#getIdTracker()}, in which case the runtime uses it instead
+ * of the {@link PollingSource#RECENTLY_PROCESSED_IDS_OS_NAME_SUFFIX recently processed ids} and
+ * {@link PollingSource#IDS_ON_UPDATED_WATERMARK_OS_NAME_SUFFIX ids on updated watermark} object stores.
+ * <p>
+ * Ids are tracked along with the watermark of their item, so that the ones which become irrelevant once the watermark advances
+ * can be evicted. The runtime invokes the tracker as follows:
+ * <ul>
+ * <li>{@link #add(String, Serializable)} for each item with an id accepted during a poll, before dispatching it. If it returns
+ * {@code false}, the item is rejected as a duplicate.</li>
+ * <li>{@link #remove(String)} for an added item which ends up not being processed, because it was rejected afterwards or its
+ * processing failed, so that the next poll can pick it up again. For sources which don't use watermarking, it's also invoked
+ * once the processing of the item completes, since the id is only needed while its item is in process.</li>
+ * <li>{@link #onWatermarkUpdated(Serializable)} at the end of each poll of a source which uses watermarking, with the watermark
+ * the source advanced to. It's never invoked for sources which don't use watermarking.</li>
+ * </ul>
+ * That is, the tracker plays two roles: for sources without watermark, it holds the ids of the items in process, which are
+ * evicted one by one as they complete; for sources with watermark, it holds the ids of the items with the current watermark,
+ * which are needed to filter the following polls, and are evicted in bulk when the watermark advances. In both cases the
+ * amount of tracked ids is bounded by the items in process or the items sharing a watermark, rather than growing with every
+ * poll.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see FingerprintPollItemIdTracker
+ * @since 1.3
+ */
+public interface PollItemIdTracker {
+
+  /**
+   * Tracks the given {@code id}
+   *
+   * @param id        the id of an item
+   * @param watermark the watermark of the item, or {@code null} if watermarking is not used
+   * @return {@code true} if the {@code id} was not already tracked, {@code false} if the item is a duplicate
+   */
+  boolean add(String id, Serializable watermark);
+
+  /**
+   * @param id the id of an item
+   * @return whether the {@code id} is tracked
+   */
+  boolean contains(String id);
+
+  /**
+   * Stops tracking the given {@code id}, because its item was not processed, or because it completed and the source doesn't use
+   * watermarking
+   *
+   * @param id the id of an item
+   * @return whether the {@code id} was tracked
+   */
+  boolean remove(String id);
+
+  /**
+   * Notifies that the watermark of the source was updated at the end of a poll. Only the ids of the items which have that same
+   * watermark are still needed to filter the following polls, so the rest are evicted, including the ids of items with a higher
+   * watermark, see {@link PollingSource#getMaxConcurrentItems()}.
+   * <p>
+   * Only invoked for sources which use watermarking.
+   *
+   * @param watermark the new watermark, or {@code null} if watermarking is not used
+   */
+  void onWatermarkUpdated(Serializable watermark);
+
+  /**
+   * @return the amount of tracked ids
+   */
+  long size();
+}
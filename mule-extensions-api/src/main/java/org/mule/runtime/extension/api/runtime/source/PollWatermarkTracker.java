@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.Optional.ofNullable;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Computes up to which watermark a {@link PollingSource} can safely advance when the items of a poll are processed
+ * concurrently, see {@link PollingSource#getMaxConcurrentItems()}.
+ * <p>
+ * Items are {@link #register(Serializable) registered} when they are dispatched and {@link #complete(Serializable) completed}
+ * when their processing finishes, in any order. The {@link #getSafeWatermark() safe watermark} is the highest watermark of a
+ * completed item which is lower than the watermark of every item still in process. Advancing the watermark up to that value
+ * never skips an item which didn't complete, even if the source is stopped or the node fails in the meantime.
+ * <p>
+ * Since the items of a poll are not necessarily obtained in watermark order, they should be registered between
+ * {@link #beginPoll()} and {@link #endPoll()}, that is, while {@link PollingSource#poll(PollContext)} runs. Meanwhile, the safe
+ * watermark is held, because an item registered later in the poll may have a lower watermark than the completed ones. Items
+ * registered outside of a poll must be registered in watermark order, so registering one whose watermark is not higher than the
+ * safe watermark fails. The safe watermark never goes back.
+ * <p>
+ * Items which completed above the safe watermark are fetched again by the following polls, since the watermark didn't pass them
+ * yet. Their ids can be {@link #complete(Serializable, String) registered on completion}, in which case they are kept until the
+ * safe watermark passes them, so that the runtime can tell they {@link #isCompleted(String, Serializable) already completed}
+ * and skip them instead of dispatching them again. Those ids are only kept in memory, so if the source is stopped or the node
+ * fails before the safe watermark passes them, the items are dispatched again: processing is at-least-once.
+ * <p>
+ * Watermarks are compared with the {@link Comparator} set through {@link PollContext#setWatermarkComparator(Comparator)}, or by
+ * their natural order if none was set. Items without watermark are ignored.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class PollWatermarkTracker {
+
+  private final TreeMap<Serializable, Integer> pending;
+  private final TreeSet<Serializable> completed;
+  private final TreeMap<Serializable, Set<String>> completedIds;
+  private Serializable safeWatermark;
+  private boolean polling;
+
+  /**
+   * Creates a new instance
+   *
+   * @param watermarkComparator the {@link Comparator} of the watermarks, or {@code null} if they are {@link Comparable}
+   */
+  public PollWatermarkTracker(Comparator<? super Serializable> watermarkComparator) {
+    pending = new TreeMap<>(watermarkComparator);
+    completed = new TreeSet<>(watermarkComparator);
+    completedIds = new TreeMap<>(watermarkComparator);
+  }
+
+  /**
+   * Registers that the items of a poll are about to be registered. The {@link #getSafeWatermark() safe watermark} doesn't
+   * advance until {@link #endPoll()} is invoked.
+   */
+  public synchronized void beginPoll() {
+    polling = true;
+  }
+
+  /**
+   * Registers that all the items of the poll were registered, and advances the {@link #getSafeWatermark() safe watermark} past
+   * the items which already completed.
+   */
+  public synchronized void endPoll() {
+    polling = false;
+    advance();
+  }
+
+  /**
+   * Registers that an item with the given {@code watermark} was dispatched
+   *
+   * @param watermark the watermark of the item, or {@code null} if it has none
+   * @throws IllegalStateException if no poll began and the {@code watermark} is not higher than the safe watermark
+   */
+  public synchronized void register(Serializable watermark) {
+    if (watermark == null) {
+      return;
+    }
+
+    if (!polling && safeWatermark != null && compare(watermark, safeWatermark) <= 0) {
+      throw new IllegalStateException("Item with watermark " + watermark + " was registered after the watermark advanced to "
+          + safeWatermark + ". Items which are not registered in watermark order must be registered during a poll");
+    }
+    pending.merge(watermark, 1, Integer::sum);
+  }
+
+  /**
+   * Registers that the processing of an item with the given {@code watermark} finished
+   *
+   * @param watermark the watermark of the item, or {@code null} if it has none
+   * @throws IllegalStateException if no item with that {@code watermark} is in process
+   */
+  public synchronized void complete(Serializable watermark) {
+    complete(watermark, null);
+  }
+
+  /**
+   * Registers that the processing of an item with the given {@code watermark} and {@code id} finished. If the item is not below
+   * the {@link #getSafeWatermark() safe watermark}, its {@code id} is kept until the safe watermark passes it.
+   *
+   * @param watermark the watermark of the item, or {@code null} if it has none
+   * @param id        the id of the item, or {@code null} if it has none
+   * @throws IllegalStateException if no item with that {@code watermark} is in process
+   */
+  public synchronized void complete(Serializable watermark, String id) {
+    if (watermark == null) {
+      return;
+    }
+
+    Integer count = pending.get(watermark);
+    if (count == null) {
+      throw new IllegalStateException("No item with watermark " + watermark + " is in process");
+    }
+    if (count == 1) {
+      pending.remove(watermark);
+    } else {
+      pending.put(watermark, count - 1);
+    }
+    completed.add(watermark);
+    advance();
+    if (id != null && (safeWatermark == null || compare(watermark, safeWatermark) >= 0)) {
+      completedIds.computeIfAbsent(watermark, key -> new HashSet<>()).add(id);
+    }
+  }
+
+  /**
+   * @param id        the id of an item
+   * @param watermark the watermark of the item
+   * @return whether an item with the given {@code id} and {@code watermark} was {@link #complete(Serializable, String) completed}
+   *         and the {@link #getSafeWatermark() safe watermark} didn't pass it yet
+   */
+  public synchronized boolean isCompleted(String id, Serializable watermark) {
+    if (id == null || watermark == null) {
+      return false;
+    }
+    Set<String> ids = completedIds.get(watermark);
+    return ids != null && ids.contains(id);
+  }
+
+  /**
+   * @return the highest watermark which the source can advance to, if any item completed
+   */
+  public synchronized Optional<Serializable> getSafeWatermark() {
+    return ofNullable(safeWatermark);
+  }
+
+  /**
+   * @return the amount of registered items which didn't complete yet
+   */
+  public synchronized int getPendingCount() {
+    return pending.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  private void advance() {
+    if (polling || completed.isEmpty()) {
+      return;
+    }
+
+    Serializable candidate = pending.isEmpty() ? completed.last() : completed.lower(pending.firstKey());
+    if (candidate != null) {
+      // items registered during a poll may complete below the watermark which was already safe
+      if (safeWatermark == null || compare(candidate, safeWatermark) > 0) {
+        safeWatermark = candidate;
+      }
+      // only the completed watermarks above the candidate can become safe later
+      completed.headSet(candidate, true).clear();
+      completed.add(candidate);
+      // the items below the safe watermark are not fetched again
+      completedIds.headMap(safeWatermark, false).clear();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private int compare(Serializable a, Serializable b) {
+    Comparator<? super Serializable> comparator = pending.comparator();
+    return comparator != null ? comparator.compare(a, b) : ((Comparable<Serializable>) a).compareTo(b);
+  }
+}
@@ -10,6 +10,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
+import java.util.Optional;
 import java.util.function.Consumer;
 
 /**
@@ -84,4 +85,57 @@ public abstract class PollingSource<T, A> extends Source<T, A> {
    */
   public abstract void onRejectedItem(Result<T, A> result, SourceCallbackContext callbackContext);
 
+  /**
+   * Sources can override this method to have the items of each poll processed concurrently. When the returned value is greater
+   * than one, the items accepted through {@link PollContext#accept(Consumer)} are dispatched without waiting for the previous
+   * ones to be processed, and {@link PollContext#accept(Consumer)} blocks while that many items of the same poll are in process.
+   * <p>
+   * Watermarking keeps working as usual: the watermark only advances past items which completed their processing, as computed
+   * by {@link PollWatermarkTracker}, and the watermarks are still compared using the comparator set through
+   * {@link PollContext#setWatermarkComparator(java.util.Comparator)}, if any.
+   * <p>
+   * Since the watermark doesn't advance past an item in process, items which completed above it are fetched again by the
+   * following polls. The runtime skips those which {@link PollWatermarkTracker#isCompleted(String, java.io.Serializable) already
+   * completed}, as long as they have an id. Items without id, or items which completed before the source was stopped or the node
+   * failed, are dispatched again: with concurrent processing, each item is processed at least once rather than exactly once.
+   * <p>
+   * This method is optional and defaults to {@code 1}, in which case the items are processed one at a time.
+   *
+   * @return the maximum amount of items of the same poll which can be processed concurrently
+   * @since 1.3
+   */
+  public int getMaxConcurrentItems() {
+    return 1;
+  }
+
+  /**
+   * Sources which dispatch large amounts of items per poll can override this method to provide a {@link PollItemIdTracker}
+   * which keeps track of the item ids in memory, instead of using the object stores. The same instance must be returned on
+   * every invocation, since it keeps the ids across polls.
+   * <p>
+   * This method is optional and defaults to {@link Optional#empty()}, in which case the object stores are used.
+   *
+   * @return the {@link PollItemIdTracker} to use, if any
+   * @since 1.3
+   */
+  public Optional<PollItemIdTracker> getIdTracker() {
+    return Optional.empty();
+  }
+
+  /**
+   * Sources can override this method to have the interval between polls adapted to the outcome of each poll, instead of
+   * strictly following the configured scheduling strategy. After each poll, the amount of items which ended up in each
+   * {@link PollContext.PollItemStatus} is reported to the returned {@link AdaptivePollingFrequency}, and the next poll is
+   * scheduled after the interval it computes. The same instance must be returned on every invocation, since it keeps the
+   * current interval across polls.
+   * <p>
+   * This method is optional and defaults to {@link Optional#empty()}, in which case the scheduling strategy is followed.
+   *
+   * @return the {@link AdaptivePollingFrequency} to use, if any
+   * @since 1.3
+   */
+  public Optional<AdaptivePollingFrequency> getAdaptivePollingFrequency() {
+    return Optional.empty();
+  }
+
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Optional.ofNullable;
+
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The outcome of passing a batch of {@link Result}s to {@link SourceCallback#handleBatch(List, List)}, which tells which items of
+ * the batch were accepted for processing and which ones were rejected by back pressure.
+ * <p>
+ * Items are identified by their index in the batch. When the runtime can't tell how back pressure was applied on the items, the
+ * result has an {@link #unknown(int) unknown} status, in which no item is reported as either accepted or rejected.
+ *
+ * @since 1.3
+ */
+public final class SourceBatchResult {
+
+  /**
+   * @param size the size of the batch
+   * @return a {@link SourceBatchResult} in which all the items were accepted
+   */
+  public static SourceBatchResult accepted(int size) {
+    return new SourceBatchResult(new BackPressureAction[size], true);
+  }
+
+  /**
+   * @param size the size of the batch
+   * @return a {@link SourceBatchResult} in which the status of the items is unknown, because they were dispatched without
+   *         reporting back which of them were rejected by back pressure
+   */
+  public static SourceBatchResult unknown(int size) {
+    return new SourceBatchResult(new BackPressureAction[size], false);
+  }
+
+  /**
+   * @param size the size of the batch
+   * @return a new {@link Builder} in which all the items are initially accepted
+   */
+  public static Builder builder(int size) {
+    return new Builder(size);
+  }
+
+  private final BackPressureAction[] rejections;
+  private final int rejectedCount;
+  private final boolean statusKnown;
+
+  private SourceBatchResult(BackPressureAction[] rejections, boolean statusKnown) {
+    this.rejections = rejections;
+    this.statusKnown = statusKnown;
+    int count = 0;
+    for (BackPressureAction rejection : rejections) {
+      if (rejection != null) {
+        count++;
+      }
+    }
+    rejectedCount = count;
+  }
+
+  /**
+   * @return the size of the batch
+   */
+  public int size() {
+    return rejections.length;
+  }
+
+  /**
+   * @return whether it's known which items were accepted and which ones were rejected. If not, no item is reported as either
+   *         accepted or rejected, and rejections were only reported to the source's back pressure callback
+   */
+  public boolean isStatusKnown() {
+    return statusKnown;
+  }
+
+  /**
+   * @return whether all the items of the batch are known to be accepted
+   */
+  public boolean isFullyAccepted() {
+    return statusKnown && rejectedCount == 0;
+  }
+
+  /**
+   * @return the amount of items known to be accepted
+   */
+  public int getAcceptedCount() {
+    return statusKnown ? rejections.length - rejectedCount : 0;
+  }
+
+  /**
+   * @return the amount of items rejected by back pressure
+   */
+  public int getRejectedCount() {
+    return rejectedCount;
+  }
+
+  /**
+   * @param index the index of an item in the batch
+   * @return whether the item is known to be accepted
+   */
+  public boolean isAccepted(int index) {
+    return statusKnown && rejections[index] == null;
+  }
+
+  /**
+   * @param index the index of an item in the batch
+   * @return the {@link BackPressureAction} applied on the item, or {@link Optional#empty()} if it was accepted
+   */
+  public Optional<BackPressureAction> getRejection(int index) {
+    return ofNullable(rejections[index]);
+  }
+
+  /**
+   * @return the indexes of the items rejected by back pressure, in ascending order
+   */
+  public List<Integer> getRejectedIndexes() {
+    List<Integer> indexes = new ArrayList<>(rejectedCount);
+    for (int i = 0; i < rejections.length; i++) {
+      if (rejections[i] != null) {
+        indexes.add(i);
+      }
+    }
+    return unmodifiableList(indexes);
+  }
+
+  @Override
+  public String toString() {
+    return statusKnown
+        ? "SourceBatchResult{size=" + size() + ", rejected=" + getRejectedIndexes() + "}"
+        : "SourceBatchResult{size=" + size() + ", status=unknown}";
+  }
+
+  /**
+   * Builds instances of {@link SourceBatchResult}
+   *
+   * @since 1.3
+   */
+  public static final class Builder {
+
+    private final BackPressureAction[] rejections;
+
+    private Builder(int size) {
+      if (size < 0) {
+        throw new IllegalArgumentException("size cannot be negative");
+      }
+      rejections = new BackPressureAction[size];
+    }
+
+    /**
+     * Marks the item at the given {@code index} as rejected by back pressure
+     *
+     * @param index  the index of the item in the batch
+     * @param action the applied {@link BackPressureAction}
+     * @return {@code this} builder
+     */
+    public Builder reject(int index, BackPressureAction action) {
+      if (action == null) {
+        throw new IllegalArgumentException("action cannot be null");
+      }
+      rejections[index] = action;
+      return this;
+    }
+
+    /**
+     * @return a new {@link SourceBatchResult}
+     */
+    public SourceBatchResult build() {
+      return new SourceBatchResult(rejections.clone(), true);
+    }
+  }
+}
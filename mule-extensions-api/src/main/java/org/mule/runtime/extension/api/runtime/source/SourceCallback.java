@@ -8,17 +8,23 @@ package org.mule.runtime.extension.api.runtime.source;
 
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.extension.api.annotation.source.OnBackPressure;
 import org.mule.runtime.extension.api.runtime.connectivity.Reconnectable;
 import org.mule.runtime.extension.api.runtime.connectivity.ReconnectionCallback;
 import org.mule.runtime.extension.api.runtime.operation.Result;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * A callback to allow {@link Source} implementations to communicate
  * generated messages back to the runtime so that they can be processed.
  * <p>
  * Those messages will be represented as {@link Result} objects
  * using the {@link #handle(Result)} or {@link #handle(Result, SourceCallbackContext)}
- * methods.
+ * methods. Sources which receive messages in batches can pass them all at once through
+ * {@link #handleBatch(List)} or {@link #handleBatch(List, List)}.
  *
  * @param <T> the generic type of the output values of the generated results
  * @param <A> the generic type of the attributes of the generated results
@@ -51,6 +57,58 @@ public interface SourceCallback<T, A> {
    */
   void handle(Result<T, A> result, SourceCallbackContext context);
 
+  /**
+   * Passes the given batch of {@code results} back to the runtime for processing, creating a new
+   * {@link SourceCallbackContext} for each of them.
+   *
+   * @param results the {@link Result}s of the batch
+   * @return a {@link SourceBatchResult} which tells which items were accepted
+   * @see #handleBatch(List, List)
+   * @since 1.3
+   */
+  default SourceBatchResult handleBatch(List<Result<T, A>> results) {
+    List<SourceCallbackContext> contexts = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      contexts.add(createContext());
+    }
+    return handleBatch(results, contexts);
+  }
+
+  /**
+   * Passes the given batch of {@code results} back to the runtime for processing. Each result is associated to the
+   * {@link SourceCallbackContext} at the same position of the {@code contexts} list, which should have been created using the
+   * {@link #createContext()} of {@code this} same instance.
+   * <p>
+   * Compared to handling each result on its own, this allows the runtime to apply back pressure once for the whole batch:
+   * <ul>
+   * <li>{@link BackPressureMode#WAIT}: blocks until the runtime is able to accept the items of the batch</li>
+   * <li>{@link BackPressureMode#FAIL} and {@link BackPressureMode#DROP}: the items which exceed the available capacity are
+   * rejected, applying the corresponding {@link BackPressureAction}</li>
+   * </ul>
+   * Rejected items are reported both in the returned {@link SourceBatchResult} and, as with single results, to the
+   * {@link OnBackPressure} callback of the source, once per item.
+   * <p>
+   * The default implementation handles each result through {@link #handle(Result, SourceCallbackContext)}, in which case back
+   * pressure is applied per item and is only reported to the {@link OnBackPressure} callback. Since it can't tell which items
+   * were dropped or failed, it returns a {@link SourceBatchResult#unknown(int) SourceBatchResult with an unknown status}, so
+   * sources must not assume any item was accepted from it and keep relying on the {@link OnBackPressure} callback instead.
+   *
+   * @param results  the {@link Result}s of the batch
+   * @param contexts the {@link SourceCallbackContext} of each result
+   * @return a {@link SourceBatchResult} which tells which items were accepted, if known
+   * @throws IllegalArgumentException if {@code results} and {@code contexts} have different sizes
+   * @since 1.3
+   */
+  default SourceBatchResult handleBatch(List<Result<T, A>> results, List<SourceCallbackContext> contexts) {
+    if (results.size() != contexts.size()) {
+      throw new IllegalArgumentException("Got " + results.size() + " results but " + contexts.size() + " contexts");
+    }
+    for (int i = 0; i < results.size(); i++) {
+      handle(results.get(i), contexts.get(i));
+    }
+    return SourceBatchResult.unknown(results.size());
+  }
+
   /**
    * Any started {@link Source} must use this method to communicate the runtime that
    * a {@link ConnectionException}was found trying to produce messages.
@@ -70,6 +128,31 @@ public interface SourceCallback<T, A> {
    */
   void onConnectionException(ConnectionException e);
 
+  /**
+   * Provides the in-flight credits granted to the source when the {@link BackPressureMode#CREDIT} mode is used. Sources which
+   * support that mode should pause consuming messages while no credits are available, see {@link SourceCredits}.
+   * <p>
+   * The default implementation returns {@link Optional#empty()}, as it does when any other mode is used.
+   *
+   * @return the {@link SourceCredits} of the source, if the {@link BackPressureMode#CREDIT} mode is used
+   * @since 1.3
+   */
+  default Optional<SourceCredits> getCredits() {
+    return Optional.empty();
+  }
+
+  /**
+   * Provides the back pressure metrics of the source, so that it can tune how many messages it fetches at once.
+   * <p>
+   * The default implementation returns {@link Optional#empty()}.
+   *
+   * @return the {@link BackPressureStatistics} of the source, if the runtime keeps them
+   * @since 1.3
+   */
+  default Optional<BackPressureStatistics> getBackPressureStatistics() {
+    return Optional.empty();
+  }
+
   /**
    * @return a new instance of {@link SourceCallbackContext}, only
    * valid for use on {@code this} same {@link SourceCallback} instance
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+/**
+ * Listens for the {@link SourceCredits} of a {@link Source} being exhausted or replenished, so that the source can pause and
+ * resume consuming messages from its underlying system.
+ * <p>
+ * Notifications may happen on any thread, including the ones processing the messages, so implementations should return
+ * quickly and not block.
+ *
+ * @since 1.3
+ */
+public interface SourceCreditListener {
+
+  /**
+   * Invoked when the last available credit is used. The source should pause consuming messages.
+   */
+  void onExhausted();
+
+  /**
+   * Invoked when credits are granted after having been exhausted. The source can resume consuming messages.
+   *
+   * @param available the amount of available credits at the moment of the notification
+   */
+  void onReplenished(int available);
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.lang.Math.min;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link SourceCredits} implementation for the runtime side of the {@link BackPressureMode#CREDIT} mode.
+ * <p>
+ * A credit is {@link #tryAcquire() acquired} for each message pushed by the source and {@link #release() released} once its
+ * processing finishes, which grants it back. The runtime can also {@link #grant(int) grant} or {@link #revoke(int) revoke}
+ * credits to adjust the capacity of the source. The {@link SourceCreditListener} is notified whenever the available credits
+ * go down to zero or up from it. Notifications are delivered without holding the lock of this instance, so the listener can
+ * use it, but one at a time and in order, so a notification may be delivered by a thread other than the one which caused it.
+ * <p>
+ * Instances are thread-safe.
+ *
+ * @since 1.3
+ */
+public final class SourceCreditPool implements SourceCredits {
+
+  private final Deque<Runnable> notifications = new ArrayDeque<>();
+  private boolean notifying;
+  private int available;
+  private int inFlight;
+  private long granted;
+  private long used;
+  private SourceCreditListener listener;
+
+  /**
+   * Creates a new instance
+   *
+   * @param initialCredits the amount of credits initially granted
+   */
+  public SourceCreditPool(int initialCredits) {
+    if (initialCredits < 0) {
+      throw new IllegalArgumentException("initialCredits cannot be negative");
+    }
+    available = initialCredits;
+    granted = initialCredits;
+  }
+
+  /**
+   * Acquires a credit for a pushed message, if any is available
+   *
+   * @return whether a credit was acquired
+   */
+  public boolean tryAcquire() {
+    synchronized (this) {
+      if (available == 0) {
+        return false;
+      }
+      use();
+    }
+    notifyListener();
+    return true;
+  }
+
+  /**
+   * Acquires a credit for a pushed message, waiting for one to be available if necessary
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void acquire() throws InterruptedException {
+    synchronized (this) {
+      while (available == 0) {
+        wait();
+      }
+      use();
+    }
+    notifyListener();
+  }
+
+  /**
+   * Releases the credit of a message whose processing finished, granting it back
+   *
+   * @throws IllegalStateException if no message is in flight
+   */
+  public void release() {
+    synchronized (this) {
+      if (inFlight == 0) {
+        throw new IllegalStateException("No message is in flight");
+      }
+      inFlight--;
+      add(1);
+    }
+    notifyListener();
+  }
+
+  /**
+   * Grants additional credits
+   *
+   * @param credits the amount of credits to grant
+   */
+  public void grant(int credits) {
+    if (credits < 0) {
+      throw new IllegalArgumentException("credits cannot be negative");
+    }
+    if (credits == 0) {
+      return;
+    }
+
+    synchronized (this) {
+      add(credits);
+    }
+    notifyListener();
+  }
+
+  /**
+   * Revokes available credits, for example to reduce the capacity of the source. Credits of messages in flight are not
+   * affected.
+   *
+   * @param credits the maximum amount of credits to revoke
+   * @return the amount of credits actually revoked
+   */
+  public int revoke(int credits) {
+    if (credits < 0) {
+      throw new IllegalArgumentException("credits cannot be negative");
+    }
+
+    int revoked;
+    synchronized (this) {
+      revoked = min(credits, available);
+      if (revoked > 0) {
+        available -= revoked;
+        if (available == 0) {
+          queueExhausted();
+        }
+      }
+    }
+    notifyListener();
+    return revoked;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int getAvailable() {
+    return available;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized long getGrantedCount() {
+    return granted;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public synchronized long getUsedCount() {
+    return used;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setListener(SourceCreditListener listener) {
+    synchronized (this) {
+      this.listener = listener;
+      if (available == 0) {
+        queueExhausted();
+      }
+    }
+    notifyListener();
+  }
+
+  private void use() {
+    available--;
+    inFlight++;
+    used++;
+    if (available == 0) {
+      queueExhausted();
+    }
+  }
+
+  private void add(int credits) {
+    boolean replenished = available == 0;
+    available += credits;
+    granted += credits;
+    notifyAll();
+    if (replenished && listener != null) {
+      SourceCreditListener current = listener;
+      int replenishedCredits = available;
+      notifications.add(() -> current.onReplenished(replenishedCredits));
+    }
+  }
+
+  /**
+   * Queues the exhaustion notification. Must be invoked while holding the lock of this instance.
+   */
+  private void queueExhausted() {
+    if (listener != null) {
+      notifications.add(listener::onExhausted);
+    }
+  }
+
+  /**
+   * Delivers the queued notifications, unless another thread is already delivering them. Must be invoked without holding the
+   * lock of this instance.
+   */
+  private void notifyListener() {
+    synchronized (this) {
+      if (notifying || notifications.isEmpty()) {
+        return;
+      }
+      notifying = true;
+    }
+
+    try {
+      Runnable notification;
+      while ((notification = nextNotification()) != null) {
+        notification.run();
+      }
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        notifying = false;
+      }
+      throw e;
+    }
+  }
+
+  private synchronized Runnable nextNotification() {
+    Runnable notification = notifications.poll();
+    if (notification == null) {
+      notifying = false;
+    }
+    return notification;
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+/**
+ * The in-flight credits granted by the runtime to a {@link Source} when the {@link BackPressureMode#CREDIT} mode is used.
+ * <p>
+ * Each message pushed through {@link SourceCallback#handle(Result)} or any of its variants uses one credit, which is granted
+ * back once the message is processed. Sources are expected to stop consuming messages from their underlying system (for
+ * example, by pausing the consumption of partitions or stopping a prefetch) while there are no
+ * {@link #getAvailable() available} credits, and resume once they are granted again. The {@link SourceCreditListener} set
+ * through {@link #setListener(SourceCreditListener)} is notified of those transitions.
+ *
+ * @see SourceCallback#getCredits()
+ * @since 1.3
+ */
+@NoImplement
+public interface SourceCredits {
+
+  /**
+   * @return the amount of messages which can currently be pushed without exceeding the capacity of the runtime
+   */
+  int getAvailable();
+
+  /**
+   * @return the amount of pushed messages whose processing didn't finish yet
+   */
+  int getInFlight();
+
+  /**
+   * @return the total amount of credits granted to the source so far, including the ones granted back after processing a
+   *         message
+   */
+  long getGrantedCount();
+
+  /**
+   * @return the total amount of credits used by the source so far, that is, the amount of messages pushed with a credit
+   */
+  long getUsedCount();
+
+  /**
+   * Sets the {@link SourceCreditListener} to be notified when the credits are exhausted or replenished, replacing the previous
+   * one, if any. If the credits are exhausted at the moment of setting the listener, it is notified right away.
+   *
+   * @param listener the {@link SourceCreditListener}, or {@code null} to remove the current one
+   */
+  void setListener(SourceCreditListener listener);
+}
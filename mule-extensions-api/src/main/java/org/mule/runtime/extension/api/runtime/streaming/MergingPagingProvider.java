@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link PagingProvider} which reads the partitions of a {@link PartitionedPagingProvider} concurrently and merges their
+ * pages into a single stream.
+ * <p>
+ * Each partition is fetched on the given {@link Executor} with its own connection, acquired from a
+ * {@link PartitionConnectionSource} the first time the partition is read and given back once {@code this} provider is closed:
+ * connections of partitions which failed are {@link PartitionConnectionSource#invalidate(Object) invalidated}, the rest are
+ * {@link PartitionConnectionSource#release(Object) released}. Up to
+ * {@link Builder#maxPrefetchedPages(int) a given amount} of pages are buffered per partition. If the {@link Executor} rejects a
+ * task, or didn't start it yet when the partition's pages are needed, the partition is fetched right away.
+ * <p>
+ * If the {@link PartitionedPagingProvider#getOrder() partitions are sorted}, the items are merged preserving that order into
+ * pages of {@link Builder#mergedPageSize(int) a fixed size}. Otherwise, pages are returned as they are fetched, taking turns
+ * among the partitions which have pages available.
+ * <p>
+ * The partitions are planned with the connection received by the first {@link #getPage(Object)} invocation, which is also used
+ * to close the {@link PartitionedPagingProvider}, so connections are always {@link #useStickyConnections() sticky}.
+ * <p>
+ * Failures fetching a page are thrown by the next {@link #getPage(Object)} invocation, once the items merged before the failure
+ * were returned.
+ * <p>
+ * As any other {@link PagingProvider}, instances should not be reused.
+ *
+ * @param <C> connection type expected to handle the operations.
+ * @param <T> the type of the returned pages.
+ * @since 1.3
+ */
+public final class MergingPagingProvider<C, T> implements PagingProvider<C, T> {
+
+  /**
+   * The default maximum amount of pages which are buffered per partition
+   */
+  public static final int DEFAULT_MAX_PREFETCHED_PAGES = 2;
+
+  /**
+   * The default size of the pages produced when merging sorted partitions
+   */
+  public static final int DEFAULT_MERGED_PAGE_SIZE = 100;
+
+  /**
+   * Creates a new {@link Builder}
+   *
+   * @param partitionedProvider the {@link PartitionedPagingProvider} which provides the partitions
+   * @param connectionSource    the {@link PartitionConnectionSource} which provides a connection for each partition
+   * @param executor            the {@link Executor} on which the partitions are fetched
+   * @param <C>                 connection type expected to handle the operations.
+   * @param <T>                 the type of the returned pages.
+   * @return a new {@link Builder}
+   */
+  public static <C, T> Builder<C, T> builder(PartitionedPagingProvider<C, T> partitionedProvider,
+                                             PartitionConnectionSource<C> connectionSource,
+                                             Executor executor) {
+    return new Builder<>(partitionedProvider, connectionSource, executor);
+  }
+
+  private final PartitionedPagingProvider<C, T> partitionedProvider;
+  private final PartitionConnectionSource<C> connectionSource;
+  private final Executor executor;
+  private final int maxPrefetchedPages;
+  private final int mergedPageSize;
+  private final PagingStatistics statistics = new PagingStatistics();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private List<Partition> partitions;
+  private Comparator<? super T> order;
+  private int nextPartition;
+  private boolean closed;
+  private Throwable failure;
+
+  private MergingPagingProvider(Builder<C, T> builder) {
+    partitionedProvider = builder.partitionedProvider;
+    connectionSource = builder.connectionSource;
+    executor = builder.executor;
+    maxPrefetchedPages = builder.maxPrefetchedPages;
+    mergedPageSize = builder.mergedPageSize;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<T> getPage(C connection) {
+    lock.lock();
+    try {
+      if (partitions == null) {
+        partitions = new ArrayList<>();
+        partitionedProvider.getPartitions(connection).forEach(partition -> partitions.add(new Partition(partition)));
+        order = partitionedProvider.getOrder().orElse(null);
+        partitions.forEach(this::startFetching);
+      }
+
+      return order != null ? nextSortedPage() : nextPage();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<Integer> getTotalResults(C connection) {
+    return partitionedProvider.getTotalResults(connection);
+  }
+
+  /**
+   * @return {@code true}, since the partitions are planned and closed with the same connection
+   */
+  @Override
+  public boolean useStickyConnections() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cancels the fetches which didn't start yet, waits for the in-flight ones to finish, closes each partition and gives back its
+   * connection, and finally closes the {@link PartitionedPagingProvider}. Failures on any of those steps don't prevent the
+   * remaining ones: the first one is thrown once all of them were attempted, with the rest added as suppressed exceptions.
+   */
+  @Override
+  public void close(C connection) throws MuleException {
+    List<Partition> toClose;
+    lock.lock();
+    try {
+      closed = true;
+      toClose = partitions != null ? partitions : emptyList();
+      toClose.forEach(this::cancelFetching);
+      while (toClose.stream().anyMatch(Partition::isBusy)) {
+        changed.awaitUninterruptibly();
+      }
+      toClose.forEach(partition -> partition.buffer.clear());
+    } finally {
+      lock.unlock();
+    }
+
+    Exception closeException = null;
+    for (Partition partition : toClose) {
+      if (partition.connection == null) {
+        continue;
+      }
+      try {
+        partition.provider.close(partition.connection);
+      } catch (Exception e) {
+        closeException = suppress(closeException, e);
+      }
+      try {
+        if (partition.failed) {
+          connectionSource.invalidate(partition.connection);
+        } else {
+          connectionSource.release(partition.connection);
+        }
+      } catch (Exception e) {
+        closeException = suppress(closeException, e);
+      }
+    }
+
+    try {
+      partitionedProvider.close(connection);
+    } catch (Exception e) {
+      closeException = suppress(closeException, e);
+    }
+
+    if (closeException instanceof MuleException) {
+      throw (MuleException) closeException;
+    } else if (closeException != null) {
+      // only MuleExceptions are checked in the signatures of the closed components
+      throw (RuntimeException) closeException;
+    }
+  }
+
+  private static Exception suppress(Exception first, Exception e) {
+    if (first == null) {
+      return e;
+    }
+    first.addSuppressed(e);
+    return first;
+  }
+
+  /**
+   * @return the {@link PagingStatistics} of the pages fetched from all the partitions
+   */
+  public PagingStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @return the amount of pages which were fetched but not consumed yet, across all partitions
+   */
+  public int getBufferedPages() {
+    lock.lock();
+    try {
+      return partitions != null ? partitions.stream().mapToInt(partition -> partition.buffer.size()).sum() : 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<T> nextPage() {
+    while (true) {
+      checkFailure();
+      if (closed) {
+        return emptyList();
+      }
+
+      Partition pending = null;
+      for (int i = 0; i < partitions.size(); i++) {
+        int index = (nextPartition + i) % partitions.size();
+        Partition partition = partitions.get(index);
+        if (!partition.buffer.isEmpty()) {
+          nextPartition = (index + 1) % partitions.size();
+          List<T> page = partition.buffer.poll();
+          startFetching(partition);
+          return page;
+        }
+        if (pending == null && !partition.exhausted) {
+          pending = partition;
+        }
+      }
+
+      if (pending == null) {
+        return emptyList();
+      }
+      awaitPages(partitions.stream().anyMatch(partition -> partition.fetching) ? null : pending);
+    }
+  }
+
+  private List<T> nextSortedPage() {
+    List<T> page = new ArrayList<>(mergedPageSize);
+    while (page.size() < mergedPageSize) {
+      if (failure != null && !page.isEmpty()) {
+        // the failure is thrown by the next invocation, so the items which were already taken aren't lost
+        return page;
+      }
+      checkFailure();
+      if (closed) {
+        return emptyList();
+      }
+
+      Partition min = null;
+      Partition pending = null;
+      for (Partition partition : partitions) {
+        if (!partition.hasHead()) {
+          if (!partition.exhausted) {
+            pending = partition;
+            break;
+          }
+        } else if (min == null || order.compare(partition.head(), min.head()) < 0) {
+          min = partition;
+        }
+      }
+
+      if (pending != null) {
+        // the next item may be in a partition which wasn't fetched yet
+        awaitPages(pending.fetching ? null : pending);
+      } else if (min != null) {
+        page.add(min.take());
+      } else {
+        break;
+      }
+    }
+    return page;
+  }
+
+  /**
+   * Waits for a partition to fetch a page, or fetches one from the given {@code partition} if none is being fetched, cancelling
+   * its task if the {@link Executor} didn't start it yet. Must be invoked while holding the {@link #lock}.
+   */
+  private void awaitPages(Partition partition) {
+    if (partition != null) {
+      cancelFetching(partition);
+    }
+    if (partition == null || partition.isBusy()) {
+      changed.awaitUninterruptibly();
+      return;
+    }
+
+    partition.fetching = true;
+    try {
+      lock.unlock();
+      fetchPage(partition);
+    } finally {
+      lock.lock();
+      partition.fetching = false;
+      changed.signalAll();
+    }
+  }
+
+  private void checkFailure() {
+    if (failure != null) {
+      Throwable t = failure;
+      failure = null;
+      if (t instanceof RuntimeException) {
+        throw (RuntimeException) t;
+      } else if (t instanceof Error) {
+        throw (Error) t;
+      }
+      throw new MuleRuntimeException(t);
+    }
+  }
+
+  /**
+   * Submits the task which fetches the given {@code partition} unless there's nothing left to fetch. Must be invoked while
+   * holding the {@link #lock}.
+   */
+  private void startFetching(Partition partition) {
+    if (partition.isBusy() || partition.exhausted || closed || failure != null
+        || partition.buffer.size() >= maxPrefetchedPages) {
+      return;
+    }
+
+    Prefetch next = new Prefetch(partition);
+    partition.prefetch = next;
+    try {
+      executor.execute(next);
+    } catch (RejectedExecutionException e) {
+      // the partition will be fetched when its pages are needed
+      partition.prefetch = null;
+    }
+  }
+
+  /**
+   * Cancels the task submitted for the given {@code partition} if it didn't start yet. Otherwise, it's about to set
+   * {@link Partition#fetching}. Must be invoked while holding the {@link #lock}.
+   */
+  private void cancelFetching(Partition partition) {
+    if (partition.prefetch != null && partition.prefetch.cancel()) {
+      partition.prefetch = null;
+    }
+  }
+
+  private void fetch(Partition partition) {
+    lock.lock();
+    try {
+      partition.prefetch = null;
+      partition.fetching = true;
+    } finally {
+      lock.unlock();
+    }
+
+    while (true) {
+      lock.lock();
+      try {
+        if (closed || partition.exhausted || failure != null || partition.buffer.size() >= maxPrefetchedPages) {
+          partition.fetching = false;
+          changed.signalAll();
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+      fetchPage(partition);
+    }
+  }
+
+  /**
+   * Fetches a page of the given {@code partition} and buffers it. Must be invoked by the thread which set
+   * {@link Partition#fetching}.
+   */
+  private void fetchPage(Partition partition) {
+    List<T> page = null;
+    Throwable error = null;
+    long start = nanoTime();
+    try {
+      if (partition.connection == null) {
+        partition.connection = connectionSource.acquire();
+      }
+      page = partition.provider.getPage(partition.connection);
+      statistics.recordPage(page != null ? page.size() : 0, nanoTime() - start);
+    } catch (Throwable t) {
+      statistics.recordFailure(nanoTime() - start);
+      error = t;
+    }
+
+    lock.lock();
+    try {
+      if (error != null) {
+        partition.failed = true;
+        if (failure == null) {
+          failure = error;
+        }
+      } else if (page == null || page.isEmpty()) {
+        partition.exhausted = true;
+      } else {
+        partition.buffer.add(page);
+      }
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private final class Partition {
+
+    private final PagingProvider<C, T> provider;
+    private final Deque<List<T>> buffer = new ArrayDeque<>();
+    private C connection;
+    private Prefetch prefetch;
+    private boolean fetching;
+    private boolean exhausted;
+    private boolean failed;
+    private List<T> current = emptyList();
+    private int position;
+
+    private Partition(PagingProvider<C, T> provider) {
+      this.provider = provider;
+    }
+
+    /**
+     * @return whether a page of the partition is being fetched, or a task which will fetch it was submitted
+     */
+    private boolean isBusy() {
+      return fetching || prefetch != null;
+    }
+
+    /**
+     * @return whether the next item of the partition was already fetched
+     */
+    private boolean hasHead() {
+      while (position >= current.size()) {
+        if (buffer.isEmpty()) {
+          return false;
+        }
+        current = buffer.poll();
+        position = 0;
+        startFetching(this);
+      }
+      return true;
+    }
+
+    private T head() {
+      return current.get(position);
+    }
+
+    private T take() {
+      return current.get(position++);
+    }
+  }
+
+  private final class Prefetch implements Runnable {
+
+    private final Partition partition;
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    private Prefetch(Partition partition) {
+      this.partition = partition;
+    }
+
+    @Override
+    public void run() {
+      if (claimed.compareAndSet(false, true)) {
+        fetch(partition);
+      }
+    }
+
+    /**
+     * @return whether the fetch was cancelled before it started
+     */
+    private boolean cancel() {
+      return claimed.compareAndSet(false, true);
+    }
+  }
+
+  /**
+   * Builds instances of {@link MergingPagingProvider}
+   *
+   * @param <C> connection type expected to handle the operations.
+   * @param <T> the type of the returned pages.
+   * @since 1.3
+   */
+  public static final class Builder<C, T> {
+
+    private final PartitionedPagingProvider<C, T> partitionedProvider;
+    private final PartitionConnectionSource<C> connectionSource;
+    private final Executor executor;
+    private int maxPrefetchedPages = DEFAULT_MAX_PREFETCHED_PAGES;
+    private int mergedPageSize = DEFAULT_MERGED_PAGE_SIZE;
+
+    private Builder(PartitionedPagingProvider<C, T> partitionedProvider,
+                    PartitionConnectionSource<C> connectionSource,
+                    Executor executor) {
+      this.partitionedProvider = requireNonNull(partitionedProvider, "partitionedProvider cannot be null");
+      this.connectionSource = requireNonNull(connectionSource, "connectionSource cannot be null");
+      this.executor = requireNonNull(executor, "executor cannot be null");
+    }
+
+    /**
+     * @param maxPrefetchedPages the maximum amount of pages buffered per partition
+     * @return {@code this} builder
+     */
+    public Builder<C, T> maxPrefetchedPages(int maxPrefetchedPages) {
+      if (maxPrefetchedPages <= 0) {
+        throw new IllegalArgumentException("maxPrefetchedPages must be positive");
+      }
+      this.maxPrefetchedPages = maxPrefetchedPages;
+      return this;
+    }
+
+    /**
+     * @param mergedPageSize the size of the pages produced when merging sorted partitions
+     * @return {@code this} builder
+     */
+    public Builder<C, T> mergedPageSize(int mergedPageSize) {
+      if (mergedPageSize <= 0) {
+        throw new IllegalArgumentException("mergedPageSize must be positive");
+      }
+      this.mergedPageSize = mergedPageSize;
+      return this;
+    }
+
+    /**
+     * @return a new {@link MergingPagingProvider}
+     */
+    public MergingPagingProvider<C, T> build() {
+      return new MergingPagingProvider<>(this);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Page level metrics of a {@link PagingProvider}, such as the amount of fetched pages and items and the time spent fetching
+ * them.
+ * <p>
+ * Instances are thread-safe, so that the metrics can be read while the pages are being fetched, possibly by another thread.
+ *
+ * @since 1.3
+ */
+public final class PagingStatistics {
+
+  private final LongAdder fetchedPages = new LongAdder();
+  private final LongAdder fetchedItems = new LongAdder();
+  private final LongAdder failedFetches = new LongAdder();
+  private final LongAdder totalFetchTime = new LongAdder();
+  private final AtomicLong lastFetchTime = new AtomicLong();
+  private final AtomicLong maxFetchTime = new AtomicLong();
+
+  /**
+   * Records that a page was fetched
+   *
+   * @param items     the amount of items in the page
+   * @param fetchTime the time it took to fetch the page, in nanoseconds
+   */
+  public void recordPage(int items, long fetchTime) {
+    fetchedPages.increment();
+    fetchedItems.add(items);
+    recordFetchTime(fetchTime);
+  }
+
+  /**
+   * Records that fetching a page failed
+   *
+   * @param fetchTime the time spent until the failure, in nanoseconds
+   */
+  public void recordFailure(long fetchTime) {
+    failedFetches.increment();
+    recordFetchTime(fetchTime);
+  }
+
+  private void recordFetchTime(long fetchTime) {
+    totalFetchTime.add(fetchTime);
+    lastFetchTime.set(fetchTime);
+    maxFetchTime.accumulateAndGet(fetchTime, Math::max);
+  }
+
+  /**
+   * @return the amount of successfully fetched pages
+   */
+  public long getFetchedPages() {
+    return fetchedPages.sum();
+  }
+
+  /**
+   * @return the amount of items in the fetched pages
+   */
+  public long getFetchedItems() {
+    return fetchedItems.sum();
+  }
+
+  /**
+   * @return the amount of failed attempts to fetch a page
+   */
+  public long getFailedFetches() {
+    return failedFetches.sum();
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the total time spent fetching pages
+   */
+  public long getTotalFetchTime(TimeUnit unit) {
+    return unit.convert(totalFetchTime.sum(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the time it took to fetch the last page
+   */
+  public long getLastFetchTime(TimeUnit unit) {
+    return unit.convert(lastFetchTime.get(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the longest time it took to fetch a page
+   */
+  public long getMaxFetchTime(TimeUnit unit) {
+    return unit.convert(maxFetchTime.get(), NANOSECONDS);
+  }
+
+  /**
+   * @param unit the {@link TimeUnit} of the returned value
+   * @return the average time it took to fetch a page, including failed attempts
+   */
+  public long getAverageFetchTime(TimeUnit unit) {
+    long fetches = fetchedPages.sum() + failedFetches.sum();
+    return fetches == 0 ? 0 : unit.convert(totalFetchTime.sum() / fetches, NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return "PagingStatistics{fetchedPages=" + getFetchedPages() + ", fetchedItems=" + getFetchedItems()
+        + ", failedFetches=" + getFailedFetches() + ", averageFetchTimeMillis=" + getAverageFetchTime(TimeUnit.MILLISECONDS)
+        + ", maxFetchTimeMillis=" + getMaxFetchTime(TimeUnit.MILLISECONDS) + "}";
+  }
+}
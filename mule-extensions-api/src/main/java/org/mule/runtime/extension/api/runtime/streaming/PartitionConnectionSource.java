@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import org.mule.api.annotation.NoImplement;
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.api.connection.ConnectionProvider;
+
+/**
+ * Provides the connections with which a {@link MergingPagingProvider} reads each of its partitions.
+ * <p>
+ * Implementations are provided by the runtime and go through the same connection management as the connections it hands to
+ * operations: they are pooled, validated and reconnected according to the configuration's {@link ConnectionProvider}, which is
+ * why connections should never be obtained by invoking {@link ConnectionProvider#connect()} directly.
+ * <p>
+ * Each acquired connection is given back exactly once, either through {@link #release(Object)} or {@link #invalidate(Object)}.
+ *
+ * @param <C> connection type expected to handle the operations.
+ * @since 1.3
+ */
+@NoImplement
+public interface PartitionConnectionSource<C> {
+
+  /**
+   * Obtains a connection which is used exclusively to read one partition until it's given back.
+   *
+   * @return a valid connection
+   * @throws ConnectionException if the connection could not be obtained
+   */
+  C acquire() throws ConnectionException;
+
+  /**
+   * Gives back a connection obtained through {@link #acquire()} once its partition was read or closed.
+   *
+   * @param connection the connection to release
+   */
+  void release(C connection);
+
+  /**
+   * Gives back a connection obtained through {@link #acquire()} which was used by a partition that failed, so that it's
+   * discarded instead of being handed out again.
+   *
+   * @param connection the connection to invalidate
+   */
+  void invalidate(C connection);
+}
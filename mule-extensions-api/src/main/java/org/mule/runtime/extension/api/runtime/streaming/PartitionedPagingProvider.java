@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import org.mule.runtime.api.exception.MuleException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Provides a data feed which the backend is able to split in partitions which can be read independently from each other, for
+ * example through scroll slices, primary key chunks or parallel scan segments.
+ * <p>
+ * Each partition is a {@link PagingProvider} on its own, which is consumed with its own connection, so the partitions can be
+ * fetched concurrently. The pages of all the partitions are then merged into a single stream, see
+ * {@link MergingPagingProvider}.
+ * <p>
+ * Instances should not be reused. Each execution of a paging operation should return different instances.
+ *
+ * @param <C> connection type expected to handle the operations.
+ * @param <T> the type of the returned pages.
+ * @since 1.3
+ */
+public interface PartitionedPagingProvider<C, T> {
+
+  /**
+   * Returns the partitions in which the data feed is split. This method is invoked only once.
+   * <p>
+   * The same partition is never accessed concurrently, but different partitions are.
+   *
+   * @param connection The connection to be used to plan the partitions.
+   * @return the {@link PagingProvider}s which read each partition
+   */
+  List<PagingProvider<C, T>> getPartitions(C connection);
+
+  /**
+   * If the items of each partition are sorted, returns the {@link Comparator} which defines that order, so that the partitions
+   * are merged preserving it. Otherwise, pages are consumed in the order in which they are fetched, regardless of the partition
+   * they belong to.
+   * <p>
+   * This method is optional and defaults to {@link Optional#empty()}
+   *
+   * @return the order of the items in the partitions, if any
+   */
+  default Optional<Comparator<? super T>> getOrder() {
+    return Optional.empty();
+  }
+
+  /**
+   * returns the total amount of items in the non-paged result set, across all partitions. In some scenarios, it might not be
+   * possible/convenient to actually retrieve this value, in such a cases an {@link Optional#empty()} value is returned.
+   * <p>
+   * This method is optional and defaults to {@link Optional#empty()}
+   *
+   * @param connection The connection to be used to do the query.
+   */
+  default Optional<Integer> getTotalResults(C connection) {
+    return Optional.empty();
+  }
+
+  /**
+   * Closes the resources allocated to plan the partitions. The partitions are closed on their own before this method is
+   * invoked.
+   * <p>
+   * This method is optional and does nothing by default.
+   *
+   * @param connection The connection which was used to plan the partitions.
+   * @throws MuleException if there was an error closing the resources
+   */
+  default void close(C connection) throws MuleException {}
+}
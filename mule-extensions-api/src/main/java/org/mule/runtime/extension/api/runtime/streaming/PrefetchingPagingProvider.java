@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import static java.lang.System.nanoTime;
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link PagingProvider} decorator which fetches the following pages of the decorated provider on an {@link Executor} while
+ * the current one is being consumed, so that consumers don't stall on every page boundary.
+ * <p>
+ * Pages are fetched one at a time, so the decorated provider is never accessed concurrently, and no more than one task per
+ * instance is submitted to the {@link Executor}. Prefetching stops when either the configured amount of pages or the configured
+ * weight is buffered, and it resumes as pages are consumed. Since the weight of a page is only known once it was fetched, the
+ * buffered weight may exceed the limit by at most one page. If the {@link Executor} rejects the task, pages are fetched when
+ * requested.
+ * <p>
+ * Because pages are fetched in the background with the connection received by the first {@link #getPage(Object)} invocation,
+ * connections are always {@link #useStickyConnections() sticky}. A prefetch which the {@link Executor} didn't start yet is
+ * cancelled when the consumer needs the page right away, or when the provider is closed, so neither of them waits on a
+ * saturated {@link Executor}. {@link #close(Object)} waits for an in-flight fetch to finish before closing the decorated
+ * provider, and discards the buffered pages.
+ * <p>
+ * Failures fetching a page are thrown by the {@link #getPage(Object)} invocation which would have returned it.
+ * <p>
+ * As any other {@link PagingProvider}, instances should not be reused.
+ *
+ * @param <C> connection type expected to handle the operations.
+ * @param <T> the type of the returned pages.
+ * @since 1.3
+ */
+public final class PrefetchingPagingProvider<C, T> implements PagingProvider<C, T> {
+
+  /**
+   * The default maximum amount of pages which are buffered ahead of the consumer
+   */
+  public static final int DEFAULT_MAX_PREFETCHED_PAGES = 2;
+
+  /**
+   * Creates a new {@link Builder}
+   *
+   * @param delegate the decorated {@link PagingProvider}
+   * @param executor the {@link Executor} on which pages are prefetched
+   * @param <C>      connection type expected to handle the operations.
+   * @param <T>      the type of the returned pages.
+   * @return a new {@link Builder}
+   */
+  public static <C, T> Builder<C, T> builder(PagingProvider<C, T> delegate, Executor executor) {
+    return new Builder<>(delegate, executor);
+  }
+
+  private final PagingProvider<C, T> delegate;
+  private final Executor executor;
+  private final int maxPrefetchedPages;
+  private final long maxBufferedWeight;
+  private final ToLongFunction<? super T> weigher;
+  private final PagingStatistics statistics = new PagingStatistics();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final Deque<BufferedPage<T>> buffer = new ArrayDeque<>();
+  private long bufferedWeight;
+  private int maxBufferedPages;
+  private C connection;
+  private Prefetch prefetch;
+  private boolean fetching;
+  private boolean exhausted;
+  private boolean closed;
+  private Throwable failure;
+
+  private PrefetchingPagingProvider(Builder<C, T> builder) {
+    delegate = builder.delegate;
+    executor = builder.executor;
+    maxPrefetchedPages = builder.maxPrefetchedPages;
+    maxBufferedWeight = builder.maxBufferedWeight;
+    weigher = builder.weigher;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<T> getPage(C connection) {
+    lock.lock();
+    try {
+      if (this.connection == null) {
+        this.connection = connection;
+      }
+
+      while (buffer.isEmpty() && failure == null && !exhausted && !closed) {
+        cancelPrefetch();
+        if (fetching || prefetch != null) {
+          changed.awaitUninterruptibly();
+        } else {
+          // nothing is being fetched, so there's no point in waiting for the executor
+          fetching = true;
+          try {
+            lock.unlock();
+            fetchPage();
+          } finally {
+            lock.lock();
+            fetching = false;
+            changed.signalAll();
+          }
+        }
+      }
+
+      if (!buffer.isEmpty()) {
+        BufferedPage<T> page = buffer.poll();
+        bufferedWeight -= page.weight;
+        startPrefetch();
+        return page.items;
+      }
+
+      if (failure != null) {
+        Throwable t = failure;
+        failure = null;
+        if (t instanceof RuntimeException) {
+          throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+          throw (Error) t;
+        }
+        throw new MuleRuntimeException(t);
+      }
+
+      return emptyList();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Waits for an in-flight fetch to finish, since the decorated provider is not accessed concurrently.
+   */
+  @Override
+  public Optional<Integer> getTotalResults(C connection) {
+    acquireDelegate();
+    try {
+      return delegate.getTotalResults(connection);
+    } finally {
+      releaseDelegate();
+    }
+  }
+
+  /**
+   * @return {@code true}, since pages are prefetched with the connection used to fetch the first one
+   */
+  @Override
+  public boolean useStickyConnections() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Cancels a prefetch which didn't start yet, waits for an in-flight fetch to finish and discards the buffered pages before
+   * closing the decorated provider.
+   */
+  @Override
+  public void close(C connection) throws MuleException {
+    lock.lock();
+    try {
+      closed = true;
+      cancelPrefetch();
+      while (fetching || prefetch != null) {
+        changed.awaitUninterruptibly();
+      }
+      buffer.clear();
+      bufferedWeight = 0;
+    } finally {
+      lock.unlock();
+    }
+    delegate.close(connection);
+  }
+
+  /**
+   * @return the {@link PagingStatistics} of the pages fetched from the decorated provider
+   */
+  public PagingStatistics getStatistics() {
+    return statistics;
+  }
+
+  /**
+   * @return the amount of pages which were fetched but not consumed yet
+   */
+  public int getBufferedPages() {
+    lock.lock();
+    try {
+      return buffer.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the highest amount of pages which were buffered at the same time
+   */
+  public int getMaxBufferedPages() {
+    lock.lock();
+    try {
+      return maxBufferedPages;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the weight of the pages which were fetched but not consumed yet
+   */
+  public long getBufferedWeight() {
+    lock.lock();
+    try {
+      return bufferedWeight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void prefetch() {
+    lock.lock();
+    try {
+      prefetch = null;
+      fetching = true;
+    } finally {
+      lock.unlock();
+    }
+
+    while (true) {
+      lock.lock();
+      try {
+        if (closed || exhausted || failure != null || isFull()) {
+          fetching = false;
+          changed.signalAll();
+          return;
+        }
+      } finally {
+        lock.unlock();
+      }
+      fetchPage();
+    }
+  }
+
+  /**
+   * Fetches a page from the decorated provider and buffers it. Must be invoked by the thread which set {@link #fetching}.
+   */
+  private void fetchPage() {
+    List<T> page = null;
+    Throwable error = null;
+    long start = nanoTime();
+    try {
+      page = delegate.getPage(connection);
+      statistics.recordPage(page != null ? page.size() : 0, nanoTime() - start);
+    } catch (Throwable t) {
+      statistics.recordFailure(nanoTime() - start);
+      error = t;
+    }
+
+    lock.lock();
+    try {
+      if (error != null) {
+        failure = error;
+      } else if (page == null || page.isEmpty()) {
+        exhausted = true;
+      } else {
+        long weight = weigh(page);
+        buffer.add(new BufferedPage<>(page, weight));
+        bufferedWeight += weight;
+        maxBufferedPages = Math.max(maxBufferedPages, buffer.size());
+      }
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Submits the prefetch task unless there's nothing left to prefetch. Must be invoked while holding the {@link #lock}.
+   */
+  private void startPrefetch() {
+    if (fetching || prefetch != null || closed || exhausted || failure != null || isFull()) {
+      return;
+    }
+
+    Prefetch next = new Prefetch();
+    prefetch = next;
+    try {
+      executor.execute(next);
+    } catch (RejectedExecutionException e) {
+      // pages will be fetched when requested
+      prefetch = null;
+    }
+  }
+
+  /**
+   * Cancels the submitted prefetch task if it didn't start yet. Otherwise, it's about to set {@link #fetching}. Must be invoked
+   * while holding the {@link #lock}.
+   */
+  private void cancelPrefetch() {
+    if (prefetch != null && prefetch.cancel()) {
+      prefetch = null;
+    }
+  }
+
+  private boolean isFull() {
+    return buffer.size() >= maxPrefetchedPages || bufferedWeight >= maxBufferedWeight;
+  }
+
+  private long weigh(List<T> page) {
+    long weight = 0;
+    for (T item : page) {
+      weight += weigher.applyAsLong(item);
+    }
+    return weight;
+  }
+
+  private void acquireDelegate() {
+    lock.lock();
+    try {
+      cancelPrefetch();
+      while (fetching || prefetch != null) {
+        changed.awaitUninterruptibly();
+      }
+      fetching = true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void releaseDelegate() {
+    lock.lock();
+    try {
+      fetching = false;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private final class Prefetch implements Runnable {
+
+    private final AtomicBoolean claimed = new AtomicBoolean(false);
+
+    @Override
+    public void run() {
+      if (claimed.compareAndSet(false, true)) {
+        prefetch();
+      }
+    }
+
+    /**
+     * @return whether the prefetch was cancelled before it started
+     */
+    private boolean cancel() {
+      return claimed.compareAndSet(false, true);
+    }
+  }
+
+  private static final class BufferedPage<T> {
+
+    private final List<T> items;
+    private final long weight;
+
+    private BufferedPage(List<T> items, long weight) {
+      this.items = items;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Builds instances of {@link PrefetchingPagingProvider}
+   *
+   * @param <C> connection type expected to handle the operations.
+   * @param <T> the type of the returned pages.
+   * @since 1.3
+   */
+  public static final class Builder<C, T> {
+
+    private final PagingProvider<C, T> delegate;
+    private final Executor executor;
+    private int maxPrefetchedPages = DEFAULT_MAX_PREFETCHED_PAGES;
+    private long maxBufferedWeight = Long.MAX_VALUE;
+    private ToLongFunction<? super T> weigher = item -> 1;
+
+    private Builder(PagingProvider<C, T> delegate, Executor executor) {
+      this.delegate = requireNonNull(delegate, "delegate cannot be null");
+      this.executor = requireNonNull(executor, "executor cannot be null");
+    }
+
+    /**
+     * @param maxPrefetchedPages the maximum amount of pages buffered ahead of the consumer
+     * @return {@code this} builder
+     */
+    public Builder<C, T> maxPrefetchedPages(int maxPrefetchedPages) {
+      if (maxPrefetchedPages <= 0) {
+        throw new IllegalArgumentException("maxPrefetchedPages must be positive");
+      }
+      this.maxPrefetchedPages = maxPrefetchedPages;
+      return this;
+    }
+
+    /**
+     * Limits the amount of buffered items, regardless of the amount of pages they belong to.
+     *
+     * @param maxBufferedItems the maximum amount of buffered items
+     * @return {@code this} builder
+     */
+    public Builder<C, T> maxBufferedItems(long maxBufferedItems) {
+      return maxBufferedWeight(maxBufferedItems, item -> 1);
+    }
+
+    /**
+     * Limits the total weight of the buffered items, for example their estimated size in bytes.
+     *
+     * @param maxBufferedWeight the maximum weight of the buffered items
+     * @param weigher           the function which computes the weight of an item
+     * @return {@code this} builder
+     */
+    public Builder<C, T> maxBufferedWeight(long maxBufferedWeight, ToLongFunction<? super T> weigher) {
+      if (maxBufferedWeight <= 0) {
+        throw new IllegalArgumentException("maxBufferedWeight must be positive");
+      }
+      this.maxBufferedWeight = maxBufferedWeight;
+      this.weigher = requireNonNull(weigher, "weigher cannot be null");
+      return this;
+    }
+
+    /**
+     * @return a new {@link PrefetchingPagingProvider}
+     */
+    public PrefetchingPagingProvider<C, T> build() {
+      return new PrefetchingPagingProvider<>(this);
+    }
+  }
+}
@@ -6,12 +6,21 @@
  */
 package org.mule.runtime.extension.api.util;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -36,6 +45,10 @@ import java.util.function.Function;
  * <p>
  * <h1>Interfaces</h1>
  * If an interface key is used and no explicit mapping is defined, no special behaviour is used.
+ * <p>
+ * By default, the interfaces implemented by the key are not considered. Instances created with the {@code searchInterfaces}
+ * flag set will, after the superclasses have been exhausted, repeat the search using each of the interfaces implemented by the
+ * key or its superclasses (and their super interfaces), in breadth first order.
  * <h1>Ordering considerations</h1>
  * <ul>
  * <li>Exact matches are always privileged. Meaning that if the {@code Dog} key has a specific
@@ -48,10 +61,15 @@ import java.util.function.Function;
  * <p>
  * <h1>Performance considerations</h1>
  * When there's an explicit mapping for a given key, the performance is the same as in the backing map.
- * When a deep search occurs, then the performance drops to O(n^n) (worst case).
+ * When a deep search occurs, then the performance drops to O(n^n) (worst case). The outcome of each deep search, including
+ * the fact that no matching key exists, is cached so that repeated lookups of the same key only pay that cost once. The cache
+ * is discarded each time that a key is added or removed through this map's methods or its collection views, which is why a
+ * wrapped map must not be modified directly. The cache weakly references the classes, so that it doesn't prevent them from
+ * being unloaded. It is safe to be accessed concurrently, although concurrent modifications still require the backing map to
+ * support them.
  * <h1>Other methods</h1>
- * Other than {@link #get(Object)} and {@link #containsKey(Object)}, no other method has been overridden.
- * Behaviour will be that of the backing map.
+ * Other than {@link #get(Object)}, {@link #getOrDefault(Object, Object)} and {@link #containsKey(Object)}, the behaviour of
+ * all methods is that of the backing map.
  *
  * @param <V> the generic type of the mapped values
  * @since 1.0
@@ -59,6 +77,9 @@ import java.util.function.Function;
 public class HierarchyClassMap<V> implements Map<Class<?>, V> {
 
   private final Map<Class<?>, V> delegate;
+  private final boolean searchInterfaces;
+  private final AtomicLong generation = new AtomicLong();
+  private volatile Cache<Class<?>, Resolution> resolutions;
 
   /**
    * Creates a new instance which behaves like a {@link HashMap}
@@ -67,14 +88,43 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
     this(new LinkedHashMap<>());
   }
 
+  /**
+   * Creates a new instance which behaves like a {@link HashMap}
+   *
+   * @param searchInterfaces whether the interfaces implemented by the keys should also be searched
+   * @since 1.3
+   */
+  public HierarchyClassMap(boolean searchInterfaces) {
+    this(new LinkedHashMap<>(), searchInterfaces);
+  }
+
   /**
    * Creates a new instance which wraps the given {@code delegate},
    * inheriting its rules.
+   * <p>
+   * The {@code delegate} must not be modified other than through the created instance afterwards, since the outcome of the
+   * previous searches would not be discarded.
    *
    * @param delegate a backing {@link Map} with predictable iteration order
    */
   public HierarchyClassMap(Map<Class<?>, V> delegate) {
+    this(delegate, false);
+  }
+
+  /**
+   * Creates a new instance which wraps the given {@code delegate},
+   * inheriting its rules.
+   * <p>
+   * The {@code delegate} must not be modified other than through the created instance afterwards, since the outcome of the
+   * previous searches would not be discarded.
+   *
+   * @param delegate         a backing {@link Map} with predictable iteration order
+   * @param searchInterfaces whether the interfaces implemented by the keys should also be searched
+   * @since 1.3
+   */
+  public HierarchyClassMap(Map<Class<?>, V> delegate, boolean searchInterfaces) {
     this.delegate = delegate;
+    this.searchInterfaces = searchInterfaces;
   }
 
   /**
@@ -90,25 +140,106 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
       return delegate.get(key);
     }
 
-    Class<?> searchKey = (Class<?>) key;
-    while (searchKey != null && !Object.class.equals(searchKey)) {
-      V value = searchAssignableFrom(searchKey);
-      if (value == null) {
-        searchKey = searchKey.getSuperclass();
-      } else {
-        return value;
+    Class<?> foundKey = resolve((Class<?>) key);
+    return foundKey != null ? delegate.get(foundKey) : null;
+  }
+
+  /**
+   * Looks for the key of the backing map which matches the given {@code key}, reusing the outcome of previous searches when
+   * possible.
+   *
+   * @param key the searched key
+   * @return the matching key or {@code null} if there's none
+   */
+  private Class<?> resolve(Class<?> key) {
+    if (key == null) {
+      return null;
+    }
+
+    final long currentGeneration = generation.get();
+    Cache<Class<?>, Resolution> cache = getResolutions();
+    Resolution resolution = cache.getIfPresent(key);
+    if (resolution != null && resolution.isValid(currentGeneration)) {
+      return resolution.getKey();
+    }
+
+    Class<?> foundKey = search(key);
+    // if the map was modified in the meantime, the generation mismatch will cause this resolution to be discarded
+    cache.put(key, new Resolution(foundKey, currentGeneration));
+    return foundKey;
+  }
+
+  private Class<?> search(Class<?> key) {
+    for (Class<?> searchKey = key; searchKey != null && !Object.class.equals(searchKey); searchKey = searchKey.getSuperclass()) {
+      Class<?> foundKey = searchAssignableFrom(searchKey);
+      if (foundKey != null) {
+        return foundKey;
+      }
+    }
+
+    return searchInterfaces ? searchInterfaces(key) : null;
+  }
+
+  private Class<?> searchInterfaces(Class<?> key) {
+    Deque<Class<?>> pending = new ArrayDeque<>();
+    for (Class<?> type = key; type != null; type = type.getSuperclass()) {
+      addInterfaces(pending, type);
+    }
+
+    Set<Class<?>> visited = new HashSet<>();
+    while (!pending.isEmpty()) {
+      Class<?> searchKey = pending.poll();
+      if (visited.add(searchKey)) {
+        Class<?> foundKey = searchAssignableFrom(searchKey);
+        if (foundKey != null) {
+          return foundKey;
+        }
+        addInterfaces(pending, searchKey);
       }
     }
 
     return null;
   }
 
-  private V searchAssignableFrom(Class<?> searchKey) {
-    return entrySet().stream()
-        .filter(entry -> searchKey.isAssignableFrom(entry.getKey()))
-        .map(Entry::getValue)
-        .findFirst()
-        .orElse(null);
+  private void addInterfaces(Deque<Class<?>> pending, Class<?> type) {
+    for (Class<?> implementedInterface : type.getInterfaces()) {
+      pending.add(implementedInterface);
+    }
+  }
+
+  private Class<?> searchAssignableFrom(Class<?> searchKey) {
+    for (Class<?> candidate : delegate.keySet()) {
+      if (searchKey.isAssignableFrom(candidate)) {
+        return candidate;
+      }
+    }
+
+    return null;
+  }
+
+  private Cache<Class<?>, Resolution> getResolutions() {
+    Cache<Class<?>, Resolution> cache = resolutions;
+    if (cache == null) {
+      synchronized (this) {
+        cache = resolutions;
+        if (cache == null) {
+          cache = CacheBuilder.newBuilder().weakKeys().build();
+          resolutions = cache;
+        }
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Discards the outcome of all previous searches. Invoked every time the set of keys may have changed.
+   */
+  private void invalidateResolutions() {
+    generation.incrementAndGet();
+    Cache<Class<?>, Resolution> cache = resolutions;
+    if (cache != null) {
+      cache.invalidateAll();
+    }
   }
 
   @Override
@@ -130,25 +261,7 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
    */
   @Override
   public boolean containsKey(Object key) {
-    if (delegate.containsKey(key)) {
-      return true;
-    }
-
-    Class<?> searchKey = (Class<?>) key;
-    while (searchKey != null && !Object.class.equals(searchKey)) {
-      final Class<?> lambdaKey = searchKey;
-      Optional<Class<?>> foundKey = delegate.keySet().stream()
-          .filter(clazz -> lambdaKey.isAssignableFrom(clazz))
-          .findFirst();
-
-      if (foundKey.isPresent()) {
-        return true;
-      } else {
-        searchKey = searchKey.getSuperclass();
-      }
-    }
-
-    return false;
+    return delegate.containsKey(key) || resolve((Class<?>) key) != null;
   }
 
   @Override
@@ -159,37 +272,64 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
 
   @Override
   public V put(Class<?> key, V value) {
-    return delegate.put(key, value);
+    try {
+      return delegate.put(key, value);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public V remove(Object key) {
-    return delegate.remove(key);
+    try {
+      return delegate.remove(key);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public void putAll(Map<? extends Class<?>, ? extends V> m) {
-    delegate.putAll(m);
+    try {
+      delegate.putAll(m);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public void clear() {
-    delegate.clear();
+    try {
+      delegate.clear();
+    } finally {
+      invalidateResolutions();
+    }
   }
 
+  /**
+   * @return a view of the backing map's keys which discards the outcome of previous searches when keys are removed through it
+   */
   @Override
   public Set<Class<?>> keySet() {
-    return delegate.keySet();
+    return new InvalidatingSet<>(delegate.keySet());
   }
 
+  /**
+   * @return a view of the backing map's values which discards the outcome of previous searches when values are removed through
+   *         it
+   */
   @Override
   public Collection<V> values() {
-    return delegate.values();
+    return new InvalidatingCollection<>(delegate.values());
   }
 
+  /**
+   * @return a view of the backing map's entries which discards the outcome of previous searches when entries are removed
+   *         through it
+   */
   @Override
   public Set<Entry<Class<?>, V>> entrySet() {
-    return delegate.entrySet();
+    return new InvalidatingSet<>(delegate.entrySet());
   }
 
   @Override
@@ -204,9 +344,12 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
 
   @Override
   public V getOrDefault(Object key, V defaultValue) {
-    return containsKey(key)
-        ? get(key)
-        : defaultValue;
+    if (delegate.containsKey(key)) {
+      return delegate.get(key);
+    }
+
+    Class<?> foundKey = resolve((Class<?>) key);
+    return foundKey != null ? delegate.get(foundKey) : defaultValue;
   }
 
   @Override
@@ -221,12 +364,20 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
 
   @Override
   public V putIfAbsent(Class<?> key, V value) {
-    return delegate.putIfAbsent(key, value);
+    try {
+      return delegate.putIfAbsent(key, value);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public boolean remove(Object key, Object value) {
-    return delegate.remove(key, value);
+    try {
+      return delegate.remove(key, value);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
@@ -241,21 +392,153 @@ public class HierarchyClassMap<V> implements Map<Class<?>, V> {
 
   @Override
   public V computeIfAbsent(Class<?> key, Function<? super Class<?>, ? extends V> mappingFunction) {
-    return delegate.computeIfAbsent(key, mappingFunction);
+    try {
+      return delegate.computeIfAbsent(key, mappingFunction);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public V computeIfPresent(Class<?> key, BiFunction<? super Class<?>, ? super V, ? extends V> remappingFunction) {
-    return delegate.computeIfPresent(key, remappingFunction);
+    try {
+      return delegate.computeIfPresent(key, remappingFunction);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public V compute(Class<?> key, BiFunction<? super Class<?>, ? super V, ? extends V> remappingFunction) {
-    return delegate.compute(key, remappingFunction);
+    try {
+      return delegate.compute(key, remappingFunction);
+    } finally {
+      invalidateResolutions();
+    }
   }
 
   @Override
   public V merge(Class<?> key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
-    return delegate.merge(key, value, remappingFunction);
+    try {
+      return delegate.merge(key, value, remappingFunction);
+    } finally {
+      invalidateResolutions();
+    }
+  }
+
+  /**
+   * A collection view of the backing map which discards the outcome of previous searches when elements are removed through it.
+   * Elements can't be added to the collection views of a {@link Map}, so removals are the only changes to its keys they allow.
+   */
+  private class InvalidatingCollection<E> extends AbstractCollection<E> {
+
+    protected final Collection<E> view;
+
+    private InvalidatingCollection(Collection<E> view) {
+      this.view = view;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+      Iterator<E> iterator = view.iterator();
+      return new Iterator<E>() {
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public E next() {
+          return iterator.next();
+        }
+
+        @Override
+        public void remove() {
+          try {
+            iterator.remove();
+          } finally {
+            invalidateResolutions();
+          }
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return view.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return view.contains(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      try {
+        return view.remove(o);
+      } finally {
+        invalidateResolutions();
+      }
+    }
+
+    @Override
+    public void clear() {
+      try {
+        view.clear();
+      } finally {
+        invalidateResolutions();
+      }
+    }
+  }
+
+  private class InvalidatingSet<E> extends InvalidatingCollection<E> implements Set<E> {
+
+    private InvalidatingSet(Set<E> view) {
+      super(view);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o == this || view.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+      return view.hashCode();
+    }
+  }
+
+  /**
+   * The outcome of searching a key
+   */
+  private class Resolution {
+
+    private final WeakReference<Class<?>> key;
+    private final long generation;
+
+    private Resolution(Class<?> key, long generation) {
+      this.key = key != null ? new WeakReference<>(key) : null;
+      this.generation = generation;
+    }
+
+    private Class<?> getKey() {
+      return key != null ? key.get() : null;
+    }
+
+    private boolean isValid(long currentGeneration) {
+      if (generation != currentGeneration) {
+        return false;
+      }
+
+      if (key == null) {
+        return true;
+      }
+
+      // the key may have been collected, or removed from the wrapped map without going through this one
+      Class<?> foundKey = key.get();
+      return foundKey != null && delegate.containsKey(foundKey);
+    }
   }
 }
@@ -9,6 +9,7 @@ package org.mule.runtime.extension.api.util;
 import static java.lang.String.format;
 import static java.util.Collections.sort;
 import static java.util.Comparator.comparing;
+import static java.util.regex.Pattern.CASE_INSENSITIVE;
 import static org.apache.commons.lang3.StringUtils.deleteWhitespace;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
@@ -38,10 +39,16 @@ import org.mule.runtime.api.meta.model.source.SourceCallbackModel;
 import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.extension.api.annotation.Alias;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 import java.lang.reflect.Field;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 
 /**
@@ -63,6 +70,11 @@ public class NameUtils extends org.mule.runtime.api.util.NameUtils {
   private static final List<Inflection> singular = new ArrayList<>();
   private static final List<String> uncountable = new ArrayList<>();
 
+  // The same few names are inflected over and over while resolving the DSL of extensions, so results are memoized
+  private static final int INFLECTIONS_CACHE_SIZE = 4096;
+  private static final Cache<String, String> pluralized = CacheBuilder.newBuilder().maximumSize(INFLECTIONS_CACHE_SIZE).build();
+  private static final Cache<String, String> singularized = CacheBuilder.newBuilder().maximumSize(INFLECTIONS_CACHE_SIZE).build();
+
   static {
     // plural is "singular to plural form"
     // singular is "plural to singular form"
@@ -165,12 +177,17 @@ public class NameUtils extends org.mule.runtime.api.util.NameUtils {
    * @return The pluralized word
    */
   public static String pluralize(String word) {
+    return inflect(word, pluralized, NameUtils::doPluralize);
+  }
+
+  private static String doPluralize(String word) {
     if (isUncountable(word)) {
       return word;
     } else {
       for (Inflection inflection : plural) {
-        if (inflection.match(word)) {
-          return inflection.replace(word);
+        String inflected = inflection.apply(word);
+        if (inflected != null) {
+          return inflected;
         }
       }
       return word;
@@ -184,18 +201,36 @@ public class NameUtils extends org.mule.runtime.api.util.NameUtils {
    * @return The singularized word
    */
   public static String singularize(String word) {
+    return inflect(word, singularized, NameUtils::doSingularize);
+  }
+
+  private static String doSingularize(String word) {
     if (isUncountable(word)) {
       return word;
     } else {
       for (Inflection inflection : singular) {
-        if (inflection.match(word)) {
-          return inflection.replace(word);
+        String inflected = inflection.apply(word);
+        if (inflected != null) {
+          return inflected;
         }
       }
     }
     return word;
   }
 
+  private static String inflect(String word, Cache<String, String> cache, Function<String, String> inflector) {
+    if (word == null) {
+      return inflector.apply(word);
+    }
+
+    String inflected = cache.getIfPresent(word);
+    if (inflected == null) {
+      inflected = inflector.apply(word);
+      cache.put(word, inflected);
+    }
+    return inflected;
+  }
+
   /**
    * Return the itemized version of a word, which is
    * an {@link this#hyphenize hyphenized} version of the word with
@@ -382,47 +417,27 @@ public class NameUtils extends org.mule.runtime.api.util.NameUtils {
 
   private static class Inflection {
 
-    private String pattern;
-    private String replacement;
-    private boolean ignoreCase;
+    private final Pattern pattern;
+    private final String replacement;
 
     public Inflection(String pattern, String replacement) {
       this(pattern, replacement, true);
     }
 
     public Inflection(String pattern, String replacement, boolean ignoreCase) {
-      this.pattern = pattern;
+      this.pattern = Pattern.compile(pattern, ignoreCase ? CASE_INSENSITIVE : 0);
       this.replacement = replacement;
-      this.ignoreCase = ignoreCase;
-    }
-
-
-    /**
-     * Does the given word match?
-     *
-     * @param word The word
-     * @return True if it matches the inflection pattern
-     */
-    public boolean match(String word) {
-      int flags = 0;
-      if (ignoreCase) {
-        flags = flags | java.util.regex.Pattern.CASE_INSENSITIVE;
-      }
-      return java.util.regex.Pattern.compile(pattern, flags).matcher(word).find();
     }
 
     /**
-     * Replace the word with its pattern.
+     * Applies this inflection to the given word
      *
      * @param word The word
-     * @return The result
+     * @return The inflected word, or {@code null} if it doesn't match the inflection pattern
      */
-    public String replace(String word) {
-      int flags = 0;
-      if (ignoreCase) {
-        flags = flags | java.util.regex.Pattern.CASE_INSENSITIVE;
-      }
-      return java.util.regex.Pattern.compile(pattern, flags).matcher(word).replaceAll(replacement);
+    public String apply(String word) {
+      Matcher matcher = pattern.matcher(word);
+      return matcher.find() ? matcher.replaceAll(replacement) : null;
     }
   }
 }
@@ -8,10 +8,14 @@ package org.mule.runtime.extension.internal.loader;
 
 import static com.google.common.collect.ImmutableSet.of;
 import static java.lang.String.format;
+import static java.lang.Runtime.getRuntime;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Comparator.comparing;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -66,9 +70,12 @@ import org.mule.runtime.api.meta.model.stereotype.StereotypeModel;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
 import org.mule.runtime.extension.api.exception.IllegalParameterModelDefinitionException;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 import org.mule.runtime.extension.api.loader.ExtensionModelValidator;
 import org.mule.runtime.extension.api.loader.ProblemsReporter;
+import org.mule.runtime.extension.api.loader.ValidationTimingListener;
 import org.mule.runtime.extension.api.model.ImmutableExtensionModel;
 import org.mule.runtime.extension.api.model.ImmutableOutputModel;
 import org.mule.runtime.extension.api.model.config.ImmutableConfigurationModel;
@@ -124,7 +131,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 /**
@@ -133,6 +149,8 @@ import java.util.function.Supplier;
  * This factory is also responsible of applying the {@link DeclarationEnricher} which are default to the runtime plus the ones
  * specified through {@link ExtensionLoadingContext#addCustomValidators(Collection)}
  * <p>
+ * Instances hold no per extension state, so the same one can be used to create several extensions concurrently.
+ * <p>
  * This class is not part of the API and should not be used by anyone (or anything) but the runtime. Backwards compatibility not
  * guaranteed on this class.
  *
@@ -142,6 +160,55 @@ public final class ExtensionModelFactory {
 
   public static final String PROBLEMS_HANDLER = "PROBLEMS_HANDLER";
 
+  /**
+   * Key of an {@link ExtensionLoadingContext} parameter which, when set to {@code true}, makes the {@link DeclarationEnricher}s
+   * of the same {@link DeclarationEnricherPhase} which have disjoint {@link DeclarationEnricher#getFootprint() footprints} to be
+   * applied concurrently. The resulting model is the same as when enrichers are applied sequentially.
+   *
+   * @since 1.3
+   */
+  public static final String PARALLEL_ENRICHMENT = "PARALLEL_ENRICHMENT";
+
+  /**
+   * Key of an {@link ExtensionLoadingContext} parameter which, when set to {@code true}, makes the
+   * {@link ExtensionModelValidator}s to be executed concurrently. Problems are still reported in the order in which the
+   * validators are declared.
+   *
+   * @since 1.3
+   */
+  public static final String PARALLEL_VALIDATION = "PARALLEL_VALIDATION";
+
+  /**
+   * Key of an {@link ExtensionLoadingContext} parameter which, when set to {@code true}, makes the validation stop as soon as
+   * a {@link ExtensionModelValidator} reports an error. Along with {@link #PARALLEL_VALIDATION}, the validators declared after
+   * the first failing one may still be executed, but their problems are discarded, so the reported problems are the same as
+   * when validating sequentially.
+   *
+   * @since 1.3
+   */
+  public static final String FAIL_FAST_VALIDATION = "FAIL_FAST_VALIDATION";
+
+  /**
+   * Key of an {@link ExtensionLoadingContext} parameter holding a {@link ValidationTimingListener} to be notified of the time
+   * spent on each {@link ExtensionModelValidator}.
+   *
+   * @since 1.3
+   */
+  public static final String VALIDATION_TIMING_LISTENER = "VALIDATION_TIMING_LISTENER";
+
+  /**
+   * Key of an {@link ExtensionLoadingContext} parameter holding the {@link Executor} used for the concurrent work enabled by
+   * {@link #PARALLEL_ENRICHMENT} and {@link #PARALLEL_VALIDATION}. If not set, a pool dedicated to this factory is used. The
+   * calling thread runs the tasks which the executor didn't start yet instead of waiting for them, so the executor can be the
+   * same one the caller runs on.
+   *
+   * @since 1.3
+   */
+  public static final String PARALLEL_LOADING_EXECUTOR = "PARALLEL_LOADING_EXECUTOR";
+
+  private static final ValidationTimingListener NULL_TIMING_LISTENER = (extensionModel, validator, elapsedNanos) -> {
+  };
+
   private final List<DeclarationEnricher> declarationEnrichers;
   private final List<ExtensionModelValidator> extensionModelValidators;
   private final boolean validate;
@@ -208,7 +275,79 @@ public final class ExtensionModelFactory {
     List<ExtensionModelValidator> validators = new LinkedList<>(extensionModelValidators);
     validators.addAll(extensionLoadingContext.getCustomValidators());
 
-    validators.forEach(v -> v.validate(extensionModel, problemsReporter));
+    final ValidationTimingListener timingListener = getValidationTimingListener(extensionLoadingContext);
+    final boolean failFast = isEnabled(extensionLoadingContext, FAIL_FAST_VALIDATION);
+
+    if (isEnabled(extensionLoadingContext, PARALLEL_VALIDATION)) {
+      validateConcurrently(validators, extensionModel, problemsReporter, timingListener, failFast,
+                           getExecutor(extensionLoadingContext));
+    } else {
+      for (ExtensionModelValidator validator : validators) {
+        validate(validator, extensionModel, problemsReporter, timingListener);
+        if (failFast && problemsReporter.hasErrors()) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void validate(ExtensionModelValidator validator, ExtensionModel extensionModel, ProblemsReporter problemsReporter,
+                        ValidationTimingListener timingListener) {
+    final long start = nanoTime();
+    try {
+      validator.validate(extensionModel, problemsReporter);
+    } finally {
+      timingListener.onValidatorExecuted(extensionModel, validator, nanoTime() - start);
+    }
+  }
+
+  /**
+   * Runs each validator on its own {@link ProblemsReporter} and then merges them, in the validators order, into the given
+   * {@code problemsReporter}, so that the reported problems don't depend on the execution order. When {@code failFast}, the
+   * problems of the validators after the first one which reports an error are discarded and the ones which didn't start yet
+   * are cancelled, so that the outcome is the same as validating sequentially.
+   */
+  private void validateConcurrently(List<ExtensionModelValidator> validators, ExtensionModel extensionModel,
+                                    ProblemsReporter problemsReporter, ValidationTimingListener timingListener,
+                                    boolean failFast, Executor executor) {
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    List<FutureTask<ProblemsReporter>> tasks = validators.stream()
+        .map(validator -> new FutureTask<>(withContextClassLoader(contextClassLoader, () -> {
+          ProblemsReporter validatorReporter = new ProblemsReporter(extensionModel);
+          validate(validator, extensionModel, validatorReporter, timingListener);
+          return validatorReporter;
+        })))
+        .collect(toList());
+
+    fork(tasks, executor);
+    try {
+      for (FutureTask<ProblemsReporter> task : tasks) {
+        ProblemsReporter validatorReporter = join(task);
+        validatorReporter.getErrors().forEach(problemsReporter::addError);
+        validatorReporter.getWarnings().forEach(problemsReporter::addWarning);
+        if (failFast && validatorReporter.hasErrors()) {
+          return;
+        }
+      }
+    } finally {
+      tasks.forEach(task -> task.cancel(false));
+    }
+  }
+
+  private <T> T getDone(Future<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw rethrow(e);
+    } catch (InterruptedException e) {
+      currentThread().interrupt();
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private ValidationTimingListener getValidationTimingListener(ExtensionLoadingContext extensionLoadingContext) {
+    return (ValidationTimingListener) extensionLoadingContext.getParameter(VALIDATION_TIMING_LISTENER)
+        .orElse(NULL_TIMING_LISTENER);
   }
 
   private void validateMuleVersion(ExtensionDeclaration extensionDeclaration) {
@@ -230,7 +369,128 @@ public final class ExtensionModelFactory {
     List<DeclarationEnricher> enrichers = new LinkedList<>(extensionLoadingContext.getCustomDeclarationEnrichers());
     enrichers.addAll(declarationEnrichers);
     enrichers.sort(comparing(DeclarationEnricher::getExecutionPhase));
-    enrichers.forEach(enricher -> enricher.enrich(extensionLoadingContext));
+
+    if (isEnabled(extensionLoadingContext, PARALLEL_ENRICHMENT)) {
+      toConcurrentBatches(enrichers).forEach(batch -> enrichConcurrently(batch, extensionLoadingContext));
+    } else {
+      enrichers.forEach(enricher -> enricher.enrich(extensionLoadingContext));
+    }
+  }
+
+  private boolean isEnabled(ExtensionLoadingContext extensionLoadingContext, String parameterName) {
+    return extensionLoadingContext.getParameter(parameterName)
+        .map(value -> Boolean.valueOf(value.toString()))
+        .orElse(false);
+  }
+
+  /**
+   * Splits the given phase sorted {@code enrichers} into consecutive batches of enrichers which belong to the same
+   * {@link DeclarationEnricherPhase} and have pairwise disjoint footprints. Because those enrichers commute, applying the
+   * batches in order yields the same declaration as applying every enricher sequentially.
+   */
+  private List<List<DeclarationEnricher>> toConcurrentBatches(List<DeclarationEnricher> enrichers) {
+    List<List<DeclarationEnricher>> batches = new ArrayList<>();
+    List<DeclarationEnricher> batch = new ArrayList<>();
+
+    for (DeclarationEnricher enricher : enrichers) {
+      if (!batch.isEmpty() && !canJoin(batch, enricher)) {
+        batches.add(batch);
+        batch = new ArrayList<>();
+      }
+      batch.add(enricher);
+    }
+
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+
+    return batches;
+  }
+
+  private boolean canJoin(List<DeclarationEnricher> batch, DeclarationEnricher enricher) {
+    if (batch.get(0).getExecutionPhase() != enricher.getExecutionPhase()) {
+      return false;
+    }
+
+    Optional<DeclarationEnricherFootprint> footprint = enricher.getFootprint();
+    return footprint.isPresent() && batch.stream()
+        .allMatch(member -> member.getFootprint().map(f -> f.isDisjointWith(footprint.get())).orElse(false));
+  }
+
+  private void enrichConcurrently(List<DeclarationEnricher> batch, ExtensionLoadingContext extensionLoadingContext) {
+    if (batch.size() == 1) {
+      batch.get(0).enrich(extensionLoadingContext);
+      return;
+    }
+
+    // enrichers run with the extension's TCCL, which the pool threads don't have
+    final ClassLoader contextClassLoader = currentThread().getContextClassLoader();
+    List<FutureTask<Object>> tasks = batch.stream()
+        .map(enricher -> new FutureTask<>(withContextClassLoader(contextClassLoader, () -> {
+          enricher.enrich(extensionLoadingContext);
+          return null;
+        })))
+        .collect(toList());
+
+    fork(tasks, getExecutor(extensionLoadingContext));
+    try {
+      tasks.forEach(this::join);
+    } finally {
+      tasks.forEach(task -> task.cancel(false));
+    }
+  }
+
+  private Executor getExecutor(ExtensionLoadingContext extensionLoadingContext) {
+    return (Executor) extensionLoadingContext.getParameter(PARALLEL_LOADING_EXECUTOR)
+        .orElseGet(() -> DefaultExecutorHolder.EXECUTOR);
+  }
+
+  /**
+   * Hands all but the first of the given {@code tasks} to the {@code executor}. The first one, and any other which didn't start
+   * by the time it is {@link #join(FutureTask) joined}, runs on the calling thread.
+   */
+  private void fork(List<? extends FutureTask<?>> tasks, Executor executor) {
+    for (int i = 1; i < tasks.size(); i++) {
+      try {
+        executor.execute(tasks.get(i));
+      } catch (RejectedExecutionException e) {
+        // the task is run by the caller when joined
+      }
+    }
+  }
+
+  /**
+   * Runs the {@code task} on the calling thread unless it already started, and then waits for its outcome. Since only tasks
+   * which are already running are waited for, the caller never blocks on a task queued behind it, even if it is itself a
+   * thread of the same executor.
+   */
+  private <T> T join(FutureTask<T> task) {
+    task.run();
+    return getDone(task);
+  }
+
+  private <T> Callable<T> withContextClassLoader(ClassLoader contextClassLoader, Callable<T> task) {
+    return () -> {
+      Thread thread = currentThread();
+      ClassLoader currentClassLoader = thread.getContextClassLoader();
+      thread.setContextClassLoader(contextClassLoader);
+      try {
+        return task.call();
+      } finally {
+        thread.setContextClassLoader(currentClassLoader);
+      }
+    };
+  }
+
+  private RuntimeException rethrow(ExecutionException e) {
+    Throwable cause = e.getCause();
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new MuleRuntimeException(cause);
   }
 
   private boolean isExpression(String value) {
@@ -592,4 +852,25 @@ public final class ExtensionModelFactory {
     return (ProblemsHandler) extensionLoadingContext.getParameter(PROBLEMS_HANDLER)
         .orElseGet(() -> new DefaultProblemsHandler(extensionModel));
   }
+
+  /**
+   * Lazily creates the pool used when no {@link #PARALLEL_LOADING_EXECUTOR} is provided. Its threads are daemons and are
+   * discarded when idle, so it doesn't need to be disposed.
+   */
+  private static final class DefaultExecutorHolder {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private static ExecutorService createExecutor() {
+      final AtomicInteger threadCount = new AtomicInteger();
+      final int threads = getRuntime().availableProcessors();
+      ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, SECONDS, new LinkedBlockingQueue<>(), task -> {
+        Thread thread = new Thread(task, "extension-model-factory-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
 }
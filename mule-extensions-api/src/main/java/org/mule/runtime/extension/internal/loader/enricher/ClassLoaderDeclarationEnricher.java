@@ -6,14 +6,21 @@
  */
 package org.mule.runtime.extension.internal.loader.enricher;
 
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.POST_STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.EXTENSION;
 
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
+import org.mule.runtime.extension.api.loader.DeclarationSection;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 import org.mule.runtime.extension.api.property.ClassLoaderModelProperty;
 
+import java.util.EnumSet;
+import java.util.Optional;
+
 /**
  * Adds a {@link ClassLoaderModelProperty} pointing to {@link ExtensionLoadingContext#getExtensionClassLoader()}
  *
@@ -26,6 +33,11 @@ public class ClassLoaderDeclarationEnricher implements DeclarationEnricher {
     return POST_STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.noneOf(DeclarationSection.class), EnumSet.of(EXTENSION)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     ClassLoader classLoader = extensionLoadingContext.getExtensionClassLoader();
@@ -10,7 +10,11 @@ import static java.util.stream.Collectors.toList;
 import static org.mule.metadata.api.model.MetadataFormat.JAVA;
 import static org.mule.runtime.api.meta.ExpressionSupport.NOT_SUPPORTED;
 import static org.mule.runtime.api.meta.model.parameter.ParameterRole.BEHAVIOUR;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENT_ATTRIBUTES;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.PARAMETERS;
 
 import org.mule.metadata.api.builder.BaseTypeBuilder;
 import org.mule.metadata.api.model.MetadataType;
@@ -23,6 +27,7 @@ import org.mule.runtime.api.meta.model.declaration.fluent.ParameterDeclaration;
 import org.mule.runtime.api.meta.model.declaration.fluent.ParameterizedDeclaration;
 import org.mule.runtime.extension.api.declaration.fluent.util.IdempotentDeclarationWalker;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 import org.mule.runtime.extension.api.property.NoImplicitModelProperty;
@@ -30,7 +35,9 @@ import org.mule.runtime.extension.api.property.SyntheticModelModelProperty;
 import org.mule.runtime.extension.api.runtime.config.ConfigurationProvider;
 
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
@@ -53,6 +60,11 @@ public class ConfigRefDeclarationEnricher implements DeclarationEnricher {
     return STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.of(COMPONENTS, COMPONENT_ATTRIBUTES), EnumSet.of(PARAMETERS)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     final ExtensionDeclaration declaration = extensionLoadingContext.getExtensionDeclarer().getDeclaration();
@@ -7,7 +7,12 @@
 package org.mule.runtime.extension.internal.loader.enricher;
 
 import static org.mule.runtime.api.meta.model.connection.ConnectionManagementType.POOLING;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENT_ATTRIBUTES;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.EXTENSION;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.PARAMETERS;
 import static org.mule.runtime.extension.internal.loader.util.InfrastructureParameterBuilder.addReconnectionConfigParameter;
 import static org.mule.runtime.extension.internal.loader.util.InfrastructureParameterBuilder.addPoolingProfileParameter;
 import org.mule.runtime.api.config.PoolingProfile;
@@ -16,10 +21,14 @@ import org.mule.runtime.api.meta.model.declaration.fluent.ConnectionProviderDecl
 import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclaration;
 import org.mule.runtime.extension.api.declaration.fluent.util.IdempotentDeclarationWalker;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 import org.mule.runtime.extension.internal.property.NoReconnectionStrategyModelProperty;
 
+import java.util.EnumSet;
+import java.util.Optional;
+
 /**
  * Enriches all the {@link ConnectionProviderDeclaration} by adding language rules parameters.
  * <p>
@@ -42,6 +51,11 @@ public class ConnectionProviderDeclarationEnricher implements DeclarationEnriche
     return STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.of(EXTENSION, COMPONENTS, COMPONENT_ATTRIBUTES), EnumSet.of(PARAMETERS)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     final ExtensionDeclaration declaration = extensionLoadingContext.getExtensionDeclarer().getDeclaration();
@@ -10,7 +10,10 @@ import static java.util.stream.Collectors.toList;
 import static org.mule.runtime.api.meta.model.parameter.ParameterRole.BEHAVIOUR;
 import static org.mule.runtime.api.meta.model.parameter.ParameterRole.PRIMARY_CONTENT;
 import static org.mule.runtime.extension.api.annotation.param.Optional.PAYLOAD;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.POST_STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.PARAMETERS;
 
 import org.mule.runtime.api.meta.model.ParameterDslConfiguration;
 import org.mule.runtime.api.meta.model.declaration.fluent.OperationDeclaration;
@@ -21,10 +24,13 @@ import org.mule.runtime.api.meta.model.parameter.ParameterRole;
 import org.mule.runtime.extension.api.annotation.param.Optional;
 import org.mule.runtime.extension.api.declaration.fluent.util.IdempotentDeclarationWalker;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Sets defaults and other configurations on content parameters so that they
@@ -48,6 +54,11 @@ public final class ContentParameterDeclarationEnricher implements DeclarationEnr
     return POST_STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.of(COMPONENTS), EnumSet.of(PARAMETERS)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     new IdempotentDeclarationWalker() {
@@ -6,16 +6,23 @@
  */
 package org.mule.runtime.extension.internal.loader.enricher;
 
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.PARAMETERS;
 import static org.mule.runtime.extension.api.util.ExtensionModelUtils.acceptsExpressions;
 import static org.mule.runtime.extension.internal.loader.util.InfrastructureParameterBuilder.addExpirationPolicy;
 import org.mule.runtime.api.meta.model.declaration.fluent.ConfigurationDeclaration;
 import org.mule.runtime.api.meta.model.declaration.fluent.ParameterizedDeclaration;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 import org.mule.runtime.extension.api.runtime.ExpirationPolicy;
 
+import java.util.EnumSet;
+import java.util.Optional;
+
 /**
  * Adds an {@link ExpirationPolicy} parameter to all configs which might be used in a dynamic way
  *
@@ -28,6 +35,11 @@ public class DynamicConfigDeclarationEnricher implements DeclarationEnricher {
     return STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.of(COMPONENTS), EnumSet.of(PARAMETERS)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     extensionLoadingContext.getExtensionDeclarer().getDeclaration().getConfigurations().forEach(config -> {
@@ -8,15 +8,22 @@ package org.mule.runtime.extension.internal.loader.enricher;
 
 import static org.mule.runtime.api.meta.model.operation.ExecutionType.BLOCKING;
 import static org.mule.runtime.api.meta.model.operation.ExecutionType.CPU_LITE;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.POST_STRUCTURE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENT_ATTRIBUTES;
 
 import org.mule.runtime.api.meta.model.operation.ExecutionType;
 import org.mule.runtime.api.meta.model.declaration.fluent.OperationDeclaration;
 import org.mule.runtime.extension.api.declaration.fluent.util.IdempotentDeclarationWalker;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 
+import java.util.EnumSet;
+import java.util.Optional;
+
 /**
  * Sets the {@link ExecutionType} on all operations which didn't explicitly
  * set one. This is done by doing a best guess with the following rules:
@@ -39,6 +46,11 @@ public final class ExecutionTypeDeclarationEnricher implements DeclarationEnrich
     return POST_STRUCTURE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.of(COMPONENTS), EnumSet.of(COMPONENT_ATTRIBUTES)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     new IdempotentDeclarationWalker() {
@@ -7,14 +7,21 @@
 package org.mule.runtime.extension.internal.loader.enricher;
 
 import static java.util.Optional.empty;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
 import static org.mule.runtime.extension.api.loader.DeclarationEnricherPhase.INITIALIZE;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.EXTENSION;
 import static org.mule.runtime.extension.api.util.XmlModelUtils.createXmlLanguageModel;
 import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclaration;
 import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclarer;
 import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
 import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
+import org.mule.runtime.extension.api.loader.DeclarationSection;
 import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
 
+import java.util.EnumSet;
+import java.util.Optional;
+
 public final class XmlDeclarationEnricher implements DeclarationEnricher {
 
   @Override
@@ -22,6 +29,11 @@ public final class XmlDeclarationEnricher implements DeclarationEnricher {
     return INITIALIZE;
   }
 
+  @Override
+  public Optional<DeclarationEnricherFootprint> getFootprint() {
+    return Optional.of(footprint(EnumSet.noneOf(DeclarationSection.class), EnumSet.of(EXTENSION)));
+  }
+
   @Override
   public void enrich(ExtensionLoadingContext extensionLoadingContext) {
     final ExtensionDeclarer extensionDeclarer = extensionLoadingContext.getExtensionDeclarer();
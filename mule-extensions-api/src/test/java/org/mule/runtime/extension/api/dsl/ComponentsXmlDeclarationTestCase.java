@@ -8,6 +8,8 @@ package org.mule.runtime.extension.api.dsl;
 
 import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -17,6 +19,8 @@ import org.mule.runtime.api.meta.model.parameter.ParameterModel;
 import org.mule.runtime.api.meta.model.parameter.ParameterRole;
 import org.mule.runtime.extension.api.dsl.model.ComplexFieldsType;
 import org.mule.runtime.extension.api.dsl.syntax.DslElementSyntax;
+import org.mule.runtime.extension.api.dsl.syntax.DslElementSyntaxCache;
+import org.mule.runtime.extension.api.dsl.syntax.XmlDslSyntaxResolver;
 
 import java.util.stream.Stream;
 
@@ -179,6 +183,22 @@ public class ComponentsXmlDeclarationTestCase extends BaseXmlDeclarationTestCase
     assertThat(result.requiresConfig(), is(true));
   }
 
+  @Test
+  public void sharedCache() {
+    DslElementSyntaxCache cache = new DslElementSyntaxCache();
+    DslElementSyntax first = new XmlDslSyntaxResolver(extension, dslContext, cache).resolve(operation);
+    long hits = cache.getHitCount();
+    long misses = cache.getMissCount();
+
+    DslElementSyntax second = new XmlDslSyntaxResolver(extension, dslContext, cache).resolve(operation);
+    assertThat(second, is(sameInstance(first)));
+    assertThat(cache.getHitCount(), is(hits + 1));
+    assertThat(cache.getMissCount(), is(misses));
+
+    cache.invalidate(extension);
+    assertThat(new XmlDslSyntaxResolver(extension, dslContext, cache).resolve(operation), is(not(sameInstance(first))));
+  }
+
   private void assertStringTypeComponentParameter(DslElementSyntax result) {
 
     ifContentParameter(() -> assertThat(result.getChild(PARAMETER_NAME).isPresent(), is(true)),
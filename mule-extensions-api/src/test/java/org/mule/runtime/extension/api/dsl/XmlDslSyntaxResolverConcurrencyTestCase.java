@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.dsl;
+
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.dsl.DslResolvingContext.getDefault;
+
+import org.mule.metadata.api.ClassTypeLoader;
+import org.mule.metadata.api.model.ObjectType;
+import org.mule.runtime.api.meta.NamedObject;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclarer;
+import org.mule.runtime.api.meta.model.declaration.fluent.OperationDeclarer;
+import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.meta.model.connection.HasConnectionProviderModels;
+import org.mule.runtime.api.meta.model.operation.HasOperationModels;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
+import org.mule.runtime.api.meta.model.source.HasSourceModels;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+import org.mule.runtime.api.meta.model.tck.TestWebServiceConsumerDeclarer;
+import org.mule.runtime.api.meta.model.util.ExtensionWalker;
+import org.mule.runtime.extension.api.declaration.type.ExtensionsTypeLoaderFactory;
+import org.mule.runtime.extension.api.dsl.model.RecursiveChainA;
+import org.mule.runtime.extension.api.dsl.model.RecursivePojo;
+import org.mule.runtime.extension.api.dsl.syntax.DslElementSyntax;
+import org.mule.runtime.extension.api.dsl.syntax.XmlDslSyntaxResolver;
+import org.mule.runtime.extension.api.dsl.syntax.resolver.SingleExtensionImportTypesStrategy;
+import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
+import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class XmlDslSyntaxResolverConcurrencyTestCase {
+
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 20;
+
+  private final ClassTypeLoader typeLoader = ExtensionsTypeLoaderFactory.getDefault().createTypeLoader();
+  private final List<NamedObject> components = new ArrayList<>();
+  private final List<ParameterModel> parameters = new ArrayList<>();
+  private final ExecutorService executor = newFixedThreadPool(THREADS);
+  private ExtensionModel extensionModel;
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void sharedResolverIsThreadSafe() throws Exception {
+    load(declarer -> new TestWebServiceConsumerDeclarer().declareOn(declarer));
+    assertResolvedConcurrently();
+  }
+
+  @Test
+  public void sharedResolverIsThreadSafeWithRecursiveTypes() throws Exception {
+    load(declarer -> {
+      new TestWebServiceConsumerDeclarer().declareOn(declarer);
+
+      OperationDeclarer operation = declarer.withOperation("recursive").describedAs("Receives recursive types");
+      operation.withOutput().ofType(typeLoader.load(String.class));
+      operation.withOutputAttributes().ofType(typeLoader.load(void.class));
+      declareRecursiveParameter(declarer, operation, "pojo", RecursivePojo.class);
+      declareRecursiveParameter(declarer, operation, "chain", RecursiveChainA.class);
+    });
+    assertThat(extensionModel.getTypes().isEmpty(), is(false));
+
+    assertResolvedConcurrently();
+  }
+
+  /**
+   * Resolves the DSL of all the components, parameters and types of the {@link #extensionModel} from many threads sharing the
+   * same {@link XmlDslSyntaxResolver}, and checks that each of them gets the same result as a single thread with its own one.
+   */
+  private void assertResolvedConcurrently() throws Exception {
+    List<DslElementSyntax> expected = resolveAll(newResolver());
+    assertThat(expected.isEmpty(), is(false));
+
+    for (int round = 0; round < ROUNDS; round++) {
+      XmlDslSyntaxResolver resolver = newResolver();
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<List<DslElementSyntax>>> results = new ArrayList<>();
+      for (int i = 0; i < THREADS; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return resolveAll(resolver);
+        }));
+      }
+
+      start.countDown();
+      for (Future<List<DslElementSyntax>> result : results) {
+        assertThat(result.get(), equalTo(expected));
+      }
+    }
+  }
+
+  private void declareRecursiveParameter(ExtensionDeclarer declarer, OperationDeclarer operation, String name,
+                                         Class<?> type) {
+    ObjectType objectType = (ObjectType) typeLoader.load(type);
+    declarer.withType(objectType);
+    operation.onDefaultParameterGroup().withOptionalParameter(name).ofType(objectType);
+  }
+
+  private void load(Consumer<ExtensionDeclarer> declaration) {
+    extensionModel = new ExtensionModelLoader() {
+
+      @Override
+      public String getId() {
+        return "test";
+      }
+
+      @Override
+      protected void declareExtension(ExtensionLoadingContext context) {
+        declaration.accept(context.getExtensionDeclarer());
+      }
+    }.loadExtensionModel(getClass().getClassLoader(), getDefault(emptySet()), new HashMap<>());
+
+    new ExtensionWalker() {
+
+      @Override
+      protected void onConfiguration(ConfigurationModel model) {
+        components.add(model);
+      }
+
+      @Override
+      protected void onConnectionProvider(HasConnectionProviderModels owner, ConnectionProviderModel model) {
+        components.add(model);
+      }
+
+      @Override
+      protected void onOperation(HasOperationModels owner, OperationModel model) {
+        components.add(model);
+      }
+
+      @Override
+      protected void onSource(HasSourceModels owner, SourceModel model) {
+        components.add(model);
+      }
+
+      @Override
+      protected void onParameter(ParameterizedModel owner, ParameterGroupModel groupModel, ParameterModel model) {
+        parameters.add(model);
+      }
+    }.walk(extensionModel);
+  }
+
+  private XmlDslSyntaxResolver newResolver() {
+    return new XmlDslSyntaxResolver(extensionModel, new SingleExtensionImportTypesStrategy());
+  }
+
+  private List<DslElementSyntax> resolveAll(XmlDslSyntaxResolver resolver) {
+    List<DslElementSyntax> resolved = new ArrayList<>();
+    components.forEach(component -> resolved.add(resolver.resolve(component)));
+    parameters.forEach(parameter -> resolved.add(resolver.resolve(parameter)));
+    extensionModel.getTypes().forEach(type -> resolver.resolve(type).ifPresent(resolved::add));
+    return resolved;
+  }
+}
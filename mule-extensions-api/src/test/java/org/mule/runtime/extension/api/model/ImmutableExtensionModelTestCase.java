@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.model;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.meta.Category.COMMUNITY;
+
+import org.mule.runtime.api.meta.NamedObject;
+import org.mule.runtime.api.meta.model.XmlDslModel;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.construct.ConstructModel;
+import org.mule.runtime.api.meta.model.function.FunctionModel;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ImmutableExtensionModelTestCase {
+
+  private OperationModel operation;
+  private OperationModel duplicateOperation;
+  private SourceModel source;
+  private ConfigurationModel configuration;
+  private ConstructModel construct;
+  private FunctionModel function;
+
+  private ImmutableExtensionModel extensionModel;
+
+  @Before
+  public void before() {
+    operation = named(OperationModel.class, "operation");
+    duplicateOperation = named(OperationModel.class, "operation");
+    source = named(SourceModel.class, "source");
+    configuration = named(ConfigurationModel.class, "config");
+    construct = named(ConstructModel.class, "construct");
+    function = named(FunctionModel.class, "function");
+
+    extensionModel = new ImmutableExtensionModel("extension", "", "1.0.0", "MuleSoft", COMMUNITY,
+                                                 asList(configuration), asList(operation, duplicateOperation),
+                                                 emptyList(), asList(source), asList(function), asList(construct),
+                                                 null, XmlDslModel.builder().build(), emptySet(), emptySet(),
+                                                 emptySet(), emptySet(), emptySet(), emptySet(), emptySet(), emptySet(),
+                                                 emptySet(), emptySet(), null);
+  }
+
+  @Test
+  public void lookupComponentsByName() {
+    assertThat(extensionModel.getSourceModel("source").get(), is(sameInstance(source)));
+    assertThat(extensionModel.getConfigurationModel("config").get(), is(sameInstance(configuration)));
+    assertThat(extensionModel.getConstructModel("construct").get(), is(sameInstance(construct)));
+    assertThat(extensionModel.getFunctionModel("function").get(), is(sameInstance(function)));
+  }
+
+  @Test
+  public void firstComponentWinsOnRepeatedNames() {
+    assertThat(extensionModel.getOperationModel("operation").get(), is(sameInstance(operation)));
+  }
+
+  @Test
+  public void lookupMissingComponent() {
+    assertThat(extensionModel.getOperationModel("source").isPresent(), is(false));
+    assertThat(extensionModel.getConnectionProviderModel("operation").isPresent(), is(false));
+    assertThat(extensionModel.getFunctionModel(null).isPresent(), is(false));
+  }
+
+  @Test
+  public void lookupDoesNotAllocate() {
+    assertThat(extensionModel.getOperationModel("operation"), is(sameInstance(extensionModel.getOperationModel("operation"))));
+  }
+
+  private <T extends NamedObject> T named(Class<T> type, String name) {
+    T model = mock(type);
+    when(model.getName()).thenReturn(name);
+    return model;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ACCEPTED;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.ALREADY_IN_PROCESS;
+import static org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus.FILTERED_BY_WATERMARK;
+
+import org.mule.runtime.extension.api.runtime.source.PollContext.PollItemStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class AdaptivePollingFrequencyTestCase {
+
+  private final AdaptivePollingFrequency frequency = AdaptivePollingFrequency.builder(1, SECONDS)
+      .minInterval(100, MILLISECONDS)
+      .maxInterval(10, SECONDS)
+      .fullPollSize(50)
+      .build();
+
+  @Test
+  public void emptyPollsBackOffExponentially() {
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(2000L));
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(4000L));
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(8000L));
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(10000L));
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(10000L));
+  }
+
+  @Test
+  public void fullPollsShortenInterval() {
+    assertThat(frequency.onPollCompleted(counts(50, 0, 0), MILLISECONDS), is(500L));
+    assertThat(frequency.onPollCompleted(counts(60, 0, 0), MILLISECONDS), is(250L));
+    assertThat(frequency.onPollCompleted(counts(50, 0, 0), MILLISECONDS), is(125L));
+    assertThat(frequency.onPollCompleted(counts(50, 0, 0), MILLISECONDS), is(100L));
+  }
+
+  @Test
+  public void partialPollGoesBackToBaseInterval() {
+    frequency.onPollCompleted(emptyMap(), MILLISECONDS);
+    assertThat(frequency.onPollCompleted(counts(10, 0, 0), MILLISECONDS), is(1000L));
+
+    frequency.onPollCompleted(counts(50, 0, 0), MILLISECONDS);
+    assertThat(frequency.onPollCompleted(counts(10, 0, 0), MILLISECONDS), is(1000L));
+  }
+
+  @Test
+  public void pollsFilteredByWatermarkBackOff() {
+    assertThat(frequency.onPollCompleted(counts(0, 50, 0), MILLISECONDS), is(2000L));
+  }
+
+  @Test
+  public void pollsOutpacingProcessingBackOff() {
+    assertThat(frequency.onPollCompleted(counts(50, 0, 51), MILLISECONDS), is(2000L));
+  }
+
+  @Test
+  public void withoutFullPollSizeIntervalIsNeverShortened() {
+    AdaptivePollingFrequency frequency = AdaptivePollingFrequency.builder(1, SECONDS)
+        .minInterval(100, MILLISECONDS)
+        .build();
+    assertThat(frequency.onPollCompleted(counts(1000, 0, 0), MILLISECONDS), is(1000L));
+    assertThat(frequency.onPollCompleted(emptyMap(), MILLISECONDS), is(1000L));
+  }
+
+  @Test
+  public void reset() {
+    frequency.onPollCompleted(emptyMap(), MILLISECONDS);
+    frequency.reset();
+    assertThat(frequency.getCurrentInterval(SECONDS), is(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void minIntervalLongerThanBase() {
+    AdaptivePollingFrequency.builder(1, SECONDS).minInterval(2, SECONDS);
+  }
+
+  private Map<PollItemStatus, Integer> counts(int accepted, int filtered, int alreadyInProcess) {
+    Map<PollItemStatus, Integer> counts = new EnumMap<>(PollItemStatus.class);
+    counts.put(ACCEPTED, accepted);
+    counts.put(FILTERED_BY_WATERMARK, filtered);
+    counts.put(ALREADY_IN_PROCESS, alreadyInProcess);
+    return counts;
+  }
+}
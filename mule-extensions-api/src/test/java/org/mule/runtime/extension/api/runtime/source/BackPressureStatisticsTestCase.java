@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.extension.api.runtime.source.BackPressureAction.DROP;
+import static org.mule.runtime.extension.api.runtime.source.BackPressureAction.FAIL;
+
+import org.junit.Test;
+
+public class BackPressureStatisticsTestCase {
+
+  private final BackPressureStatistics statistics = new BackPressureStatistics(0.5);
+
+  @Test
+  public void rejectionsPerAction() {
+    statistics.recordRejection(DROP);
+    statistics.recordRejection(DROP);
+    statistics.recordRejection(FAIL);
+
+    assertThat(statistics.getRejectedCount(DROP), is(2L));
+    assertThat(statistics.getRejectedCount(FAIL), is(1L));
+    assertThat(statistics.getRejectedCount(), is(3L));
+  }
+
+  @Test
+  public void waitTime() {
+    statistics.recordWait(MILLISECONDS.toNanos(30));
+    statistics.recordWait(MILLISECONDS.toNanos(20));
+
+    assertThat(statistics.getWaitCount(), is(2L));
+    assertThat(statistics.getTotalWaitTime(MILLISECONDS), is(50L));
+  }
+
+  @Test
+  public void dispatchLatencyMovingAverage() {
+    assertThat(statistics.getAverageDispatchLatency(NANOSECONDS), is(0L));
+
+    statistics.recordDispatch(100);
+    assertThat(statistics.getAverageDispatchLatency(NANOSECONDS), is(100L));
+    statistics.recordDispatch(200);
+    assertThat(statistics.getAverageDispatchLatency(NANOSECONDS), is(150L));
+    statistics.recordDispatch(50);
+    assertThat(statistics.getAverageDispatchLatency(NANOSECONDS), is(100L));
+    assertThat(statistics.getDispatchedCount(), is(3L));
+  }
+
+  @Test
+  public void saturationRatio() {
+    statistics.recordSaturation(3, 4);
+    assertThat(statistics.getSaturationRatio(), is(0.75));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSmoothingFactor() {
+    new BackPressureStatistics(0);
+  }
+}
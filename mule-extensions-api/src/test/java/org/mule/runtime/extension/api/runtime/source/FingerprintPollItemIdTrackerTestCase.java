@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+
+public class FingerprintPollItemIdTrackerTestCase {
+
+  private final FingerprintPollItemIdTracker tracker = new FingerprintPollItemIdTracker();
+
+  @Test
+  public void duplicatesAreDetected() {
+    assertThat(tracker.add("a", null), is(true));
+    assertThat(tracker.add("b", null), is(true));
+    assertThat(tracker.add("a", null), is(false));
+    assertThat(tracker.contains("a"), is(true));
+    assertThat(tracker.size(), is(2L));
+
+    assertThat(tracker.remove("a"), is(true));
+    assertThat(tracker.remove("a"), is(false));
+    assertThat(tracker.contains("a"), is(false));
+    assertThat(tracker.add("a", null), is(true));
+  }
+
+  @Test
+  public void removeKeepsOtherIdsReachable() {
+    for (int i = 0; i < 10_000; i++) {
+      tracker.add("id-" + i, null);
+    }
+    for (int i = 0; i < 10_000; i += 2) {
+      assertThat(tracker.remove("id-" + i), is(true));
+    }
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(tracker.contains("id-" + i), is(i % 2 == 1));
+    }
+    assertThat(tracker.size(), is(5_000L));
+  }
+
+  @Test
+  public void idsWithOlderWatermarkAreEvicted() {
+    tracker.add("old", 5);
+    tracker.add("latest", 7);
+    tracker.add("older", 3);
+    tracker.add("alsoLatest", 7);
+
+    tracker.onWatermarkUpdated(7);
+
+    assertThat(tracker.size(), is(2L));
+    assertThat(tracker.contains("latest"), is(true));
+    assertThat(tracker.contains("alsoLatest"), is(true));
+    assertThat(tracker.contains("old"), is(false));
+
+    assertThat(tracker.add("latest", 7), is(false));
+    assertThat(tracker.add("new", 7), is(true));
+    tracker.onWatermarkUpdated(7);
+    assertThat(tracker.size(), is(3L));
+
+    tracker.add("newer", 9);
+    tracker.onWatermarkUpdated(9);
+    assertThat(tracker.size(), is(1L));
+    assertThat(tracker.contains("newer"), is(true));
+  }
+
+  @Test
+  public void unrelatedWatermarkEvictsAll() {
+    tracker.add("a", 5);
+    tracker.onWatermarkUpdated(6);
+    assertThat(tracker.size(), is(0L));
+
+    tracker.add("b", null);
+    tracker.onWatermarkUpdated(null);
+    assertThat(tracker.size(), is(0L));
+  }
+
+  @Test
+  public void customWatermarkComparator() {
+    FingerprintPollItemIdTracker tracker =
+        new FingerprintPollItemIdTracker(100, 1, (a, b) -> Integer.compare(a.toString().length(), b.toString().length()));
+    tracker.add("short", "aa");
+    tracker.add("long", "aaaa");
+    tracker.onWatermarkUpdated("bbbb");
+    assertThat(tracker.contains("long"), is(true));
+    assertThat(tracker.contains("short"), is(false));
+  }
+
+  @Test
+  public void sizeIsBounded() {
+    FingerprintPollItemIdTracker tracker = new FingerprintPollItemIdTracker(100, 1, null);
+    for (int i = 0; i < 150; i++) {
+      assertThat(tracker.add("id-" + i, null), is(true));
+    }
+    assertThat(tracker.size(), is(100L));
+    assertThat(tracker.getUntrackedCount(), is(50L));
+  }
+
+  @Test
+  public void idsBelowHighestWatermarkAreEvictedWhenFull() {
+    FingerprintPollItemIdTracker tracker = new FingerprintPollItemIdTracker(100, 1, null);
+    for (int i = 0; i < 100; i++) {
+      tracker.add("old-" + i, 1);
+    }
+    for (int i = 0; i < 100; i++) {
+      tracker.add("new-" + i, 2);
+    }
+    assertThat(tracker.getUntrackedCount(), is(0L));
+    assertThat(tracker.size(), is(100L));
+    assertThat(tracker.contains("new-99"), is(true));
+    assertThat(tracker.contains("old-0"), is(false));
+  }
+
+  @Test(timeout = 10000)
+  public void untrackedIdsDontCompactFullShard() {
+    int maxSize = 200_000;
+    FingerprintPollItemIdTracker tracker = new FingerprintPollItemIdTracker(maxSize, 1, null);
+    for (int i = 0; i < maxSize; i++) {
+      tracker.add("id-" + i, 1);
+    }
+
+    // nothing can be evicted, so each of these would otherwise copy the whole shard
+    for (int i = 0; i < maxSize; i++) {
+      assertThat(tracker.add("untracked-" + i, 1), is(true));
+      assertThat(tracker.add("older-" + i, 0), is(true));
+    }
+    assertThat(tracker.getUntrackedCount(), is(2L * maxSize));
+    assertThat(tracker.size(), is((long) maxSize));
+    assertThat(tracker.contains("id-0"), is(true));
+
+    tracker.add("newer", 2);
+    assertThat(tracker.contains("newer"), is(true));
+    assertThat(tracker.size(), is(1L));
+  }
+
+  @Test
+  public void millionIdsPerPoll() {
+    int ids = 1_000_000;
+    for (int i = 0; i < ids; i++) {
+      assertThat(tracker.add("s3://bucket/directory/file-" + i, 42), is(true));
+    }
+    assertThat(tracker.size(), is((long) ids));
+
+    tracker.onWatermarkUpdated(42);
+    int duplicates = 0;
+    for (int i = 0; i < ids; i++) {
+      if (!tracker.add("s3://bucket/directory/file-" + i, 42)) {
+        duplicates++;
+      }
+    }
+    assertThat(duplicates, is(ids));
+    assertThat(tracker.getUntrackedCount(), is(0L));
+  }
+
+  @Test(timeout = 30000)
+  public void idsAddedWhileWatermarkIsUpdatedAreRetained() throws Exception {
+    int threads = 4;
+    int idsPerThread = 50_000;
+    ExecutorService executor = newFixedThreadPool(threads);
+    CountDownLatch done = new CountDownLatch(threads);
+    try {
+      for (int t = 0; t < threads; t++) {
+        String prefix = "thread-" + t + "-";
+        executor.execute(() -> {
+          for (int i = 0; i < idsPerThread; i++) {
+            tracker.add(prefix + i, 42);
+          }
+          done.countDown();
+        });
+      }
+      while (!done.await(0, SECONDS)) {
+        tracker.onWatermarkUpdated(42);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    tracker.onWatermarkUpdated(42);
+    assertThat(tracker.size(), is((long) threads * idsPerThread));
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Test;
+
+public class PollWatermarkTrackerTestCase {
+
+  private final PollWatermarkTracker tracker = new PollWatermarkTracker(null);
+
+  @Test
+  public void watermarkAdvancesOnlyPastCompletedItems() {
+    tracker.register(1);
+    tracker.register(2);
+    tracker.register(3);
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+
+    tracker.complete(3);
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+
+    tracker.complete(1);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(1)));
+
+    tracker.complete(2);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(3)));
+    assertThat(tracker.getPendingCount(), is(0));
+  }
+
+  @Test
+  public void itemsWithSameWatermark() {
+    tracker.register(1);
+    tracker.register(2);
+    tracker.register(2);
+
+    tracker.complete(2);
+    tracker.complete(1);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(1)));
+
+    tracker.complete(2);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(2)));
+  }
+
+  @Test
+  public void itemsWithoutWatermarkAreIgnored() {
+    tracker.register(null);
+    tracker.complete(null);
+    assertThat(tracker.getPendingCount(), is(0));
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+  }
+
+  @Test
+  public void outOfOrderRegistrationDuringPoll() {
+    tracker.beginPoll();
+    tracker.register(5);
+    tracker.complete(5);
+    tracker.register(3);
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+
+    tracker.endPoll();
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+    tracker.complete(3);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(5)));
+
+    tracker.beginPoll();
+    tracker.register(7);
+    tracker.complete(7);
+    tracker.register(4);
+    tracker.endPoll();
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(5)));
+
+    tracker.complete(4);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(7)));
+  }
+
+  @Test
+  public void completedIdsAreKeptUntilWatermarkPassesThem() {
+    tracker.register(1);
+    tracker.register(2);
+    tracker.register(3);
+
+    tracker.complete(2, "b");
+    tracker.complete(3, "c");
+    assertThat(tracker.isCompleted("b", 2), is(true));
+    assertThat(tracker.isCompleted("c", 3), is(true));
+    assertThat(tracker.isCompleted("c", 2), is(false));
+
+    tracker.complete(1, "a");
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(3)));
+    assertThat(tracker.isCompleted("a", 1), is(false));
+    assertThat(tracker.isCompleted("b", 2), is(false));
+    assertThat(tracker.isCompleted("c", 3), is(true));
+
+    tracker.register(4);
+    tracker.complete(4, "d");
+    assertThat(tracker.isCompleted("c", 3), is(false));
+    assertThat(tracker.isCompleted("d", 4), is(true));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void outOfOrderRegistrationOutsidePoll() {
+    tracker.register(5);
+    tracker.complete(5);
+    tracker.register(3);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void completingUnregisteredItem() {
+    tracker.complete(1);
+  }
+
+  @Test
+  public void watermarkComparatorIsHonored() {
+    PollWatermarkTracker tracker = new PollWatermarkTracker((a, b) -> ((Integer) b).compareTo((Integer) a));
+    tracker.register(3);
+    tracker.register(1);
+
+    tracker.complete(1);
+    assertThat(tracker.getSafeWatermark(), is(Optional.empty()));
+    tracker.complete(3);
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(1)));
+  }
+
+  @Test
+  public void concurrentCompletion() throws Exception {
+    int items = 10_000;
+    for (int i = 0; i < items; i++) {
+      tracker.register(i);
+    }
+
+    ExecutorService executor = newFixedThreadPool(4);
+    try {
+      for (int i = items - 1; i >= 0; i--) {
+        Serializable watermark = i;
+        executor.submit(() -> tracker.complete(watermark));
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, SECONDS);
+    }
+
+    assertThat(tracker.getPendingCount(), is(0));
+    assertThat(tracker.getSafeWatermark(), is(Optional.of(items - 1)));
+  }
+}
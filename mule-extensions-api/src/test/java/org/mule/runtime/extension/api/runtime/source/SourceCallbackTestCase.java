@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.extension.api.runtime.source.BackPressureAction.DROP;
+import static org.mule.runtime.extension.api.runtime.source.BackPressureAction.FAIL;
+
+import org.mule.runtime.api.connection.ConnectionException;
+import org.mule.runtime.extension.api.runtime.operation.Result;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class SourceCallbackTestCase {
+
+  private final List<Result<String, Object>> handledResults = new ArrayList<>();
+  private final List<SourceCallbackContext> handledContexts = new ArrayList<>();
+  private final SourceCallback<String, Object> callback = new TestSourceCallback();
+
+  @Test
+  public void batchIsHandledItemByItem() {
+    List<Result<String, Object>> results = asList(result("a"), result("b"), result("c"));
+    List<SourceCallbackContext> contexts = asList(callback.createContext(), callback.createContext(), callback.createContext());
+
+    SourceBatchResult batchResult = callback.handleBatch(results, contexts);
+
+    assertThat(handledResults, is(results));
+    assertThat(handledContexts, is(contexts));
+    assertThat(batchResult.size(), is(3));
+    assertThat(batchResult.isStatusKnown(), is(false));
+    assertThat(batchResult.isFullyAccepted(), is(false));
+    assertThat(batchResult.isAccepted(0), is(false));
+    assertThat(batchResult.getRejectedCount(), is(0));
+  }
+
+  @Test
+  public void contextsAreCreatedForBatch() {
+    SourceBatchResult batchResult = callback.handleBatch(asList(result("a"), result("b")));
+
+    assertThat(handledResults.size(), is(2));
+    assertThat(handledContexts.size(), is(2));
+    assertThat(handledContexts.get(0) != handledContexts.get(1), is(true));
+    assertThat(batchResult.size(), is(2));
+    assertThat(batchResult.getAcceptedCount(), is(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void mismatchingContexts() {
+    callback.handleBatch(asList(result("a"), result("b")), singletonList(callback.createContext()));
+  }
+
+  @Test
+  public void partialRejection() {
+    SourceBatchResult batchResult = SourceBatchResult.builder(4).reject(1, DROP).reject(3, FAIL).build();
+
+    assertThat(batchResult.isStatusKnown(), is(true));
+    assertThat(batchResult.isFullyAccepted(), is(false));
+    assertThat(batchResult.getAcceptedCount(), is(2));
+    assertThat(batchResult.getRejectedCount(), is(2));
+    assertThat(batchResult.isAccepted(0), is(true));
+    assertThat(batchResult.getRejection(0), is(Optional.empty()));
+    assertThat(batchResult.getRejection(1), is(Optional.of(DROP)));
+    assertThat(batchResult.getRejection(3), is(Optional.of(FAIL)));
+    assertThat(batchResult.getRejectedIndexes(), is(asList(1, 3)));
+  }
+
+  private static Result<String, Object> result(String output) {
+    return Result.<String, Object>builder().output(output).build();
+  }
+
+  private class TestSourceCallback implements SourceCallback<String, Object> {
+
+    @Override
+    public void handle(Result<String, Object> result) {
+      handle(result, createContext());
+    }
+
+    @Override
+    public void handle(Result<String, Object> result, SourceCallbackContext context) {
+      handledResults.add(result);
+      handledContexts.add(context);
+    }
+
+    @Override
+    public void onConnectionException(ConnectionException e) {}
+
+    @Override
+    public SourceCallbackContext createContext() {
+      return mock(SourceCallbackContext.class);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.source;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class SourceCreditPoolTestCase {
+
+  private final SourceCreditPool pool = new SourceCreditPool(2);
+  private final List<String> notifications = new ArrayList<>();
+
+  private final SourceCreditListener listener = new SourceCreditListener() {
+
+    @Override
+    public void onExhausted() {
+      notifications.add("exhausted");
+    }
+
+    @Override
+    public void onReplenished(int available) {
+      notifications.add("replenished " + available);
+    }
+  };
+
+  @Test
+  public void creditsAreUsedAndGrantedBack() {
+    pool.setListener(listener);
+
+    assertThat(pool.tryAcquire(), is(true));
+    assertThat(pool.tryAcquire(), is(true));
+    assertThat(pool.tryAcquire(), is(false));
+    assertThat(pool.getInFlight(), is(2));
+
+    pool.release();
+    assertThat(pool.getAvailable(), is(1));
+    assertThat(pool.getInFlight(), is(1));
+    assertThat(notifications.toString(), is("[exhausted, replenished 1]"));
+
+    assertThat(pool.getGrantedCount(), is(3L));
+    assertThat(pool.getUsedCount(), is(2L));
+  }
+
+  @Test
+  public void grantAndRevoke() {
+    pool.setListener(listener);
+
+    assertThat(pool.revoke(5), is(2));
+    pool.grant(3);
+    assertThat(pool.getAvailable(), is(3));
+    assertThat(pool.getGrantedCount(), is(5L));
+    assertThat(notifications.toString(), is("[exhausted, replenished 3]"));
+  }
+
+  @Test
+  public void listenerIsNotifiedIfAlreadyExhausted() {
+    new SourceCreditPool(0).setListener(listener);
+    assertThat(notifications.toString(), is("[exhausted]"));
+  }
+
+  @Test(timeout = 5000)
+  public void listenerIsNotifiedWithoutHoldingTheLock() throws Exception {
+    pool.setListener(new SourceCreditListener() {
+
+      @Override
+      public void onExhausted() {
+        notifications.add("exhausted");
+        // a listener which hands the pool to another thread must not deadlock
+        Thread granter = new Thread(() -> pool.grant(1));
+        granter.start();
+        try {
+          granter.join();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+
+      @Override
+      public void onReplenished(int available) {
+        notifications.add("replenished " + available);
+      }
+    });
+
+    pool.tryAcquire();
+    pool.tryAcquire();
+    assertThat(pool.getAvailable(), is(1));
+    assertThat(notifications.toString(), is("[exhausted, replenished 1]"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void releaseWithoutInFlight() {
+    pool.release();
+  }
+
+  @Test
+  public void acquireWaitsForCredits() throws Exception {
+    pool.tryAcquire();
+    pool.tryAcquire();
+
+    CountDownLatch acquired = new CountDownLatch(1);
+    Thread thread = new Thread(() -> {
+      try {
+        pool.acquire();
+        acquired.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    thread.start();
+
+    assertThat(acquired.await(100, MILLISECONDS), is(false));
+    pool.release();
+    assertThat(acquired.await(5, SECONDS), is(true));
+    assertThat(pool.getInFlight(), is(2));
+    assertThat(pool.getAvailable(), is(0));
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MergingPagingProviderTestCase {
+
+  private static final Object CONNECTION = new Object();
+  private static final int PARTITIONS = 3;
+  private static final int ITEMS = 60;
+  private static final int PAGE_SIZE = 4;
+
+  private final ExecutorService executor = newFixedThreadPool(PARTITIONS);
+  private final TestConnectionSource connectionSource = new TestConnectionSource();
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void unorderedMergeReturnsAllItems() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(false);
+    MergingPagingProvider<Object, Integer> provider =
+        MergingPagingProvider.builder(partitioned, connectionSource, executor).build();
+
+    List<Integer> items = readAll(provider);
+    items.sort(Comparator.naturalOrder());
+    assertThat(items, is(allItems()));
+    assertThat(provider.useStickyConnections(), is(true));
+    assertThat(provider.getTotalResults(CONNECTION), is(Optional.of(ITEMS)));
+
+    provider.close(CONNECTION);
+    assertThat(connectionSource.acquired.get(), is(PARTITIONS));
+    assertThat(connectionSource.released.get(), is(PARTITIONS));
+    assertThat(connectionSource.invalidated.get(), is(0));
+    assertThat(partitioned.closedPartitions.get(), is(PARTITIONS));
+    assertThat(partitioned.closed, is(true));
+  }
+
+  @Test
+  public void partitionsAreFetchedConcurrently() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(false);
+    partitioned.barrier = new CyclicBarrier(PARTITIONS);
+    MergingPagingProvider<Object, Integer> provider =
+        MergingPagingProvider.builder(partitioned, connectionSource, executor).build();
+
+    assertThat(readAll(provider).size(), is(ITEMS));
+    assertThat(provider.getStatistics().getFailedFetches(), is(0L));
+  }
+
+  @Test
+  public void sortedMergePreservesOrder() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(true);
+    MergingPagingProvider<Object, Integer> provider = MergingPagingProvider.builder(partitioned, connectionSource, executor)
+        .mergedPageSize(7)
+        .build();
+
+    List<Integer> items = new ArrayList<>();
+    List<Integer> page;
+    while (!(page = provider.getPage(CONNECTION)).isEmpty()) {
+      assertThat(page.size() == 7 || items.size() + page.size() == ITEMS, is(true));
+      items.addAll(page);
+    }
+    assertThat(items, is(allItems()));
+  }
+
+  @Test
+  public void sortedMergeWithRejectingExecutor() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(true);
+    MergingPagingProvider<Object, Integer> provider = MergingPagingProvider.builder(partitioned, connectionSource, command -> {
+      throw new RejectedExecutionException();
+    }).build();
+
+    assertThat(readAll(provider), is(allItems()));
+  }
+
+  @Test
+  public void unorderedMergeWithRejectingExecutor() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(false);
+    MergingPagingProvider<Object, Integer> provider = MergingPagingProvider.builder(partitioned, connectionSource, command -> {
+      throw new RejectedExecutionException();
+    }).build();
+
+    List<Integer> items = readAll(provider);
+    items.sort(Comparator.naturalOrder());
+    assertThat(items, is(allItems()));
+  }
+
+  @Test
+  public void failureIsThrown() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(false);
+    partitioned.failingPartition = 1;
+    MergingPagingProvider<Object, Integer> provider =
+        MergingPagingProvider.builder(partitioned, connectionSource, executor).build();
+
+    try {
+      readAll(provider);
+      fail("Expected the failure of the partition");
+    } catch (IllegalStateException e) {
+      assertThat(provider.getStatistics().getFailedFetches(), is(1L));
+    }
+
+    provider.close(CONNECTION);
+    assertThat(connectionSource.invalidated.get(), is(1));
+    assertThat(connectionSource.released.get(), is(connectionSource.acquired.get() - 1));
+  }
+
+  @Test
+  public void closeFinishesDespiteFailures() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(false);
+    partitioned.failOnClose = true;
+    MergingPagingProvider<Object, Integer> provider =
+        MergingPagingProvider.builder(partitioned, connectionSource, executor).build();
+    assertThat(readAll(provider).size(), is(ITEMS));
+
+    try {
+      provider.close(CONNECTION);
+      fail("Expected the failure closing the partitions");
+    } catch (IllegalStateException e) {
+      assertThat(e.getSuppressed().length, is(PARTITIONS));
+    }
+    assertThat(partitioned.closedPartitions.get(), is(PARTITIONS));
+    assertThat(connectionSource.released.get(), is(PARTITIONS));
+    assertThat(partitioned.closed, is(true));
+  }
+
+  @Test
+  public void sortedMergeKeepsItemsTakenBeforeFailure() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(true);
+    partitioned.failingPartition = 1;
+    partitioned.failingPosition = PAGE_SIZE;
+    MergingPagingProvider<Object, Integer> provider = MergingPagingProvider.builder(partitioned, connectionSource, command -> {
+      throw new RejectedExecutionException();
+    }).mergedPageSize(ITEMS).build();
+
+    assertThat(provider.getPage(CONNECTION), is(IntStream.range(0, PAGE_SIZE * PARTITIONS - 1).boxed().collect(toList())));
+    try {
+      provider.getPage(CONNECTION);
+      fail("Expected the failure of the partition");
+    } catch (IllegalStateException e) {
+      assertThat(provider.getStatistics().getFailedFetches(), is(1L));
+    }
+  }
+
+  @Test
+  public void unstartedFetchesAreCancelled() throws Exception {
+    TestPartitionedProvider partitioned = new TestPartitionedProvider(true);
+    List<Runnable> queued = new ArrayList<>();
+    MergingPagingProvider<Object, Integer> provider =
+        MergingPagingProvider.builder(partitioned, connectionSource, queued::add).build();
+
+    assertThat(readAll(provider), is(allItems()));
+    assertThat(queued.isEmpty(), is(false));
+
+    provider.close(CONNECTION);
+    assertThat(partitioned.closed, is(true));
+
+    long fetchedPages = provider.getStatistics().getFetchedPages();
+    queued.forEach(Runnable::run);
+    assertThat(provider.getStatistics().getFetchedPages(), is(fetchedPages));
+    assertThat(connectionSource.released.get(), is(PARTITIONS));
+  }
+
+  private static List<Integer> allItems() {
+    return IntStream.range(0, ITEMS).boxed().collect(toList());
+  }
+
+  private static List<Integer> readAll(PagingProvider<Object, Integer> provider) {
+    List<Integer> items = new ArrayList<>();
+    List<Integer> page;
+    while (!(page = provider.getPage(CONNECTION)).isEmpty()) {
+      items.addAll(page);
+    }
+    return items;
+  }
+
+  private static class TestConnectionSource implements PartitionConnectionSource<Object> {
+
+    private final AtomicInteger acquired = new AtomicInteger();
+    private final AtomicInteger released = new AtomicInteger();
+    private final AtomicInteger invalidated = new AtomicInteger();
+
+    @Override
+    public Object acquire() {
+      acquired.incrementAndGet();
+      return new Object();
+    }
+
+    @Override
+    public void release(Object connection) {
+      released.incrementAndGet();
+    }
+
+    @Override
+    public void invalidate(Object connection) {
+      invalidated.incrementAndGet();
+    }
+  }
+
+  private static class TestPartitionedProvider implements PartitionedPagingProvider<Object, Integer> {
+
+    private final boolean sorted;
+    private final AtomicInteger closedPartitions = new AtomicInteger();
+    private volatile CyclicBarrier barrier;
+    private volatile int failingPartition = -1;
+    private volatile int failingPosition;
+    private volatile boolean failOnClose;
+    private volatile boolean closed;
+
+    private TestPartitionedProvider(boolean sorted) {
+      this.sorted = sorted;
+    }
+
+    @Override
+    public List<PagingProvider<Object, Integer>> getPartitions(Object connection) {
+      List<PagingProvider<Object, Integer>> partitions = new ArrayList<>();
+      for (int i = 0; i < PARTITIONS; i++) {
+        partitions.add(new TestPartition(i));
+      }
+      return partitions;
+    }
+
+    @Override
+    public Optional<Comparator<? super Integer>> getOrder() {
+      return sorted ? Optional.of(Comparator.naturalOrder()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Integer> getTotalResults(Object connection) {
+      return Optional.of(ITEMS);
+    }
+
+    @Override
+    public void close(Object connection) {
+      closed = true;
+      if (failOnClose) {
+        throw new IllegalStateException("Expected failure");
+      }
+    }
+
+    private class TestPartition implements PagingProvider<Object, Integer> {
+
+      private final List<Integer> items;
+      private final int index;
+      private int position;
+
+      private TestPartition(int index) {
+        this.index = index;
+        items = IntStream.range(0, ITEMS).filter(i -> i % PARTITIONS == index).boxed().collect(toList());
+      }
+
+      @Override
+      public List<Integer> getPage(Object connection) {
+        if (connection == CONNECTION) {
+          throw new IllegalArgumentException("Partitions must use their own connection");
+        }
+        if (barrier != null && position == 0) {
+          try {
+            barrier.await(5, SECONDS);
+          } catch (Exception e) {
+            throw new IllegalStateException("Partitions were not fetched concurrently", e);
+          }
+        }
+        if (index == failingPartition && position >= failingPosition) {
+          throw new IllegalStateException("Expected failure");
+        }
+        List<Integer> page = new ArrayList<>(items.subList(position, Math.min(position + PAGE_SIZE, items.size())));
+        position += page.size();
+        return page;
+      }
+
+      @Override
+      public Optional<Integer> getTotalResults(Object connection) {
+        return Optional.of(items.size());
+      }
+
+      @Override
+      public void close(Object connection) {
+        closedPartitions.incrementAndGet();
+        if (failOnClose) {
+          throw new IllegalStateException("Expected failure");
+        }
+      }
+    }
+  }
+}
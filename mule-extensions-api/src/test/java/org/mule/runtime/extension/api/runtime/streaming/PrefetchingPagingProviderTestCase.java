@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.runtime.streaming;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class PrefetchingPagingProviderTestCase {
+
+  private static final Object CONNECTION = new Object();
+  private static final int PAGES = 10;
+  private static final int PAGE_SIZE = 5;
+
+  private final ExecutorService executor = newFixedThreadPool(2);
+
+  @After
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void pagesAreReturnedInOrder() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, executor).build();
+
+    assertThat(readAll(provider), is(IntStream.range(0, PAGES * PAGE_SIZE).boxed().collect(toList())));
+    assertThat(provider.getStatistics().getFetchedItems(), is((long) PAGES * PAGE_SIZE));
+    assertThat(provider.getPage(CONNECTION).isEmpty(), is(true));
+    assertThat(provider.useStickyConnections(), is(true));
+    assertThat(provider.getTotalResults(CONNECTION), is(Optional.of(PAGES * PAGE_SIZE)));
+
+    provider.close(CONNECTION);
+    assertThat(delegate.closed, is(true));
+  }
+
+  @Test
+  public void prefetchIsBoundedByPages() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, executor)
+        .maxPrefetchedPages(3)
+        .build();
+
+    assertThat(provider.getPage(CONNECTION).get(0), is(0));
+    awaitUntil(() -> delegate.fetches.get() == 4);
+    Thread.sleep(100);
+    assertThat(delegate.fetches.get(), is(4));
+    assertThat(provider.getBufferedPages(), is(3));
+    assertThat(provider.getBufferedWeight(), is((long) PAGE_SIZE * 3));
+
+    assertThat(provider.getPage(CONNECTION).get(0), is(PAGE_SIZE));
+    awaitUntil(() -> delegate.fetches.get() == 5);
+    assertThat(provider.getMaxBufferedPages(), is(3));
+  }
+
+  @Test
+  public void prefetchIsBoundedByWeight() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, executor)
+        .maxPrefetchedPages(PAGES)
+        .maxBufferedItems(PAGE_SIZE + 2)
+        .build();
+
+    provider.getPage(CONNECTION);
+    awaitUntil(() -> delegate.fetches.get() == 3);
+    Thread.sleep(100);
+    assertThat(delegate.fetches.get(), is(3));
+    assertThat(provider.getBufferedWeight(), is((long) PAGE_SIZE * 2));
+  }
+
+  @Test
+  public void failureIsThrownWhenThePageIsRequested() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    delegate.failingPage = 1;
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, executor).build();
+
+    assertThat(provider.getPage(CONNECTION).get(0), is(0));
+    try {
+      provider.getPage(CONNECTION);
+      fail("Expected the failure of the prefetched page");
+    } catch (IllegalStateException e) {
+      assertThat(provider.getStatistics().getFailedFetches(), is(1L));
+    }
+  }
+
+  @Test
+  public void closeWaitsForInFlightFetch() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    delegate.blockedPage = 1;
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, executor).build();
+
+    provider.getPage(CONNECTION);
+    assertThat(delegate.blocked.await(5, SECONDS), is(true));
+
+    Future<?> close = executor.submit(() -> {
+      provider.close(CONNECTION);
+      return null;
+    });
+    Thread.sleep(100);
+    assertThat(delegate.closed, is(false));
+
+    delegate.release.countDown();
+    close.get(5, SECONDS);
+    assertThat(delegate.closed, is(true));
+    assertThat(provider.getBufferedPages(), is(0));
+    assertThat(delegate.concurrentAccess, is(false));
+  }
+
+  @Test
+  public void pagesAreFetchedOnDemandWhenExecutorRejects() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, command -> {
+      throw new RejectedExecutionException();
+    }).build();
+
+    assertThat(readAll(provider).size(), is(PAGES * PAGE_SIZE));
+    assertThat(provider.getMaxBufferedPages(), is(1));
+  }
+
+  @Test
+  public void unstartedPrefetchIsCancelled() throws Exception {
+    TestPagingProvider delegate = new TestPagingProvider();
+    List<Runnable> queued = new ArrayList<>();
+    PrefetchingPagingProvider<Object, Integer> provider = PrefetchingPagingProvider.builder(delegate, queued::add).build();
+
+    assertThat(provider.getPage(CONNECTION).get(0), is(0));
+    assertThat(queued.size(), is(1));
+
+    assertThat(provider.getPage(CONNECTION).get(0), is(PAGE_SIZE));
+    assertThat(queued.size(), is(2));
+
+    provider.close(CONNECTION);
+    assertThat(delegate.closed, is(true));
+
+    queued.forEach(Runnable::run);
+    assertThat(delegate.fetches.get(), is(2));
+    assertThat(delegate.concurrentAccess, is(false));
+  }
+
+  private static List<Integer> readAll(PagingProvider<Object, Integer> provider) {
+    List<Integer> items = new ArrayList<>();
+    List<Integer> page;
+    while (!(page = provider.getPage(CONNECTION)).isEmpty()) {
+      items.addAll(page);
+    }
+    return items;
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean()) {
+      if (System.currentTimeMillis() > deadline) {
+        fail("Condition not met in time");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  private static class TestPagingProvider implements PagingProvider<Object, Integer> {
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final AtomicInteger inProgress = new AtomicInteger();
+    private final CountDownLatch blocked = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile int failingPage = -1;
+    private volatile int blockedPage = -1;
+    private volatile boolean concurrentAccess;
+    private volatile boolean closed;
+
+    @Override
+    public List<Integer> getPage(Object connection) {
+      if (inProgress.incrementAndGet() > 1) {
+        concurrentAccess = true;
+      }
+      try {
+        int page = fetches.getAndIncrement();
+        if (page == failingPage) {
+          throw new IllegalStateException("Expected failure");
+        }
+        if (page == blockedPage) {
+          blocked.countDown();
+          release.await();
+        }
+        if (page >= PAGES) {
+          return new ArrayList<>();
+        }
+        return IntStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE).boxed().collect(toList());
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      } finally {
+        inProgress.decrementAndGet();
+      }
+    }
+
+    @Override
+    public Optional<Integer> getTotalResults(Object connection) {
+      return Optional.of(PAGES * PAGE_SIZE);
+    }
+
+    @Override
+    public void close(Object connection) {
+      if (inProgress.get() > 0) {
+        concurrentAccess = true;
+      }
+      closed = true;
+    }
+  }
+}
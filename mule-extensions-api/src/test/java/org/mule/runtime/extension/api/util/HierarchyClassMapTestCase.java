@@ -8,8 +8,12 @@ package org.mule.runtime.extension.api.util;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.stream.Stream;
 
 import org.junit.Before;
@@ -53,6 +57,114 @@ public class HierarchyClassMapTestCase {
     assertThat(map.containsKey(Dog.class), is(true));
   }
 
+  @Test
+  public void negativeLookupIsInvalidatedOnPut() {
+    map.remove(Dog.class);
+    map.remove(RabidDog.class);
+    assertThat(map.get(Dog.class), is(nullValue()));
+    assertThat(map.containsKey(Dog.class), is(false));
+
+    RabidDog rabidDog = new RabidDog();
+    map.put(RabidDog.class, rabidDog);
+    assertThat(map.get(Dog.class), is(sameInstance(rabidDog)));
+    assertThat(map.containsKey(Dog.class), is(true));
+  }
+
+  @Test
+  public void hierarchicalLookupIsInvalidatedOnRemove() {
+    map.remove(Dog.class);
+    assertThat(map.get(Dog.class), is(instanceOf(RabidDog.class)));
+
+    map.remove(RabidDog.class);
+    assertThat(map.get(Dog.class), is(nullValue()));
+    assertThat(map.containsKey(Dog.class), is(false));
+  }
+
+  @Test
+  public void hierarchicalLookupIsInvalidatedOnKeySetRemoval() {
+    map.remove(Dog.class);
+    assertThat(map.get(Dog.class), is(instanceOf(RabidDog.class)));
+
+    map.keySet().remove(RabidDog.class);
+    assertThat(map.get(Dog.class), is(nullValue()));
+  }
+
+  @Test
+  public void hierarchicalLookupIsInvalidatedOnEntrySetIteratorRemoval() {
+    map.remove(Dog.class);
+    assertThat(map.get(Dog.class), is(instanceOf(RabidDog.class)));
+
+    Iterator<Entry<Class<?>, Object>> entries = map.entrySet().iterator();
+    while (entries.hasNext()) {
+      if (entries.next().getKey() == RabidDog.class) {
+        entries.remove();
+      }
+    }
+    assertThat(map.get(Dog.class), is(nullValue()));
+    assertThat(map.containsKey(Dog.class), is(false));
+  }
+
+  @Test
+  public void hierarchicalLookupReflectsUpdatedValue() {
+    map.remove(Dog.class);
+    assertThat(map.get(Dog.class), is(instanceOf(RabidDog.class)));
+
+    RabidDog rabidDog = new RabidDog();
+    map.replace(RabidDog.class, rabidDog);
+    assertThat(map.get(Dog.class), is(sameInstance(rabidDog)));
+  }
+
+  @Test
+  public void deepHierarchy() {
+    map.clear();
+    DeepestDog deepestDog = new DeepestDog();
+    map.put(DeepestDog.class, deepestDog);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(map.get(Dog.class), is(sameInstance(deepestDog)));
+      assertThat(map.get(DeeperDog.class), is(sameInstance(deepestDog)));
+      assertThat(map.get(Human.class), is(nullValue()));
+      assertThat(map.getOrDefault(Human.class, deepestDog), is(sameInstance(deepestDog)));
+    }
+  }
+
+  @Test
+  public void interfacesNotSearchedByDefault() {
+    map.put(Pet.class, new RabidDog());
+    assertThat(map.get(Cat.class), is(nullValue()));
+    assertThat(map.containsKey(Cat.class), is(false));
+  }
+
+  @Test
+  public void searchInterfaces() {
+    HierarchyClassMap<Object> map = new HierarchyClassMap<>(true);
+    RabidDog pet = new RabidDog();
+    map.put(Pet.class, pet);
+
+    assertThat(map.get(Cat.class), is(sameInstance(pet)));
+    assertThat(map.get(Kitten.class), is(sameInstance(pet)));
+    assertThat(map.containsKey(Kitten.class), is(true));
+    assertThat(map.get(Human.class), is(nullValue()));
+  }
+
+  @Test
+  public void superclassesPreferredOverInterfaces() {
+    HierarchyClassMap<Object> map = new HierarchyClassMap<>(true);
+    Object pet = new Object();
+    Kitten kitten = new Kitten();
+    map.put(Pet.class, pet);
+    map.put(Kitten.class, kitten);
+
+    assertThat(map.get(Cat.class), is(sameInstance(kitten)));
+  }
+
+  public interface Animal {
+
+  }
+
+  public interface Pet extends Animal {
+
+  }
 
   public static class Dog {
 
@@ -62,6 +174,22 @@ public class HierarchyClassMapTestCase {
 
   }
 
+  public static class DeeperDog extends RabidDog {
+
+  }
+
+  public static class DeepestDog extends DeeperDog {
+
+  }
+
+  public static class Cat implements Pet {
+
+  }
+
+  public static class Kitten extends Cat {
+
+  }
+
 
   public static class Human {
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.api.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.extension.api.util.NameUtils.pluralize;
+import static org.mule.runtime.extension.api.util.NameUtils.singularize;
+
+import org.junit.Test;
+
+public class NameUtilsTestCase {
+
+  @Test
+  public void pluralizeWords() {
+    assertThat(pluralize("header"), is("headers"));
+    assertThat(pluralize("address"), is("addresses"));
+    assertThat(pluralize("property"), is("properties"));
+    assertThat(pluralize("status"), is("statuses"));
+    assertThat(pluralize("person"), is("people"));
+    assertThat(pluralize("analysis"), is("analyses"));
+    assertThat(pluralize("knife"), is("knives"));
+    assertThat(pluralize("Ox"), is("Oxen"));
+  }
+
+  @Test
+  public void singularizeWords() {
+    assertThat(singularize("headers"), is("header"));
+    assertThat(singularize("addresses"), is("address"));
+    assertThat(singularize("properties"), is("property"));
+    assertThat(singularize("queryParameters"), is("queryParameter"));
+    assertThat(singularize("children"), is("child"));
+    assertThat(singularize("analyses"), is("analysis"));
+    assertThat(singularize("movies"), is("movie"));
+    assertThat(singularize("mapValue"), is("mapValue"));
+  }
+
+  @Test
+  public void repeatedInflectionsAreConsistent() {
+    for (int i = 0; i < 3; i++) {
+      assertThat(pluralize("entry"), is("entries"));
+      assertThat(singularize("entries"), is("entry"));
+    }
+  }
+}
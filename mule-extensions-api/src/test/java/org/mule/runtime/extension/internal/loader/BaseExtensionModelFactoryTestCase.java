@@ -30,6 +30,7 @@ import org.mule.runtime.extension.api.property.ClassLoaderModelProperty;
 import org.mule.runtime.extension.api.property.InfrastructureParameterModelProperty;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import org.junit.AfterClass;
@@ -79,7 +80,11 @@ public abstract class BaseExtensionModelFactoryTestCase {
   }
 
   protected final ExtensionModel load() {
-    return extensionModel = loader.loadExtensionModel(extensionClassLoader, getDefault(emptySet()), new HashMap<>());
+    return load(new HashMap<>());
+  }
+
+  protected final ExtensionModel load(Map<String, Object> attributes) {
+    return extensionModel = loader.loadExtensionModel(extensionClassLoader, getDefault(emptySet()), attributes);
   }
 
   protected void assertParameter(ParameterModel parameterModel, String name, String description,
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.extension.internal.loader;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.joining;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint.footprint;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENTS;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.COMPONENT_ATTRIBUTES;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.EXTENSION;
+import static org.mule.runtime.extension.api.loader.DeclarationSection.PARAMETERS;
+import static org.mule.runtime.extension.api.util.ExtensionMetadataTypeUtils.getId;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.FAIL_FAST_VALIDATION;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PARALLEL_ENRICHMENT;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PARALLEL_LOADING_EXECUTOR;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PARALLEL_VALIDATION;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PROBLEMS_HANDLER;
+
+import org.mule.metadata.api.model.MetadataType;
+import org.mule.runtime.api.meta.model.EnrichableModel;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.api.meta.model.ModelProperty;
+import org.mule.runtime.api.meta.model.config.ConfigurationModel;
+import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
+import org.mule.runtime.api.meta.model.connection.HasConnectionProviderModels;
+import org.mule.runtime.api.meta.model.declaration.fluent.BaseDeclaration;
+import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclaration;
+import org.mule.runtime.api.meta.model.declaration.fluent.OperationDeclaration;
+import org.mule.runtime.api.meta.model.declaration.fluent.ParameterDeclaration;
+import org.mule.runtime.api.meta.model.declaration.fluent.ParameterGroupDeclaration;
+import org.mule.runtime.api.meta.model.operation.HasOperationModels;
+import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
+import org.mule.runtime.api.meta.model.source.HasSourceModels;
+import org.mule.runtime.api.meta.model.source.SourceModel;
+import org.mule.runtime.api.meta.model.stereotype.StereotypeModel;
+import org.mule.runtime.api.meta.model.tck.TestWebServiceConsumerDeclarer;
+import org.mule.runtime.api.meta.model.util.ExtensionWalker;
+import org.mule.runtime.extension.api.declaration.fluent.util.IdempotentDeclarationWalker;
+import org.mule.runtime.extension.api.loader.DeclarationEnricher;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherFootprint;
+import org.mule.runtime.extension.api.loader.DeclarationEnricherPhase;
+import org.mule.runtime.extension.api.loader.DeclarationSection;
+import org.mule.runtime.extension.api.loader.ExtensionLoadingContext;
+import org.mule.runtime.extension.api.loader.ExtensionModelLoader;
+import org.mule.runtime.extension.api.loader.ExtensionModelValidator;
+import org.mule.runtime.extension.api.loader.Problem;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentExtensionModelFactoryTestCase extends BaseExtensionModelFactoryTestCase {
+
+  private final TestWebServiceConsumerDeclarer reference = new TestWebServiceConsumerDeclarer();
+  private final List<DeclarationEnricher> customEnrichers = new ArrayList<>();
+  private final List<ExtensionModelValidator> customValidators = new ArrayList<>();
+  private final Set<String> executedValidators = ConcurrentHashMap.newKeySet();
+
+  @Before
+  public void before() {
+    for (DeclarationEnricherPhase phase : DeclarationEnricherPhase.values()) {
+      customEnrichers.add(enricher(phase, EXTENSION, declaration -> append(declaration, phase.name())));
+      customEnrichers.add(enricher(phase, COMPONENT_ATTRIBUTES, declaration -> new IdempotentDeclarationWalker() {
+
+        @Override
+        protected void onOperation(OperationDeclaration operation) {
+          append(operation, phase + ":" + operation.getName());
+        }
+      }.walk(declaration)));
+      customEnrichers.add(enricher(phase, PARAMETERS, declaration -> new IdempotentDeclarationWalker() {
+
+        @Override
+        protected void onParameter(ParameterGroupDeclaration group, ParameterDeclaration parameter) {
+          append(parameter, phase + ":" + group.getName() + ":" + parameter.getName());
+        }
+      }.walk(declaration)));
+    }
+
+    loader = new ExtensionModelLoader() {
+
+      @Override
+      public String getId() {
+        return "test";
+      }
+
+      @Override
+      protected void configureContextBeforeDeclaration(ExtensionLoadingContext context) {
+        context.addCustomDeclarationEnrichers(customEnrichers);
+        context.addCustomValidators(customValidators);
+      }
+
+      @Override
+      protected void declareExtension(ExtensionLoadingContext context) {
+        reference.declareOn(context.getExtensionDeclarer());
+      }
+    };
+    load();
+  }
+
+  @Test
+  public void parallelEnrichmentOnEveryPhase() {
+    List<String> sequentialModel = describe(extensionModel);
+
+    AtomicInteger forkedTasks = new AtomicInteger();
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put(PARALLEL_ENRICHMENT, true);
+    attributes.put(PARALLEL_LOADING_EXECUTOR, (Executor) task -> {
+      forkedTasks.incrementAndGet();
+      new Thread(task).start();
+    });
+    load(attributes);
+
+    // each phase has at least a batch of the three custom enrichers, two of which are forked
+    assertThat(forkedTasks.get() >= 2 * DeclarationEnricherPhase.values().length, is(true));
+    assertThat(describe(extensionModel), equalTo(sequentialModel));
+  }
+
+  @Test
+  public void parallelEnrichmentWithStarvedExecutor() {
+    List<String> sequentialModel = describe(extensionModel);
+
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put(PARALLEL_ENRICHMENT, true);
+    attributes.put(PARALLEL_LOADING_EXECUTOR, (Executor) task -> {
+      // never runs the task, so the caller has to
+    });
+    load(attributes);
+
+    assertThat(describe(extensionModel), equalTo(sequentialModel));
+  }
+
+  @Test
+  public void failFastValidation() {
+    addFailingValidators();
+
+    assertThat(validate(FAIL_FAST_VALIDATION), equalTo(asList("first error")));
+    assertThat(executedValidators.contains("second"), is(false));
+  }
+
+  @Test
+  public void validationWithoutFailFast() {
+    addFailingValidators();
+
+    assertThat(validate(), equalTo(asList("first error", "second error")));
+    assertThat(validate(PARALLEL_VALIDATION), equalTo(asList("first error", "second error")));
+  }
+
+  @Test
+  public void parallelFailFastValidationIsDeterministic() {
+    addFailingValidators();
+
+    for (int i = 0; i < 20; i++) {
+      assertThat(validate(PARALLEL_VALIDATION, FAIL_FAST_VALIDATION), equalTo(asList("first error")));
+    }
+  }
+
+  /**
+   * Adds a validator which fails slowly, followed by one which fails right away, so that when executed concurrently the latter
+   * usually finishes first.
+   */
+  private void addFailingValidators() {
+    customValidators.add(validator("first", 50));
+    customValidators.add(validator("second", 0));
+  }
+
+  private ExtensionModelValidator validator(String name, long delayMillis) {
+    return (model, problemsReporter) -> {
+      try {
+        Thread.sleep(delayMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      executedValidators.add(name);
+      problemsReporter.addError(new Problem(model, name + " error"));
+    };
+  }
+
+  private List<String> validate(String... enabledOptions) {
+    List<String> errors = new ArrayList<>();
+    Map<String, Object> attributes = new HashMap<>();
+    for (String option : enabledOptions) {
+      attributes.put(option, true);
+    }
+    attributes.put(PROBLEMS_HANDLER, (ProblemsHandler) problemsReporter -> problemsReporter.getErrors()
+        .forEach(problem -> errors.add(problem.getMessage())));
+    load(attributes);
+    return errors;
+  }
+
+  private static DeclarationEnricher enricher(DeclarationEnricherPhase phase, DeclarationSection writes,
+                                              Consumer<ExtensionDeclaration> enrichment) {
+    return new DeclarationEnricher() {
+
+      @Override
+      public DeclarationEnricherPhase getExecutionPhase() {
+        return phase;
+      }
+
+      @Override
+      public Optional<DeclarationEnricherFootprint> getFootprint() {
+        return Optional.of(footprint(EnumSet.of(COMPONENTS), EnumSet.of(writes)));
+      }
+
+      @Override
+      public void enrich(ExtensionLoadingContext extensionLoadingContext) {
+        enrichment.accept(extensionLoadingContext.getExtensionDeclarer().getDeclaration());
+      }
+    };
+  }
+
+  /**
+   * Appends to the {@link EnrichmentModelProperty} of the {@code declaration}, so that the final value depends on the order in
+   * which the enrichers were applied.
+   */
+  private static void append(BaseDeclaration<?> declaration, String value) {
+    String previous = declaration.getModelProperty(EnrichmentModelProperty.class)
+        .map(property -> property.value + ",")
+        .orElse("");
+    declaration.addModelProperty(new EnrichmentModelProperty(previous + value));
+  }
+
+  private List<String> describe(ExtensionModel extensionModel) {
+    List<String> description = new ArrayList<>();
+    description.add(extensionModel.getName() + describe(extensionModel.getModelProperties()));
+    new ExtensionWalker() {
+
+      @Override
+      protected void onConfiguration(ConfigurationModel model) {
+        description.add("config:" + model.getName() + describe(model));
+      }
+
+      @Override
+      protected void onConnectionProvider(HasConnectionProviderModels owner, ConnectionProviderModel model) {
+        description.add("provider:" + model.getName() + ":" + model.getConnectionManagementType() + describe(model));
+      }
+
+      @Override
+      protected void onOperation(HasOperationModels owner, OperationModel model) {
+        description.add("operation:" + model.getName() + ":" + model.getExecutionType() + ":" + model.isBlocking() + ":"
+            + model.isTransactional() + ":" + describe(model.getOutput().getType()) + ":" + describe(model.getStereotype())
+            + describe(model));
+      }
+
+      @Override
+      protected void onSource(HasSourceModels owner, SourceModel model) {
+        description.add("source:" + model.getName() + ":" + model.isTransactional() + ":" + describe(model.getStereotype())
+            + describe(model));
+      }
+
+      @Override
+      protected void onParameter(ParameterizedModel owner, ParameterGroupModel groupModel, ParameterModel model) {
+        description.add("parameter:" + owner.getName() + ":" + groupModel.getName() + ":" + model.getName() + ":"
+            + model.getRole() + ":" + model.getExpressionSupport() + ":" + model.isRequired() + ":" + model.getDefaultValue()
+            + ":" + describe(model.getType()) + ":"
+            + model.getAllowedStereotypes().stream().map(stereotype -> describe(stereotype)).collect(joining(","))
+            + describe(model));
+      }
+    }.walk(extensionModel);
+
+    return description;
+  }
+
+  private String describe(EnrichableModel model) {
+    return describe(model.getModelProperties());
+  }
+
+  private String describe(Set<ModelProperty> modelProperties) {
+    return modelProperties.stream()
+        .map(property -> property instanceof EnrichmentModelProperty
+            ? ((EnrichmentModelProperty) property).value
+            : property.getClass().getName())
+        .sorted()
+        .collect(joining(";", "[", "]"));
+  }
+
+  private String describe(StereotypeModel stereotype) {
+    return stereotype == null ? "none" : stereotype.getNamespace() + ":" + stereotype.getType();
+  }
+
+  private String describe(MetadataType type) {
+    return getId(type).orElse(type.getClass().getName());
+  }
+
+  private static class EnrichmentModelProperty implements ModelProperty {
+
+    private final String value;
+
+    private EnrichmentModelProperty(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public String getName() {
+      return "enrichment";
+    }
+
+    @Override
+    public boolean isPublic() {
+      return false;
+    }
+  }
+}
@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.extension.internal.loader;
 
+import static java.util.Collections.singletonMap;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -72,6 +73,9 @@ import static org.mule.runtime.extension.api.ExtensionConstants.TARGET_PARAMETER
 import static org.mule.runtime.extension.api.ExtensionConstants.TARGET_VALUE_PARAMETER_DESCRIPTION;
 import static org.mule.runtime.extension.api.ExtensionConstants.TARGET_VALUE_PARAMETER_NAME;
 import static org.mule.runtime.extension.api.annotation.param.Optional.PAYLOAD;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PARALLEL_ENRICHMENT;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.PARALLEL_VALIDATION;
+import static org.mule.runtime.extension.internal.loader.ExtensionModelFactory.VALIDATION_TIMING_LISTENER;
 
 import org.mule.metadata.api.TypeLoader;
 import org.mule.metadata.api.builder.ArrayTypeBuilder;
@@ -91,21 +95,31 @@ import org.mule.runtime.api.meta.model.config.ConfigurationModel;
 import org.mule.runtime.api.meta.model.connection.ConnectionProviderModel;
 import org.mule.runtime.api.meta.model.declaration.fluent.ExtensionDeclarer;
 import org.mule.runtime.api.meta.model.declaration.fluent.OperationDeclarer;
+import org.mule.runtime.api.meta.model.operation.HasOperationModels;
 import org.mule.runtime.api.meta.model.operation.OperationModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterGroupModel;
 import org.mule.runtime.api.meta.model.parameter.ParameterModel;
+import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
 import org.mule.runtime.api.meta.model.source.SourceModel;
 import org.mule.runtime.api.meta.model.tck.TestWebServiceConsumerDeclarer;
+import org.mule.runtime.api.meta.model.util.ExtensionWalker;
 import org.mule.runtime.extension.api.declaration.type.DynamicConfigExpirationTypeBuilder;
 import org.mule.runtime.extension.api.declaration.type.ReconnectionStrategyTypeBuilder;
 import org.mule.runtime.extension.api.declaration.type.StreamingStrategyTypeBuilder;
 import org.mule.runtime.extension.api.exception.IllegalModelDefinitionException;
 import org.mule.runtime.extension.api.exception.IllegalParameterModelDefinitionException;
+import org.mule.runtime.extension.api.loader.ValidationTimingListener;
 import org.mule.runtime.extension.internal.property.PagedOperationModelProperty;
 
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -449,6 +463,49 @@ public class FlatExtensionModelFactoryTestCase extends BaseExtensionModelFactory
     assertTargetParameter(parameterModels.get(0), parameterModels.get(1));
   }
 
+  @Test
+  public void parallelEnrichment() {
+    List<String> sequentialModel = describe(extensionModel);
+    load(singletonMap(PARALLEL_ENRICHMENT, true));
+
+    classLoaderModelProperty();
+    assertThat(describe(extensionModel), equalTo(sequentialModel));
+  }
+
+  @Test
+  public void parallelValidation() {
+    List<String> sequentialModel = describe(extensionModel);
+    Set<Class<?>> executedValidators = ConcurrentHashMap.newKeySet();
+    Map<String, Object> attributes = new HashMap<>();
+    attributes.put(PARALLEL_VALIDATION, true);
+    attributes.put(VALIDATION_TIMING_LISTENER, (ValidationTimingListener) (model, validator, elapsedNanos) -> {
+      assertThat(elapsedNanos >= 0, is(true));
+      executedValidators.add(validator.getClass());
+    });
+    load(attributes);
+
+    assertThat(executedValidators.isEmpty(), is(false));
+    assertThat(describe(extensionModel), equalTo(sequentialModel));
+  }
+
+  private List<String> describe(ExtensionModel extensionModel) {
+    List<String> description = new ArrayList<>();
+    new ExtensionWalker() {
+
+      @Override
+      protected void onOperation(HasOperationModels owner, OperationModel model) {
+        description.add(model.getName() + ":" + model.getExecutionType());
+      }
+
+      @Override
+      protected void onParameter(ParameterizedModel owner, ParameterGroupModel groupModel, ParameterModel model) {
+        description.add(owner.getName() + ":" + groupModel.getName() + ":" + model.getName() + ":" + model.getRole());
+      }
+    }.walk(extensionModel);
+
+    return description;
+  }
+
   private ExtensionDeclarer declareBase(ExtensionDeclarer extensionDeclarer) {
     reference.declareOn(extensionDeclarer);
     return extensionDeclarer;